@@ -0,0 +1,69 @@
+package dev.eduardo.scheduler.api;
+
+import dev.eduardo.scheduler.api.dto.AvailabilityRuleResponse;
+import dev.eduardo.scheduler.api.dto.CreateAvailabilityRuleRequest;
+import dev.eduardo.scheduler.routing.ReplicaRoutingContext;
+import dev.eduardo.scheduler.service.AuthService;
+import dev.eduardo.scheduler.service.AvailabilityRuleAdminApiService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+
+@RestController
+@RequestMapping("/api/admin/availability-rules")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Availability Rule Admin", description = "Recurring availability of the authenticated user (requires authorization)")
+@SecurityRequirement(name = "bearerAuth")
+public class AvailabilityRuleAdminController {
+
+    private final AuthService authService;
+    private final AvailabilityRuleAdminApiService availabilityRuleAdminService;
+
+
+    @PostMapping
+    @Operation(summary = "Create availability rule", description = "Creates a recurring availability rule (RRULE with FREQ=DAILY or WEEKLY, INTERVAL, BYDAY and UNTIL). Its occurrences are listed as available time slots and only stored once booked or edited. Requires valid Authorization token.")
+    public ResponseEntity<AvailabilityRuleResponse> createRule(
+            @Valid @RequestBody CreateAvailabilityRuleRequest request,
+            HttpServletRequest httpRequest) {
+
+        UUID userId = authService.getAuthenticatedUserId();
+        log.info("Creating availability rule for user {} - authorized request from: {}", userId, httpRequest.getRemoteAddr());
+        var response = availabilityRuleAdminService.createRule(request, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping
+    @Operation(summary = "List availability rules", description = "Lists the availability rules of the authenticated user. Requires valid Authorization token.")
+    public ResponseEntity<List<AvailabilityRuleResponse>> getRules(HttpServletRequest httpRequest) {
+
+        UUID userId = authService.getAuthenticatedUserId();
+        log.info("Listing availability rules for user {} - authorized request from: {}", userId, httpRequest.getRemoteAddr());
+        var rules = ReplicaRoutingContext.readingUser(userId, () -> availabilityRuleAdminService.getRules(userId));
+        return ResponseEntity.ok(rules);
+    }
+
+    @DeleteMapping("/{ruleId}")
+    @Operation(summary = "Delete availability rule", description = "Deletes an availability rule. Occurrences already booked or edited are kept. Requires valid Authorization token.")
+    public ResponseEntity<Void> deleteRule(
+            @PathVariable @Parameter(description = "Availability rule ID") UUID ruleId,
+            HttpServletRequest httpRequest) {
+
+        UUID userId = authService.getAuthenticatedUserId();
+        log.info("Deleting availability rule {} for user {} - authorized request from: {}", ruleId, userId, httpRequest.getRemoteAddr());
+        availabilityRuleAdminService.deleteRule(ruleId, userId);
+        return ResponseEntity.noContent().build();
+    }
+}
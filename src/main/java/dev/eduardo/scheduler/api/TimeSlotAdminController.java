@@ -2,10 +2,13 @@ package dev.eduardo.scheduler.api;
 
 import dev.eduardo.scheduler.api.dto.BulkCreateTimeSlotsResponse;
 import dev.eduardo.scheduler.api.dto.CreateTimeSlotRequest;
+import dev.eduardo.scheduler.api.dto.ImportTimeSlotsResponse;
 import dev.eduardo.scheduler.api.dto.TimeSlotResponse;
 import dev.eduardo.scheduler.api.dto.UpdateTimeSlotRequest;
+import dev.eduardo.scheduler.routing.ReplicaRoutingContext;
 import dev.eduardo.scheduler.service.AuthService;
 import dev.eduardo.scheduler.service.TimeSlotAdminApiService;
+import dev.eduardo.scheduler.service.TimeSlotImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,10 +17,13 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.UUID;
 
 
@@ -31,6 +37,7 @@ public class TimeSlotAdminController {
 
     private final AuthService authService;
     private final TimeSlotAdminApiService timeSlotAdminService;
+    private final TimeSlotImportService timeSlotImportService;
 
 
     @PostMapping
@@ -45,6 +52,21 @@ public class TimeSlotAdminController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = {TimeSlotImportService.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Import time slots", description = "Streams time slots from CSV (start_time,end_time,status header) or NDJSON (startTime, endTime, status) into the calendar. Invalid and overlapping rows are skipped and counted. Requires valid Authorization token.")
+    public ResponseEntity<ImportTimeSlotsResponse> importTimeSlots(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            HttpServletRequest httpRequest) throws IOException {
+
+        UUID userId = authService.getAuthenticatedUserId();
+        log.info("Importing time slots for user {} - authorized request from: {}", userId, httpRequest.getRemoteAddr());
+        var format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? TimeSlotImportService.Format.NDJSON
+                : TimeSlotImportService.Format.CSV;
+        var response = timeSlotImportService.importTimeSlots(httpRequest.getInputStream(), format, userId);
+        return ResponseEntity.ok(response);
+    }
+
 
     @GetMapping("/{timeSlotId}")
     @Operation(summary = "Get time slot", description = "Retrieves a specific time slot by ID. Requires valid Authorization token.")
@@ -54,7 +76,8 @@ public class TimeSlotAdminController {
 
         UUID userId = authService.getAuthenticatedUserId();
         log.info("Getting time slot {} for user {} - authorized request from: {}", timeSlotId, userId, httpRequest.getRemoteAddr());
-        var timeSlot = timeSlotAdminService.getTimeSlot(timeSlotId, userId);
+        var timeSlot = ReplicaRoutingContext.readingUser(userId,
+                () -> timeSlotAdminService.getTimeSlot(timeSlotId, userId));
         return ResponseEntity.ok(timeSlot);
     }
 
@@ -1,5 +1,6 @@
 package dev.eduardo.scheduler.api;
 
+import dev.eduardo.scheduler.api.dto.CommonAvailabilityResponse;
 import dev.eduardo.scheduler.api.dto.CreateMeetingRequest;
 import dev.eduardo.scheduler.api.dto.CreateMeetingResponse;
 import dev.eduardo.scheduler.api.dto.PageableUserTimeSlotsResponse;
@@ -16,7 +17,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -29,7 +32,7 @@ public class TimeSlotController {
     private final CalendarService timeSlotService;
 
     @GetMapping("/user/{userId}")
-    @Operation(summary = "Get user time slots", description = "Retrieves paginated time slots for a specific user with optional filtering by date range and status")
+    @Operation(summary = "Get user time slots", description = "Retrieves paginated time slots for a specific user with optional filtering by date range and status. Pages by offset, or by cursor when the nextCursor of a previous page is passed")
     public ResponseEntity<PageableUserTimeSlotsResponse> getUserTimeSlots(
             @PathVariable @Parameter(description = "User ID") UUID userId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) 
@@ -41,16 +44,57 @@ public class TimeSlotController {
             @RequestParam(defaultValue = "0") 
             @Parameter(description = "Page number (0-based)") int page,
             @RequestParam(defaultValue = "10") 
-            @Parameter(description = "Page size") int size) {
+            @Parameter(description = "Page size") int size,
+            @RequestParam(required = false)
+            @Parameter(description = "Cursor from a previous response's nextCursor; replaces page when set") String cursor) {
 
-        log.info("Getting time slots for user {} with filters - startDate: {}, endDate: {}, status: {}, page: {}, size: {}", 
-                userId, startDate, endDate, status, page, size);
+        log.info("Getting time slots for user {} with filters - startDate: {}, endDate: {}, status: {}, page: {}, size: {}, cursor: {}", 
+                userId, startDate, endDate, status, page, size, cursor);
         
-        PageableUserTimeSlotsResponse timeSlots = timeSlotService.getUserTimeSlotsPageable(
-                userId, startDate, endDate, status, page, size);
+        PageableUserTimeSlotsResponse timeSlots = cursor != null
+                ? timeSlotService.getUserTimeSlotsAfter(userId, startDate, endDate, status, cursor, size)
+                : timeSlotService.getUserTimeSlotsPageable(userId, startDate, endDate, status, page, size);
         return ResponseEntity.ok(timeSlots);
     }
 
+    @GetMapping("/common-availability")
+    @Operation(summary = "Find common availability", description = "Finds the windows in which all given users have available time slots, with times in the given time zone")
+    public ResponseEntity<CommonAvailabilityResponse> getCommonAvailability(
+            @RequestParam @Parameter(description = "IDs of the users that must all be available") List<UUID> userIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First date of the search window (ISO date format)") LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last date of the search window (ISO date format)") LocalDate endDate,
+            @RequestParam(defaultValue = "30")
+            @Parameter(description = "Minimum length of a window in minutes") long minDurationMinutes,
+            @RequestParam(defaultValue = "UTC")
+            @Parameter(description = "Time zone of the dates and of the returned times") String timezone) {
+
+        log.info("Finding common availability of {} users from {} to {} in {}, at least {} minutes",
+                userIds.size(), startDate, endDate, timezone, minDurationMinutes);
+        return ResponseEntity.ok(timeSlotService.findCommonAvailability(
+                userIds, startDate, endDate, Duration.ofMinutes(minDurationMinutes), timezone));
+    }
+
+    @GetMapping("/group-availability")
+    @Operation(summary = "Find group availability", description = "Finds the windows in which all given users are available from cached per-day availability bitmaps. Windows start and end on quantum boundaries, which suits large groups")
+    public ResponseEntity<CommonAvailabilityResponse> getGroupAvailability(
+            @RequestParam @Parameter(description = "IDs of the users that must all be available") List<UUID> userIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "First date of the search window (ISO date format)") LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Last date of the search window (ISO date format)") LocalDate endDate,
+            @RequestParam(defaultValue = "30")
+            @Parameter(description = "Minimum length of a window in minutes") long minDurationMinutes,
+            @RequestParam(defaultValue = "UTC")
+            @Parameter(description = "Time zone of the dates and of the returned times") String timezone) {
+
+        log.info("Finding group availability of {} users from {} to {} in {}, at least {} minutes",
+                userIds.size(), startDate, endDate, timezone, minDurationMinutes);
+        return ResponseEntity.ok(timeSlotService.findGroupAvailability(
+                userIds, startDate, endDate, Duration.ofMinutes(minDurationMinutes), timezone));
+    }
+
     @PostMapping("/{timeSlotId}/meetings")
     @Operation(summary = "Create meeting", description = "Creates a new meeting by booking an available time slot")
     public ResponseEntity<CreateMeetingResponse> createMeeting(
@@ -0,0 +1,38 @@
+package dev.eduardo.scheduler.api.dto;
+
+import dev.eduardo.scheduler.domain.entities.AvailabilityRule;
+import lombok.Builder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@Builder
+public record AvailabilityRuleResponse(
+        UUID id,
+        UUID userId,
+        String rrule,
+        LocalDate startDate,
+        LocalDate untilDate,
+        LocalTime dayStart,
+        LocalTime dayEnd,
+        int slotMinutes,
+        String timezone,
+        Instant createdAt
+) {
+    public static AvailabilityRuleResponse fromEntity(AvailabilityRule rule) {
+        return new AvailabilityRuleResponse(
+                rule.getId(),
+                rule.getUser().getId(),
+                rule.getRrule(),
+                rule.getStartDate(),
+                rule.getUntilDate(),
+                rule.getDayStart(),
+                rule.getDayEnd(),
+                rule.getSlotMinutes(),
+                rule.getTimezone(),
+                rule.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,45 @@
+package dev.eduardo.scheduler.api.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position of the last day returned by a calendar page: its date, local to the user's time zone. Clients receive it
+ * as an opaque token and send it back to get the days that follow.
+ * <p>
+ * A page always ends on a whole day, never splitting the slots of a date across two pages, so the date alone is
+ * enough: the next page starts with the following date.
+ */
+public record CalendarCursor(
+        LocalDate date
+) {
+    public static CalendarCursor after(DateSlots day) {
+        return new CalendarCursor(day.date());
+    }
+
+    /**
+     * Token pointing past the last of {@code days}, or {@code null} when no days follow
+     */
+    public static String next(List<DateSlots> days, boolean hasNext) {
+        return hasNext && !days.isEmpty() ? after(days.getLast()).encode() : null;
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(date.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static CalendarCursor decode(String token) {
+        try {
+            return new CalendarCursor(LocalDate.parse(
+                    new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package dev.eduardo.scheduler.api.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Windows in which all requested users have available time slots, in time order
+ *
+ * @param timezone the time zone the window times are given in
+ */
+public record CommonAvailabilityResponse(
+        String timezone,
+        List<Window> windows
+) {
+    public record Window(
+            OffsetDateTime startTime,
+            OffsetDateTime endTime
+    ) {}
+}
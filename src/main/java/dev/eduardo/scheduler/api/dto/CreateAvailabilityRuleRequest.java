@@ -0,0 +1,31 @@
+package dev.eduardo.scheduler.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Builder
+public record CreateAvailabilityRuleRequest(
+
+        @NotBlank(message = "RRULE is required")
+        String rrule,
+
+        @NotNull(message = "Start date is required")
+        LocalDate startDate,
+
+        @NotNull(message = "Day start is required")
+        LocalTime dayStart,
+
+        @NotNull(message = "Day end is required")
+        LocalTime dayEnd,
+
+        @NotNull(message = "Slot minutes are required")
+        @Positive(message = "Slot minutes must be positive")
+        Integer slotMinutes,
+
+        String timezone  // Optional, defaults to the user's time zone
+) {}
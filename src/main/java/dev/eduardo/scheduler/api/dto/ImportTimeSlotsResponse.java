@@ -0,0 +1,22 @@
+package dev.eduardo.scheduler.api.dto;
+
+/**
+ * Outcome of a time slot import
+ *
+ * @param received    rows read from the upload
+ * @param inserted    rows stored as new time slots
+ * @param rejected    rows not stored, the sum of {@code invalid} and {@code overlapping}
+ * @param invalid     rows with an unparsable time, an end not after the start or an unknown status
+ * @param overlapping valid rows that overlap an existing slot or an earlier row of the upload
+ */
+public record ImportTimeSlotsResponse(
+        long received,
+        long inserted,
+        long rejected,
+        long invalid,
+        long overlapping
+) {
+    public static ImportTimeSlotsResponse of(long received, long valid, long inserted) {
+        return new ImportTimeSlotsResponse(received, inserted, received - inserted, received - valid, valid - inserted);
+    }
+}
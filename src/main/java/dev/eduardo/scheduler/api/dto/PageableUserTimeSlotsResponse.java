@@ -2,11 +2,20 @@ package dev.eduardo.scheduler.api.dto;
 
 import java.util.List;
 
+/**
+ * A page of a user's calendar. {@code nextCursor} is set when more days follow and can be passed back as
+ * {@code cursor} to continue from this page; {@code pageInfo} is only present for offset pages.
+ */
 public record PageableUserTimeSlotsResponse(
         UserInfo user,
         List<DateSlots> timeSlots,
-        PageInfo pageInfo
+        PageInfo pageInfo,
+        String nextCursor
 ) {
+    public PageableUserTimeSlotsResponse(UserInfo user, List<DateSlots> timeSlots, PageInfo pageInfo) {
+        this(user, timeSlots, pageInfo, null);
+    }
+
     public record PageInfo(
             int page,
             int size,
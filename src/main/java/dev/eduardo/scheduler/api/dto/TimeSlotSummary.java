@@ -3,7 +3,6 @@ package dev.eduardo.scheduler.api.dto;
 import dev.eduardo.scheduler.domain.entities.TimeSlot;
 
 import java.time.LocalTime;
-import java.time.ZoneId;
 import java.util.UUID;
 
 public record TimeSlotSummary(
@@ -12,12 +11,4 @@ public record TimeSlotSummary(
         LocalTime endTime,
         TimeSlot.SlotStatus status
 ) {
-    public static TimeSlotSummary fromEntity(TimeSlot timeSlot, ZoneId userTimeZone) {
-        return new TimeSlotSummary(
-                timeSlot.getId(),
-                timeSlot.getStartTime().atZone(userTimeZone).toLocalTime(),
-                timeSlot.getEndTime().atZone(userTimeZone).toLocalTime(),
-                timeSlot.getStatus()
-        );
-    }
 }
@@ -0,0 +1,35 @@
+package dev.eduardo.scheduler.api.dto;
+
+import java.util.List;
+
+/**
+ * A user's slots in a date range, grouped by local date in the user's time zone and sorted by date.
+ * Cached once per range and sliced into pages on read.
+ */
+public record UserCalendar(
+        UserInfo user,
+        List<DateSlots> days
+) {
+    public PageableUserTimeSlotsResponse page(int page, int size) {
+        int totalElements = days.size();
+        int totalPages = (int) Math.ceil((double) totalElements / size);
+        long startIndex = (long) page * size;
+        int endIndex = (int) Math.min(startIndex + size, totalElements);
+
+        List<DateSlots> paginatedDateSlots = startIndex < totalElements ?
+                List.copyOf(days.subList((int) startIndex, endIndex)) : List.of();
+
+        boolean hasNext = page < totalPages - 1;
+        var pageInfo = new PageableUserTimeSlotsResponse.PageInfo(
+                page,
+                size,
+                totalPages,
+                totalElements,
+                hasNext,
+                page > 0
+        );
+
+        return new PageableUserTimeSlotsResponse(user, paginatedDateSlots, pageInfo,
+                CalendarCursor.next(paginatedDateSlots, hasNext));
+    }
+}
@@ -0,0 +1,149 @@
+package dev.eduardo.scheduler.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Makes sure a missing cache entry is loaded only once.
+ * <p>
+ * Concurrent callers for the same key on this node wait for the first caller's result instead of running the loader
+ * themselves. When the distributed lock is enabled, the loading node also holds a short Redis lock so other nodes
+ * poll the cache for its result rather than hitting the database at the same time. If the lock holder does not
+ * publish a value within the wait time, the caller loads the value itself.
+ */
+@Slf4j
+public class CacheLoadCoordinator {
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final String lockPrefix;
+    private final StringRedisTemplate redisTemplate;
+    private final SchedulerCacheProperties.SingleFlight properties;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter loads;
+    private final Counter localCoalesced;
+    private final Counter remoteCoalesced;
+
+    public CacheLoadCoordinator(String cacheName,
+                                String lockPrefix,
+                                StringRedisTemplate redisTemplate,
+                                SchedulerCacheProperties.SingleFlight properties,
+                                MeterRegistry meterRegistry) {
+        this.lockPrefix = lockPrefix;
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.loads = Counter.builder("cache.loads")
+                .description("Number of times a missing cache entry was loaded from its source")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.localCoalesced = coalescedCounter(meterRegistry, cacheName, "local");
+        this.remoteCoalesced = coalescedCounter(meterRegistry, cacheName, "remote");
+    }
+
+    /**
+     * Returns the cached value if another caller stored it in the meantime, otherwise runs {@code loader} once for
+     * all concurrent callers of {@code key}. The loader is expected to store the value in the cache.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Supplier<Cache.ValueWrapper> lookup, Supplier<T> loader) {
+        var future = new CompletableFuture<Object>();
+        var existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            localCoalesced.increment();
+            return (T) await(existing);
+        }
+
+        try {
+            var value = loadOnce(key, lookup, loader);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T loadOnce(String key, Supplier<Cache.ValueWrapper> lookup, Supplier<T> loader) {
+        var cached = lookup.get();
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        if (!properties.distributedLock()) {
+            return runLoader(loader);
+        }
+
+        var lockKey = lockPrefix + key;
+        var token = UUID.randomUUID().toString();
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, properties.lockTtl()))) {
+            try {
+                return runLoader(loader);
+            } finally {
+                redisTemplate.execute(UNLOCK_SCRIPT, List.of(lockKey), token);
+            }
+        }
+
+        // Another node is loading the same key, wait for it to publish the value
+        var deadline = System.nanoTime() + properties.lockWait().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(properties.pollInterval());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            cached = lookup.get();
+            if (cached != null) {
+                remoteCoalesced.increment();
+                return (T) cached.get();
+            }
+        }
+
+        log.debug("Timed out waiting for another node to load cache key {}, loading it locally", key);
+        return runLoader(loader);
+    }
+
+    private <T> T runLoader(Supplier<T> loader) {
+        loads.increment();
+        return loader.get();
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter coalescedCounter(MeterRegistry meterRegistry, String cacheName, String scope) {
+        return Counter.builder("cache.loads.coalesced")
+                .description("Number of callers that reused a value loaded by another caller")
+                .tag("cache", cacheName)
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,117 @@
+package dev.eduardo.scheduler.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.CacheKeyPrefix;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reports how many keys and how much Redis memory each cache uses ({@code /actuator/cacheMemory}).
+ * <p>
+ * Sizes come from {@code SCAN} over the cache's key prefix and pipelined {@code MEMORY USAGE} calls, so a call walks
+ * every key of the cache. It is meant for occasional inspection when tuning {@code scheduler.cache.caches.*}, not for
+ * scraping, and is left out of the default endpoint exposure. The partition indexes and load locks are not entries
+ * and are not counted.
+ */
+@Component
+@Endpoint(id = "cacheMemory")
+@RequiredArgsConstructor
+public class CacheMemoryEndpoint {
+
+    private static final byte[] USAGE = "USAGE".getBytes(StandardCharsets.UTF_8);
+    private static final int BATCH_SIZE = 1000;
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+
+    @ReadOperation
+    public Map<String, CacheMemory> caches() {
+        var report = new TreeMap<String, CacheMemory>();
+        for (var cacheName : cacheManager.getCacheNames()) {
+            report.put(cacheName, measure(cacheName));
+        }
+        return report;
+    }
+
+    /**
+     * @return the usage of the cache, or {@code null} (404) if there is no cache with that name
+     */
+    @ReadOperation
+    public CacheMemory cache(@Selector String cacheName) {
+        if (!cacheManager.getCacheNames().contains(cacheName)) {
+            return null;
+        }
+        return measure(cacheName);
+    }
+
+    private CacheMemory measure(String cacheName) {
+        var keyPrefix = CacheKeyPrefix.simple().compute(cacheName);
+        var memory = redisTemplate.execute((RedisCallback<CacheMemory>) connection -> measure(connection, keyPrefix));
+        return memory != null ? memory : new CacheMemory(0, 0);
+    }
+
+    private CacheMemory measure(RedisConnection connection, String keyPrefix) {
+        var options = ScanOptions.scanOptions().match(keyPrefix + "*").count(BATCH_SIZE).build();
+        var indexPrefix = keyPrefix + PartitionedRedisCache.INDEX_PREFIX;
+        var lockPrefix = keyPrefix + PartitionedRedisCache.LOCK_PREFIX;
+        long keys = 0;
+        long bytes = 0;
+        var batch = new ArrayList<byte[]>(BATCH_SIZE);
+        try (var cursor = connection.keyCommands().scan(options)) {
+            while (cursor.hasNext()) {
+                var key = cursor.next();
+                var name = new String(key, StandardCharsets.UTF_8);
+                if (name.startsWith(indexPrefix) || name.startsWith(lockPrefix)) {
+                    continue;
+                }
+                keys++;
+                batch.add(key);
+                if (batch.size() == BATCH_SIZE) {
+                    bytes += memoryUsage(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            bytes += memoryUsage(batch);
+        }
+        return new CacheMemory(keys, bytes);
+    }
+
+    /**
+     * @return the summed {@code MEMORY USAGE} of the keys, asked for in one pipeline
+     */
+    private long memoryUsage(List<byte[]> keys) {
+        var usages = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (var key : keys) {
+                connection.execute("MEMORY", USAGE, key);
+            }
+            return null;
+        });
+        long bytes = 0;
+        for (var usage : usages) {
+            if (usage instanceof Long size) {
+                bytes += size;
+            }
+        }
+        return bytes;
+    }
+
+    public record CacheMemory(
+            long keys,
+            long bytes
+    ) {}
+}
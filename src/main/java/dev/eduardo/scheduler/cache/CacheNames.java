@@ -0,0 +1,12 @@
+package dev.eduardo.scheduler.cache;
+
+public final class CacheNames {
+
+    public static final String USER_CALENDARS = "userCalendars";
+    public static final String USER_CALENDAR_PAGES = "userCalendarPages";
+    public static final String ADMIN_TIME_SLOTS = "adminTimeSlots";
+    public static final String AVAILABILITY_BITMAPS = "availabilityBitmaps";
+
+    private CacheNames() {
+    }
+}
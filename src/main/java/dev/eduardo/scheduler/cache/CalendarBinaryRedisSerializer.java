@@ -0,0 +1,557 @@
+package dev.eduardo.scheduler.cache;
+
+import dev.eduardo.scheduler.api.dto.DateSlots;
+import dev.eduardo.scheduler.api.dto.PageableUserTimeSlotsResponse;
+import dev.eduardo.scheduler.api.dto.TimeSlotResponse;
+import dev.eduardo.scheduler.api.dto.TimeSlotSummary;
+import dev.eduardo.scheduler.api.dto.UserCalendar;
+import dev.eduardo.scheduler.api.dto.UserInfo;
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.service.AvailabilityBitmap;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary format for the calendar DTOs stored in Redis.
+ * <p>
+ * Every payload starts with a format version byte followed by a type tag. Numbers are written as varints, dates and
+ * times are delta-encoded against the previous value and UUIDs are written as two longs. Values of any other type
+ * are delegated to the JSON serializer; since JSON never starts with a control byte the two formats can be told apart
+ * on read. Payloads written with an unknown version are treated as a cache miss, so nodes running different versions
+ * during a rolling deploy reload the value instead of failing.
+ */
+public class CalendarBinaryRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte FORMAT_VERSION = 2;
+    private static final byte MAX_RESERVED_VERSION = 8;
+
+    private static final byte TAG_PAGEABLE_USER_TIME_SLOTS = 1;
+    private static final byte TAG_TIME_SLOT_RESPONSE = 2;
+    private static final byte TAG_USER_CALENDAR = 3;
+    private static final byte TAG_REFRESHABLE_VALUE = 4;
+    private static final byte TAG_AVAILABILITY_BITMAP = 5;
+
+    // Slot header bits: 0-1 status (0 = null), 2 id, 3 start, 4 end, 5 sub-second precision
+    private static final int SLOT_HAS_ID = 1 << 2;
+    private static final int SLOT_HAS_START = 1 << 3;
+    private static final int SLOT_HAS_END = 1 << 4;
+    private static final int SLOT_HAS_NANOS = 1 << 5;
+
+    // Time slot response header bits
+    private static final int RESPONSE_HAS_ID = 1;
+    private static final int RESPONSE_HAS_USER_ID = 1 << 1;
+    private static final int RESPONSE_HAS_EMAIL = 1 << 2;
+    private static final int RESPONSE_HAS_START = 1 << 3;
+    private static final int RESPONSE_HAS_END = 1 << 4;
+    private static final int RESPONSE_HAS_STATUS = 1 << 5;
+    private static final int RESPONSE_HAS_CREATED = 1 << 6;
+    private static final int RESPONSE_HAS_UPDATED = 1 << 7;
+
+    private static final TimeSlot.SlotStatus[] STATUSES = TimeSlot.SlotStatus.values();
+
+    private final RedisSerializer<Object> fallback;
+
+    public CalendarBinaryRedisSerializer(RedisSerializer<Object> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        return switch (value) {
+            case PageableUserTimeSlotsResponse response -> {
+                var out = header(TAG_PAGEABLE_USER_TIME_SLOTS);
+                writePageableResponse(out, response);
+                yield out.toByteArray();
+            }
+            case UserCalendar calendar -> {
+                var out = header(TAG_USER_CALENDAR);
+                writeUserInfo(out, calendar.user());
+                writeDateSlotsList(out, calendar.days());
+                yield out.toByteArray();
+            }
+            case RefreshableValue entry -> {
+                var out = header(TAG_REFRESHABLE_VALUE);
+                out.writeBoolean(entry.loadedAt() != null);
+                writeInstant(out, entry.loadedAt(), null);
+                out.writeBytes(entry.value() != null ? serialize(entry.value()) : null);
+                yield out.toByteArray();
+            }
+            case TimeSlotResponse response -> {
+                var out = header(TAG_TIME_SLOT_RESPONSE);
+                writeTimeSlotResponse(out, response);
+                yield out.toByteArray();
+            }
+            case AvailabilityBitmap bitmap -> {
+                var out = header(TAG_AVAILABILITY_BITMAP);
+                writeAvailabilityBitmap(out, bitmap);
+                yield out.toByteArray();
+            }
+            case null, default -> fallback.serialize(value);
+        };
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        var version = bytes[0];
+        if (version < 1 || version > MAX_RESERVED_VERSION) {
+            return fallback.deserialize(bytes);
+        }
+        if (version != FORMAT_VERSION) {
+            return null;
+        }
+
+        try {
+            var in = new BinaryInput(bytes, 2);
+            return switch (bytes[1]) {
+                case TAG_PAGEABLE_USER_TIME_SLOTS -> readPageableResponse(in);
+                case TAG_TIME_SLOT_RESPONSE -> readTimeSlotResponse(in);
+                case TAG_USER_CALENDAR -> new UserCalendar(readUserInfo(in), readDateSlotsList(in));
+                case TAG_REFRESHABLE_VALUE -> readRefreshableValue(in);
+                case TAG_AVAILABILITY_BITMAP -> readAvailabilityBitmap(in);
+                default -> null;
+            };
+        } catch (RuntimeException e) {
+            throw new SerializationException("Cannot deserialize binary cache value", e);
+        }
+    }
+
+    private static BinaryOutput header(byte tag) {
+        var out = new BinaryOutput();
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(tag);
+        return out;
+    }
+
+    private static void writePageableResponse(BinaryOutput out, PageableUserTimeSlotsResponse response) {
+        writeUserInfo(out, response.user());
+        writePageInfo(out, response.pageInfo());
+        writeDateSlotsList(out, response.timeSlots());
+        out.writeString(response.nextCursor());
+    }
+
+    private static PageableUserTimeSlotsResponse readPageableResponse(BinaryInput in) {
+        var user = readUserInfo(in);
+        var pageInfo = readPageInfo(in);
+        var timeSlots = readDateSlotsList(in);
+        var nextCursor = in.readString();
+        return new PageableUserTimeSlotsResponse(user, timeSlots, pageInfo, nextCursor);
+    }
+
+    private static void writeUserInfo(BinaryOutput out, UserInfo user) {
+        out.writeBoolean(user != null);
+        if (user != null) {
+            out.writeString(user.name());
+            out.writeString(user.email());
+        }
+    }
+
+    private static UserInfo readUserInfo(BinaryInput in) {
+        return in.readBoolean() ? new UserInfo(in.readString(), in.readString()) : null;
+    }
+
+    private static void writePageInfo(BinaryOutput out, PageableUserTimeSlotsResponse.PageInfo pageInfo) {
+        out.writeBoolean(pageInfo != null);
+        if (pageInfo != null) {
+            out.writeZigZag(pageInfo.page());
+            out.writeZigZag(pageInfo.size());
+            out.writeZigZag(pageInfo.totalPages());
+            out.writeZigZag(pageInfo.totalElements());
+            out.writeByte((pageInfo.hasNext() ? 1 : 0) | (pageInfo.hasPrevious() ? 2 : 0));
+        }
+    }
+
+    private static PageableUserTimeSlotsResponse.PageInfo readPageInfo(BinaryInput in) {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        var page = (int) in.readZigZag();
+        var size = (int) in.readZigZag();
+        var totalPages = (int) in.readZigZag();
+        var totalElements = in.readZigZag();
+        var flags = in.readByte();
+        return new PageableUserTimeSlotsResponse.PageInfo(
+                page, size, totalPages, totalElements, (flags & 1) != 0, (flags & 2) != 0);
+    }
+
+    /**
+     * Days are written as an epoch-day delta against the previous day, slots as second-of-day deltas against the
+     * previous slot's end within the same day
+     */
+    private static void writeDateSlotsList(BinaryOutput out, List<DateSlots> dateSlotsList) {
+        out.writeLength(dateSlotsList);
+        if (dateSlotsList == null) {
+            return;
+        }
+
+        long previousEpochDay = 0;
+        for (var dateSlots : dateSlotsList) {
+            var date = dateSlots.date();
+            out.writeBoolean(date != null);
+            if (date != null) {
+                out.writeZigZag(date.toEpochDay() - previousEpochDay);
+                previousEpochDay = date.toEpochDay();
+            }
+            writeSlots(out, dateSlots.slots());
+        }
+    }
+
+    private static List<DateSlots> readDateSlotsList(BinaryInput in) {
+        var count = in.readLength();
+        if (count < 0) {
+            return null;
+        }
+
+        var dateSlotsList = new ArrayList<DateSlots>(count);
+        long previousEpochDay = 0;
+        for (int i = 0; i < count; i++) {
+            LocalDate date = null;
+            if (in.readBoolean()) {
+                previousEpochDay += in.readZigZag();
+                date = LocalDate.ofEpochDay(previousEpochDay);
+            }
+            dateSlotsList.add(new DateSlots(date, readSlots(in)));
+        }
+        return dateSlotsList;
+    }
+
+    private static void writeSlots(BinaryOutput out, List<TimeSlotSummary> slots) {
+        out.writeLength(slots);
+        if (slots == null) {
+            return;
+        }
+
+        long previousSecond = 0;
+        for (var slot : slots) {
+            var start = slot.startTime();
+            var end = slot.endTime();
+            var hasNanos = (start != null && start.getNano() != 0) || (end != null && end.getNano() != 0);
+
+            var header = slot.status() != null ? slot.status().ordinal() + 1 : 0;
+            header |= slot.id() != null ? SLOT_HAS_ID : 0;
+            header |= start != null ? SLOT_HAS_START : 0;
+            header |= end != null ? SLOT_HAS_END : 0;
+            header |= hasNanos ? SLOT_HAS_NANOS : 0;
+            out.writeByte(header);
+
+            if (slot.id() != null) {
+                out.writeUuid(slot.id());
+            }
+            if (start != null) {
+                out.writeZigZag(start.toSecondOfDay() - previousSecond);
+                previousSecond = start.toSecondOfDay();
+            }
+            if (end != null) {
+                out.writeZigZag(end.toSecondOfDay() - previousSecond);
+                previousSecond = end.toSecondOfDay();
+            }
+            if (hasNanos) {
+                out.writeVarLong(start != null ? start.getNano() : 0);
+                out.writeVarLong(end != null ? end.getNano() : 0);
+            }
+        }
+    }
+
+    private static List<TimeSlotSummary> readSlots(BinaryInput in) {
+        var count = in.readLength();
+        if (count < 0) {
+            return null;
+        }
+
+        var slots = new ArrayList<TimeSlotSummary>(count);
+        long previousSecond = 0;
+        for (int i = 0; i < count; i++) {
+            var header = in.readByte();
+
+            var id = (header & SLOT_HAS_ID) != 0 ? in.readUuid() : null;
+            LocalTime start = null;
+            LocalTime end = null;
+            if ((header & SLOT_HAS_START) != 0) {
+                previousSecond += in.readZigZag();
+                start = LocalTime.ofSecondOfDay(previousSecond);
+            }
+            if ((header & SLOT_HAS_END) != 0) {
+                previousSecond += in.readZigZag();
+                end = LocalTime.ofSecondOfDay(previousSecond);
+            }
+            if ((header & SLOT_HAS_NANOS) != 0) {
+                var startNano = (int) in.readVarLong();
+                var endNano = (int) in.readVarLong();
+                start = start != null ? start.withNano(startNano) : null;
+                end = end != null ? end.withNano(endNano) : null;
+            }
+
+            slots.add(new TimeSlotSummary(id, start, end, status(header & 0b11)));
+        }
+        return slots;
+    }
+
+    /**
+     * The wrapped value is stored as a nested payload in whatever format it would have on its own. If that payload
+     * cannot be read the whole entry is a cache miss rather than a cached {@code null}
+     */
+    private RefreshableValue readRefreshableValue(BinaryInput in) {
+        var loadedAt = in.readBoolean() ? readInstant(in, null) : null;
+        var payload = in.readBytes();
+        if (payload == null) {
+            return new RefreshableValue(null, loadedAt);
+        }
+        var value = deserialize(payload);
+        return value != null ? new RefreshableValue(value, loadedAt) : null;
+    }
+
+    private static void writeTimeSlotResponse(BinaryOutput out, TimeSlotResponse response) {
+        var header = 0;
+        header |= response.id() != null ? RESPONSE_HAS_ID : 0;
+        header |= response.userId() != null ? RESPONSE_HAS_USER_ID : 0;
+        header |= response.userEmail() != null ? RESPONSE_HAS_EMAIL : 0;
+        header |= response.startTime() != null ? RESPONSE_HAS_START : 0;
+        header |= response.endTime() != null ? RESPONSE_HAS_END : 0;
+        header |= response.status() != null ? RESPONSE_HAS_STATUS : 0;
+        header |= response.createdAt() != null ? RESPONSE_HAS_CREATED : 0;
+        header |= response.updatedAt() != null ? RESPONSE_HAS_UPDATED : 0;
+        out.writeByte(header);
+
+        if (response.id() != null) {
+            out.writeUuid(response.id());
+        }
+        if (response.userId() != null) {
+            out.writeUuid(response.userId());
+        }
+        if (response.userEmail() != null) {
+            out.writeString(response.userEmail());
+        }
+        writeInstant(out, response.startTime(), null);
+        writeInstant(out, response.endTime(), response.startTime());
+        if (response.status() != null) {
+            out.writeByte(response.status().ordinal());
+        }
+        writeInstant(out, response.createdAt(), null);
+        writeInstant(out, response.updatedAt(), response.createdAt());
+    }
+
+    private static TimeSlotResponse readTimeSlotResponse(BinaryInput in) {
+        var header = in.readByte();
+
+        var id = (header & RESPONSE_HAS_ID) != 0 ? in.readUuid() : null;
+        var userId = (header & RESPONSE_HAS_USER_ID) != 0 ? in.readUuid() : null;
+        var userEmail = (header & RESPONSE_HAS_EMAIL) != 0 ? in.readString() : null;
+        var startTime = (header & RESPONSE_HAS_START) != 0 ? readInstant(in, null) : null;
+        var endTime = (header & RESPONSE_HAS_END) != 0 ? readInstant(in, startTime) : null;
+        var status = (header & RESPONSE_HAS_STATUS) != 0 ? STATUSES[in.readByte()] : null;
+        var createdAt = (header & RESPONSE_HAS_CREATED) != 0 ? readInstant(in, null) : null;
+        var updatedAt = (header & RESPONSE_HAS_UPDATED) != 0 ? readInstant(in, createdAt) : null;
+
+        return new TimeSlotResponse(id, userId, userEmail, startTime, endTime, status, createdAt, updatedAt);
+    }
+
+    /**
+     * The words are written as raw longs, a day of 15 minute quanta takes 16 bytes
+     */
+    private static void writeAvailabilityBitmap(BinaryOutput out, AvailabilityBitmap bitmap) {
+        writeInstant(out, bitmap.origin(), null);
+        out.writeVarLong(bitmap.quantumMinutes());
+        out.writeVarLong(bitmap.length());
+        for (var word : bitmap.words()) {
+            out.writeLong(word);
+        }
+    }
+
+    private static AvailabilityBitmap readAvailabilityBitmap(BinaryInput in) {
+        var origin = readInstant(in, null);
+        var quantumMinutes = (int) in.readVarLong();
+        var length = (int) in.readVarLong();
+        var words = new long[(length + 63) >>> 6];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.readLong();
+        }
+        return AvailabilityBitmap.of(origin, quantumMinutes, length, words);
+    }
+
+    /**
+     * Writes the epoch second relative to {@code base} when present, followed by the nano adjustment
+     */
+    private static void writeInstant(BinaryOutput out, Instant instant, Instant base) {
+        if (instant == null) {
+            return;
+        }
+        out.writeZigZag(instant.getEpochSecond() - (base != null ? base.getEpochSecond() : 0));
+        out.writeVarLong(instant.getNano());
+    }
+
+    private static Instant readInstant(BinaryInput in, Instant base) {
+        var epochSecond = in.readZigZag() + (base != null ? base.getEpochSecond() : 0);
+        return Instant.ofEpochSecond(epochSecond, in.readVarLong());
+    }
+
+    private static TimeSlot.SlotStatus status(int encoded) {
+        return encoded == 0 ? null : STATUSES[encoded - 1];
+    }
+
+    static final class BinaryOutput {
+
+        private byte[] buffer = new byte[256];
+        private int position;
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBoolean(boolean value) {
+            writeByte(value ? 1 : 0);
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeUuid(UUID value) {
+            writeLong(value.getMostSignificantBits());
+            writeLong(value.getLeastSignificantBits());
+        }
+
+        /**
+         * Writes {@code size + 1}, reserving 0 for {@code null}
+         */
+        void writeLength(List<?> list) {
+            writeVarLong(list != null ? list.size() + 1L : 0);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            var bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeBytes(byte[] value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            writeVarLong(value.length + 1L);
+            ensureCapacity(value.length);
+            System.arraycopy(value, 0, buffer, position, value.length);
+            position += value.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int additional) {
+            if (position + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+            }
+        }
+    }
+
+    static final class BinaryInput {
+
+        private final byte[] buffer;
+        private int position;
+
+        BinaryInput(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        int readByte() {
+            return buffer[position++] & 0xFF;
+        }
+
+        boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                var b = buffer[position++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalStateException("Malformed varint");
+        }
+
+        long readZigZag() {
+            var value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        UUID readUuid() {
+            return new UUID(readLong(), readLong());
+        }
+
+        /**
+         * @return the list size, or -1 for {@code null}
+         */
+        int readLength() {
+            return (int) readVarLong() - 1;
+        }
+
+        byte[] readBytes() {
+            var length = (int) readVarLong() - 1;
+            if (length < 0) {
+                return null;
+            }
+            var value = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return value;
+        }
+
+        String readString() {
+            var length = (int) readVarLong() - 1;
+            if (length < 0) {
+                return null;
+            }
+            var value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
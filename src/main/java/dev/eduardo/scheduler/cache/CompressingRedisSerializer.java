@@ -0,0 +1,61 @@
+package dev.eduardo.scheduler.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip-compresses values whose serialized form is larger than a threshold.
+ * <p>
+ * Compressed payloads are recognised on read by the gzip magic bytes, which neither JSON nor the binary calendar
+ * format start with, so compressed and uncompressed entries can live side by side and the threshold can be changed
+ * without flushing the cache.
+ */
+public class CompressingRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte GZIP_MAGIC_FIRST = (byte) 0x1f;
+    private static final byte GZIP_MAGIC_SECOND = (byte) 0x8b;
+
+    private final RedisSerializer<Object> delegate;
+    private final long threshold;
+
+    public CompressingRedisSerializer(RedisSerializer<Object> delegate, DataSize threshold) {
+        this.delegate = delegate;
+        this.threshold = threshold.toBytes();
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        var bytes = delegate.serialize(value);
+        if (bytes == null || bytes.length <= threshold) {
+            return bytes;
+        }
+
+        var out = new ByteArrayOutputStream(bytes.length / 2);
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot compress cache value", e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < 2 || bytes[0] != GZIP_MAGIC_FIRST || bytes[1] != GZIP_MAGIC_SECOND) {
+            return delegate.deserialize(bytes);
+        }
+
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return delegate.deserialize(gzip.readAllBytes());
+        } catch (IOException e) {
+            throw new SerializationException("Cannot decompress cache value", e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package dev.eduardo.scheduler.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cache that reads and writes many entries with one round trip to its shared tier.
+ */
+public interface MultiKeyCache {
+
+    /**
+     * @return the values cached for the keys, in key order, with {@code null} for the missing ones
+     */
+    List<Object> getAll(List<?> keys);
+
+    /**
+     * Stores every entry. Values must not be {@code null}.
+     */
+    void putAll(Map<?, ?> entries);
+
+    /**
+     * Reads the keys from any cache, with one round trip if it is a {@link MultiKeyCache}
+     */
+    static List<Object> getAll(Cache cache, List<?> keys) {
+        if (unwrap(cache) instanceof MultiKeyCache multiKeyCache) {
+            return multiKeyCache.getAll(keys);
+        }
+        var values = new ArrayList<>(keys.size());
+        for (var key : keys) {
+            var wrapper = cache.get(key);
+            values.add(wrapper != null ? wrapper.get() : null);
+        }
+        return values;
+    }
+
+    /**
+     * Stores the entries in any cache, after commit when it is transaction-aware like its single puts
+     */
+    static void putAll(Cache cache, Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (cache instanceof TransactionAwareCacheDecorator decorator
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    putAll(decorator.getTargetCache(), entries);
+                }
+            });
+        } else if (unwrap(cache) instanceof MultiKeyCache multiKeyCache) {
+            multiKeyCache.putAll(entries);
+        } else {
+            entries.forEach(cache::put);
+        }
+    }
+
+    private static Cache unwrap(Cache cache) {
+        return cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+    }
+}
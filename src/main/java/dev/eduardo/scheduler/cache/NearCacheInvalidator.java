@@ -0,0 +1,105 @@
+package dev.eduardo.scheduler.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Propagates L1 invalidations between nodes over Redis pub/sub.
+ * <p>
+ * Messages have the form {@code nodeId|cacheName|key}; a missing key means the whole cache was cleared and
+ * a key ending in {@code *} drops every entry starting with that prefix.
+ * Messages published by this node are ignored since the local L1 was already updated.
+ */
+@Slf4j
+public class NearCacheInvalidator implements MessageListener {
+
+    private static final String SEPARATOR = "|";
+    private static final String PARTITION_WILDCARD = "*";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public NearCacheInvalidator(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public void register(TwoTierCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+    }
+
+    /**
+     * Publishes the evictions of several keys in one pipeline
+     */
+    public void publishEvictAll(String cacheName, Collection<String> keys) {
+        var channelBytes = bytes(channel);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (var key : keys) {
+                    connection.publish(channelBytes, bytes(nodeId + SEPARATOR + cacheName + SEPARATOR + key));
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish near cache invalidations on channel {}: {}", channel, e.getMessage());
+        }
+    }
+
+    public void publishEvictPartition(String cacheName, String partitionPrefix) {
+        publish(nodeId + SEPARATOR + cacheName + SEPARATOR + partitionPrefix + PARTITION_WILDCARD);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(nodeId + SEPARATOR + cacheName);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        var parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        var cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+
+        if (parts.length == 3 && parts[2].endsWith(PARTITION_WILDCARD)) {
+            cache.invalidateLocalPartition(parts[2].substring(0, parts[2].length() - 1));
+        } else if (parts.length == 3) {
+            cache.invalidateLocal(parts[2]);
+        } else {
+            cache.invalidateLocal();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void publish(String payload) {
+        try {
+            redisTemplate.convertAndSend(channel, payload);
+        } catch (RuntimeException e) {
+            // Peers fall back to the L1 TTL if an invalidation is lost
+            log.warn("Failed to publish near cache invalidation on channel {}: {}", channel, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package dev.eduardo.scheduler.cache;
+
+/**
+ * A cache whose keys are grouped by a leading partition (the owning user) that can be evicted as a unit.
+ */
+public interface PartitionedCache {
+
+    /**
+     * Evicts every entry whose key starts with {@code <partition>:}
+     *
+     * @return the number of entries removed from the shared cache tier
+     */
+    long evictPartition(String partition);
+}
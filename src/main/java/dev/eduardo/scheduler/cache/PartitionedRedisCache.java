@@ -0,0 +1,245 @@
+package dev.eduardo.scheduler.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Redis cache that keeps a set of keys per partition so a user's entries can be evicted without scanning the keyspace.
+ * <p>
+ * For a key {@code <partition>:<rest>} the Redis key is recorded in {@code <cacheName>::~idx:<partition>}. The index
+ * lives under the cache prefix so {@link #clear()} removes it together with the entries, and it expires with the
+ * entries it tracks.
+ * <p>
+ * Loads through {@link #get(Object, Callable)} are coalesced by a {@link CacheLoadCoordinator}, replacing the
+ * cache-wide lock {@link RedisCache} uses for synchronized loads. {@link #getAll(List)} is one {@code MGET} and
+ * {@link #putAll(Map)} one pipeline.
+ */
+public class PartitionedRedisCache implements Cache, PartitionedCache, MultiKeyCache {
+
+    static final String INDEX_PREFIX = "~idx:";
+    static final String LOCK_PREFIX = "~lock:";
+
+    // Deletes the indexed entries in batches, as unpack() is limited by the Lua stack size
+    private static final RedisScript<Long> EVICT_PARTITION_SCRIPT = new DefaultRedisScript<>("""
+            local members = redis.call('smembers', KEYS[1])
+            local deleted = 0
+            for i = 1, #members, 1000 do
+                deleted = deleted + redis.call('del', unpack(members, i, math.min(i + 999, #members)))
+            end
+            redis.call('del', KEYS[1])
+            return deleted
+            """, Long.class);
+
+    private final RedisCache delegate;
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final Duration ttl;
+    private final CacheLoadCoordinator loadCoordinator;
+
+    public PartitionedRedisCache(RedisCache delegate,
+                                 StringRedisTemplate redisTemplate,
+                                 Duration ttl,
+                                 SchedulerCacheProperties.SingleFlight singleFlight,
+                                 MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = delegate.getCacheConfiguration().getKeyPrefixFor(delegate.getName());
+        this.ttl = ttl;
+        this.loadCoordinator = new CacheLoadCoordinator(
+                delegate.getName(), keyPrefix + LOCK_PREFIX, redisTemplate, singleFlight, meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        return loadCoordinator.load(String.valueOf(key), () -> delegate.get(key), () -> {
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            put(key, value);
+            return value;
+        });
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader).thenApply(value -> {
+            index(key);
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        index(key);
+    }
+
+    @Override
+    public List<Object> getAll(List<?> keys) {
+        var redisKeys = new byte[keys.size()][];
+        for (int i = 0; i < redisKeys.length; i++) {
+            redisKeys[i] = bytes(keyPrefix + keys.get(i));
+        }
+        var cached = redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(redisKeys));
+
+        var values = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            var value = cached != null ? cached.get(i) : null;
+            values.add(value != null ? deserialize(value) : null);
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        var expiration = !ttl.isZero() && !ttl.isNegative() ? Expiration.from(ttl) : Expiration.persistent();
+        var valueSerialization = delegate.getCacheConfiguration().getValueSerializationPair();
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            entries.forEach((key, value) -> {
+                var cacheKey = String.valueOf(key);
+                var redisKey = bytes(keyPrefix + cacheKey);
+                connection.stringCommands().set(redisKey, ByteUtils.getBytes(valueSerialization.write(value)),
+                        expiration, RedisStringCommands.SetOption.upsert());
+                var separator = cacheKey.indexOf(UserScopedKeyGenerator.SEPARATOR);
+                if (separator > 0) {
+                    addToIndex(connection, bytes(indexKey(cacheKey.substring(0, separator))), redisKey);
+                }
+            });
+            return null;
+        });
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        var existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            index(key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    /**
+     * Reads and deletes the index and its entries in one script, so an entry indexed in between is not left behind
+     * without an index
+     */
+    @Override
+    public long evictPartition(String partition) {
+        var deleted = redisTemplate.execute(EVICT_PARTITION_SCRIPT, List.of(indexKey(partition)));
+        return deleted != null ? deleted : 0;
+    }
+
+    private void index(Object key) {
+        var cacheKey = String.valueOf(key);
+        var separator = cacheKey.indexOf(UserScopedKeyGenerator.SEPARATOR);
+        if (separator <= 0) {
+            return;
+        }
+
+        var indexKey = bytes(indexKey(cacheKey.substring(0, separator)));
+        var redisKey = bytes(keyPrefix + cacheKey);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            addToIndex(connection, indexKey, redisKey);
+            return null;
+        });
+    }
+
+    private void addToIndex(RedisConnection connection, byte[] indexKey, byte[] redisKey) {
+        connection.setCommands().sAdd(indexKey, redisKey);
+        if (!ttl.isZero() && !ttl.isNegative()) {
+            connection.keyCommands().pExpire(indexKey, ttl.toMillis());
+        }
+    }
+
+    /**
+     * @return the value, or {@code null} for a cached {@code null} or a value written in an unknown format
+     */
+    private Object deserialize(byte[] value) {
+        var deserialized = delegate.getCacheConfiguration().getValueSerializationPair().read(ByteBuffer.wrap(value));
+        return deserialized instanceof NullValue ? null : deserialized;
+    }
+
+    private String indexKey(String partition) {
+        return keyPrefix + INDEX_PREFIX + partition;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
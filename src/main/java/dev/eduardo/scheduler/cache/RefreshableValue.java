@@ -0,0 +1,12 @@
+package dev.eduardo.scheduler.cache;
+
+import java.time.Instant;
+
+/**
+ * A cached value together with the time it was loaded, used by {@link RefreshingCache} to decide when the value
+ * should be refreshed or is too old to serve.
+ */
+public record RefreshableValue(
+        Object value,
+        Instant loadedAt
+) {}
@@ -0,0 +1,298 @@
+package dev.eduardo.scheduler.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Adds refresh-ahead and stale-while-revalidate on top of another cache.
+ * <p>
+ * Values are stored as {@link RefreshableValue} so every tier knows when they were loaded. The underlying entries
+ * live for {@code ttl + staleWindow + fallbackWindow}. On a {@link #get(Object, Callable)} read:
+ * <ul>
+ *   <li>younger than {@code refreshAfter}: served as is</li>
+ *   <li>between {@code refreshAfter} and {@code ttl}: served, and reloaded in the background</li>
+ *   <li>between {@code ttl} and {@code ttl + staleWindow}: served stale, and reloaded in the background. A failed
+ *   reload keeps the stale value until the window ends</li>
+ *   <li>within the following {@code fallbackWindow}: reloaded synchronously, but if the reload fails (e.g. the
+ *   database is down) the last known value is served instead of the error</li>
+ * </ul>
+ * Every stale value served is flagged through {@link StaleCacheReads} so the response can be marked as stale.
+ * Plain {@link #get(Object)} reads have no loader to refresh with, so they treat values older than {@code ttl} as
+ * missing. At most one reload per key runs on each node: callers that need the value synchronously wait for the
+ * reload in progress, and a reload whose key is evicted meanwhile does not write its value back.
+ */
+@Slf4j
+public class RefreshingCache implements Cache, PartitionedCache {
+
+    private final Cache delegate;
+    private final Duration ttl;
+    private final SchedulerCacheProperties.CachePolicy policy;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private final ConcurrentMap<String, Reload> reloads = new ConcurrentHashMap<>();
+
+    private final Counter refreshSuccesses;
+    private final Counter refreshFailures;
+    private final Counter staleServes;
+    private final Counter fallbackServes;
+
+    public RefreshingCache(Cache delegate,
+                           Duration ttl,
+                           SchedulerCacheProperties.CachePolicy policy,
+                           Executor refreshExecutor,
+                           Clock clock,
+                           MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.policy = policy;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.refreshSuccesses = refreshCounter(meterRegistry, delegate.getName(), "success");
+        this.refreshFailures = refreshCounter(meterRegistry, delegate.getName(), "failure");
+        this.staleServes = staleCounter(meterRegistry, delegate.getName(), "revalidate");
+        this.fallbackServes = staleCounter(meterRegistry, delegate.getName(), "fallback");
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        var wrapper = delegate.get(key);
+        if (wrapper == null || !(wrapper.get() instanceof RefreshableValue entry) || age(entry).compareTo(ttl) >= 0) {
+            return null;
+        }
+        return new SimpleValueWrapper(entry.value());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        var wrapper = get(key);
+        var value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var wrapper = delegate.get(key);
+        if (wrapper != null) {
+            if (wrapper.get() instanceof RefreshableValue entry) {
+                var age = age(entry);
+                if (age.compareTo(ttl) < 0) {
+                    if (policy.refreshAfter() != null && age.compareTo(policy.refreshAfter()) >= 0) {
+                        refreshAsync(key, valueLoader);
+                    }
+                    return (T) entry.value();
+                }
+                if (age.compareTo(ttl.plus(policy.staleWindow())) < 0) {
+                    staleServes.increment();
+                    StaleCacheReads.markStale();
+                    refreshAsync(key, valueLoader);
+                    return (T) entry.value();
+                }
+                return loadWithFallback(key, valueLoader, entry);
+            }
+            // Written before this cache was refreshable
+            delegate.evict(key);
+        }
+
+        var entry = delegate.get(key, () -> new RefreshableValue(valueLoader.call(), clock.instant()));
+        return (T) entry.value();
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key).thenApply(value ->
+                value instanceof RefreshableValue entry && age(entry).compareTo(ttl) < 0 ? entry.value() : null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, () -> valueLoader.get()
+                        .thenApply(value -> new RefreshableValue(value, clock.instant())))
+                .thenApply(entry -> (T) entry.value());
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, new RefreshableValue(value, clock.instant()));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        var existing = delegate.putIfAbsent(key, new RefreshableValue(value, clock.instant()));
+        if (existing == null) {
+            return null;
+        }
+        return existing.get() instanceof RefreshableValue entry ? new SimpleValueWrapper(entry.value()) : existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        markOutdated(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        markOutdated(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        markOutdated(reloadKey -> true);
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        markOutdated(reloadKey -> true);
+        return delegate.invalidate();
+    }
+
+    @Override
+    public long evictPartition(String partition) {
+        var partitionPrefix = partition + UserScopedKeyGenerator.SEPARATOR;
+        markOutdated(reloadKey -> reloadKey.startsWith(partitionPrefix));
+        return delegate instanceof PartitionedCache partitioned ? partitioned.evictPartition(partition) : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T loadWithFallback(Object key, Callable<T> valueLoader, RefreshableValue lastKnown) {
+        var reload = new Reload();
+        var inFlight = reloads.putIfAbsent(String.valueOf(key), reload);
+        try {
+            var entry = inFlight == null ? reload(key, valueLoader, reload) : inFlight.result.join();
+            return (T) entry.value();
+        } catch (Exception e) {
+            fallbackServes.increment();
+            StaleCacheReads.markStale();
+            if (inFlight == null) {
+                log.warn("Failed to reload key {} of cache {}, serving the last known value loaded at {}",
+                        key, getName(), lastKnown.loadedAt(), e);
+            }
+            return (T) lastKnown.value();
+        }
+    }
+
+    private void refreshAsync(Object key, Callable<?> valueLoader) {
+        var reload = new Reload();
+        if (reloads.putIfAbsent(String.valueOf(key), reload) != null) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    reload(key, valueLoader, reload);
+                    refreshSuccesses.increment();
+                } catch (Exception e) {
+                    refreshFailures.increment();
+                    log.warn("Failed to refresh key {} of cache {}, serving the current value until it expires",
+                            key, getName(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            reloads.remove(String.valueOf(key), reload);
+            reload.result.completeExceptionally(e);
+            log.debug("Refresh of key {} in cache {} rejected, it will be retried on the next read", key, getName());
+        }
+    }
+
+    /**
+     * Runs the loader and stores its value unless the key was evicted in the meantime
+     */
+    private RefreshableValue reload(Object key, Callable<?> valueLoader, Reload reload) throws Exception {
+        try {
+            var entry = new RefreshableValue(valueLoader.call(), clock.instant());
+            if (!reload.outdated) {
+                delegate.put(key, entry);
+                // Evicted between the check and the put
+                if (reload.outdated) {
+                    delegate.evict(key);
+                }
+            }
+            reload.result.complete(entry);
+            return entry;
+        } catch (Exception e) {
+            reload.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            reloads.remove(String.valueOf(key), reload);
+        }
+    }
+
+    private void markOutdated(Object key) {
+        var reload = reloads.get(String.valueOf(key));
+        if (reload != null) {
+            reload.outdated = true;
+        }
+    }
+
+    private void markOutdated(Predicate<String> reloadKeys) {
+        reloads.forEach((reloadKey, reload) -> {
+            if (reloadKeys.test(reloadKey)) {
+                reload.outdated = true;
+            }
+        });
+    }
+
+    private Duration age(RefreshableValue entry) {
+        return Duration.between(entry.loadedAt(), clock.instant());
+    }
+
+    private static Counter staleCounter(MeterRegistry meterRegistry, String cacheName, String reason) {
+        return Counter.builder("cache.stale.served")
+                .description("Number of reads served with a value older than the cache TTL")
+                .tag("cache", cacheName)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String cacheName, String result) {
+        return Counter.builder("cache.refreshes")
+                .description("Number of background reloads of cache entries close to or past expiry")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A reload of one key in progress on this node
+     */
+    private static final class Reload {
+
+        private final CompletableFuture<RefreshableValue> result = new CompletableFuture<>();
+        // Set when the key is evicted, as the value being loaded may predate the change behind the eviction
+        private volatile boolean outdated;
+    }
+}
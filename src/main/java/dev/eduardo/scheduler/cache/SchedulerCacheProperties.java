@@ -0,0 +1,137 @@
+package dev.eduardo.scheduler.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "scheduler.cache")
+public record SchedulerCacheProperties(
+        @DefaultValue("30m") Duration ttl,
+        @DefaultValue("binary") ValueFormat valueFormat,
+        @DefaultValue NearCache nearCache,
+        @DefaultValue SingleFlight singleFlight,
+        @DefaultValue IntervalIndex intervalIndex,
+        @DefaultValue AvailabilityBitmaps availabilityBitmaps,
+        @DefaultValue("4") int refreshConcurrency,
+        Map<String, CachePolicy> caches
+) {
+
+    private static final CachePolicy DEFAULT_POLICY =
+            new CachePolicy(null, null, Duration.ZERO, Duration.ZERO, null, null, null);
+
+    public SchedulerCacheProperties {
+        caches = caches != null ? Map.copyOf(caches) : Map.of();
+    }
+
+    public CachePolicy policy(String cacheName) {
+        return caches.getOrDefault(cacheName, DEFAULT_POLICY);
+    }
+
+    public Duration ttl(String cacheName) {
+        var policy = policy(cacheName);
+        return policy.ttl() != null ? policy.ttl() : ttl;
+    }
+
+    /**
+     * How long Redis keeps the entries of a cache: the TTL plus the windows in which stale values may be served
+     */
+    public Duration redisTtl(String cacheName) {
+        var policy = policy(cacheName);
+        return ttl(cacheName).plus(policy.staleWindow()).plus(policy.fallbackWindow());
+    }
+
+    public boolean nearCacheEnabled(String cacheName) {
+        var policy = policy(cacheName);
+        return nearCache.enabled() && (policy.nearCache() == null || policy.nearCache());
+    }
+
+    public long nearCacheMaximumSize(String cacheName) {
+        var policy = policy(cacheName);
+        return policy.nearCacheMaximumEntries() != null ? policy.nearCacheMaximumEntries() : nearCache.maximumSize();
+    }
+
+    /**
+     * Encoding of cache values in Redis
+     */
+    public enum ValueFormat {
+        JSON, BINARY
+    }
+
+    /**
+     * In-process L1 cache kept in front of Redis
+     */
+    public record NearCache(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10000") long maximumSize,
+            @DefaultValue("1m") Duration ttl,
+            @DefaultValue("scheduler:cache:invalidation") String invalidationChannel
+    ) {}
+
+    /**
+     * Coalescing of concurrent loads for the same missing key
+     */
+    public record SingleFlight(
+            @DefaultValue("true") boolean distributedLock,
+            @DefaultValue("5s") Duration lockTtl,
+            @DefaultValue("3s") Duration lockWait,
+            @DefaultValue("50ms") Duration pollInterval
+    ) {}
+
+    /**
+     * In-process index of the time slots of recently active users, answering overlap checks without a query
+     */
+    public record IntervalIndex(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10000") long maximumUsers,
+            @DefaultValue("10m") Duration idleTimeout
+    ) {}
+
+    /**
+     * Per user and day bitmaps of available time, used to intersect the availability of large groups
+     *
+     * @param quantum the time covered by one bit; must be a whole number of minutes dividing a day
+     */
+    public record AvailabilityBitmaps(
+            @DefaultValue("15m") Duration quantum
+    ) {
+        public AvailabilityBitmaps {
+            if (quantum.toSeconds() % 60 != 0 || quantum.toMinutes() <= 0
+                    || Duration.ofDays(1).toMinutes() % quantum.toMinutes() != 0) {
+                throw new IllegalArgumentException("Availability quantum must be whole minutes dividing a day");
+            }
+        }
+
+        public int quantumMinutes() {
+            return (int) quantum.toMinutes();
+        }
+    }
+
+    /**
+     * Settings of a single cache, keyed by cache name. Unset values fall back to the global ones.
+     *
+     * @param ttl                     how long entries are considered fresh
+     * @param refreshAfter            age after which entries are reloaded in the background
+     * @param staleWindow             how long expired entries are still served while they are reloaded
+     * @param fallbackWindow          how long after the stale window entries are kept to be served when reloading
+     *                                fails
+     * @param nearCacheMaximumEntries size of this cache's near cache; entries in Redis are bounded by the TTL only
+     * @param nearCache               {@code false} to read this cache from Redis only
+     * @param compressionThreshold    values larger than this are gzip-compressed in Redis
+     */
+    public record CachePolicy(
+            Duration ttl,
+            Duration refreshAfter,
+            @DefaultValue("0s") Duration staleWindow,
+            @DefaultValue("0s") Duration fallbackWindow,
+            Long nearCacheMaximumEntries,
+            Boolean nearCache,
+            DataSize compressionThreshold
+    ) {
+        public boolean refreshes() {
+            return refreshAfter != null || !staleWindow.isZero() || !fallbackWindow.isZero();
+        }
+    }
+}
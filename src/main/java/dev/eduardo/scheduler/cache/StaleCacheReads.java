@@ -0,0 +1,29 @@
+package dev.eduardo.scheduler.cache;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Remembers on the current HTTP request that a cache served a stale value, so the response can say so.
+ * Outside a request (e.g. background refreshes) marking is a no-op.
+ */
+public final class StaleCacheReads {
+
+    private static final String ATTRIBUTE = StaleCacheReads.class.getName() + ".STALE";
+
+    private StaleCacheReads() {
+    }
+
+    public static void markStale() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public static boolean isStale() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && Boolean.TRUE.equals(attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+}
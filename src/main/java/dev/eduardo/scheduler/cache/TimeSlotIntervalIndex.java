@@ -0,0 +1,119 @@
+package dev.eduardo.scheduler.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.eduardo.scheduler.domain.repository.TimeSlotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Keeps the time slot intervals of recently active users in memory, so overlap checks are a binary search instead of
+ * a query. A user's slots are loaded on the first check and dropped after {@code idle-timeout} without checks. Only
+ * slots ending after the start of the check, or after the current time if that is earlier, are loaded; a check
+ * reaching further back reloads the user from its start.
+ * <p>
+ * The index is only a filter: writes through {@code TimeSlotService} keep it up to date after commit, but writes on
+ * other nodes or outside JPA are not seen until the user is reloaded. A "no overlap" answer may therefore be stale and
+ * the exclusion constraint stays the final check, while an overlap found here has to be confirmed by the database.
+ */
+@Slf4j
+@Component
+public class TimeSlotIntervalIndex {
+
+    public static final String CACHE_NAME = "timeSlotIntervals";
+
+    private final TimeSlotRepository timeSlotRepository;
+    private final boolean enabled;
+    private final Cache<UUID, UserIntervals> intervals;
+
+    public TimeSlotIntervalIndex(TimeSlotRepository timeSlotRepository,
+                                 SchedulerCacheProperties properties,
+                                 MeterRegistry meterRegistry) {
+        var settings = properties.intervalIndex();
+        this.timeSlotRepository = timeSlotRepository;
+        this.enabled = settings.enabled();
+        this.intervals = Caffeine.newBuilder()
+                .maximumSize(settings.maximumUsers())
+                .expireAfterAccess(settings.idleTimeout())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, intervals, CACHE_NAME);
+    }
+
+    /**
+     * @return {@code false} if none of the user's known slots other than {@code excludeId} overlaps the half-open
+     * interval, {@code true} if one does or the index is disabled
+     */
+    public boolean mayOverlap(UUID userId, Instant start, Instant end, UUID excludeId) {
+        if (!enabled) {
+            return true;
+        }
+        var userIntervals = intervals.getIfPresent(userId);
+        if (userIntervals == null || !userIntervals.covers(start)) {
+            userIntervals = intervals.asMap().compute(userId,
+                    (id, current) -> current != null && current.covers(start) ? current : load(id, start));
+        }
+        return userIntervals.overlaps(start, end, excludeId);
+    }
+
+    /**
+     * Records a created or moved slot once the transaction commits. Users that are not loaded are left alone.
+     */
+    public void slotSaved(UUID userId, UUID slotId, Instant start, Instant end) {
+        afterCommit(() -> intervals.asMap().computeIfPresent(userId,
+                (id, userIntervals) -> userIntervals.with(slotId, start, end)));
+    }
+
+    /**
+     * Forgets a deleted slot once the transaction commits
+     */
+    public void slotRemoved(UUID userId, UUID slotId) {
+        afterCommit(() -> intervals.asMap().computeIfPresent(userId,
+                (id, userIntervals) -> userIntervals.without(slotId)));
+    }
+
+    /**
+     * Drops the user's slots once the transaction completes, so they are reloaded on the next check. Used after writes
+     * that bypass {@code TimeSlotService} and when the database rejected an overlap the index missed.
+     */
+    public void invalidate(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    intervals.invalidate(userId);
+                }
+            });
+        } else {
+            intervals.invalidate(userId);
+        }
+    }
+
+    private UserIntervals load(UUID userId, Instant start) {
+        var now = Instant.now();
+        var from = start.isBefore(now) ? start : now;
+        var userIntervals = UserIntervals.of(timeSlotRepository.findEndingAfter(userId, from), from);
+        log.debug("Loaded {} time slot intervals of user {} ending after {}", userIntervals.size(), userId, from);
+        return userIntervals;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
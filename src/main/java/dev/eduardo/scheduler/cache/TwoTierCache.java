@@ -0,0 +1,197 @@
+package dev.eduardo.scheduler.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache backed by a bounded in-process L1 (Caffeine) in front of a shared L2 (Redis).
+ * <p>
+ * Reads are served from L1 when possible and only go to Redis on an L1 miss. Writes and evictions
+ * are applied to both tiers and broadcast through {@link NearCacheInvalidator} so other nodes drop
+ * their L1 copy. Multi-key reads and writes go to Redis in one round trip for the keys L1 does not answer.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache implements PartitionedCache, MultiKeyCache {
+
+    private final String name;
+    private final Cache redisCache;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final NearCacheInvalidator invalidator;
+
+    public TwoTierCache(String name,
+                        Cache redisCache,
+                        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                        NearCacheInvalidator invalidator) {
+        super(true);
+        this.name = name;
+        this.redisCache = redisCache;
+        this.localCache = localCache;
+        this.invalidator = invalidator;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        var localKey = localKey(key);
+        var local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            return local;
+        }
+
+        var remote = redisCache.get(key);
+        if (remote == null) {
+            return null;
+        }
+
+        var storeValue = toStoreValue(remote.get());
+        localCache.put(localKey, storeValue);
+        return storeValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var cached = lookup(key);
+        if (cached != null) {
+            return (T) fromStoreValue(cached);
+        }
+
+        var value = redisCache.get(key, valueLoader);
+        localCache.put(localKey(key), toStoreValue(value));
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        var localKey = localKey(key);
+        redisCache.put(key, value);
+        localCache.put(localKey, toStoreValue(value));
+        invalidator.publishEvict(name, localKey);
+    }
+
+    @Override
+    public List<Object> getAll(List<?> keys) {
+        var values = new ArrayList<>(keys.size());
+        var missingIndexes = new ArrayList<Integer>();
+        var missingKeys = new ArrayList<Object>();
+        for (int i = 0; i < keys.size(); i++) {
+            var local = localCache.getIfPresent(localKey(keys.get(i)));
+            values.add(local != null ? fromStoreValue(local) : null);
+            if (local == null) {
+                missingIndexes.add(i);
+                missingKeys.add(keys.get(i));
+            }
+        }
+        if (missingKeys.isEmpty()) {
+            return values;
+        }
+
+        var remote = MultiKeyCache.getAll(redisCache, missingKeys);
+        for (int i = 0; i < missingKeys.size(); i++) {
+            var value = remote.get(i);
+            if (value != null) {
+                localCache.put(localKey(missingKeys.get(i)), toStoreValue(value));
+                values.set(missingIndexes.get(i), value);
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        MultiKeyCache.putAll(redisCache, entries);
+        var localKeys = new ArrayList<String>(entries.size());
+        entries.forEach((key, value) -> {
+            var localKey = localKey(key);
+            localCache.put(localKey, toStoreValue(value));
+            localKeys.add(localKey);
+        });
+        invalidator.publishEvictAll(name, localKeys);
+    }
+
+    @Override
+    public void evict(Object key) {
+        var localKey = localKey(key);
+        redisCache.evict(key);
+        localCache.invalidate(localKey);
+        invalidator.publishEvict(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        var localKey = localKey(key);
+        var evicted = redisCache.evictIfPresent(key);
+        localCache.invalidate(localKey);
+        invalidator.publishEvict(name, localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        localCache.invalidateAll();
+        invalidator.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        var invalidated = redisCache.invalidate();
+        localCache.invalidateAll();
+        invalidator.publishClear(name);
+        return invalidated;
+    }
+
+    @Override
+    public long evictPartition(String partition) {
+        var evicted = redisCache instanceof PartitionedCache partitioned ? partitioned.evictPartition(partition) : 0;
+        var partitionPrefix = partition + UserScopedKeyGenerator.SEPARATOR;
+        invalidateLocalPartition(partitionPrefix);
+        invalidator.publishEvictPartition(name, partitionPrefix);
+        return evicted;
+    }
+
+    /**
+     * Drops every L1 entry of a partition after another node evicted it
+     */
+    long invalidateLocalPartition(String partitionPrefix) {
+        var entries = localCache.asMap();
+        var evicted = 0L;
+        for (var key : entries.keySet()) {
+            if (key.startsWith(partitionPrefix) && entries.remove(key) != null) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Drops a single L1 entry after another node changed it
+     */
+    void invalidateLocal(String key) {
+        localCache.invalidate(key);
+    }
+
+    /**
+     * Drops every L1 entry after another node cleared the cache
+     */
+    void invalidateLocal() {
+        localCache.invalidateAll();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,86 @@
+package dev.eduardo.scheduler.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Creates a {@link TwoTierCache} for every cache name, wrapping the matching {@link RedisCacheManager} cache
+ * with a Caffeine near cache. When the near cache is disabled, globally or for that cache, the partitioned Redis
+ * cache is used on its own.
+ * Caches with a refresh policy are additionally wrapped in a {@link RefreshingCache}.
+ */
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final NearCacheInvalidator invalidator;
+    private final SchedulerCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Executor refreshExecutor;
+
+    public TwoTierCacheManager(RedisCacheManager redisCacheManager,
+                               StringRedisTemplate redisTemplate,
+                               NearCacheInvalidator invalidator,
+                               SchedulerCacheProperties properties,
+                               MeterRegistry meterRegistry,
+                               Executor refreshExecutor) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.invalidator = invalidator;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        redisCacheManager.initializeCaches();
+        return List.of();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        if (!(redisCacheManager.getCache(name) instanceof RedisCache redisCache)) {
+            return null;
+        }
+
+        var cache = createCache(name, redisCache);
+        var policy = properties.policy(name);
+        if (!policy.refreshes()) {
+            return cache;
+        }
+        return new RefreshingCache(
+                cache, properties.ttl(name), policy, refreshExecutor, Clock.systemUTC(), meterRegistry);
+    }
+
+    private Cache createCache(String name, RedisCache redisCache) {
+        var remoteCache = new PartitionedRedisCache(
+                redisCache, redisTemplate, properties.redisTtl(name), properties.singleFlight(), meterRegistry);
+        if (!properties.nearCacheEnabled(name)) {
+            return remoteCache;
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache = Caffeine.newBuilder()
+                .maximumSize(properties.nearCacheMaximumSize(name))
+                .expireAfterWrite(properties.nearCache().ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, name, Tags.of("tier", "l1"));
+
+        var cache = new TwoTierCache(name, remoteCache, localCache, invalidator);
+        invalidator.register(cache);
+        return cache;
+    }
+}
@@ -0,0 +1,75 @@
+package dev.eduardo.scheduler.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Evicts only the cache entries that belong to a single user.
+ * <p>
+ * Cache keys of user scoped caches start with {@code <userId>:} (see {@link UserScopedKeyGenerator}), so a write
+ * only has to drop that user's partition instead of clearing the whole cache. When called inside a transaction the
+ * eviction runs after commit, matching the behaviour of the transaction-aware cache manager.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    public void evictUser(UUID userId, String... cacheNames) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvictUser(userId, cacheNames);
+                }
+            });
+        } else {
+            doEvictUser(userId, cacheNames);
+        }
+    }
+
+    private void doEvictUser(UUID userId, String... cacheNames) {
+        var partition = userId.toString();
+
+        for (var cacheName : cacheNames) {
+            var cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                continue;
+            }
+
+            if (unwrap(cache) instanceof PartitionedCache partitionedCache) {
+                var evicted = partitionedCache.evictPartition(partition);
+                evictionSummary(cacheName).record(evicted);
+                log.debug("Evicted {} entries of user {} from cache {}", evicted, userId, cacheName);
+            } else {
+                log.warn("Cache {} does not support partitioned eviction, clearing it for user {}", cacheName, userId);
+                cache.clear();
+            }
+        }
+    }
+
+    private DistributionSummary evictionSummary(String cacheName) {
+        return DistributionSummary.builder("cache.evictions.targeted")
+                .description("Number of cache entries evicted by a single write")
+                .baseUnit("entries")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    private static Cache unwrap(Cache cache) {
+        return cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+    }
+}
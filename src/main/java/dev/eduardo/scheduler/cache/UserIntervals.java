@@ -0,0 +1,151 @@
+package dev.eduardo.scheduler.cache;
+
+import dev.eduardo.scheduler.domain.projection.TimeSlotView;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable time slots of one user as parallel arrays of epoch microseconds, sorted by start. A user's slots never
+ * overlap, so the ends are sorted as well and the slots around an interval are found with one binary search.
+ * Only slots ending after {@code coveredFrom} are known, earlier intervals have to be checked against a reload.
+ * Updates return a copy.
+ */
+final class UserIntervals {
+
+    private final UUID[] ids;
+    private final long[] starts;
+    private final long[] ends;
+    private final long coveredFrom;
+
+    private UserIntervals(UUID[] ids, long[] starts, long[] ends, long coveredFrom) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.coveredFrom = coveredFrom;
+    }
+
+    /**
+     * @param slots the user's slots ending after {@code coveredFrom}, in start time order
+     */
+    static UserIntervals of(List<TimeSlotView> slots, Instant coveredFrom) {
+        var ids = new UUID[slots.size()];
+        var starts = new long[slots.size()];
+        var ends = new long[slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            var slot = slots.get(i);
+            ids[i] = slot.id();
+            starts[i] = micros(slot.startTime());
+            ends[i] = micros(slot.endTime());
+        }
+        return new UserIntervals(ids, starts, ends, micros(coveredFrom));
+    }
+
+    /**
+     * @return {@code true} if every slot that could overlap an interval starting at {@code start} is known
+     */
+    boolean covers(Instant start) {
+        return micros(start) >= coveredFrom;
+    }
+
+    /**
+     * @return {@code true} if a slot other than {@code excludeId} overlaps the half-open interval
+     */
+    boolean overlaps(Instant start, Instant end, UUID excludeId) {
+        long from = micros(start);
+        long to = micros(end);
+        for (int i = firstEndingAfter(from); i < ids.length && starts[i] < to; i++) {
+            if (!ids[i].equals(excludeId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return a copy in which the slot with {@code id} spans {@code start} to {@code end}
+     */
+    UserIntervals with(UUID id, Instant start, Instant end) {
+        var remaining = without(id);
+        long from = micros(start);
+        int size = remaining.ids.length;
+        int at = insertionPoint(remaining.starts, from);
+
+        var ids = new UUID[size + 1];
+        var starts = new long[size + 1];
+        var ends = new long[size + 1];
+        copySkipping(remaining, ids, starts, ends, at, -1);
+        ids[at] = id;
+        starts[at] = from;
+        ends[at] = micros(end);
+        return new UserIntervals(ids, starts, ends, remaining.coveredFrom);
+    }
+
+    /**
+     * @return a copy without the slot with {@code id}, or this instance if it is not present
+     */
+    UserIntervals without(UUID id) {
+        int index = Arrays.asList(ids).indexOf(id);
+        if (index < 0) {
+            return this;
+        }
+
+        int size = ids.length - 1;
+        var result = new UserIntervals(new UUID[size], new long[size], new long[size], coveredFrom);
+        copySkipping(this, result.ids, result.starts, result.ends, -1, index);
+        return result;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Copies {@code source} into the arrays, leaving a gap at {@code gapAt} and leaving out {@code skipAt}
+     */
+    private static void copySkipping(UserIntervals source, UUID[] ids, long[] starts, long[] ends,
+                                     int gapAt, int skipAt) {
+        int target = 0;
+        for (int i = 0; i < source.ids.length; i++) {
+            if (i == skipAt) {
+                continue;
+            }
+            if (target == gapAt) {
+                target++;
+            }
+            ids[target] = source.ids[i];
+            starts[target] = source.starts[i];
+            ends[target] = source.ends[i];
+            target++;
+        }
+    }
+
+    private int firstEndingAfter(long micros) {
+        int low = 0;
+        int high = ends.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ends[mid] <= micros) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int insertionPoint(long[] sorted, long value) {
+        int index = Arrays.binarySearch(sorted, value);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Postgres timestamps have microsecond precision
+     */
+    private static long micros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+}
@@ -0,0 +1,85 @@
+package dev.eduardo.scheduler.cache;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds readable, collision-free keys for user scoped caches.
+ * <p>
+ * The {@code userId} argument always comes first so every key of a user shares the {@code <userId>:} prefix, which is
+ * what {@link PartitionedRedisCache} indexes on. The remaining arguments follow in declaration order, separated by
+ * {@code :}, with {@code -} standing for {@code null}, e.g. {@code 0b5f...:2026-02-01:2026-02-28:AVAILABLE:0:10}.
+ */
+public class UserScopedKeyGenerator implements KeyGenerator {
+
+    public static final String BEAN_NAME = "userScopedKeyGenerator";
+
+    static final char SEPARATOR = ':';
+    private static final String USER_ID_PARAMETER = "userId";
+    private static final String NULL_VALUE = "-";
+
+    private final Map<Method, Integer> userIdIndexes = new ConcurrentHashMap<>();
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        int userIdIndex = userIdIndexes.computeIfAbsent(method, UserScopedKeyGenerator::userIdIndex);
+        var key = new StringBuilder(128).append(params[userIdIndex]);
+
+        for (int i = 0; i < params.length; i++) {
+            if (i != userIdIndex) {
+                key.append(SEPARATOR);
+                appendValue(key, params[i]);
+            }
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Builds the key of a value cached without the {@code @Cacheable} advice, in the same format as the generated ones
+     */
+    public static String key(UUID userId, Object... values) {
+        var key = new StringBuilder(64).append(userId);
+        for (var value : values) {
+            key.append(SEPARATOR);
+            appendValue(key, value);
+        }
+        return key.toString();
+    }
+
+    private static int userIdIndex(Method method) {
+        var parameters = method.getParameters();
+        for (int i = 0; i < parameters.length; i++) {
+            if (USER_ID_PARAMETER.equals(parameters[i].getName()) && parameters[i].getType() == UUID.class) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Method " + method + " has no UUID parameter named " + USER_ID_PARAMETER);
+    }
+
+    private static void appendValue(StringBuilder key, Object value) {
+        switch (value) {
+            case null -> key.append(NULL_VALUE);
+            case Enum<?> e -> key.append(e.name());
+            case CharSequence text -> appendEscaped(key, text);
+            default -> key.append(value);
+        }
+    }
+
+    private static void appendEscaped(StringBuilder key, CharSequence text) {
+        if (NULL_VALUE.contentEquals(text)) {
+            key.append('\\');
+        }
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            if (c == SEPARATOR || c == '\\') {
+                key.append('\\');
+            }
+            key.append(c);
+        }
+    }
+}
@@ -1,44 +1,133 @@
 package dev.eduardo.scheduler.config;
 
+import dev.eduardo.scheduler.cache.CacheNames;
+import dev.eduardo.scheduler.cache.CalendarBinaryRedisSerializer;
+import dev.eduardo.scheduler.cache.CompressingRedisSerializer;
+import dev.eduardo.scheduler.cache.NearCacheInvalidator;
+import dev.eduardo.scheduler.cache.SchedulerCacheProperties;
+import dev.eduardo.scheduler.cache.TwoTierCacheManager;
+import dev.eduardo.scheduler.cache.UserScopedKeyGenerator;
+import io.micrometer.core.instrument.MeterRegistry;
 import tools.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import tools.jackson.databind.jsontype.PolymorphicTypeValidator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJacksonJsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Cache advice is ordered ahead of the transaction advice, so a cache hit returns before a transaction is opened
+ * or a connection is borrowed from the pool.
+ */
 @Configuration
-@EnableCaching
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(SchedulerCacheProperties.class)
 public class CacheConfig {
 
+    @Bean(UserScopedKeyGenerator.BEAN_NAME)
+    public UserScopedKeyGenerator userScopedKeyGenerator() {
+        return new UserScopedKeyGenerator();
+    }
+
+    @Bean
+    public NearCacheInvalidator nearCacheInvalidator(StringRedisTemplate redisTemplate,
+                                                     SchedulerCacheProperties properties) {
+        return new NearCacheInvalidator(redisTemplate, properties.nearCache().invalidationChannel());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer nearCacheListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                    NearCacheInvalidator nearCacheInvalidator,
+                                                                    SchedulerCacheProperties properties) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(nearCacheInvalidator,
+                new ChannelTopic(properties.nearCache().invalidationChannel()));
+        return container;
+    }
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     StringRedisTemplate redisTemplate,
+                                     NearCacheInvalidator nearCacheInvalidator,
+                                     SchedulerCacheProperties properties,
+                                     MeterRegistry meterRegistry) {
         PolymorphicTypeValidator ptv = BasicPolymorphicTypeValidator.builder()
                 .allowIfSubType("dev.eduardo.scheduler")
                 .allowIfSubType("java.util")
                 .build();
 
-        var serializer = GenericJacksonJsonRedisSerializer.builder()
+        RedisSerializer<Object> jsonSerializer = GenericJacksonJsonRedisSerializer.builder()
                 .enableDefaultTyping(ptv)
                 .build();
 
+        RedisSerializer<Object> binarySerializer = new CalendarBinaryRedisSerializer(jsonSerializer);
+        RedisSerializer<Object> serializer = properties.valueFormat() == SchedulerCacheProperties.ValueFormat.BINARY
+                ? binarySerializer
+                : jsonSerializer;
+
         var config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(30)) // Cache for 30 minutes
+                .entryTtl(properties.ttl())
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(serializer));
 
-        return RedisCacheManager.builder(connectionFactory)
+        // Named caches get their own TTL (plus stale window) and optional compression. Availability bitmaps are
+        // always stored as raw bytes, whatever the value format
+        Map<String, RedisCacheConfiguration> cacheConfigurations = Stream.concat(
+                        properties.caches().keySet().stream(), Stream.of(CacheNames.AVAILABILITY_BITMAPS))
+                .distinct()
+                .collect(Collectors.toMap(name -> name, name -> cacheConfiguration(config,
+                        CacheNames.AVAILABILITY_BITMAPS.equals(name) ? binarySerializer : serializer,
+                        properties, name)));
+
+        // Transaction awareness is applied on the two-tier manager so both tiers are updated after commit
+        var redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
-                .transactionAware()
+                .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
+
+        var refreshExecutor = new SimpleAsyncTaskExecutor("cache-refresh-");
+        refreshExecutor.setVirtualThreads(true);
+        refreshExecutor.setConcurrencyLimit(properties.refreshConcurrency());
+        refreshExecutor.setRejectTasksWhenLimitReached(true);
+
+        var cacheManager = new TwoTierCacheManager(
+                redisCacheManager, redisTemplate, nearCacheInvalidator, properties, meterRegistry, refreshExecutor);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    private static RedisCacheConfiguration cacheConfiguration(RedisCacheConfiguration defaults,
+                                                              RedisSerializer<Object> serializer,
+                                                              SchedulerCacheProperties properties,
+                                                              String cacheName) {
+        var config = defaults.entryTtl(properties.redisTtl(cacheName))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
+
+        var compressionThreshold = properties.policy(cacheName).compressionThreshold();
+        if (compressionThreshold != null) {
+            config = config.serializeValuesWith(RedisSerializationContext.SerializationPair
+                    .fromSerializer(new CompressingRedisSerializer(serializer, compressionThreshold)));
+        }
+        return config;
     }
 }
@@ -0,0 +1,54 @@
+package dev.eduardo.scheduler.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Counts the JDBC connections borrowed by the current thread between {@link #startCounting()} and
+ * {@link #stopCounting()}. Used by {@link ConnectionUsageFilter} to record how many connections a request took.
+ */
+public class ConnectionCountingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<int[]> ACQUIRED = new ThreadLocal<>();
+
+    public ConnectionCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    public static void startCounting() {
+        ACQUIRED.set(new int[1]);
+    }
+
+    /**
+     * @return connections acquired since {@link #startCounting()}, or 0 when counting was not started
+     */
+    public static int stopCounting() {
+        var acquired = ACQUIRED.get();
+        ACQUIRED.remove();
+        return acquired != null ? acquired[0] : 0;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        var connection = super.getConnection();
+        countAcquisition();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        var connection = super.getConnection(username, password);
+        countAcquisition();
+        return connection;
+    }
+
+    private static void countAcquisition() {
+        var acquired = ACQUIRED.get();
+        if (acquired != null) {
+            acquired[0]++;
+        }
+    }
+}
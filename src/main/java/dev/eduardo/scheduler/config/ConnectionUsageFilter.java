@@ -0,0 +1,45 @@
+package dev.eduardo.scheduler.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many JDBC connections each request borrowed in {@code http.server.requests.jdbc.connections}, so
+ * endpoints that should be served from the cache can be checked for database access.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectionUsageFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ConnectionCountingDataSource.startCounting();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            var acquired = ConnectionCountingDataSource.stopCounting();
+            var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.requests.jdbc.connections")
+                    .description("JDBC connections acquired while handling a request")
+                    .baseUnit("connections")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                    .register(meterRegistry)
+                    .record(acquired);
+        }
+    }
+}
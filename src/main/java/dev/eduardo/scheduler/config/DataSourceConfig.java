@@ -0,0 +1,64 @@
+package dev.eduardo.scheduler.config;
+
+import dev.eduardo.scheduler.resilience.CircuitBreakingDataSource;
+import dev.eduardo.scheduler.resilience.DatabaseCircuitBreaker;
+import dev.eduardo.scheduler.routing.ReadYourWritesTracker;
+import dev.eduardo.scheduler.routing.ReplicaRoutingDataSource;
+import dev.eduardo.scheduler.routing.ReplicaSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Wraps the pool so connection requests are counted per request and rejected while the database circuit breaker
+     * is open. When read replicas are configured, read-only transactions are routed to them.
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceWrappingPostProcessor(ObjectProvider<DatabaseCircuitBreaker> circuitBreaker,
+                                                                    ObjectProvider<ReplicaSet> replicaSet,
+                                                                    ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+                                                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionCountingDataSource)) {
+                    var replicas = replicaSet.getIfAvailable();
+                    var routedDataSource = replicas == null ? dataSource : routeReadOnlyTransactions(
+                            dataSource, replicas, readYourWritesTracker.getObject(), meterRegistry.getObject());
+                    return new ConnectionCountingDataSource(
+                            new CircuitBreakingDataSource(routedDataSource, circuitBreaker.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * The proxy hands out a connection handle first and only borrows the physical connection on first use, once the
+     * transaction has marked it read-only. Hibernate prepares the connection before Spring exposes the transaction
+     * as read-only, so routing on the transaction state alone would always pick the primary.
+     */
+    private static DataSource routeReadOnlyTransactions(DataSource primary,
+                                                        ReplicaSet replicaSet,
+                                                        ReadYourWritesTracker readYourWritesTracker,
+                                                        MeterRegistry meterRegistry) {
+        var proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(primary);
+        proxy.setReadOnlyDataSource(
+                new ReplicaRoutingDataSource(primary, replicaSet, readYourWritesTracker, meterRegistry));
+        // Same as spring.datasource.hikari, so the proxy does not borrow a connection at startup to find them out
+        proxy.setDefaultAutoCommit(false);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        proxy.afterPropertiesSet();
+        return proxy;
+    }
+}
@@ -0,0 +1,15 @@
+package dev.eduardo.scheduler.config;
+
+import dev.eduardo.scheduler.partitioning.PartitionProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs {@link dev.eduardo.scheduler.partitioning.TimeSlotPartitionMaintenance} on its schedule
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(PartitionProperties.class)
+public class PartitioningConfig {
+}
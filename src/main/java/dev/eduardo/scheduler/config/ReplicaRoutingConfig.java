@@ -0,0 +1,48 @@
+package dev.eduardo.scheduler.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import dev.eduardo.scheduler.routing.ReplicaProperties;
+import dev.eduardo.scheduler.routing.ReplicaSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+
+/**
+ * Connection pools of the read replicas. Read-only transactions are routed to them by the data source wrapping in
+ * {@link DataSourceConfig}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "scheduler.database.replicas", name = "enabled", havingValue = "true")
+    public ReplicaSet replicaSet(ReplicaProperties properties, MeterRegistry meterRegistry) {
+        var replicas = new LinkedHashMap<String, DataSource>();
+        for (int i = 0; i < properties.nodes().size(); i++) {
+            var node = properties.nodes().get(i);
+            var config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(node.url());
+            config.setUsername(node.username());
+            config.setPassword(node.password());
+            config.setMaximumPoolSize(properties.maximumPoolSize());
+            config.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            config.setAutoCommit(false);
+            config.setReadOnly(true);
+            // Start even when a replica is down, the health check keeps it out of rotation
+            config.setInitializationFailTimeout(-1);
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+
+        var replicaSet = new ReplicaSet(replicas, properties.maxLag(), meterRegistry);
+        replicaSet.start(properties.healthCheckInterval());
+        return replicaSet;
+    }
+}
@@ -0,0 +1,41 @@
+package dev.eduardo.scheduler.config;
+
+import dev.eduardo.scheduler.resilience.DatabaseCircuitBreaker;
+import dev.eduardo.scheduler.resilience.DatabaseCircuitBreakerProperties;
+import dev.eduardo.scheduler.resilience.RepositoryCircuitBreakerInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.data.repository.Repository;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(DatabaseCircuitBreakerProperties.class)
+public class ResilienceConfig {
+
+    @Bean
+    public DatabaseCircuitBreaker databaseCircuitBreaker(DatabaseCircuitBreakerProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        return new DatabaseCircuitBreaker(properties, Clock.systemUTC(), meterRegistry);
+    }
+
+    /**
+     * Wraps every Spring Data repository with the circuit breaker. Registered as an infrastructure advisor so the
+     * auto-proxy creator enabled for transactions and caching picks it up.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public Advisor repositoryCircuitBreakerAdvisor(DatabaseCircuitBreaker databaseCircuitBreaker) {
+        var pointcut = new ComposablePointcut(new RootClassFilter(Repository.class), MethodMatcher.TRUE);
+        return new DefaultPointcutAdvisor(pointcut, new RepositoryCircuitBreakerInterceptor(databaseCircuitBreaker));
+    }
+}
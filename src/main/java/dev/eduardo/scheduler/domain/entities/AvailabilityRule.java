@@ -0,0 +1,80 @@
+package dev.eduardo.scheduler.domain.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Recurring availability of a user: on every day matched by {@link #rrule}, the time from {@link #dayStart} to
+ * {@link #dayEnd} in {@link #timezone} is split into available slots of {@link #slotMinutes}. Occurrences are
+ * expanded when a calendar is read and only written to {@code time_slots} once booked or edited.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "availability_rules")
+public class AvailabilityRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private String rrule;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "until_date")
+    private LocalDate untilDate;
+
+    @Column(name = "day_start", nullable = false)
+    private LocalTime dayStart;
+
+    @Column(name = "day_end", nullable = false)
+    private LocalTime dayEnd;
+
+    @Column(name = "slot_minutes", nullable = false)
+    private int slotMinutes;
+
+    @Column(nullable = false)
+    private String timezone;
+
+    /**
+     * Start times of the occurrences left out of the expansion
+     */
+    @Builder.Default
+    @ElementCollection
+    @CollectionTable(name = "availability_rule_exceptions", joinColumns = @JoinColumn(name = "rule_id"))
+    @Column(name = "occurrence_start", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<Instant> exceptions = new HashSet<>();
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
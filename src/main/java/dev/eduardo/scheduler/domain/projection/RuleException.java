@@ -0,0 +1,12 @@
+package dev.eduardo.scheduler.domain.projection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An occurrence of an availability rule that is left out of its expansion
+ */
+public record RuleException(
+        UUID ruleId,
+        Instant occurrenceStart
+) {}
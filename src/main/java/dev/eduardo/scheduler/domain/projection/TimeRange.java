@@ -0,0 +1,13 @@
+package dev.eduardo.scheduler.domain.projection;
+
+import java.time.Instant;
+
+/**
+ * A half-open time range, for checking stored slots and rule occurrences against each other
+ */
+public interface TimeRange {
+
+    Instant startTime();
+
+    Instant endTime();
+}
@@ -0,0 +1,13 @@
+package dev.eduardo.scheduler.domain.projection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Owner and time range of a time slot, for computations across the slots of several users
+ */
+public record TimeSlotInterval(
+        UUID userId,
+        Instant startTime,
+        Instant endTime
+) implements TimeRange {}
@@ -0,0 +1,17 @@
+package dev.eduardo.scheduler.domain.projection;
+
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only view of a time slot with just the columns the calendar shows. Selected with a constructor expression,
+ * so no managed entity, user proxy or dirty-checking snapshot is created per row.
+ */
+public record TimeSlotView(
+        UUID id,
+        Instant startTime,
+        Instant endTime,
+        TimeSlot.SlotStatus status
+) implements TimeRange {}
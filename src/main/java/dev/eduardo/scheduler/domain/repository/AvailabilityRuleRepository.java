@@ -0,0 +1,76 @@
+package dev.eduardo.scheduler.domain.repository;
+
+import dev.eduardo.scheduler.domain.entities.AvailabilityRule;
+import dev.eduardo.scheduler.domain.projection.RuleException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AvailabilityRuleRepository extends JpaRepository<AvailabilityRule, UUID> {
+
+    /**
+     * Find all availability rules of a user
+     */
+    @Query("SELECT r FROM AvailabilityRule r WHERE r.user.id = :userId ORDER BY r.startDate, r.dayStart")
+    List<AvailabilityRule> findByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Find the rules of a user that may have occurrences on the local dates from {@code fromDate} to {@code toDate}
+     */
+    @Query("SELECT r FROM AvailabilityRule r WHERE r.user.id = :userId " +
+           "AND r.startDate <= :toDate AND (r.untilDate IS NULL OR r.untilDate >= :fromDate)")
+    List<AvailabilityRule> findActiveRules(@Param("userId") UUID userId,
+                                           @Param("fromDate") LocalDate fromDate,
+                                           @Param("toDate") LocalDate toDate);
+
+    /**
+     * Find the rules of several users that may have occurrences on the local dates from {@code fromDate} to
+     * {@code toDate}
+     */
+    @Query("SELECT r FROM AvailabilityRule r WHERE r.user.id IN :userIds " +
+           "AND r.startDate <= :toDate AND (r.untilDate IS NULL OR r.untilDate >= :fromDate)")
+    List<AvailabilityRule> findActiveRulesOfUsers(@Param("userIds") Collection<UUID> userIds,
+                                                  @Param("fromDate") LocalDate fromDate,
+                                                  @Param("toDate") LocalDate toDate);
+
+    /**
+     * Find the exceptions of the given rules starting from {@code from} to {@code to}, without loading every
+     * exception a rule has collected over time
+     */
+    @Query("SELECT new dev.eduardo.scheduler.domain.projection.RuleException(r.id, e) " +
+           "FROM AvailabilityRule r JOIN r.exceptions e " +
+           "WHERE r.id IN :ruleIds AND e >= :from AND e < :to")
+    List<RuleException> findExceptions(@Param("ruleIds") Collection<UUID> ruleIds,
+                                       @Param("from") Instant from,
+                                       @Param("to") Instant to);
+
+    /**
+     * Find the rule whose id lies in the given range, which occurrence ids narrow down to a single rule
+     */
+    @Query(value = "SELECT * FROM availability_rules WHERE id BETWEEN :low AND :high", nativeQuery = true)
+    Optional<AvailabilityRule> findByIdBetween(@Param("low") UUID low, @Param("high") UUID high);
+
+    /**
+     * Records an exception unless the rule already has one for that occurrence. Concurrent inserts of the same
+     * exception wait for each other, so exactly one of them gets 1.
+     *
+     * @param occurrenceStart the UTC wall clock time the exceptions are stored in
+     * @return the number of inserted exceptions
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO availability_rule_exceptions (rule_id, occurrence_start) " +
+                   "VALUES (:ruleId, :occurrenceStart) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertException(@Param("ruleId") UUID ruleId, @Param("occurrenceStart") LocalDateTime occurrenceStart);
+}
@@ -1,67 +1,216 @@
 package dev.eduardo.scheduler.domain.repository;
 
 import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.projection.TimeSlotInterval;
+import dev.eduardo.scheduler.domain.projection.TimeSlotView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface TimeSlotRepository extends JpaRepository<TimeSlot, UUID> {
+
+    /**
+     * Selects {@link TimeSlotView} rows instead of entities for the read-only listing queries
+     */
+    String SELECT_VIEW = "SELECT new dev.eduardo.scheduler.domain.projection.TimeSlotView(" +
+                         "ts.id, ts.startTime, ts.endTime, ts.status) FROM TimeSlot ts ";
     
     /**
      * Find all time slots for a specific user
      */
-    List<TimeSlot> findByUserIdOrderByStartTime(UUID userId);
+    @Query(SELECT_VIEW + "WHERE ts.user.id = :userId ORDER BY ts.startTime")
+    List<TimeSlotView> findByUserIdOrderByStartTime(@Param("userId") UUID userId);
     
     /**
      * Find time slots by status for a user
      */
-    List<TimeSlot> findByUserIdAndStatusOrderByStartTime(UUID userId, TimeSlot.SlotStatus status);
+    @Query(SELECT_VIEW + "WHERE ts.user.id = :userId AND ts.status = :status ORDER BY ts.startTime")
+    List<TimeSlotView> findByUserIdAndStatusOrderByStartTime(@Param("userId") UUID userId,
+                                                             @Param("status") TimeSlot.SlotStatus status);
     
     /**
      * Find time slots for a user within a time range
      */
-    @Query("SELECT ts FROM TimeSlot ts WHERE ts.user.id = :userId " +
+    @Query(SELECT_VIEW + "WHERE ts.user.id = :userId " +
            "AND ts.startTime >= :startTime AND ts.endTime <= :endTime " +
            "ORDER BY ts.startTime")
-    List<TimeSlot> findByUserIdAndTimeRange(@Param("userId") UUID userId,
-                                           @Param("startTime") Instant startTime,
-                                           @Param("endTime") Instant endTime);
+    List<TimeSlotView> findByUserIdAndTimeRange(@Param("userId") UUID userId,
+                                                @Param("startTime") Instant startTime,
+                                                @Param("endTime") Instant endTime);
     
     /**
      * Find time slots for a user within a time range and status
      */
-    @Query("SELECT ts FROM TimeSlot ts WHERE ts.user.id = :userId " +
+    @Query(SELECT_VIEW + "WHERE ts.user.id = :userId " +
            "AND ts.status = :status " +
            "AND ts.startTime >= :startTime AND ts.endTime <= :endTime " +
            "ORDER BY ts.startTime")
-    List<TimeSlot> findByUserIdAndStatusAndTimeRange(@Param("userId") UUID userId,
-                                                    @Param("status") TimeSlot.SlotStatus status,
-                                                    @Param("startTime") Instant startTime,
-                                                    @Param("endTime") Instant endTime);
+    List<TimeSlotView> findByUserIdAndStatusAndTimeRange(@Param("userId") UUID userId,
+                                                         @Param("status") TimeSlot.SlotStatus status,
+                                                         @Param("startTime") Instant startTime,
+                                                         @Param("endTime") Instant endTime);
     
     /**
-     * Check for overlapping time slots for a user (excluding a specific slot ID)
+     * Find a page of the distinct local dates (in the given time zone) that have time slots for a user.
+     * Time slot timestamps are stored in UTC; null filters are ignored.
+     */
+    @Query(value = "SELECT d.slot_date FROM (" +
+                   "SELECT DISTINCT CAST((ts.start_time AT TIME ZONE 'UTC') AT TIME ZONE :zone AS DATE) AS slot_date " +
+                   "FROM time_slots ts WHERE ts.user_id = :userId " +
+                   "AND (CAST(:status AS VARCHAR) IS NULL OR ts.status = CAST(:status AS VARCHAR)) " +
+                   "AND (CAST(:startTime AS TIMESTAMP) IS NULL OR ts.start_time >= CAST(:startTime AS TIMESTAMP)) " +
+                   "AND (CAST(:endTime AS TIMESTAMP) IS NULL OR ts.end_time <= CAST(:endTime AS TIMESTAMP))" +
+                   ") d ORDER BY d.slot_date LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<LocalDate> findSlotDates(@Param("userId") UUID userId,
+                                  @Param("zone") String zone,
+                                  @Param("status") String status,
+                                  @Param("startTime") LocalDateTime startTime,
+                                  @Param("endTime") LocalDateTime endTime,
+                                  @Param("limit") int limit,
+                                  @Param("offset") long offset);
+
+    /**
+     * Find the next local dates (in the given time zone) that have time slots for a user, from {@code fromTime} on.
+     * Each date is found with one seek on {@code (user_id, start_time)} from the start of the day after the previous
+     * one, so the cost depends on the number of dates returned rather than on how far the position is.
+     */
+    @Query(value = "WITH RECURSIVE slot_dates(slot_date) AS ((" +
+                   "SELECT CAST((ts.start_time AT TIME ZONE 'UTC') AT TIME ZONE :zone AS DATE) " +
+                   "FROM time_slots ts WHERE ts.user_id = :userId " +
+                   "AND ts.start_time >= CAST(:fromTime AS TIMESTAMP) " +
+                   "AND (CAST(:status AS VARCHAR) IS NULL OR ts.status = CAST(:status AS VARCHAR)) " +
+                   "AND (CAST(:endTime AS TIMESTAMP) IS NULL OR ts.end_time <= CAST(:endTime AS TIMESTAMP)) " +
+                   "ORDER BY ts.start_time LIMIT 1" +
+                   ") UNION ALL " +
+                   "SELECT n.slot_date FROM slot_dates d CROSS JOIN LATERAL (" +
+                   "SELECT CAST((ts.start_time AT TIME ZONE 'UTC') AT TIME ZONE :zone AS DATE) AS slot_date " +
+                   "FROM time_slots ts WHERE ts.user_id = :userId " +
+                   "AND ts.start_time >= (CAST(d.slot_date + 1 AS TIMESTAMP) AT TIME ZONE :zone) AT TIME ZONE 'UTC' " +
+                   "AND (CAST(:status AS VARCHAR) IS NULL OR ts.status = CAST(:status AS VARCHAR)) " +
+                   "AND (CAST(:endTime AS TIMESTAMP) IS NULL OR ts.end_time <= CAST(:endTime AS TIMESTAMP)) " +
+                   "ORDER BY ts.start_time LIMIT 1" +
+                   ") n) SELECT slot_date FROM slot_dates LIMIT :limit",
+           nativeQuery = true)
+    List<LocalDate> findSlotDatesAfter(@Param("userId") UUID userId,
+                                       @Param("zone") String zone,
+                                       @Param("status") String status,
+                                       @Param("fromTime") LocalDateTime fromTime,
+                                       @Param("endTime") LocalDateTime endTime,
+                                       @Param("limit") int limit);
+
+    /**
+     * Count the distinct local dates (in the given time zone) that have time slots for a user
      */
-    @Query("SELECT COUNT(ts) > 0 FROM TimeSlot ts WHERE ts.user.id = :userId " +
-           "AND ts.id != :excludeId " +
-           "AND ((ts.startTime < :endTime AND ts.endTime > :startTime))")
+    @Query(value = "SELECT COUNT(DISTINCT CAST((ts.start_time AT TIME ZONE 'UTC') AT TIME ZONE :zone AS DATE)) " +
+                   "FROM time_slots ts WHERE ts.user_id = :userId " +
+                   "AND (CAST(:status AS VARCHAR) IS NULL OR ts.status = CAST(:status AS VARCHAR)) " +
+                   "AND (CAST(:startTime AS TIMESTAMP) IS NULL OR ts.start_time >= CAST(:startTime AS TIMESTAMP)) " +
+                   "AND (CAST(:endTime AS TIMESTAMP) IS NULL OR ts.end_time <= CAST(:endTime AS TIMESTAMP))",
+           nativeQuery = true)
+    long countSlotDates(@Param("userId") UUID userId,
+                        @Param("zone") String zone,
+                        @Param("status") String status,
+                        @Param("startTime") LocalDateTime startTime,
+                        @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * Find the time slots of a user starting within a time window, with optional status and end time filters
+     */
+    @Query(SELECT_VIEW + "WHERE ts.user.id = :userId " +
+           "AND ts.startTime >= :from AND ts.startTime < :to " +
+           "AND (:status IS NULL OR ts.status = :status) " +
+           "AND (:endTime IS NULL OR ts.endTime <= :endTime) " +
+           "ORDER BY ts.startTime")
+    List<TimeSlotView> findByUserIdStartingBetween(@Param("userId") UUID userId,
+                                                   @Param("from") Instant from,
+                                                   @Param("to") Instant to,
+                                                   @Param("status") TimeSlot.SlotStatus status,
+                                                   @Param("endTime") Instant endTime);
+
+    /**
+     * Find the time slots of a user overlapping a time window, in start time order
+     */
+    @Query(SELECT_VIEW + "WHERE ts.user.id = :userId " +
+           "AND ts.startTime < :to AND ts.endTime > :from " +
+           "ORDER BY ts.startTime")
+    List<TimeSlotView> findOverlapping(@Param("userId") UUID userId,
+                                       @Param("from") Instant from,
+                                       @Param("to") Instant to);
+
+    /**
+     * Find the time slots of a user ending after an instant, in start time order
+     */
+    @Query(SELECT_VIEW + "WHERE ts.user.id = :userId AND ts.endTime > :from ORDER BY ts.startTime")
+    List<TimeSlotView> findEndingAfter(@Param("userId") UUID userId, @Param("from") Instant from);
+
+    /**
+     * Find the time slots of several users with a status overlapping a time window, ordered by user and start time
+     */
+    @Query("SELECT new dev.eduardo.scheduler.domain.projection.TimeSlotInterval(ts.user.id, ts.startTime, ts.endTime) " +
+           "FROM TimeSlot ts WHERE ts.user.id IN :userIds " +
+           "AND ts.status = :status " +
+           "AND ts.startTime < :to AND ts.endTime > :from " +
+           "ORDER BY ts.user.id, ts.startTime")
+    List<TimeSlotInterval> findIntervalsOverlapping(@Param("userIds") Collection<UUID> userIds,
+                                                    @Param("status") TimeSlot.SlotStatus status,
+                                                    @Param("from") Instant from,
+                                                    @Param("to") Instant to);
+
+    /**
+     * Find the time slots of several users of any status overlapping a time window, ordered by user and start time
+     */
+    @Query("SELECT new dev.eduardo.scheduler.domain.projection.TimeSlotInterval(ts.user.id, ts.startTime, ts.endTime) " +
+           "FROM TimeSlot ts WHERE ts.user.id IN :userIds " +
+           "AND ts.startTime < :to AND ts.endTime > :from " +
+           "ORDER BY ts.user.id, ts.startTime")
+    List<TimeSlotInterval> findIntervalsOverlapping(@Param("userIds") Collection<UUID> userIds,
+                                                    @Param("from") Instant from,
+                                                    @Param("to") Instant to);
+
+    /**
+     * Check for overlapping time slots for a user (excluding a specific slot ID), using the GiST index on slot_range
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM time_slots ts WHERE ts.user_id = :userId " +
+                   "AND ts.id <> :excludeId " +
+                   "AND ts.slot_range && " +
+                   "tstzrange(CAST(:startTime AS TIMESTAMPTZ), CAST(:endTime AS TIMESTAMPTZ), '[)'))",
+           nativeQuery = true)
     boolean existsOverlappingSlot(@Param("userId") UUID userId,
                                   @Param("startTime") Instant startTime,
                                   @Param("endTime") Instant endTime,
                                   @Param("excludeId") UUID excludeId);
     
     /**
-     * Check for overlapping time slots for a user (for new slots)
+     * Check for overlapping time slots for a user (for new slots), using the GiST index on slot_range
      */
-    @Query("SELECT COUNT(ts) > 0 FROM TimeSlot ts WHERE ts.user.id = :userId " +
-           "AND ((ts.startTime < :endTime AND ts.endTime > :startTime))")
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM time_slots ts WHERE ts.user_id = :userId " +
+                   "AND ts.slot_range && " +
+                   "tstzrange(CAST(:startTime AS TIMESTAMPTZ), CAST(:endTime AS TIMESTAMPTZ), '[)'))",
+           nativeQuery = true)
     boolean existsOverlappingSlot(@Param("userId") UUID userId,
                                   @Param("startTime") Instant startTime,
                                   @Param("endTime") Instant endTime);
+
+    /**
+     * Changes the status of a time slot only if it still has the {@code expected} status. Slots already loaded in
+     * the persistence context are not refreshed.
+     *
+     * @return the number of updated rows, 0 if the slot does not exist or has another status
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE TimeSlot ts SET ts.status = :status WHERE ts.id = :id AND ts.status = :expected")
+    int updateStatusIfCurrent(@Param("id") UUID id,
+                              @Param("expected") TimeSlot.SlotStatus expected,
+                              @Param("status") TimeSlot.SlotStatus status);
 }
@@ -4,6 +4,8 @@ import dev.eduardo.scheduler.domain.entities.User;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,6 +16,11 @@ public interface UserRepository extends CrudRepository<User, UUID> {
      * Find user by email address
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Find all users with one of the given email addresses
+     */
+    List<User> findByEmailIn(Collection<String> emails);
     
     /**
      * Check if user exists by email
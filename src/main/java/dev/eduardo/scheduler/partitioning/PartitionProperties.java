@@ -0,0 +1,18 @@
+package dev.eduardo.scheduler.partitioning;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled         {@code true} to create and detach the monthly {@code time_slots} partitions
+ * @param monthsAhead     how many months after the current one always have a partition
+ * @param retentionMonths partitions of months ending this many months before the current one are detached
+ * @param cron            when the maintenance runs, in UTC; it also runs once at startup
+ */
+@ConfigurationProperties(prefix = "scheduler.database.partitions")
+public record PartitionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("3") int monthsAhead,
+        @DefaultValue("12") int retentionMonths,
+        @DefaultValue("0 0 3 * * *") String cron
+) {}
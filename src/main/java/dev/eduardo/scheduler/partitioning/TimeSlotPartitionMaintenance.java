@@ -0,0 +1,70 @@
+package dev.eduardo.scheduler.partitioning;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Keeps the monthly partitions of {@code time_slots} ahead of the data and detaches the ones past retention, with
+ * the functions created by the {@code V8} migration. Detached partitions are moved to the {@code time_slots_archive}
+ * schema, from where they can be dumped and dropped.
+ * <p>
+ * Every node schedules the job; a transaction-level advisory lock lets only one of them run it at a time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "scheduler.database.partitions", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class TimeSlotPartitionMaintenance {
+
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_xact_lock(hashtext('time_slot_partitions'))";
+    private static final String CREATE_PARTITION = "SELECT create_time_slot_partition(CAST(? AS DATE))";
+    private static final String DETACH_PARTITIONS = "SELECT detach_time_slot_partitions(CAST(? AS DATE))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitionProperties properties;
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${scheduler.database.partitions.cron:0 0 3 * * *}", zone = "UTC")
+    public void maintainPartitions() {
+        maintainPartitions(LocalDate.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * Creates the partitions from the month of {@code today} to {@code monthsAhead} months later, and detaches the
+     * partitions ending {@code retentionMonths} or more before the month of {@code today}
+     */
+    @Transactional
+    public void maintainPartitions(LocalDate today) {
+        if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK, Boolean.class))) {
+            log.debug("Time slot partition maintenance is running on another node");
+            return;
+        }
+
+        var currentMonth = today.withDayOfMonth(1);
+        int created = 0;
+        for (int i = 0; i <= properties.monthsAhead(); i++) {
+            if (Boolean.TRUE.equals(
+                    jdbcTemplate.queryForObject(CREATE_PARTITION, Boolean.class, currentMonth.plusMonths(i)))) {
+                created++;
+            }
+        }
+
+        var cutoff = currentMonth.minusMonths(properties.retentionMonths());
+        Integer detached = jdbcTemplate.queryForObject(DETACH_PARTITIONS, Integer.class, cutoff);
+
+        log.info("Time slot partitions maintained: {} created, {} ending by {} detached",
+                created, detached, cutoff);
+    }
+}
@@ -0,0 +1,174 @@
+package dev.eduardo.scheduler.resilience;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Runs every connection through the {@link DatabaseCircuitBreaker}.
+ * <p>
+ * A connection request takes a permit, so it is rejected while the breaker is open before it waits on the pool, and
+ * takes one of the trial permits while half-open. Each connection then reports exactly one outcome: a failure as
+ * soon as obtaining it or one of its statements cannot reach the database or times out, otherwise a success timed by
+ * its slowest statement when it is closed. Errors the database answered with, such as constraint violations, count
+ * as successes.
+ */
+public class CircuitBreakingDataSource extends DelegatingDataSource {
+
+    // Connection exceptions, insufficient resources, operator intervention (e.g. statement timeouts), system errors
+    private static final Set<String> UNAVAILABLE_SQL_STATE_CLASSES = Set.of("08", "53", "57", "58");
+
+    private final DatabaseCircuitBreaker circuitBreaker;
+
+    public CircuitBreakingDataSource(DataSource targetDataSource, DatabaseCircuitBreaker circuitBreaker) {
+        super(targetDataSource);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return lease(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return lease(() -> super.getConnection(username, password));
+    }
+
+    private Connection lease(ConnectionSource source) throws SQLException {
+        checkPermission();
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException e) {
+            circuitBreaker.recordFailure();
+            throw e;
+        }
+        return new Lease(connection).connection;
+    }
+
+    private void checkPermission() throws SQLException {
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (RuntimeException e) {
+            throw new SQLTransientConnectionException(e.getMessage(), e);
+        }
+    }
+
+    private static boolean isUnavailable(SQLException e) {
+        if (e instanceof SQLTransientConnectionException
+                || e instanceof SQLNonTransientConnectionException
+                || e instanceof SQLTimeoutException) {
+            return true;
+        }
+        var sqlState = e.getSQLState();
+        return sqlState != null && sqlState.length() >= 2
+                && UNAVAILABLE_SQL_STATE_CLASSES.contains(sqlState.substring(0, 2));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * One permit of the breaker, held from the connection request until the connection is closed. Connections are
+     * used by one thread at a time, so its state needs no synchronization.
+     */
+    private final class Lease implements InvocationHandler {
+
+        private final Connection target;
+        private final Connection connection;
+        private Duration slowestStatement = Duration.ZERO;
+        private boolean reported;
+
+        private Lease(Connection target) {
+            this.target = target;
+            this.connection = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "close" -> {
+                    try {
+                        yield call(target, method, args);
+                    } finally {
+                        reportSuccess();
+                    }
+                }
+                default -> {
+                    var result = call(target, method, args);
+                    yield result instanceof Statement statement ? watch(statement, method.getReturnType()) : result;
+                }
+            };
+        }
+
+        /**
+         * Wraps a statement so its executions are timed and their connection failures reported
+         */
+        private Object watch(Statement statement, Class<?> statementType) {
+            return Proxy.newProxyInstance(statementType.getClassLoader(), new Class<?>[]{statementType},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "getConnection" -> connection;
+                        default -> method.getName().startsWith("execute")
+                                ? timed(statement, method, args)
+                                : call(statement, method, args);
+                    });
+        }
+
+        private Object timed(Statement statement, Method method, Object[] args) throws Throwable {
+            long start = System.nanoTime();
+            try {
+                return call(statement, method, args);
+            } finally {
+                var elapsed = Duration.ofNanos(System.nanoTime() - start);
+                if (elapsed.compareTo(slowestStatement) > 0) {
+                    slowestStatement = elapsed;
+                }
+            }
+        }
+
+        private Object call(Object receiver, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(receiver, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException sqlException && isUnavailable(sqlException)) {
+                    reportFailure();
+                }
+                throw e.getCause();
+            }
+        }
+
+        private void reportFailure() {
+            if (!reported) {
+                reported = true;
+                circuitBreaker.recordFailure();
+            }
+        }
+
+        private void reportSuccess() {
+            if (!reported) {
+                reported = true;
+                circuitBreaker.recordSuccess(slowestStatement);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package dev.eduardo.scheduler.resilience;
+
+import dev.eduardo.scheduler.service.exception.DatabaseUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Circuit breaker guarding every database access.
+ * <p>
+ * After {@code failureThreshold} consecutive failed or slow calls the breaker opens and database calls are rejected
+ * with {@link DatabaseUnavailableException} instead of waiting on the pool or the network. After
+ * {@code openDuration} it lets at most {@code halfOpenCalls} trial calls through (half-open) and rejects the others.
+ * It closes once that many calls succeeded; any failure while half-open opens it again. Trial permits whose calls
+ * never report back are handed out again after another {@code openDuration}.
+ */
+@Slf4j
+public class DatabaseCircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final DatabaseCircuitBreakerProperties properties;
+    private final Clock clock;
+    private final Counter rejections;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+    private Instant openedAt;
+    private Instant halfOpenedAt;
+
+    public DatabaseCircuitBreaker(DatabaseCircuitBreakerProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clock = clock;
+        this.rejections = Counter.builder("db.circuit.rejected")
+                .description("Database calls rejected because the circuit breaker was open")
+                .register(meterRegistry);
+        Gauge.builder("db.circuit.state", this, breaker -> breaker.state().ordinal())
+                .description("Database circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits a call, taking one of the trial permits while half-open
+     *
+     * @throws DatabaseUnavailableException when the breaker is open, or half-open without a trial permit left
+     */
+    public void acquirePermission() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (!openDurationElapsedSince(openedAt)) {
+                    reject();
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits >= properties.halfOpenCalls() && openDurationElapsedSince(halfOpenedAt)) {
+                    // The trial calls never reported back, let new ones through
+                    halfOpenPermits = 0;
+                    halfOpenedAt = clock.instant();
+                }
+                if (halfOpenPermits >= properties.halfOpenCalls()) {
+                    reject();
+                }
+                halfOpenPermits++;
+            }
+        }
+    }
+
+    /**
+     * Admits a call made on a connection that was already obtained, without taking a trial permit
+     *
+     * @throws DatabaseUnavailableException when the breaker is open
+     */
+    public void checkNotOpen() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        synchronized (this) {
+            if (state == State.OPEN && !openDurationElapsedSince(openedAt)) {
+                reject();
+            }
+        }
+    }
+
+    public void recordSuccess(Duration elapsed) {
+        if (elapsed.compareTo(properties.slowCallThreshold()) > 0) {
+            recordFailure();
+            return;
+        }
+
+        synchronized (this) {
+            consecutiveFailures = 0;
+            if (state == State.HALF_OPEN && ++halfOpenSuccesses >= properties.halfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+        }
+    }
+
+    public void recordFailure() {
+        synchronized (this) {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN
+                    || (state == State.CLOSED && consecutiveFailures >= properties.failureThreshold())) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public boolean isOpen() {
+        return state() == State.OPEN;
+    }
+
+    private boolean openDurationElapsedSince(Instant since) {
+        return Duration.between(since, clock.instant()).compareTo(properties.openDuration()) >= 0;
+    }
+
+    private void reject() {
+        rejections.increment();
+        throw new DatabaseUnavailableException("Database is unavailable, try again later");
+    }
+
+    private void transitionTo(State newState) {
+        log.warn("Database circuit breaker changed from {} to {}", state, newState);
+        state = newState;
+        halfOpenPermits = 0;
+        halfOpenSuccesses = 0;
+        if (newState == State.OPEN) {
+            openedAt = clock.instant();
+        } else if (newState == State.HALF_OPEN) {
+            halfOpenedAt = clock.instant();
+        } else if (newState == State.CLOSED) {
+            consecutiveFailures = 0;
+        }
+    }
+}
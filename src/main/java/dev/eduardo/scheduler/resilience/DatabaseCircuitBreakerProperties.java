@@ -0,0 +1,21 @@
+package dev.eduardo.scheduler.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param failureThreshold consecutive failed or slow database calls that open the breaker
+ * @param slowCallThreshold calls taking longer than this count as failures
+ * @param openDuration      how long the breaker rejects calls before letting trial calls through
+ * @param halfOpenCalls     successful trial calls needed to close the breaker again
+ */
+@ConfigurationProperties(prefix = "scheduler.database.circuit-breaker")
+public record DatabaseCircuitBreakerProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5") int failureThreshold,
+        @DefaultValue("2s") Duration slowCallThreshold,
+        @DefaultValue("10s") Duration openDuration,
+        @DefaultValue("3") int halfOpenCalls
+) {}
@@ -0,0 +1,24 @@
+package dev.eduardo.scheduler.resilience;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Rejects repository calls while the {@link DatabaseCircuitBreaker} is open, including calls within a transaction
+ * whose connection was obtained before it opened. It takes no trial permit and records no outcome: both are handled
+ * per connection by {@link CircuitBreakingDataSource}.
+ */
+public class RepositoryCircuitBreakerInterceptor implements MethodInterceptor {
+
+    private final DatabaseCircuitBreaker circuitBreaker;
+
+    public RepositoryCircuitBreakerInterceptor(DatabaseCircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        circuitBreaker.checkNotOpen();
+        return invocation.proceed();
+    }
+}
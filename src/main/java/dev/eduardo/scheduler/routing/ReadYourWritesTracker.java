@@ -0,0 +1,72 @@
+package dev.eduardo.scheduler.routing;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Remembers which users wrote in the last {@code read-your-writes-window}, so their reads are not served by a replica
+ * that has not replayed the write yet. Kept in Redis with a TTL, so a write on one node is seen by all of them.
+ * <p>
+ * Writes must be recorded before their cache entries are evicted: otherwise the next read could reload the cache
+ * from a lagging replica.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesTracker {
+
+    private static final String KEY_PREFIX = "scheduler:read-your-writes:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ReplicaProperties properties;
+
+    public void recordWrite(UUID userId) {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doRecordWrite(userId);
+                }
+            });
+        } else {
+            doRecordWrite(userId);
+        }
+    }
+
+    /**
+     * Looks up all users with a single {@code EXISTS}
+     *
+     * @return {@code true} if any of the users wrote within the window, or if that cannot be told because Redis is
+     * down
+     */
+    public boolean wroteRecently(Collection<UUID> userIds) {
+        try {
+            var keys = userIds.stream().map(userId -> KEY_PREFIX + userId).toList();
+            var existing = redisTemplate.countExistingKeys(keys);
+            return existing != null && existing > 0;
+        } catch (RuntimeException e) {
+            log.warn("Could not look up recent writes of users {}, reading from the primary: {}",
+                    userIds, e.getMessage());
+            return true;
+        }
+    }
+
+    private void doRecordWrite(UUID userId) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + userId, "1", properties.readYourWritesWindow());
+        } catch (RuntimeException e) {
+            log.warn("Could not record write of user {}, reads may hit a lagging replica: {}", userId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package dev.eduardo.scheduler.routing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param enabled               {@code true} to send read-only transactions to the replicas
+ * @param nodes                 the read replicas
+ * @param readYourWritesWindow  how long after a write the reads of that user's data stay on the primary
+ * @param healthCheckInterval   how often every replica is probed
+ * @param maxLag                replicas replaying further behind the primary than this are not used
+ * @param maximumPoolSize       connection pool size of each replica
+ * @param connectionTimeout     how long to wait for a replica connection before reading from the primary
+ */
+@ConfigurationProperties(prefix = "scheduler.database.replicas")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        List<Node> nodes,
+        @DefaultValue("5s") Duration readYourWritesWindow,
+        @DefaultValue("5s") Duration healthCheckInterval,
+        @DefaultValue("10s") Duration maxLag,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("1s") Duration connectionTimeout
+) {
+
+    public ReplicaProperties {
+        nodes = nodes != null ? List.copyOf(nodes) : List.of();
+    }
+
+    public record Node(
+            String url,
+            String username,
+            String password
+    ) {}
+}
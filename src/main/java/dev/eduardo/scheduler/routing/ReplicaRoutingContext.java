@@ -0,0 +1,47 @@
+package dev.eduardo.scheduler.routing;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Tells the {@link ReplicaRoutingDataSource} whose data the current thread reads, so reads of a user who just wrote
+ * are served by the primary. Reads outside such a scope go to a replica whenever one is healthy.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Collection<UUID>> READ_USERS = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    /**
+     * Runs {@code read} as a read of {@code userId}'s data. Must be called outside the read's transaction.
+     */
+    public static <T> T readingUser(UUID userId, Supplier<T> read) {
+        return readingUsers(List.of(userId), read);
+    }
+
+    /**
+     * Runs {@code read} as a read of the data of all {@code userIds}; it goes to the primary if any of them wrote
+     * recently. Must be called outside the read's transaction.
+     */
+    public static <T> T readingUsers(Collection<UUID> userIds, Supplier<T> read) {
+        var previous = READ_USERS.get();
+        READ_USERS.set(userIds);
+        try {
+            return read.get();
+        } finally {
+            if (previous != null) {
+                READ_USERS.set(previous);
+            } else {
+                READ_USERS.remove();
+            }
+        }
+    }
+
+    static Collection<UUID> currentUsers() {
+        return READ_USERS.get();
+    }
+}
@@ -0,0 +1,71 @@
+package dev.eduardo.scheduler.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Serves the connections of read-only transactions: from a healthy replica, or from the primary when the read
+ * belongs to a user who wrote recently (see {@link ReplicaRoutingContext}) or no replica is available.
+ * <p>
+ * Used as the read-only data source of a {@code LazyConnectionDataSourceProxy}, which only picks the physical
+ * connection once the transaction has marked it read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends DelegatingDataSource {
+
+    private final ReplicaSet replicaSet;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Counter replicaReads;
+    private final Counter readYourWritesReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    ReplicaSet replicaSet,
+                                    ReadYourWritesTracker readYourWritesTracker,
+                                    MeterRegistry meterRegistry) {
+        super(primary);
+        this.replicaSet = replicaSet;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.replicaReads = routingCounter(meterRegistry, "replica", "read_only");
+        this.readYourWritesReads = routingCounter(meterRegistry, "primary", "read_your_writes");
+        this.fallbackReads = routingCounter(meterRegistry, "primary", "no_healthy_replica");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        var userIds = ReplicaRoutingContext.currentUsers();
+        if (userIds != null && !userIds.isEmpty() && readYourWritesTracker.wroteRecently(userIds)) {
+            readYourWritesReads.increment();
+            return super.getConnection();
+        }
+
+        var replica = replicaSet.next();
+        if (replica != null) {
+            try {
+                var connection = replica.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Could not connect to read replica, reading from the primary: {}", e.getMessage());
+                replicaSet.markUnhealthy(replica);
+            }
+        }
+
+        fallbackReads.increment();
+        return super.getConnection();
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("db.read.routing")
+                .description("Number of read-only transactions by the database node that served them")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
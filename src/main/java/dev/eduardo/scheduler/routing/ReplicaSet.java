@@ -0,0 +1,148 @@
+package dev.eduardo.scheduler.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The read replicas, handed out round-robin among the healthy ones.
+ * <p>
+ * Every replica is probed in the background: it is healthy when the probe succeeds and its replay lag is within
+ * {@code maxLag}. A replica whose connection attempt fails is taken out of rotation until the next successful probe.
+ */
+@Slf4j
+public class ReplicaSet implements AutoCloseable {
+
+    /**
+     * Seconds since the last replayed transaction, or 0 when all received WAL has been replayed (including on a
+     * node that is not a replica)
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaSet(Map<String, DataSource> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.maxLag = maxLag;
+        Gauge.builder("db.replicas.healthy", this, ReplicaSet::healthyCount)
+                .description("Number of read replicas currently in rotation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Probes the replicas now and then every {@code interval}
+     */
+    public synchronized void start(Duration interval) {
+        if (healthChecker != null) {
+            return;
+        }
+        healthChecker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-health-check")
+                .daemon()
+                .factory());
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void checkHealth() {
+        for (var replica : replicas) {
+            var healthy = probe(replica);
+            if (healthy != replica.healthy) {
+                log.info("Read replica {} is now {}", replica.name, healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * @return the next healthy replica, or {@code null} when none is
+     */
+    public DataSource next() {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            var replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica.dataSource;
+            }
+        }
+        return null;
+    }
+
+    public void markUnhealthy(DataSource dataSource) {
+        for (var replica : replicas) {
+            if (replica.dataSource == dataSource && replica.healthy) {
+                log.warn("Read replica {} failed, taking it out of rotation", replica.name);
+                replica.healthy = false;
+            }
+        }
+    }
+
+    public int healthyCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public synchronized void close() throws Exception {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (var replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private boolean probe(Replica replica) {
+        try (var connection = replica.dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            statement.setQueryTimeout(Math.max(1, (int) maxLag.toSeconds()));
+            try (var resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                var lagSeconds = resultSet.getDouble(1);
+                if (lagSeconds * 1000 > maxLag.toMillis()) {
+                    log.warn("Read replica {} lags {}s behind the primary", replica.name, lagSeconds);
+                    return false;
+                }
+                return true;
+            }
+        } catch (SQLException e) {
+            log.warn("Health check of read replica {} failed: {}", replica.name, e.getMessage());
+            return false;
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
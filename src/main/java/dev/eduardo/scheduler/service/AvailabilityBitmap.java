@@ -0,0 +1,362 @@
+package dev.eduardo.scheduler.service;
+
+import dev.eduardo.scheduler.domain.projection.TimeSlotInterval;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Availability over a time range as one bit per quantum of time, packed into {@code long} words. A bit is set when
+ * its quantum is entirely covered by available slots; busy and booked time, as well as time without any slot, are
+ * clear bits. Intersection and union are word-wide {@code AND} and {@code OR}, and runs of free quanta are found by
+ * skipping whole words of set or clear bits.
+ * <p>
+ * Bitmaps are cached per user and UTC day. Quanta divide a day evenly, so days can be concatenated into longer
+ * ranges without a quantum straddling midnight. Instances are immutable; bits past {@link #length()} are always clear.
+ */
+public final class AvailabilityBitmap {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final Instant origin;
+    private final int quantumMinutes;
+    private final int length;
+    private final long[] words;
+
+    private AvailabilityBitmap(Instant origin, int quantumMinutes, int length, long[] words) {
+        this.origin = origin;
+        this.quantumMinutes = quantumMinutes;
+        this.length = length;
+        this.words = words;
+    }
+
+    /**
+     * @param words the bits of the bitmap, as returned by {@link #words()}
+     * @throws IllegalArgumentException if the words do not match the length or have bits past it
+     */
+    public static AvailabilityBitmap of(Instant origin, int quantumMinutes, int length, long[] words) {
+        if (words.length != wordCount(length)) {
+            throw new IllegalArgumentException("Expected " + wordCount(length) + " words for " + length + " quanta");
+        }
+        if (length % 64 != 0 && words.length > 0 && (words[words.length - 1] & (-1L << length)) != 0) {
+            throw new IllegalArgumentException("Bits past the length of " + length + " quanta are set");
+        }
+        return new AvailabilityBitmap(origin, quantumMinutes, length, words.clone());
+    }
+
+    /**
+     * Builds the bitmap of one UTC day
+     *
+     * @param intervals the available slots of a single user, ordered by start time; slots outside the day are ignored
+     */
+    public static AvailabilityBitmap ofDay(LocalDate day, int quantumMinutes, List<TimeSlotInterval> intervals) {
+        return ofRange(day.atStartOfDay(ZoneOffset.UTC).toInstant(), quantumMinutes, quantaPerDay(quantumMinutes),
+                intervals);
+    }
+
+    /**
+     * Builds the bitmap of {@code length} quanta from {@code origin}. Touching or overlapping slots are merged first,
+     * so a quantum covered by two adjacent slots is available.
+     *
+     * @param intervals the available slots of a single user, ordered by start time
+     */
+    public static AvailabilityBitmap ofRange(Instant origin,
+                                             int quantumMinutes,
+                                             int length,
+                                             List<TimeSlotInterval> intervals) {
+        var words = new long[wordCount(length)];
+        long quantumNanos = quantumNanos(quantumMinutes);
+        long rangeNanos = quantumNanos * length;
+
+        long mergedStart = 0;
+        long mergedEnd = -1;
+        for (var interval : intervals) {
+            long start = Math.max(offsetNanos(origin, interval.startTime(), rangeNanos), 0);
+            long end = Math.min(offsetNanos(origin, interval.endTime(), rangeNanos), rangeNanos);
+            if (start >= end) {
+                continue;
+            }
+            if (start <= mergedEnd) {
+                mergedEnd = Math.max(mergedEnd, end);
+                continue;
+            }
+            setCovered(words, mergedStart, mergedEnd, quantumNanos);
+            mergedStart = start;
+            mergedEnd = end;
+        }
+        setCovered(words, mergedStart, mergedEnd, quantumNanos);
+        return new AvailabilityBitmap(origin, quantumMinutes, length, words);
+    }
+
+    /**
+     * Joins consecutive bitmaps of the same quantum into one
+     *
+     * @throws IllegalArgumentException if a bitmap does not start where the previous one ends
+     */
+    public static AvailabilityBitmap concat(List<AvailabilityBitmap> bitmaps) {
+        var first = bitmaps.getFirst();
+        int length = 0;
+        for (var bitmap : bitmaps) {
+            if (bitmap.quantumMinutes != first.quantumMinutes || !bitmap.origin.equals(first.instantAt(length))) {
+                throw new IllegalArgumentException("Bitmaps must be consecutive and of the same quantum");
+            }
+            length += bitmap.length;
+        }
+
+        var words = new long[wordCount(length)];
+        int offset = 0;
+        for (var bitmap : bitmaps) {
+            for (int i = 0; i < bitmap.words.length; i++) {
+                long word = bitmap.words[i];
+                if (word == 0) {
+                    continue;
+                }
+                int bit = offset + (i << 6);
+                int shift = bit & 63;
+                words[bit >>> 6] |= word << shift;
+                if (shift != 0 && (bit >>> 6) + 1 < words.length) {
+                    words[(bit >>> 6) + 1] |= word >>> (64 - shift);
+                }
+            }
+            offset += bitmap.length;
+        }
+        return new AvailabilityBitmap(first.origin, first.quantumMinutes, length, words);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the quantum is not a whole number of minutes dividing a day
+     */
+    public static int quantaPerDay(int quantumMinutes) {
+        if (quantumMinutes <= 0 || MINUTES_PER_DAY % quantumMinutes != 0) {
+            throw new IllegalArgumentException("Quantum of " + quantumMinutes + " minutes does not divide a day");
+        }
+        return MINUTES_PER_DAY / quantumMinutes;
+    }
+
+    public Instant origin() {
+        return origin;
+    }
+
+    public int quantumMinutes() {
+        return quantumMinutes;
+    }
+
+    /**
+     * @return the number of quanta
+     */
+    public int length() {
+        return length;
+    }
+
+    public long[] words() {
+        return words.clone();
+    }
+
+    public boolean get(int quantum) {
+        return quantum >= 0 && quantum < length && (words[quantum >>> 6] & (1L << quantum)) != 0;
+    }
+
+    /**
+     * @return the quanta available in both bitmaps
+     */
+    public AvailabilityBitmap and(AvailabilityBitmap other) {
+        requireSameRange(other);
+        var result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new AvailabilityBitmap(origin, quantumMinutes, length, result);
+    }
+
+    /**
+     * @return the quanta available in either bitmap
+     */
+    public AvailabilityBitmap or(AvailabilityBitmap other) {
+        requireSameRange(other);
+        var result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] | other.words[i];
+        }
+        return new AvailabilityBitmap(origin, quantumMinutes, length, result);
+    }
+
+    /**
+     * @return the bitmap of {@code length} quanta starting at quantum {@code from}
+     */
+    public AvailabilityBitmap slice(int from, int length) {
+        if (from < 0 || length < 0 || from + length > this.length) {
+            throw new IndexOutOfBoundsException("Cannot slice " + length + " quanta from " + from);
+        }
+        var result = new long[wordCount(length)];
+        int shift = from & 63;
+        for (int i = 0; i < result.length; i++) {
+            int source = (from >>> 6) + i;
+            long word = words[source] >>> shift;
+            if (shift != 0 && source + 1 < words.length) {
+                word |= words[source + 1] << (64 - shift);
+            }
+            result[i] = word;
+        }
+        if (length % 64 != 0 && result.length > 0) {
+            result[result.length - 1] &= ~(-1L << length);
+        }
+        return new AvailabilityBitmap(instantAt(from), quantumMinutes, length, result);
+    }
+
+    /**
+     * @return the first quantum at or after {@code from} starting a run of at least {@code quanta} available quanta,
+     * or -1 if there is none
+     */
+    public int firstRun(int quanta, int from) {
+        int start = nextSetBit(from);
+        while (start >= 0) {
+            int end = nextClearBit(start);
+            if (end - start >= quanta) {
+                return start;
+            }
+            start = nextSetBit(end);
+        }
+        return -1;
+    }
+
+    /**
+     * @return the runs of at least {@code minQuanta} available quanta within {@code from} to {@code to}, in time order
+     */
+    public List<AvailabilitySweep.Window> windows(Instant from, Instant to, int minQuanta) {
+        long quantumNanos = quantumNanos(quantumMinutes);
+        long rangeNanos = quantumNanos * length;
+        int first = (int) ceilDiv(Math.max(offsetNanos(origin, from, rangeNanos), 0), quantumNanos);
+        int last = (int) (Math.min(offsetNanos(origin, to, rangeNanos), rangeNanos) / quantumNanos);
+
+        var windows = new ArrayList<AvailabilitySweep.Window>();
+        int start = first < last ? nextSetBit(first) : -1;
+        while (start >= 0 && start < last) {
+            int end = Math.min(nextClearBit(start), last);
+            if (end - start >= Math.max(minQuanta, 1)) {
+                windows.add(new AvailabilitySweep.Window(instantAt(start), instantAt(end)));
+            }
+            start = nextSetBit(end);
+        }
+        return windows;
+    }
+
+    private Instant instantAt(int quantum) {
+        return origin.plus((long) quantum * quantumMinutes, ChronoUnit.MINUTES);
+    }
+
+    private int nextSetBit(int from) {
+        if (from >= length) {
+            return -1;
+        }
+        int index = from >>> 6;
+        long word = words[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private int nextClearBit(int from) {
+        if (from >= length) {
+            return length;
+        }
+        int index = from >>> 6;
+        long word = ~words[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == words.length) {
+                return length;
+            }
+            word = ~words[index];
+        }
+        return Math.min((index << 6) + Long.numberOfTrailingZeros(word), length);
+    }
+
+    private void requireSameRange(AvailabilityBitmap other) {
+        if (!origin.equals(other.origin) || quantumMinutes != other.quantumMinutes || length != other.length) {
+            throw new IllegalArgumentException("Bitmaps must cover the same range with the same quantum");
+        }
+    }
+
+    /**
+     * Sets the bits of the quanta entirely within {@code start} to {@code end}, given in nanoseconds from the origin
+     */
+    private static void setCovered(long[] words, long start, long end, long quantumNanos) {
+        if (start >= end) {
+            return;
+        }
+        int from = (int) ceilDiv(start, quantumNanos);
+        int to = (int) (end / quantumNanos);
+        if (from >= to) {
+            return;
+        }
+
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (firstWord == lastWord) {
+            words[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        words[firstWord] |= firstMask;
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            words[i] = -1L;
+        }
+        words[lastWord] |= lastMask;
+    }
+
+    /**
+     * Nanoseconds from the origin, saturated just outside the range so far away slots cannot overflow
+     */
+    private static long offsetNanos(Instant origin, Instant instant, long rangeNanos) {
+        long seconds = instant.getEpochSecond() - origin.getEpochSecond();
+        if (seconds < 0) {
+            return -1;
+        }
+        if (seconds > rangeNanos / 1_000_000_000L) {
+            return rangeNanos + 1;
+        }
+        return Duration.ofSeconds(seconds, instant.getNano() - origin.getNano()).toNanos();
+    }
+
+    private static long quantumNanos(int quantumMinutes) {
+        return Duration.ofMinutes(quantumMinutes).toNanos();
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+
+    private static int wordCount(int length) {
+        return (length + 63) >>> 6;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof AvailabilityBitmap other
+                && origin.equals(other.origin)
+                && quantumMinutes == other.quantumMinutes
+                && length == other.length
+                && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * origin.hashCode() + quantumMinutes) + length) + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "AvailabilityBitmap[origin=" + origin + ", quantumMinutes=" + quantumMinutes
+                + ", length=" + length + "]";
+    }
+}
@@ -0,0 +1,128 @@
+package dev.eduardo.scheduler.service;
+
+import dev.eduardo.scheduler.cache.CacheNames;
+import dev.eduardo.scheduler.cache.MultiKeyCache;
+import dev.eduardo.scheduler.cache.SchedulerCacheProperties;
+import dev.eduardo.scheduler.cache.UserScopedKeyGenerator;
+import dev.eduardo.scheduler.domain.projection.TimeSlotInterval;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Loads the {@link AvailabilityBitmap} of every user and UTC day from the {@code availabilityBitmaps} cache. Entries
+ * are keyed {@code <userId>:<date>}, so they are evicted with the user's other cached calendar data. All of them are
+ * read with one multi-key lookup, and the days missing from the cache are built from the available slots of all their
+ * users, fetched with one query, and written back in one batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AvailabilityBitmapLoader {
+
+    private final CacheManager cacheManager;
+    private final TimeSlotService timeSlotService;
+    private final SchedulerCacheProperties cacheProperties;
+
+    /**
+     * @return the quanta in which all users are available, from the start of {@code firstDay} to the end of
+     * {@code lastDay} in UTC
+     */
+    @Transactional(readOnly = true)
+    public AvailabilityBitmap loadCommonAvailability(Collection<UUID> userIds, LocalDate firstDay, LocalDate lastDay) {
+        int days = (int) ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+        var users = List.copyOf(userIds);
+        var bitmaps = loadBitmaps(users, firstDay, days);
+
+        var commonDays = new ArrayList<AvailabilityBitmap>(days);
+        for (int day = 0; day < days; day++) {
+            var common = bitmaps[0][day];
+            for (int user = 1; user < users.size(); user++) {
+                common = common.and(bitmaps[user][day]);
+            }
+            commonDays.add(common);
+        }
+        return AvailabilityBitmap.concat(commonDays);
+    }
+
+    /**
+     * @return the bitmaps indexed by user, then by day
+     */
+    private AvailabilityBitmap[][] loadBitmaps(List<UUID> userIds, LocalDate firstDay, int days) {
+        var cache = cacheManager.getCache(CacheNames.AVAILABILITY_BITMAPS);
+        int quantumMinutes = cacheProperties.availabilityBitmaps().quantumMinutes();
+        var bitmaps = new AvailabilityBitmap[userIds.size()][days];
+
+        var keys = new ArrayList<String>(userIds.size() * days);
+        for (var userId : userIds) {
+            for (int day = 0; day < days; day++) {
+                keys.add(UserScopedKeyGenerator.key(userId, firstDay.plusDays(day)));
+            }
+        }
+        var cached = cache != null ? MultiKeyCache.getAll(cache, keys) : Collections.nCopies(keys.size(), null);
+
+        var missingUsers = new LinkedHashSet<UUID>();
+        int firstMissingDay = days;
+        int lastMissingDay = -1;
+        for (int user = 0; user < userIds.size(); user++) {
+            for (int day = 0; day < days; day++) {
+                // Bitmaps cached with another quantum are rebuilt
+                if (cached.get(user * days + day) instanceof AvailabilityBitmap bitmap
+                        && bitmap.quantumMinutes() == quantumMinutes) {
+                    bitmaps[user][day] = bitmap;
+                    continue;
+                }
+                missingUsers.add(userIds.get(user));
+                firstMissingDay = Math.min(firstMissingDay, day);
+                lastMissingDay = Math.max(lastMissingDay, day);
+            }
+        }
+        if (missingUsers.isEmpty()) {
+            return bitmaps;
+        }
+
+        var from = firstDay.plusDays(firstMissingDay).atStartOfDay(ZoneOffset.UTC).toInstant();
+        var to = firstDay.plusDays(lastMissingDay + 1L).atStartOfDay(ZoneOffset.UTC).toInstant();
+        var intervalsByUser = timeSlotService.findAvailableIntervals(missingUsers, from, to).stream()
+                .collect(Collectors.groupingBy(TimeSlotInterval::userId));
+        log.debug("Building availability bitmaps of {} users from {} to {}", missingUsers.size(), from, to);
+
+        int quantaPerDay = AvailabilityBitmap.quantaPerDay(quantumMinutes);
+        var built = new LinkedHashMap<String, AvailabilityBitmap>();
+        for (int user = 0; user < userIds.size(); user++) {
+            var userId = userIds.get(user);
+            if (!missingUsers.contains(userId)) {
+                continue;
+            }
+            var range = AvailabilityBitmap.ofRange(from, quantumMinutes,
+                    (lastMissingDay - firstMissingDay + 1) * quantaPerDay,
+                    intervalsByUser.getOrDefault(userId, List.of()));
+            for (int day = firstMissingDay; day <= lastMissingDay; day++) {
+                if (bitmaps[user][day] != null) {
+                    continue;
+                }
+                var bitmap = range.slice((day - firstMissingDay) * quantaPerDay, quantaPerDay);
+                bitmaps[user][day] = bitmap;
+                built.put(keys.get(user * days + day), bitmap);
+            }
+        }
+        if (cache != null) {
+            MultiKeyCache.putAll(cache, built);
+        }
+        return bitmaps;
+    }
+}
@@ -0,0 +1,79 @@
+package dev.eduardo.scheduler.service;
+
+import dev.eduardo.scheduler.api.dto.AvailabilityRuleResponse;
+import dev.eduardo.scheduler.api.dto.CreateAvailabilityRuleRequest;
+import dev.eduardo.scheduler.cache.CacheNames;
+import dev.eduardo.scheduler.cache.UserCacheEvictor;
+import dev.eduardo.scheduler.domain.entities.AvailabilityRule;
+import dev.eduardo.scheduler.domain.repository.UserRepository;
+import dev.eduardo.scheduler.routing.ReadYourWritesTracker;
+import dev.eduardo.scheduler.service.exception.UserNotFoundException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Availability rules only show up in calendars and occurrence lookups, so their writes evict just those caches
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AvailabilityRuleAdminApiService {
+
+    private final AvailabilityRuleService availabilityRuleService;
+    private final UserRepository userRepository;
+    private final UserCacheEvictor userCacheEvictor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    @Transactional
+    public AvailabilityRuleResponse createRule(@Valid CreateAvailabilityRuleRequest request, UUID userId) {
+        var user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+
+        var rule = availabilityRuleService.createRule(AvailabilityRule.builder()
+                .user(user)
+                .rrule(request.rrule())
+                .startDate(request.startDate())
+                .dayStart(request.dayStart())
+                .dayEnd(request.dayEnd())
+                .slotMinutes(request.slotMinutes())
+                .timezone(request.timezone() != null ? request.timezone() : user.getTimezone())
+                .build());
+
+        readYourWritesTracker.recordWrite(userId);
+        userCacheEvictor.evictUser(userId,
+                CacheNames.ADMIN_TIME_SLOTS, CacheNames.USER_CALENDARS, CacheNames.USER_CALENDAR_PAGES,
+                CacheNames.AVAILABILITY_BITMAPS);
+        log.info("Created availability rule {} for user {}", rule.getId(), user.getEmail());
+
+        return AvailabilityRuleResponse.fromEntity(rule);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AvailabilityRuleResponse> getRules(UUID userId) {
+        return availabilityRuleService.findByUserId(userId).stream()
+                .map(AvailabilityRuleResponse::fromEntity)
+                .toList();
+    }
+
+    @Transactional
+    public void deleteRule(UUID ruleId, UUID userId) {
+        var rule = availabilityRuleService.findById(ruleId);
+
+        if (!rule.getUser().getId().equals(userId)) {
+            throw new IllegalArgumentException("Availability rule does not belong to the authenticated user");
+        }
+
+        availabilityRuleService.removeRule(rule);
+        readYourWritesTracker.recordWrite(userId);
+        userCacheEvictor.evictUser(userId,
+                CacheNames.ADMIN_TIME_SLOTS, CacheNames.USER_CALENDARS, CacheNames.USER_CALENDAR_PAGES,
+                CacheNames.AVAILABILITY_BITMAPS);
+        log.info("Deleted availability rule {} for user {}", ruleId, rule.getUser().getEmail());
+    }
+}
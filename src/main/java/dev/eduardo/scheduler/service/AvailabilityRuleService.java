@@ -0,0 +1,136 @@
+package dev.eduardo.scheduler.service;
+
+import dev.eduardo.scheduler.domain.entities.AvailabilityRule;
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.repository.AvailabilityRuleRepository;
+import dev.eduardo.scheduler.service.exception.AvailabilityRuleNotFoundException;
+import dev.eduardo.scheduler.service.exception.TimeSlotNotAvailableException;
+import dev.eduardo.scheduler.service.exception.TimeSlotNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Manages availability rules and turns their occurrences into stored time slots once they are booked or edited
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AvailabilityRuleService {
+
+    private final AvailabilityRuleRepository availabilityRuleRepository;
+    private final TimeSlotService timeSlotService;
+
+    /**
+     * An occurrence of a rule, not stored as a time slot
+     */
+    public record Occurrence(AvailabilityRule rule, Instant startTime, Instant endTime) {}
+
+    /**
+     * @throws IllegalArgumentException if the rule cannot be expanded
+     */
+    @Transactional
+    public AvailabilityRule createRule(AvailabilityRule rule) {
+        log.debug("Creating availability rule {} for user {}", rule.getRrule(), rule.getUser().getId());
+        var recurrence = RecurrenceRule.parse(rule.getRrule());
+        RecurrenceExpander.of(rule);
+        rule.setRrule(recurrence.format());
+        rule.setUntilDate(recurrence.until());
+        return availabilityRuleRepository.save(rule);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AvailabilityRule> findByUserId(UUID userId) {
+        return availabilityRuleRepository.findByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public AvailabilityRule findById(UUID ruleId) {
+        return availabilityRuleRepository.findById(ruleId)
+                .orElseThrow(() ->
+                        new AvailabilityRuleNotFoundException("Availability rule not found with ID: " + ruleId));
+    }
+
+    /**
+     * Removes the rule with its exceptions. Occurrences already stored as time slots are kept.
+     */
+    @Transactional
+    public void removeRule(AvailabilityRule rule) {
+        log.debug("Removing availability rule: {}", rule.getId());
+        availabilityRuleRepository.delete(rule);
+    }
+
+    /**
+     * @return the occurrence with the given id, unless it is not an occurrence id, its rule is gone, it does not
+     * match the rule or it has been excluded from the rule
+     */
+    @Transactional(readOnly = true)
+    public Optional<Occurrence> findOccurrence(UUID occurrenceId) {
+        return findRuleOccurrence(occurrenceId)
+                .filter(occurrence -> !isExcluded(occurrence.rule(), occurrence.startTime()));
+    }
+
+    /**
+     * Stores an occurrence as a time slot with the given status and excludes it from its rule, so it is listed once.
+     * Of concurrent calls for the same occurrence only one succeeds.
+     *
+     * @throws TimeSlotNotFoundException     if there is no such occurrence
+     * @throws TimeSlotNotAvailableException if the occurrence has already been stored or deleted
+     */
+    @Transactional
+    public TimeSlot materializeOccurrence(UUID occurrenceId, TimeSlot.SlotStatus status) {
+        var occurrence = findRuleOccurrence(occurrenceId)
+                .orElseThrow(() -> new TimeSlotNotFoundException("Time slot not found with ID: " + occurrenceId));
+        var rule = occurrence.rule();
+
+        if (availabilityRuleRepository.insertException(rule.getId(), utc(occurrence.startTime())) == 0) {
+            throw new TimeSlotNotAvailableException("Time slot is not available for booking");
+        }
+        var timeSlot = timeSlotService.createSlot(TimeSlot.builder()
+                .user(rule.getUser())
+                .startTime(occurrence.startTime())
+                .endTime(occurrence.endTime())
+                .status(status)
+                .build());
+
+        log.info("Stored occurrence {} of availability rule {} as time slot {}",
+                occurrence.startTime(), rule.getId(), timeSlot.getId());
+        return timeSlot;
+    }
+
+    private Optional<Occurrence> findRuleOccurrence(UUID occurrenceId) {
+        if (!OccurrenceIds.isOccurrence(occurrenceId)) {
+            return Optional.empty();
+        }
+        var start = OccurrenceIds.startOf(occurrenceId);
+        return availabilityRuleRepository.findByIdBetween(
+                        OccurrenceIds.lowestRuleId(occurrenceId), OccurrenceIds.highestRuleId(occurrenceId))
+                .filter(rule -> OccurrenceIds.of(rule.getId(), start.getEpochSecond()).equals(occurrenceId))
+                .flatMap(rule -> {
+                    var expander = RecurrenceExpander.of(rule);
+                    if (!expander.isOccurrence(start)) {
+                        return Optional.empty();
+                    }
+                    return Optional.of(new Occurrence(rule, start, start.plusSeconds(expander.slotSeconds())));
+                });
+    }
+
+    private boolean isExcluded(AvailabilityRule rule, Instant start) {
+        return !availabilityRuleRepository.findExceptions(List.of(rule.getId()), start, start.plusSeconds(1)).isEmpty();
+    }
+
+    /**
+     * The UTC wall clock time the exceptions are stored in
+     */
+    private static LocalDateTime utc(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
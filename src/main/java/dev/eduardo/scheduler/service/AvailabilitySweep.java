@@ -0,0 +1,132 @@
+package dev.eduardo.scheduler.service;
+
+import dev.eduardo.scheduler.domain.projection.TimeSlotInterval;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Intersects the availability of several users with a sweep line. Every user's slots are first merged into disjoint
+ * intervals, then the sorted start and end times of all intervals are swept while counting how many users are
+ * available; a window is open while that count equals the number of users. Costs O(n log n) for n slots.
+ */
+public final class AvailabilitySweep {
+
+    /**
+     * A half-open time window
+     */
+    public record Window(Instant start, Instant end) {}
+
+    private AvailabilitySweep() {
+    }
+
+    /**
+     * @param intervals   the available slots of the users, ordered by user and then by start time
+     * @param userCount   the number of users that must all be available
+     * @param from        start of the searched range
+     * @param to          end of the searched range
+     * @param minDuration windows shorter than this are left out
+     * @return the windows within {@code from} to {@code to} in which all users are available, in time order
+     */
+    public static List<Window> commonWindows(List<TimeSlotInterval> intervals,
+                                             int userCount,
+                                             Instant from,
+                                             Instant to,
+                                             Duration minDuration) {
+        var starts = new long[intervals.size()];
+        var ends = new long[intervals.size()];
+        long rangeStart = micros(from);
+        long rangeEnd = micros(to);
+
+        // Touching or overlapping slots of a user become one interval, so a user never counts twice at a time
+        int count = 0;
+        int users = 0;
+        UUID currentUser = null;
+        long mergedStart = 0;
+        long mergedEnd = 0;
+        for (var interval : intervals) {
+            long start = Math.max(micros(interval.startTime()), rangeStart);
+            long end = Math.min(micros(interval.endTime()), rangeEnd);
+            if (start >= end) {
+                continue;
+            }
+            boolean sameUser = interval.userId().equals(currentUser);
+            if (sameUser && start <= mergedEnd) {
+                mergedEnd = Math.max(mergedEnd, end);
+                continue;
+            }
+            if (currentUser != null) {
+                starts[count] = mergedStart;
+                ends[count] = mergedEnd;
+                count++;
+            }
+            if (!sameUser) {
+                currentUser = interval.userId();
+                users++;
+            }
+            mergedStart = start;
+            mergedEnd = end;
+        }
+        if (currentUser != null) {
+            starts[count] = mergedStart;
+            ends[count] = mergedEnd;
+            count++;
+        }
+        if (users < userCount) {
+            return List.of();
+        }
+
+        Arrays.sort(starts, 0, count);
+        Arrays.sort(ends, 0, count);
+        return sweep(starts, ends, count, userCount, minDuration.toNanos() / 1_000);
+    }
+
+    /**
+     * Every interval ends after it starts, so the n-th smallest end comes after the n-th smallest start and the ends
+     * are only exhausted once all starts are
+     */
+    private static List<Window> sweep(long[] starts, long[] ends, int count, int userCount, long minMicros) {
+        var windows = new ArrayList<Window>();
+        int available = 0;
+        int nextStart = 0;
+        int nextEnd = 0;
+        long openedAt = -1;
+        boolean open = false;
+
+        while (nextEnd < count) {
+            long time = nextStart < count ? Math.min(starts[nextStart], ends[nextEnd]) : ends[nextEnd];
+            while (nextStart < count && starts[nextStart] == time) {
+                available++;
+                nextStart++;
+            }
+            while (nextEnd < count && ends[nextEnd] == time) {
+                available--;
+                nextEnd++;
+            }
+
+            if (!open && available == userCount) {
+                open = true;
+                openedAt = time;
+            } else if (open && available < userCount) {
+                open = false;
+                if (time - openedAt >= minMicros) {
+                    windows.add(new Window(instant(openedAt), instant(time)));
+                }
+            }
+        }
+        return windows;
+    }
+
+    private static long micros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    private static Instant instant(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+}
@@ -1,20 +1,33 @@
 package dev.eduardo.scheduler.service;
 
 import dev.eduardo.scheduler.api.dto.*;
+import dev.eduardo.scheduler.cache.CacheNames;
+import dev.eduardo.scheduler.cache.UserCacheEvictor;
 import dev.eduardo.scheduler.domain.entities.Meeting;
 import dev.eduardo.scheduler.domain.entities.MeetingParticipant;
 import dev.eduardo.scheduler.domain.entities.TimeSlot;
-import dev.eduardo.scheduler.service.exception.TimeSlotNotAvailableException;
+import dev.eduardo.scheduler.domain.entities.User;
+import dev.eduardo.scheduler.routing.ReadYourWritesTracker;
+import dev.eduardo.scheduler.routing.ReplicaRoutingContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.util.*;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -22,74 +35,173 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CalendarService {
 
+    static final int MAX_MATERIALIZED_DAYS = 93;
+    static final int MAX_AVAILABILITY_USERS = 200;
+
     private final TimeSlotService timeSlotService;
     private final UserService userService;
     private final MeetingService meetingService;
+    private final AvailabilityRuleService availabilityRuleService;
+    private final UserCalendarLoader userCalendarLoader;
+    private final AvailabilityBitmapLoader availabilityBitmapLoader;
+    private final UserCacheEvictor userCacheEvictor;
+    private final ReadYourWritesTracker readYourWritesTracker;
 
 
-    @Transactional(readOnly = true)
-    @Cacheable(
-            value = "userTimeSlotsPageable",
-            key = "T(java.util.Objects).hash(#userId, #startDate, #endDate, #status, #page, #size)"
-    )
-    public PageableUserTimeSlotsResponse getUserTimeSlotsPageable(UUID userId, 
-                                                                  LocalDate startDate, 
-                                                                  LocalDate endDate, 
+    public PageableUserTimeSlotsResponse getUserTimeSlotsPageable(UUID userId,
+                                                                  LocalDate startDate,
+                                                                  LocalDate endDate,
                                                                   TimeSlot.SlotStatus status,
                                                                   int page,
                                                                   int size) {
-        var user = userService.findById(userId);
+        if (isMaterializable(startDate, endDate)) {
+            return ReplicaRoutingContext.readingUser(userId,
+                    () -> userCalendarLoader.loadCalendar(userId, startDate, endDate, status)).page(page, size);
+        }
+        return ReplicaRoutingContext.readingUser(userId,
+                () -> userCalendarLoader.loadCalendarPage(userId, startDate, endDate, status, page, size));
+    }
 
-        var userTimeZone = ZoneId.of(user.getTimezone());
+    /**
+     * Returns the {@code size} days that follow the position encoded in {@code cursor}
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public PageableUserTimeSlotsResponse getUserTimeSlotsAfter(UUID userId,
+                                                               LocalDate startDate,
+                                                               LocalDate endDate,
+                                                               TimeSlot.SlotStatus status,
+                                                               String cursor,
+                                                               int size) {
+        var position = CalendarCursor.decode(cursor);
+        return ReplicaRoutingContext.readingUser(userId,
+                () -> userCalendarLoader.loadCalendarAfter(userId, startDate, endDate, status, position, size));
+    }
 
-        var timeSlots = timeSlotService.fetchFilteredTimeSlots(userId, startDate, endDate, status, userTimeZone);
-        
-        Map<LocalDate, List<TimeSlotSummary>> slotsByDate = timeSlots.stream()
-                .collect(Collectors.groupingBy(
-                        slot -> slot.getStartTime().atZone(userTimeZone).toLocalDate(),
-                        Collectors.mapping(
-                                slot -> TimeSlotSummary.fromEntity(slot, userTimeZone),
-                                Collectors.toList()
-                        )
-                ));
-        
-        var allDateSlots = slotsByDate.entrySet().stream()
-                .map(entry -> new DateSlots(entry.getKey(), entry.getValue()))
-                .sorted(Comparator.comparing(DateSlots::date))
-                .toList();
-        
-        int totalElements = allDateSlots.size();
-        int totalPages = (int) Math.ceil((double) totalElements / size);
-        int startIndex = page * size;
-        int endIndex = Math.min(startIndex + size, totalElements);
-        
-        List<DateSlots> paginatedDateSlots = startIndex < totalElements ?
-                new ArrayList<>(allDateSlots.subList(startIndex, endIndex)) : new ArrayList<>();
-        
-        PageableUserTimeSlotsResponse.PageInfo pageInfo = new PageableUserTimeSlotsResponse.PageInfo(
-                page,
-                size,
-                totalPages,
-                totalElements,
-                page < totalPages - 1,
-                page > 0
-        );
-        
-        return new PageableUserTimeSlotsResponse(UserInfo.fromEntity(user), paginatedDateSlots, pageInfo);
+    /**
+     * Bounded ranges are small enough to cache as a whole and slice any page from; open or long ranges are paged
+     * in SQL instead of loading every slot
+     */
+    private static boolean isMaterializable(LocalDate startDate, LocalDate endDate) {
+        return startDate != null && endDate != null
+                && ChronoUnit.DAYS.between(startDate, endDate) < MAX_MATERIALIZED_DAYS;
+    }
+
+    /**
+     * Finds the windows of at least {@code minDuration} in which all given users have available slots, from the start
+     * of {@code startDate} to the end of {@code endDate} in {@code timezone}. The slots of all users are fetched with
+     * one query and intersected in memory with {@link AvailabilitySweep}. Reads go to the primary if any of the users
+     * wrote recently.
+     *
+     * @throws IllegalArgumentException if the users, the date range, the duration or the time zone are invalid
+     * @throws dev.eduardo.scheduler.service.exception.UserNotFoundException if one of the users does not exist
+     */
+    public CommonAvailabilityResponse findCommonAvailability(Collection<UUID> userIds,
+                                                             LocalDate startDate,
+                                                             LocalDate endDate,
+                                                             Duration minDuration,
+                                                             String timezone) {
+        var distinctUserIds = validateAvailabilitySearch(userIds, startDate, endDate, minDuration);
+        var zone = parseZone(timezone);
+
+        var from = startDate.atStartOfDay(zone).toInstant();
+        var to = endDate.plusDays(1).atStartOfDay(zone).toInstant();
+        var intervals = ReplicaRoutingContext.readingUsers(distinctUserIds, () -> {
+            userService.findAllByIds(distinctUserIds);
+            return timeSlotService.findAvailableIntervals(distinctUserIds, from, to);
+        });
+
+        var windows = AvailabilitySweep.commonWindows(intervals, distinctUserIds.size(), from, to, minDuration);
+        log.debug("Found {} common windows of {} users in {} slots", windows.size(), distinctUserIds.size(),
+                intervals.size());
+        return toAvailabilityResponse(windows, zone);
+    }
+
+    /**
+     * Same search as {@link #findCommonAvailability}, intersecting the cached {@link AvailabilityBitmap}s of the users
+     * instead of their slots. Windows start and end on quantum boundaries, and only quanta entirely covered by
+     * available slots count, which suits large groups searched repeatedly.
+     *
+     * @throws IllegalArgumentException if the users, the date range, the duration or the time zone are invalid
+     * @throws dev.eduardo.scheduler.service.exception.UserNotFoundException if one of the users does not exist
+     */
+    public CommonAvailabilityResponse findGroupAvailability(Collection<UUID> userIds,
+                                                            LocalDate startDate,
+                                                            LocalDate endDate,
+                                                            Duration minDuration,
+                                                            String timezone) {
+        var distinctUserIds = validateAvailabilitySearch(userIds, startDate, endDate, minDuration);
+        var zone = parseZone(timezone);
+
+        var from = startDate.atStartOfDay(zone).toInstant();
+        var to = endDate.plusDays(1).atStartOfDay(zone).toInstant();
+        var common = ReplicaRoutingContext.readingUsers(distinctUserIds, () -> {
+            userService.findAllByIds(distinctUserIds);
+            return availabilityBitmapLoader.loadCommonAvailability(distinctUserIds,
+                    LocalDate.ofInstant(from, ZoneOffset.UTC), LocalDate.ofInstant(to.minusNanos(1), ZoneOffset.UTC));
+        });
+
+        var quantum = Duration.ofMinutes(common.quantumMinutes());
+        int minQuanta = (int) ((minDuration.toNanos() + quantum.toNanos() - 1) / quantum.toNanos());
+        var windows = common.windows(from, to, minQuanta);
+        log.debug("Found {} common windows of {} users in {} quanta", windows.size(), distinctUserIds.size(),
+                common.length());
+        return toAvailabilityResponse(windows, zone);
+    }
+
+    /**
+     * @return the distinct user IDs, in request order
+     */
+    private static LinkedHashSet<UUID> validateAvailabilitySearch(Collection<UUID> userIds,
+                                                                   LocalDate startDate,
+                                                                   LocalDate endDate,
+                                                                   Duration minDuration) {
+        var distinctUserIds = new LinkedHashSet<>(userIds);
+        if (distinctUserIds.isEmpty() || distinctUserIds.size() > MAX_AVAILABILITY_USERS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_AVAILABILITY_USERS + " users are required");
+        }
+        if (endDate.isBefore(startDate) || ChronoUnit.DAYS.between(startDate, endDate) >= MAX_MATERIALIZED_DAYS) {
+            throw new IllegalArgumentException(
+                    "End date must not be before start date and less than " + MAX_MATERIALIZED_DAYS + " days later");
+        }
+        if (minDuration.isNegative() || minDuration.isZero()) {
+            throw new IllegalArgumentException("Minimum duration must be positive");
+        }
+        return distinctUserIds;
+    }
+
+    private static CommonAvailabilityResponse toAvailabilityResponse(List<AvailabilitySweep.Window> windows,
+                                                                     ZoneId zone) {
+        return new CommonAvailabilityResponse(zone.getId(), windows.stream()
+                .map(window -> new CommonAvailabilityResponse.Window(
+                        window.start().atZone(zone).toOffsetDateTime(),
+                        window.end().atZone(zone).toOffsetDateTime()))
+                .toList());
+    }
+
+    private static ZoneId parseZone(String timezone) {
+        try {
+            return ZoneId.of(timezone);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid time zone: " + timezone);
+        }
     }
 
     @Transactional
-    @CacheEvict(value = "userTimeSlotsPageable", allEntries = true)
     public CreateMeetingResponse createMeeting(UUID timeSlotId, CreateMeetingRequest request) {
         log.info("Creating meeting for time slot: {} with {} participants", 
                 timeSlotId, request.participants().size());
 
-        TimeSlot timeSlot = timeSlotService.findById(timeSlotId);
-        
-        if (timeSlot.getStatus() != TimeSlot.SlotStatus.AVAILABLE) {
-            throw new TimeSlotNotAvailableException("Time slot is not available for booking");
+        TimeSlot timeSlot;
+        if (OccurrenceIds.isOccurrence(timeSlotId)) {
+            // Occurrences of availability rules are only stored once booked
+            timeSlot = availabilityRuleService.materializeOccurrence(timeSlotId, TimeSlot.SlotStatus.BOOKED);
+        } else {
+            // Claim the slot before loading it, so the loaded entity already has the BOOKED status
+            timeSlotService.claimSlot(timeSlotId);
+            timeSlot = timeSlotService.findById(timeSlotId);
         }
-        
+
         var organizerUser = timeSlot.getUser();
 
         var meeting = Meeting.builder()
@@ -102,30 +214,40 @@ public class CalendarService {
 
         var savedMeeting = meetingService.saveMeeting(meeting);
 
-        var participants = request.participants().stream()
-                .map(participantRequest -> createParticipant(savedMeeting, participantRequest))
+        var participantRequests = distinctByEmail(request);
+        var usersByEmail = userService.findByEmails(participantRequests.keySet());
+        var participants = participantRequests.entrySet().stream()
+                .map(entry -> createParticipant(savedMeeting, entry.getValue(), usersByEmail.get(entry.getKey())))
                 .toList();
 
+        // Persisted by cascade on flush, as one JDBC batch
         savedMeeting.getParticipants().addAll(participants);
 
-        timeSlot.setStatus(TimeSlot.SlotStatus.BOOKED);
-        timeSlotService.updateSlot(timeSlot);
+        readYourWritesTracker.recordWrite(organizerUser.getId());
+        userCacheEvictor.evictUser(organizerUser.getId(),
+                CacheNames.USER_CALENDARS, CacheNames.USER_CALENDAR_PAGES, CacheNames.ADMIN_TIME_SLOTS,
+                CacheNames.AVAILABILITY_BITMAPS);
         
         log.info("Meeting created successfully with ID: {} and {} participants", 
                 savedMeeting.getId(), savedMeeting.getParticipants().size());
         return CreateMeetingResponse.fromEntity(savedMeeting);
     }
     
-    private MeetingParticipant createParticipant(Meeting meeting, CreateMeetingRequest.ParticipantRequest participantRequest) {
-        var email = participantRequest.email();
-        var name = participantRequest.name();
+    /**
+     * Collapses participants listed more than once, keeping the first entry of every email
+     */
+    private static Map<String, CreateMeetingRequest.ParticipantRequest> distinctByEmail(CreateMeetingRequest request) {
+        return request.participants().stream()
+                .collect(Collectors.toMap(participant -> participant.email().toLowerCase(), Function.identity(),
+                        (first, duplicate) -> first, LinkedHashMap::new));
+    }
 
-        var existingUser = userService.findByEmail(email);
-        
-        if (existingUser.isPresent()) {
-            return meetingService.createInternalParticipant(meeting, existingUser.get());
-        } else {
-            return meetingService.createExternalParticipant(meeting, name, email);
+    private MeetingParticipant createParticipant(Meeting meeting,
+                                                 CreateMeetingRequest.ParticipantRequest participantRequest,
+                                                 User existingUser) {
+        if (existingUser != null) {
+            return meetingService.createInternalParticipant(meeting, existingUser);
         }
+        return meetingService.createExternalParticipant(meeting, participantRequest.name(), participantRequest.email());
     }
 }
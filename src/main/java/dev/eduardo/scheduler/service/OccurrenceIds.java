@@ -0,0 +1,55 @@
+package dev.eduardo.scheduler.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Ids of the occurrences of availability rules, which have no row of their own. The id keeps the random bits of the
+ * rule's most significant half and the occurrence's start in epoch seconds, marked as UUID version 8, so it never
+ * collides with the random (version 4) ids of stored time slots and needs no lookup table.
+ */
+public final class OccurrenceIds {
+
+    private static final long VERSION_MASK = 0xF000L;
+    private static final long RANDOM_VERSION = 0x4000L;
+    private static final long OCCURRENCE_VERSION = 0x8000L;
+    private static final long VARIANT = Long.MIN_VALUE;
+    private static final long SECONDS_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private OccurrenceIds() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the rule id is not a random UUID or the start is before the epoch
+     */
+    public static UUID of(UUID ruleId, long startEpochSecond) {
+        if (ruleId.version() != 4) {
+            throw new IllegalArgumentException("Availability rule ids must be random UUIDs: " + ruleId);
+        }
+        if (startEpochSecond < 0) {
+            throw new IllegalArgumentException("Occurrences must start after the epoch");
+        }
+        return new UUID((ruleId.getMostSignificantBits() & ~VERSION_MASK) | OCCURRENCE_VERSION,
+                VARIANT | startEpochSecond);
+    }
+
+    public static boolean isOccurrence(UUID id) {
+        return id.version() == 8;
+    }
+
+    /**
+     * @return the lowest rule id the occurrence can belong to; the highest one only differs in having all least
+     * significant bits set
+     */
+    public static UUID lowestRuleId(UUID occurrenceId) {
+        return new UUID((occurrenceId.getMostSignificantBits() & ~VERSION_MASK) | RANDOM_VERSION, 0);
+    }
+
+    public static UUID highestRuleId(UUID occurrenceId) {
+        return new UUID(lowestRuleId(occurrenceId).getMostSignificantBits(), -1);
+    }
+
+    public static Instant startOf(UUID occurrenceId) {
+        return Instant.ofEpochSecond(occurrenceId.getLeastSignificantBits() & SECONDS_MASK);
+    }
+}
@@ -0,0 +1,225 @@
+package dev.eduardo.scheduler.service;
+
+import dev.eduardo.scheduler.domain.entities.AvailabilityRule;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * Expands an availability rule into its slots within a time window, without materializing a row per occurrence.
+ * <p>
+ * Days are walked as epoch days and matched against the rule with integer arithmetic. The UTC offset of the rule's
+ * time zone is resolved once and reused until the next offset transition, so a day without a transition costs a
+ * couple of additions per slot and no allocation. On days with a transition, slot starts follow the local wall clock
+ * and slots falling into a gap are shifted, dropping any that would overlap the previous one. Slots always last
+ * {@code slotMinutes} of real time; the part of the day too short for a whole slot is left out.
+ */
+public final class RecurrenceExpander {
+
+    private static final long[] NO_EXCEPTIONS = new long[0];
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int ALL_DAYS = 0x7F;
+
+    private final RecurrenceRule rule;
+    private final long firstDay;
+    private final long lastDay;
+    private final long firstMonday;
+    private final int days;
+    private final int dayStartSecond;
+    private final int slotSeconds;
+    private final int slotsPerDay;
+    private final ZoneId zone;
+    private final ZoneRules zoneRules;
+
+    /**
+     * Receives the bounds of an occurrence, in epoch seconds
+     */
+    @FunctionalInterface
+    public interface OccurrenceConsumer {
+        void accept(long startEpochSecond, long endEpochSecond);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the day does not fit a single slot
+     */
+    public RecurrenceExpander(RecurrenceRule rule,
+                              LocalDate startDate,
+                              LocalTime dayStart,
+                              LocalTime dayEnd,
+                              int slotMinutes,
+                              ZoneId zone) {
+        if (slotMinutes <= 0) {
+            throw new IllegalArgumentException("Slot length must be positive");
+        }
+        if (!dayEnd.isAfter(dayStart)) {
+            throw new IllegalArgumentException("Day end must be after day start");
+        }
+        if (dayStart.getNano() != 0 || dayStart.getSecond() != 0) {
+            throw new IllegalArgumentException("Day start must be a whole minute");
+        }
+        if (rule.until() != null && rule.until().isBefore(startDate)) {
+            throw new IllegalArgumentException("RRULE UNTIL must not be before the start date");
+        }
+        this.rule = rule;
+        this.firstDay = startDate.toEpochDay();
+        this.lastDay = rule.until() != null ? rule.until().toEpochDay() : Long.MAX_VALUE;
+        this.firstMonday = firstDay - dayIndex(firstDay);
+        this.days = daysOf(rule, dayIndex(firstDay));
+        this.dayStartSecond = dayStart.toSecondOfDay();
+        this.slotSeconds = slotMinutes * 60;
+        this.slotsPerDay = (dayEnd.toSecondOfDay() - dayStartSecond) / slotSeconds;
+        this.zone = zone;
+        this.zoneRules = zone.getRules();
+        if (slotsPerDay == 0) {
+            throw new IllegalArgumentException("Slot length of " + slotMinutes + " minutes does not fit between "
+                    + dayStart + " and " + dayEnd);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the rule is invalid
+     */
+    public static RecurrenceExpander of(AvailabilityRule rule) {
+        try {
+            return new RecurrenceExpander(RecurrenceRule.parse(rule.getRrule()), rule.getStartDate(),
+                    rule.getDayStart(), rule.getDayEnd(), rule.getSlotMinutes(), ZoneId.of(rule.getTimezone()));
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid time zone: " + rule.getTimezone());
+        }
+    }
+
+    public int slotSeconds() {
+        return slotSeconds;
+    }
+
+    /**
+     * Passes every occurrence lying entirely within {@code from} to {@code to} to the consumer, in start order
+     *
+     * @param exceptions the starts of the occurrences to skip in epoch seconds, sorted ascending
+     * @return the number of occurrences passed to the consumer
+     */
+    public int expand(Instant from, Instant to, long[] exceptions, OccurrenceConsumer consumer) {
+        long fromSecond = from.getEpochSecond() + (from.getNano() > 0 ? 1 : 0);
+        long toSecond = to.getEpochSecond();
+        long day = Math.max(firstDay, LocalDate.ofInstant(from, zone).toEpochDay());
+        long endDay = Math.min(lastDay, LocalDate.ofInstant(to, zone).toEpochDay());
+        var offset = new OffsetWindow();
+        long daySpan = (long) slotsPerDay * slotSeconds;
+        int count = 0;
+
+        for (; day <= endDay; day++) {
+            if (!matches(day)) {
+                continue;
+            }
+            long localStart = day * SECONDS_PER_DAY + dayStartSecond;
+            long start = localStart - offset.seconds;
+            if (!offset.covers(start, daySpan)) {
+                offset.resolve(start);
+                start = localStart - offset.seconds;
+            }
+
+            if (offset.covers(start, daySpan)) {
+                for (int slot = 0; slot < slotsPerDay; slot++, start += slotSeconds) {
+                    if (start >= fromSecond && start + slotSeconds <= toSecond && !isException(exceptions, start)) {
+                        consumer.accept(start, start + slotSeconds);
+                        count++;
+                    }
+                }
+                continue;
+            }
+
+            // An offset transition falls within the day
+            long previousEnd = Long.MIN_VALUE;
+            for (int slot = 0; slot < slotsPerDay; slot++, localStart += slotSeconds) {
+                long slotStart = ZonedDateTime.ofLocal(
+                        LocalDateTime.ofEpochSecond(localStart, 0, ZoneOffset.UTC), zone, null).toEpochSecond();
+                if (slotStart < previousEnd) {
+                    continue;
+                }
+                previousEnd = slotStart + slotSeconds;
+                if (slotStart >= fromSecond && previousEnd <= toSecond && !isException(exceptions, slotStart)) {
+                    consumer.accept(slotStart, previousEnd);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return whether an occurrence of the rule starts at {@code start}, ignoring exceptions
+     */
+    public boolean isOccurrence(Instant start) {
+        if (start.getNano() != 0) {
+            return false;
+        }
+        long startSecond = start.getEpochSecond();
+        var found = new boolean[1];
+        expand(start, start.plusSeconds(slotSeconds), NO_EXCEPTIONS,
+                (occurrenceStart, occurrenceEnd) -> found[0] |= occurrenceStart == startSecond);
+        return found[0];
+    }
+
+    private boolean matches(long day) {
+        int dayIndex = dayIndex(day);
+        if ((days & (1 << dayIndex)) == 0) {
+            return false;
+        }
+        return switch (rule.frequency()) {
+            case DAILY -> (day - firstDay) % rule.interval() == 0;
+            case WEEKLY -> ((day - dayIndex - firstMonday) / 7) % rule.interval() == 0;
+        };
+    }
+
+    private static boolean isException(long[] exceptions, long start) {
+        return exceptions.length > 0 && Arrays.binarySearch(exceptions, start) >= 0;
+    }
+
+    /**
+     * @return 0 for Monday to 6 for Sunday; epoch day 0 was a Thursday
+     */
+    private static int dayIndex(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7);
+    }
+
+    /**
+     * Weekly rules without {@code BYDAY} repeat on the weekday of their start date
+     */
+    private static int daysOf(RecurrenceRule rule, int startDayIndex) {
+        if (rule.byDays() != 0) {
+            return rule.byDays();
+        }
+        return rule.frequency() == RecurrenceRule.Frequency.WEEKLY ? 1 << startDayIndex : ALL_DAYS;
+    }
+
+    /**
+     * The UTC offset of the zone and the epoch seconds between which it applies
+     */
+    private final class OffsetWindow {
+
+        private long seconds;
+        private long validFrom = Long.MAX_VALUE;
+        private long validUntil = Long.MIN_VALUE;
+
+        boolean covers(long start, long span) {
+            return start >= validFrom && start + span <= validUntil;
+        }
+
+        void resolve(long epochSecond) {
+            var instant = Instant.ofEpochSecond(epochSecond);
+            seconds = zoneRules.getOffset(instant).getTotalSeconds();
+            var previous = zoneRules.previousTransition(instant.plusSeconds(1));
+            var next = zoneRules.nextTransition(instant);
+            validFrom = previous != null ? previous.toEpochSecond() : Long.MIN_VALUE;
+            validUntil = next != null ? next.toEpochSecond() : Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package dev.eduardo.scheduler.service;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * The subset of an iCalendar RRULE that availability rules support: {@code FREQ=DAILY} or {@code FREQ=WEEKLY}, an
+ * {@code INTERVAL}, {@code BYDAY} without ordinals and an {@code UNTIL} date. Weeks start on Monday.
+ *
+ * @param byDays bit {@code n} is set for {@link DayOfWeek#of(int) DayOfWeek.of(n + 1)}, 0 if {@code BYDAY} is absent
+ * @param until  the last date with occurrences, or {@code null} if the rule does not end
+ */
+public record RecurrenceRule(Frequency frequency, int interval, int byDays, LocalDate until) {
+
+    private static final String[] DAY_CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+    private static final int MAX_INTERVAL = 1000;
+
+    public enum Frequency {
+        DAILY, WEEKLY
+    }
+
+    public RecurrenceRule {
+        if (frequency == null) {
+            throw new IllegalArgumentException("RRULE must have a FREQ");
+        }
+        if (interval < 1 || interval > MAX_INTERVAL) {
+            throw new IllegalArgumentException("RRULE INTERVAL must be between 1 and " + MAX_INTERVAL);
+        }
+        if ((byDays & ~0x7F) != 0) {
+            throw new IllegalArgumentException("Invalid BYDAY mask: " + byDays);
+        }
+    }
+
+    /**
+     * Parses rules like {@code FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,WE;UNTIL=20261231}. A leading {@code RRULE:} is
+     * ignored, and of a date-time {@code UNTIL} only the date is kept.
+     *
+     * @throws IllegalArgumentException if the rule is malformed or uses unsupported parts
+     */
+    public static RecurrenceRule parse(String rrule) {
+        if (rrule == null || rrule.isBlank()) {
+            throw new IllegalArgumentException("RRULE is required");
+        }
+        var text = rrule.strip().toUpperCase(Locale.ROOT);
+        if (text.startsWith("RRULE:")) {
+            text = text.substring("RRULE:".length());
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        int byDays = 0;
+        LocalDate until = null;
+        for (var part : text.split(";")) {
+            int separator = part.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Malformed RRULE part: " + part);
+            }
+            var value = part.substring(separator + 1);
+            switch (part.substring(0, separator)) {
+                case "FREQ" -> frequency = parseFrequency(value);
+                case "INTERVAL" -> interval = parseInterval(value);
+                case "BYDAY" -> byDays = parseDays(value);
+                case "UNTIL" -> until = parseUntil(value);
+                default -> throw new IllegalArgumentException("Unsupported RRULE part: " + part);
+            }
+        }
+        return new RecurrenceRule(frequency, interval, byDays, until);
+    }
+
+    public boolean hasDay(DayOfWeek day) {
+        return (byDays & (1 << (day.getValue() - 1))) != 0;
+    }
+
+    /**
+     * @return the rule in the canonical form {@link #parse(String)} reads back
+     */
+    public String format() {
+        var rule = new StringBuilder("FREQ=").append(frequency).append(";INTERVAL=").append(interval);
+        if (byDays != 0) {
+            var days = new StringJoiner(",");
+            for (int day = 0; day < DAY_CODES.length; day++) {
+                if ((byDays & (1 << day)) != 0) {
+                    days.add(DAY_CODES[day]);
+                }
+            }
+            rule.append(";BYDAY=").append(days);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(until.format(DateTimeFormatter.BASIC_ISO_DATE));
+        }
+        return rule.toString();
+    }
+
+    private static Frequency parseFrequency(String value) {
+        try {
+            return Frequency.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported RRULE FREQ: " + value);
+        }
+    }
+
+    private static int parseInterval(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid RRULE INTERVAL: " + value);
+        }
+    }
+
+    private static int parseDays(String value) {
+        int days = 0;
+        for (var code : value.split(",")) {
+            int day = indexOf(code);
+            if (day < 0) {
+                throw new IllegalArgumentException("Unsupported RRULE BYDAY: " + code);
+            }
+            days |= 1 << day;
+        }
+        return days;
+    }
+
+    private static LocalDate parseUntil(String value) {
+        var date = value.length() > 8 && value.charAt(8) == 'T' ? value.substring(0, 8) : value;
+        try {
+            return LocalDate.parse(date, DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid RRULE UNTIL: " + value);
+        }
+    }
+
+    private static int indexOf(String dayCode) {
+        for (int day = 0; day < DAY_CODES.length; day++) {
+            if (DAY_CODES[day].equals(dayCode)) {
+                return day;
+            }
+        }
+        return -1;
+    }
+}
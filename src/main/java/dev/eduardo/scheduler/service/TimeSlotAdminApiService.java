@@ -4,18 +4,25 @@ import dev.eduardo.scheduler.api.dto.BulkCreateTimeSlotsResponse;
 import dev.eduardo.scheduler.api.dto.CreateTimeSlotRequest;
 import dev.eduardo.scheduler.api.dto.TimeSlotResponse;
 import dev.eduardo.scheduler.api.dto.UpdateTimeSlotRequest;
+import dev.eduardo.scheduler.cache.CacheNames;
+import dev.eduardo.scheduler.cache.UserCacheEvictor;
+import dev.eduardo.scheduler.cache.UserScopedKeyGenerator;
 import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.projection.TimeSlotView;
 import dev.eduardo.scheduler.domain.repository.UserRepository;
+import dev.eduardo.scheduler.routing.ReadYourWritesTracker;
+import dev.eduardo.scheduler.service.exception.TimeSlotNotFoundException;
 import dev.eduardo.scheduler.service.exception.TimeSlotOverlapException;
 import dev.eduardo.scheduler.service.exception.UserNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -26,11 +33,21 @@ import java.util.UUID;
 public class TimeSlotAdminApiService {
 
     private final TimeSlotService timeSlotService;
+    private final AvailabilityRuleService availabilityRuleService;
     private final UserRepository userRepository;
+    private final UserCacheEvictor userCacheEvictor;
+    private final ReadYourWritesTracker readYourWritesTracker;
 
+    /**
+     * Callers wrap this in {@link dev.eduardo.scheduler.routing.ReplicaRoutingContext#readingUser} so the user's own
+     * writes are read back from the primary; the routing must be set up before this transaction starts.
+     */
     @Transactional(readOnly = true)
-    @Cacheable(value = "adminTimeSlots", key = "T(java.util.Objects).hash(#timeSlotId, #userId)")
+    @Cacheable(value = CacheNames.ADMIN_TIME_SLOTS, keyGenerator = UserScopedKeyGenerator.BEAN_NAME)
     public TimeSlotResponse getTimeSlot(UUID timeSlotId, UUID userId) {
+        if (OccurrenceIds.isOccurrence(timeSlotId)) {
+            return getOccurrence(timeSlotId, userId);
+        }
         TimeSlot timeSlot = timeSlotService.findById(timeSlotId);
 
         if (!timeSlot.getUser().getId().equals(userId)) {
@@ -40,50 +57,115 @@ public class TimeSlotAdminApiService {
         return TimeSlotResponse.fromEntity(timeSlot);
     }
 
+    /**
+     * Occurrences of availability rules are read from their rule, nothing is stored
+     */
+    private TimeSlotResponse getOccurrence(UUID occurrenceId, UUID userId) {
+        var occurrence = availabilityRuleService.findOccurrence(occurrenceId)
+                .orElseThrow(() -> new TimeSlotNotFoundException("Time slot not found with ID: " + occurrenceId));
+        var user = occurrence.rule().getUser();
+
+        if (!user.getId().equals(userId)) {
+            throw new IllegalArgumentException("Time slot does not belong to the authenticated user");
+        }
+
+        return new TimeSlotResponse(occurrenceId, user.getId(), user.getEmail(), occurrence.startTime(),
+                occurrence.endTime(), TimeSlot.SlotStatus.AVAILABLE, null, null);
+    }
+
+    /**
+     * Creates all slots of the request or none. Slots are checked against each other and against the user's existing
+     * slots in memory, with a single query for the existing ones, and then inserted in JDBC batches.
+     */
     @Transactional
-    @CacheEvict(value = {"adminTimeSlots", "userTimeSlotsPageable"}, allEntries = true)
     public BulkCreateTimeSlotsResponse createTimeSlots(@Valid CreateTimeSlotRequest request, UUID userId) {
         var user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
 
-        List<TimeSlotResponse> createdSlots = new java.util.ArrayList<>();
-        
+        if (request.slots().isEmpty()) {
+            throw new IllegalArgumentException("Slots cannot be empty");
+        }
+
         for (var slotData : request.slots()) {
             // Validate time range
             if (!slotData.endTime().isAfter(slotData.startTime())) {
                 throw new IllegalArgumentException("End time must be after start time for slot starting at " + slotData.startTime());
             }
-
-            // Check for overlapping time slots
-            if (timeSlotService.hasOverlappingSlots(user.getId(), slotData.startTime(), slotData.endTime())) {
-                throw new TimeSlotOverlapException(
-                        String.format("Time slot overlaps with existing slot for user %s from %s to %s",
-                                user.getEmail(), slotData.startTime(), slotData.endTime()));
-            }
-
-            // Create time slot
-            var status = slotData.status() != null ? slotData.status() : TimeSlot.SlotStatus.AVAILABLE;
-
-            var savedTimeSlot = timeSlotService.createSlot(TimeSlot.builder()
-                    .user(user)
-                    .startTime(slotData.startTime())
-                    .endTime(slotData.endTime())
-                    .status(status)
-                    .build());
-
-            createdSlots.add(TimeSlotResponse.fromEntity(savedTimeSlot));
         }
 
+        var sortedSlots = request.slots().stream()
+                .sorted(Comparator.comparing(CreateTimeSlotRequest.TimeSlotData::startTime))
+                .toList();
+        var latestEnd = checkNoOverlapWithinRequest(sortedSlots, user.getEmail());
+        var existingSlots = timeSlotService.findOverlappingSlots(
+                userId, sortedSlots.getFirst().startTime(), latestEnd);
+        checkNoOverlapWithExisting(sortedSlots, existingSlots, user.getEmail());
+
+        var timeSlots = request.slots().stream()
+                .map(slotData -> TimeSlot.builder()
+                        .user(user)
+                        .startTime(slotData.startTime())
+                        .endTime(slotData.endTime())
+                        .status(slotData.status() != null ? slotData.status() : TimeSlot.SlotStatus.AVAILABLE)
+                        .build())
+                .toList();
+
+        List<TimeSlotResponse> createdSlots = timeSlotService.createSlots(timeSlots).stream()
+                .map(TimeSlotResponse::fromEntity)
+                .toList();
+
+        readYourWritesTracker.recordWrite(userId);
+        userCacheEvictor.evictUser(userId,
+                CacheNames.ADMIN_TIME_SLOTS, CacheNames.USER_CALENDARS, CacheNames.USER_CALENDAR_PAGES,
+                CacheNames.AVAILABILITY_BITMAPS);
         log.info("Created {} time slots for user {}", createdSlots.size(), user.getEmail());
 
         return new BulkCreateTimeSlotsResponse(createdSlots, createdSlots.size());
     }
 
+    /**
+     * Sweeps the slots in start time order, keeping the latest end seen so far
+     *
+     * @return the latest end time of all slots
+     */
+    private static Instant checkNoOverlapWithinRequest(List<CreateTimeSlotRequest.TimeSlotData> sortedSlots,
+                                                       String email) {
+        Instant latestEnd = null;
+        for (var slotData : sortedSlots) {
+            if (latestEnd != null && slotData.startTime().isBefore(latestEnd)) {
+                throw new TimeSlotOverlapException(
+                        String.format("Time slot overlaps with another slot of the request for user %s from %s to %s",
+                                email, slotData.startTime(), slotData.endTime()));
+            }
+            latestEnd = latestEnd == null || slotData.endTime().isAfter(latestEnd) ? slotData.endTime() : latestEnd;
+        }
+        return latestEnd;
+    }
+
+    /**
+     * Walks both lists in start time order. Existing slots never overlap each other, so they are ordered by end time
+     * as well and each one is passed at most once.
+     */
+    private static void checkNoOverlapWithExisting(List<CreateTimeSlotRequest.TimeSlotData> sortedSlots,
+                                                   List<TimeSlotView> existingSlots,
+                                                   String email) {
+        int next = 0;
+        for (var slotData : sortedSlots) {
+            while (next < existingSlots.size() && !existingSlots.get(next).endTime().isAfter(slotData.startTime())) {
+                next++;
+            }
+            if (next < existingSlots.size() && existingSlots.get(next).startTime().isBefore(slotData.endTime())) {
+                throw new TimeSlotOverlapException(
+                        String.format("Time slot overlaps with existing slot for user %s from %s to %s",
+                                email, slotData.startTime(), slotData.endTime()));
+            }
+        }
+    }
+
 
     @Transactional
-    @CacheEvict(value = {"adminTimeSlots", "userTimeSlotsPageable"}, allEntries = true)
     public TimeSlotResponse updateTimeSlot(UUID timeSlotId, @Valid UpdateTimeSlotRequest request, UUID userId) {
-        var timeSlot = timeSlotService.findById(timeSlotId);
+        var timeSlot = findOrStoreOccurrence(timeSlotId);
 
         if (!timeSlot.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("Time slot does not belong to the authenticated user");
@@ -94,14 +176,19 @@ public class TimeSlotAdminApiService {
             throw new IllegalArgumentException("End time must be after start time");
         }
 
-        // Check for overlapping time slots (excluding current slot)
-        if (timeSlotService.hasOverlappingSlots(timeSlot.getUser().getId(), request.startTime(), request.endTime(), timeSlot)) {
+        // A booked slot keeps its status for as long as its meeting exists
+        if (timeSlot.getStatus() == TimeSlot.SlotStatus.BOOKED
+                && request.status() != null && request.status() != TimeSlot.SlotStatus.BOOKED) {
+            throw new IllegalArgumentException("Status of booked time slot " + timeSlotId + " cannot be changed");
+        }
+
+        // Checked against the in-memory interval index first, the exclusion constraint remains the final check
+        if (timeSlotService.hasOverlappingSlots(userId, request.startTime(), request.endTime(), timeSlot)) {
             throw new TimeSlotOverlapException(
-                    String.format("Updated time slot would overlap with existing slot for user %s from %s to %s",
+                    String.format("Time slot overlaps with existing slot for user %s from %s to %s",
                             timeSlot.getUser().getEmail(), request.startTime(), request.endTime()));
         }
 
-        // Update time slot
         timeSlot.setStartTime(request.startTime());
         timeSlot.setEndTime(request.endTime());
 
@@ -110,15 +197,19 @@ public class TimeSlotAdminApiService {
         }
 
         var updatedTimeSlot = timeSlotService.updateSlot(timeSlot);
+        readYourWritesTracker.recordWrite(userId);
+        userCacheEvictor.evictUser(userId,
+                CacheNames.ADMIN_TIME_SLOTS, CacheNames.USER_CALENDARS, CacheNames.USER_CALENDAR_PAGES,
+                CacheNames.AVAILABILITY_BITMAPS);
         log.info("Updated time slot {} for user {}", timeSlotId, timeSlot.getUser().getEmail());
 
         return TimeSlotResponse.fromEntity(updatedTimeSlot);
     }
 
     @Transactional
-    @CacheEvict(value = {"adminTimeSlots", "userTimeSlotsPageable"}, allEntries = true)
     public void deleteTimeSlot(UUID timeSlotId, UUID userId) {
-        var timeSlot = timeSlotService.findById(timeSlotId);
+        // Removing a stored occurrence leaves the exception on its rule behind
+        var timeSlot = findOrStoreOccurrence(timeSlotId);
 
         if (!timeSlot.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("Time slot does not belong to the authenticated user");
@@ -131,7 +222,22 @@ public class TimeSlotAdminApiService {
         }
 
         timeSlotService.removeSlot(timeSlot);
+        readYourWritesTracker.recordWrite(userId);
+        userCacheEvictor.evictUser(userId,
+                CacheNames.ADMIN_TIME_SLOTS, CacheNames.USER_CALENDARS, CacheNames.USER_CALENDAR_PAGES,
+                CacheNames.AVAILABILITY_BITMAPS);
         log.info("Deleted time slot {} for user {}", timeSlotId, timeSlot.getUser().getEmail());
     }
 
+    /**
+     * Occurrences of availability rules are stored before they are edited, so the edit applies to that occurrence
+     * only. The transaction is rolled back if the slot turns out to belong to another user.
+     */
+    private TimeSlot findOrStoreOccurrence(UUID timeSlotId) {
+        if (OccurrenceIds.isOccurrence(timeSlotId)) {
+            return availabilityRuleService.materializeOccurrence(timeSlotId, TimeSlot.SlotStatus.AVAILABLE);
+        }
+        return timeSlotService.findById(timeSlotId);
+    }
+
 }
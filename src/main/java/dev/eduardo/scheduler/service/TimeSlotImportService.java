@@ -0,0 +1,253 @@
+package dev.eduardo.scheduler.service;
+
+import dev.eduardo.scheduler.api.dto.ImportTimeSlotsResponse;
+import dev.eduardo.scheduler.cache.CacheNames;
+import dev.eduardo.scheduler.cache.TimeSlotIntervalIndex;
+import dev.eduardo.scheduler.cache.UserCacheEvictor;
+import dev.eduardo.scheduler.domain.repository.UserRepository;
+import dev.eduardo.scheduler.routing.ReadYourWritesTracker;
+import dev.eduardo.scheduler.service.exception.TimeSlotOverlapException;
+import dev.eduardo.scheduler.service.exception.UserNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Imports large numbers of time slots without going through JPA.
+ * <p>
+ * The upload is streamed with {@code COPY FROM STDIN} into a temporary staging table, so neither the request body nor
+ * the rows are ever held in memory. A single statement then validates the staged rows, drops the ones that overlap
+ * an existing slot or an earlier row of the upload and inserts the rest into {@code time_slots}. Rows are rejected
+ * one by one instead of failing the whole import.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimeSlotImportService {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE time_slot_import (
+                line_no BIGINT GENERATED ALWAYS AS IDENTITY,
+                start_time TEXT,
+                end_time TEXT,
+                status TEXT
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_CSV_WITH_HEADER =
+            "COPY time_slot_import (start_time, end_time, status) FROM STDIN WITH (FORMAT csv, HEADER MATCH)";
+
+    private static final String COPY_CSV =
+            "COPY time_slot_import (start_time, end_time, status) FROM STDIN WITH (FORMAT csv)";
+
+    /**
+     * Times without an explicit offset would be read in the session time zone, so only times ending with a clock time
+     * followed by {@code Z} or a numeric offset are valid.
+     * <p>
+     * Rows overlapping an existing slot are dropped first. Of the remaining rows, those overlapping an earlier row
+     * of the upload, in start time and then line order, are dropped by comparing their start with the latest end of
+     * all rows before them. The overlap check only sees committed slots, so it runs under {@link #LOCK_USER_SLOTS}.
+     */
+    private static final String MERGE_STAGED_ROWS = """
+            WITH parsed AS (
+                SELECT line_no,
+                       CASE WHEN pg_input_is_valid(start_time, 'timestamptz') AND TRIM(start_time) ~* ?
+                            THEN CAST(start_time AS TIMESTAMPTZ) END AS start_at,
+                       CASE WHEN pg_input_is_valid(end_time, 'timestamptz') AND TRIM(end_time) ~* ?
+                            THEN CAST(end_time AS TIMESTAMPTZ) END AS end_at,
+                       COALESCE(NULLIF(UPPER(TRIM(status)), ''), 'AVAILABLE') AS status
+                FROM time_slot_import
+            ),
+            valid AS (
+                SELECT line_no, start_at, end_at, status
+                FROM parsed
+                WHERE start_at IS NOT NULL
+                  AND end_at > start_at
+                  AND status IN ('AVAILABLE', 'BUSY', 'BOOKED')
+            ),
+            free AS (
+                SELECT v.line_no, v.start_at, v.end_at, v.status
+                FROM valid v
+                WHERE NOT EXISTS (
+                    SELECT 1 FROM time_slots ts
+                    WHERE ts.user_id = ?
+                      AND ts.slot_range && tstzrange(v.start_at, v.end_at, '[)'))
+            ),
+            sequenced AS (
+                SELECT start_at, end_at, status,
+                       MAX(end_at) OVER (ORDER BY start_at, line_no
+                                         ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING) AS previous_end
+                FROM free
+            ),
+            accepted AS (
+                SELECT start_at, end_at, status
+                FROM sequenced
+                WHERE previous_end IS NULL OR start_at >= previous_end
+            ),
+            inserted AS (
+                INSERT INTO time_slots (user_id, start_time, end_time, status)
+                SELECT ?, start_at AT TIME ZONE 'UTC', end_at AT TIME ZONE 'UTC', status
+                FROM accepted
+                ORDER BY start_at
+                ON CONFLICT DO NOTHING
+                RETURNING 1
+            )
+            SELECT (SELECT COUNT(*) FROM time_slot_import) AS received,
+                   (SELECT COUNT(*) FROM valid) AS valid,
+                   (SELECT COUNT(*) FROM inserted) AS inserted
+            """;
+
+    /**
+     * The per-user lock the cross-partition overlap trigger takes before every insert or update of a slot. Once it
+     * is held, no other transaction has an uncommitted slot of the user, so the merge drops every overlapping row
+     * itself instead of having the trigger or the exclusion constraint fail the whole statement.
+     */
+    private static final String LOCK_USER_SLOTS =
+            "SELECT pg_advisory_xact_lock(hashtext('time_slots'), hashtext(CAST(? AS TEXT)))";
+
+    /**
+     * A clock time followed by {@code Z} or a numeric offset, at the end of a time stamp
+     */
+    private static final String EXPLICIT_OFFSET =
+            "[0-9]{2}:[0-9]{2}(:[0-9]{2}(\\.[0-9]+)?)?\\s*(z|[+-][0-9]{2}(:?[0-9]{2})?)$";
+
+    private static final String DATA_EXCEPTION_CLASS = "22";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+    private final UserRepository userRepository;
+    private final UserCacheEvictor userCacheEvictor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final TimeSlotIntervalIndex timeSlotIntervalIndex;
+
+    public enum Format {
+        /**
+         * Comma separated values with a {@code start_time,end_time,status} header line
+         */
+        CSV,
+        /**
+         * One JSON object per line with {@code startTime}, {@code endTime} and an optional {@code status}
+         */
+        NDJSON
+    }
+
+    /**
+     * Imports the time slots read from {@code body}. Times are ISO-8601 timestamps with an offset, a missing status
+     * defaults to {@code AVAILABLE}.
+     */
+    @Transactional
+    public ImportTimeSlotsResponse importTimeSlots(InputStream body, Format format, UUID userId) {
+        var user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
+
+        jdbcTemplate.execute(CREATE_STAGING_TABLE);
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            var copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            try {
+                return switch (format) {
+                    case CSV -> copyManager.copyIn(COPY_CSV_WITH_HEADER, body);
+                    case NDJSON -> copyNdjson(copyManager.copyIn(COPY_CSV), body);
+                };
+            } catch (SQLException e) {
+                if (e.getSQLState() != null && e.getSQLState().startsWith(DATA_EXCEPTION_CLASS)) {
+                    throw new IllegalArgumentException("Malformed import file: " + e.getMessage());
+                }
+                throw e;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read time slot import", e);
+            }
+        });
+
+        ImportTimeSlotsResponse response;
+        try {
+            jdbcTemplate.query(LOCK_USER_SLOTS, rs -> { }, userId);
+            response = jdbcTemplate.queryForObject(MERGE_STAGED_ROWS,
+                    (rs, rowNum) -> ImportTimeSlotsResponse.of(
+                            rs.getLong("received"), rs.getLong("valid"), rs.getLong("inserted")),
+                    EXPLICIT_OFFSET, EXPLICIT_OFFSET, userId, userId);
+        } catch (DataIntegrityViolationException e) {
+            // Only a writer bypassing the lock can still get here
+            if (!TimeSlotService.isExclusionViolation(e)) {
+                throw e;
+            }
+            timeSlotIntervalIndex.invalidate(userId);
+            throw new TimeSlotOverlapException(
+                    "Import overlaps a time slot written concurrently for user " + user.getEmail());
+        }
+
+        timeSlotIntervalIndex.invalidate(userId);
+        readYourWritesTracker.recordWrite(userId);
+        userCacheEvictor.evictUser(userId,
+                CacheNames.ADMIN_TIME_SLOTS, CacheNames.USER_CALENDARS, CacheNames.USER_CALENDAR_PAGES,
+                CacheNames.AVAILABILITY_BITMAPS);
+        log.info("Imported {} of {} time slots for user {} ({} invalid, {} overlapping)",
+                response.inserted(), response.received(), user.getEmail(), response.invalid(), response.overlapping());
+
+        return response;
+    }
+
+    /**
+     * Re-encodes every NDJSON line as a CSV row. Lines that are not JSON objects become empty rows, which the merge
+     * counts as invalid.
+     */
+    private long copyNdjson(CopyIn copyIn, InputStream body) throws SQLException, IOException {
+        try {
+            var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                var row = toCsvRow(line).getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(row, 0, row.length);
+            }
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private String toCsvRow(String line) {
+        JsonNode node;
+        try {
+            node = jsonMapper.readTree(line);
+        } catch (JacksonException e) {
+            return ",,\n";
+        }
+        if (!node.isObject()) {
+            return ",,\n";
+        }
+        return csvField(node.get("startTime")) + ','
+                + csvField(node.get("endTime")) + ','
+                + csvField(node.get("status")) + '\n';
+    }
+
+    private static String csvField(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return "";
+        }
+        return '"' + value.asString().replace("\"", "\"\"") + '"';
+    }
+}
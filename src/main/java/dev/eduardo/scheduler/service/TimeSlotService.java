@@ -1,18 +1,43 @@
 package dev.eduardo.scheduler.service;
 
+import dev.eduardo.scheduler.api.dto.CalendarCursor;
+import dev.eduardo.scheduler.cache.TimeSlotIntervalIndex;
+import dev.eduardo.scheduler.domain.entities.AvailabilityRule;
 import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.projection.RuleException;
+import dev.eduardo.scheduler.domain.projection.TimeRange;
+import dev.eduardo.scheduler.domain.projection.TimeSlotInterval;
+import dev.eduardo.scheduler.domain.projection.TimeSlotView;
+import dev.eduardo.scheduler.domain.repository.AvailabilityRuleRepository;
 import dev.eduardo.scheduler.domain.repository.TimeSlotRepository;
+import dev.eduardo.scheduler.service.exception.TimeSlotNotAvailableException;
 import dev.eduardo.scheduler.service.exception.TimeSlotNotFoundException;
+import dev.eduardo.scheduler.service.exception.TimeSlotOverlapException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 
 @Slf4j
@@ -20,24 +45,79 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TimeSlotService {
 
+    private static final String EXCLUSION_VIOLATION_STATE = "23P01";
+    private static final long[] NO_EXCEPTIONS = new long[0];
+
+    /**
+     * Open date ranges list the occurrences of availability rules up to this many days ahead
+     */
+    static final int OCCURRENCE_HORIZON_DAYS = 366;
+    private static final LocalDate EARLIEST_RULE_DATE = LocalDate.of(1, 1, 1);
+
     private final TimeSlotRepository timeSlotRepository;
+    private final TimeSlotIntervalIndex timeSlotIntervalIndex;
+    private final AvailabilityRuleRepository availabilityRuleRepository;
 
     @Transactional
     public TimeSlot createSlot(TimeSlot timeSlot) {
         log.debug("Creating time slot: {}", timeSlot.getId());
-        return timeSlotRepository.save(timeSlot);
+        return saveAndFlush(timeSlot);
+    }
+
+    /**
+     * Inserts all slots in JDBC batches
+     */
+    @Transactional
+    public List<TimeSlot> createSlots(List<TimeSlot> timeSlots) {
+        log.debug("Creating {} time slots", timeSlots.size());
+        try {
+            var savedSlots = timeSlotRepository.saveAllAndFlush(timeSlots);
+            savedSlots.forEach(this::indexSlot);
+            return savedSlots;
+        } catch (DataIntegrityViolationException e) {
+            if (!isExclusionViolation(e)) {
+                throw e;
+            }
+            timeSlotIntervalIndex.invalidate(timeSlots.getFirst().getUser().getId());
+            throw new TimeSlotOverlapException(
+                    String.format("Time slots overlap with an existing slot for user %s",
+                            timeSlots.getFirst().getUser().getEmail()));
+        }
     }
 
     @Transactional
     public TimeSlot updateSlot(TimeSlot timeSlot) {
         log.debug("Updating time slot: {}", timeSlot.getId());
-        return timeSlotRepository.save(timeSlot);
+        return saveAndFlush(timeSlot);
+    }
+
+    /**
+     * Books an available time slot with a single conditional update, so only one of several concurrent bookings of
+     * the same slot succeeds
+     *
+     * @throws TimeSlotNotFoundException     if the slot does not exist
+     * @throws TimeSlotNotAvailableException if the slot is not available (anymore)
+     */
+    @Transactional
+    public void claimSlot(UUID timeSlotId) {
+        log.debug("Claiming time slot: {}", timeSlotId);
+        int updated = timeSlotRepository.updateStatusIfCurrent(
+                timeSlotId, TimeSlot.SlotStatus.AVAILABLE, TimeSlot.SlotStatus.BOOKED);
+        if (updated > 0) {
+            return;
+        }
+
+        if (!timeSlotRepository.existsById(timeSlotId)) {
+            throw new TimeSlotNotFoundException("Time slot not found with ID: " + timeSlotId);
+        }
+        throw new TimeSlotNotAvailableException("Time slot is not available for booking");
     }
 
     @Transactional
     public void removeSlot(TimeSlot timeSlot) {
         log.debug("Removing time slot: {}", timeSlot.getId());
         timeSlotRepository.delete(timeSlot);
+        timeSlotIntervalIndex.slotRemoved(timeSlot.getUser().getId(), timeSlot.getId());
     }
 
     @Transactional(readOnly = true)
@@ -47,12 +127,16 @@ public class TimeSlotService {
                 .orElseThrow(() -> new TimeSlotNotFoundException("Time slot not found with ID: " + timeSlotId));
     }
 
+    /**
+     * Fetches the matching time slots in start time order. Within a date range, the occurrences of the user's
+     * availability rules are expanded and listed as {@code AVAILABLE} slots along with the stored ones.
+     */
     @Transactional(readOnly = true)
-    public List<TimeSlot> fetchFilteredTimeSlots(UUID userId,
-                                                  LocalDate startDate,
-                                                  LocalDate endDate,
-                                                  TimeSlot.SlotStatus status,
-                                                  ZoneId userTimeZone) {
+    public List<TimeSlotView> fetchFilteredTimeSlots(UUID userId,
+                                                      LocalDate startDate,
+                                                      LocalDate endDate,
+                                                      TimeSlot.SlotStatus status,
+                                                      ZoneId userTimeZone) {
         log.debug("Fetching filtered time slots for user: {} with filters - startDate: {}, endDate: {}, status: {}", 
                 userId, startDate, endDate, status);
 
@@ -66,6 +150,16 @@ public class TimeSlotService {
             endInstant = endDate.plusDays(1).atStartOfDay(userTimeZone).toInstant();
         }
 
+        if (startDate != null && endDate != null) {
+            var window = ruleWindow(userId, startDate, endDate, status, userTimeZone);
+            if (window.isPresent()) {
+                var rules = window.get();
+                var timeSlots = timeSlotRepository.findOverlapping(userId, rules.from(), rules.to());
+                return withOccurrences(timeSlots, rules.rules(), rules.from(), rules.to(),
+                        timeSlot -> isListed(timeSlot, status, rules.from(), rules.to(), rules.to()));
+            }
+        }
+
         // Choose appropriate repository method based on filters
         if (startInstant != null && endInstant != null && status != null) {
             return timeSlotRepository.findByUserIdAndStatusAndTimeRange(userId, status, startInstant, endInstant);
@@ -78,13 +172,433 @@ public class TimeSlotService {
         }
     }
 
+    /**
+     * Counts the local dates with matching time slots, including those with occurrences of the user's availability
+     * rules only
+     */
+    @Transactional(readOnly = true)
+    public long countSlotDates(UUID userId,
+                               LocalDate startDate,
+                               LocalDate endDate,
+                               TimeSlot.SlotStatus status,
+                               ZoneId userTimeZone) {
+        long storedDates = timeSlotRepository.countSlotDates(userId, userTimeZone.getId(), statusName(status),
+                utcStartOf(startDate, userTimeZone), utcStartOf(nextDay(endDate), userTimeZone));
+        var window = ruleWindow(userId, startDate, lastListedDate(startDate, endDate, userTimeZone), status,
+                userTimeZone);
+        return window.map(rules -> storedDates + occurrenceOnlyDates(userId, rules, status,
+                        endOf(endDate, userTimeZone), userTimeZone).size())
+                .orElse(storedDates);
+    }
+
+    /**
+     * Fetches one page of the local dates that have matching time slots, in date order. Dates with occurrences of
+     * the user's availability rules are merged in; the page lies within the first {@code (page + 1) * size} dates
+     * of either kind.
+     */
+    @Transactional(readOnly = true)
+    public List<LocalDate> fetchSlotDates(UUID userId,
+                                          LocalDate startDate,
+                                          LocalDate endDate,
+                                          TimeSlot.SlotStatus status,
+                                          ZoneId userTimeZone,
+                                          int page,
+                                          int size) {
+        log.debug("Fetching page {} of slot dates for user: {} with filters - startDate: {}, endDate: {}, status: {}",
+                page, userId, startDate, endDate, status);
+        var window = ruleWindow(userId, startDate, lastListedDate(startDate, endDate, userTimeZone), status,
+                userTimeZone);
+        if (window.isEmpty()) {
+            return timeSlotRepository.findSlotDates(userId, userTimeZone.getId(), statusName(status),
+                    utcStartOf(startDate, userTimeZone), utcStartOf(nextDay(endDate), userTimeZone),
+                    size, (long) page * size);
+        }
+
+        var dates = new TreeSet<>(timeSlotRepository.findSlotDates(userId, userTimeZone.getId(), statusName(status),
+                utcStartOf(startDate, userTimeZone), utcStartOf(nextDay(endDate), userTimeZone),
+                (int) Math.min(Integer.MAX_VALUE, (long) (page + 1) * size), 0));
+        dates.addAll(occurrenceOnlyDates(userId, window.get(), status, endOf(endDate, userTimeZone), userTimeZone));
+        return dates.stream().skip((long) page * size).limit(size).toList();
+    }
+
+    /**
+     * Fetches up to {@code limit} local dates with matching time slots that come after {@code cursor}, in date order.
+     * Dates with occurrences of the user's availability rules are merged in.
+     */
+    @Transactional(readOnly = true)
+    public List<LocalDate> fetchSlotDatesAfter(UUID userId,
+                                               LocalDate startDate,
+                                               LocalDate endDate,
+                                               TimeSlot.SlotStatus status,
+                                               ZoneId userTimeZone,
+                                               CalendarCursor cursor,
+                                               int limit) {
+        log.debug("Fetching {} slot dates for user: {} after {} with filters - startDate: {}, endDate: {}, status: {}",
+                limit, userId, cursor, startDate, endDate, status);
+        var fromDate = cursor.date().plusDays(1);
+        if (startDate != null && startDate.isAfter(fromDate)) {
+            fromDate = startDate;
+        }
+        var storedDates = timeSlotRepository.findSlotDatesAfter(userId, userTimeZone.getId(), statusName(status),
+                utcStartOf(fromDate, userTimeZone), utcStartOf(nextDay(endDate), userTimeZone), limit);
+
+        // The horizon of open ranges follows the start date, not the cursor, so paging through them ends
+        var window = ruleWindow(userId, fromDate, lastListedDate(startDate, endDate, userTimeZone), status,
+                userTimeZone);
+        if (window.isEmpty()) {
+            return storedDates;
+        }
+        var dates = new TreeSet<>(storedDates);
+        dates.addAll(occurrenceOnlyDates(userId, window.get(), status, endOf(endDate, userTimeZone), userTimeZone));
+        return dates.stream().limit(limit).toList();
+    }
+
+    /**
+     * Fetches the matching time slots starting on the local dates from {@code firstDate} to {@code lastDate},
+     * together with the occurrences of the user's availability rules on those dates
+     */
+    @Transactional(readOnly = true)
+    public List<TimeSlotView> fetchSlotsOnDates(UUID userId,
+                                                LocalDate firstDate,
+                                                LocalDate lastDate,
+                                                LocalDate startDate,
+                                                LocalDate endDate,
+                                                TimeSlot.SlotStatus status,
+                                                ZoneId userTimeZone) {
+        var from = firstDate.atStartOfDay(userTimeZone).toInstant();
+        var to = lastDate.plusDays(1).atStartOfDay(userTimeZone).toInstant();
+        var endInstant = endOf(endDate, userTimeZone);
+
+        // A day of slack on both sides, so occurrences next to the dates are resolved as when the dates were found
+        var windowFrom = firstDate.minusDays(1);
+        var windowTo = lastDate.plusDays(1);
+        var lastListedDate = lastListedDate(startDate, endDate, userTimeZone);
+        var window = ruleWindow(userId,
+                startDate != null && startDate.isAfter(windowFrom) ? startDate : windowFrom,
+                lastListedDate.isBefore(windowTo) ? lastListedDate : windowTo,
+                status,
+                userTimeZone);
+        if (window.isEmpty()) {
+            return timeSlotRepository.findByUserIdStartingBetween(userId, from, to, status, endInstant);
+        }
+
+        var rules = window.get();
+        var timeSlots = timeSlotRepository.findOverlapping(userId,
+                rules.from().isBefore(from) ? rules.from() : from,
+                rules.to().isAfter(to) ? rules.to() : to);
+        return withOccurrences(timeSlots, rules.rules(), rules.from(), rules.to(),
+                timeSlot -> isListed(timeSlot, status, from, to, endInstant)).stream()
+                .filter(timeSlot -> !timeSlot.startTime().isBefore(from) && timeSlot.startTime().isBefore(to))
+                .toList();
+    }
+
+    /**
+     * Fetches the slots of a user overlapping {@code from} to {@code to}, in start time order. The database is only
+     * queried if the {@link TimeSlotIntervalIndex} knows a slot in that window.
+     */
+    @Transactional(readOnly = true)
+    public List<TimeSlotView> findOverlappingSlots(UUID userId, Instant from, Instant to) {
+        if (!timeSlotIntervalIndex.mayOverlap(userId, from, to, null)) {
+            return List.of();
+        }
+        return timeSlotRepository.findOverlapping(userId, from, to);
+    }
+
+    /**
+     * Fetches the available slots of all given users overlapping {@code from} to {@code to} with one query, ordered by
+     * user and start time
+     */
+    @Transactional(readOnly = true)
+    public List<TimeSlotInterval> findAvailableIntervals(Collection<UUID> userIds, Instant from, Instant to) {
+        log.debug("Fetching available slots of {} users from {} to {}", userIds.size(), from, to);
+        var intervals = timeSlotRepository.findIntervalsOverlapping(userIds, TimeSlot.SlotStatus.AVAILABLE, from, to);
+
+        // A day of slack on both sides, rules may be in any time zone
+        var rules = availabilityRuleRepository.findActiveRulesOfUsers(userIds,
+                LocalDate.ofInstant(from, ZoneOffset.UTC).minusDays(1),
+                LocalDate.ofInstant(to, ZoneOffset.UTC).plusDays(1));
+        if (rules.isEmpty()) {
+            return intervals;
+        }
+
+        // Occurrences crossing the bounds count for their part within them, as stored slots do
+        var expandFrom = from.minus(1, ChronoUnit.DAYS);
+        var expandTo = to.plus(1, ChronoUnit.DAYS);
+        var rulesByUser = rules.stream().collect(Collectors.groupingBy(rule -> rule.getUser().getId()));
+        var storedByUser = timeSlotRepository.findIntervalsOverlapping(rulesByUser.keySet(), expandFrom, expandTo)
+                .stream()
+                .collect(Collectors.groupingBy(TimeSlotInterval::userId));
+        var exceptionsByRule = exceptionsByRule(rules, expandFrom, expandTo);
+
+        Map<UUID, List<TimeSlotInterval>> intervalsByUser = intervals.stream()
+                .collect(Collectors.groupingBy(TimeSlotInterval::userId, LinkedHashMap::new, Collectors.toList()));
+        rulesByUser.forEach((userId, userRules) -> {
+            var occurrences = freeOccurrences(occurrences(userRules, exceptionsByRule, expandFrom, expandTo),
+                    storedByUser.getOrDefault(userId, List.of()));
+            var userIntervals = new ArrayList<>(intervalsByUser.getOrDefault(userId, List.of()));
+            for (var occurrence : occurrences) {
+                if (occurrence.startTime().isBefore(to) && occurrence.endTime().isAfter(from)) {
+                    userIntervals.add(new TimeSlotInterval(userId, occurrence.startTime(), occurrence.endTime()));
+                }
+            }
+            if (!userIntervals.isEmpty()) {
+                userIntervals.sort(Comparator.comparing(TimeSlotInterval::startTime));
+                intervalsByUser.put(userId, userIntervals);
+            }
+        });
+        return intervalsByUser.values().stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * Checks the {@link TimeSlotIntervalIndex} first and confirms an overlap found there with the database
+     */
     @Transactional(readOnly = true)
     public boolean hasOverlappingSlots(UUID userId, Instant startTime, Instant endTime) {
-        return timeSlotRepository.existsOverlappingSlot(userId, startTime, endTime);
+        return timeSlotIntervalIndex.mayOverlap(userId, startTime, endTime, null)
+                && timeSlotRepository.existsOverlappingSlot(userId, startTime, endTime);
     }
 
+    /**
+     * Checks the {@link TimeSlotIntervalIndex} first and confirms an overlap found there with the database
+     */
     @Transactional(readOnly = true)
     public boolean hasOverlappingSlots(UUID userId, Instant startTime, Instant endTime, TimeSlot timeSlot) {
-        return timeSlotRepository.existsOverlappingSlot(userId, startTime, endTime, timeSlot.getId());
+        return timeSlotIntervalIndex.mayOverlap(userId, startTime, endTime, timeSlot.getId())
+                && timeSlotRepository.existsOverlappingSlot(userId, startTime, endTime, timeSlot.getId());
     }
+
+    /**
+     * Merges the occurrences of the rules from {@code from} to {@code to} into the stored slots. A stored slot takes
+     * precedence over the occurrences it overlaps, and of overlapping occurrences of different rules the earliest one
+     * is kept.
+     *
+     * @param timeSlots the stored slots of all statuses overlapping the window in start time order
+     * @param listed    the stored slots to return
+     */
+    private List<TimeSlotView> withOccurrences(List<TimeSlotView> timeSlots,
+                                               List<AvailabilityRule> rules,
+                                               Instant from,
+                                               Instant to,
+                                               Predicate<TimeSlotView> listed) {
+        var occurrences = freeOccurrences(occurrences(rules, exceptionsByRule(rules, from, to), from, to), timeSlots);
+
+        var merged = new ArrayList<TimeSlotView>(timeSlots.size() + occurrences.size());
+        int next = 0;
+        for (var timeSlot : timeSlots) {
+            if (!listed.test(timeSlot)) {
+                continue;
+            }
+            while (next < occurrences.size() && occurrences.get(next).startTime().isBefore(timeSlot.startTime())) {
+                merged.add(occurrences.get(next++));
+            }
+            merged.add(timeSlot);
+        }
+        merged.addAll(occurrences.subList(next, occurrences.size()));
+        return merged;
+    }
+
+    /**
+     * The local dates with occurrences in the window on which no listed stored slot starts, in date order
+     */
+    private List<LocalDate> occurrenceOnlyDates(UUID userId,
+                                                RuleWindow window,
+                                                TimeSlot.SlotStatus status,
+                                                Instant endTime,
+                                                ZoneId userTimeZone) {
+        var timeSlots = timeSlotRepository.findOverlapping(userId, window.from(), window.to());
+        var storedDates = new HashSet<LocalDate>();
+        for (var timeSlot : timeSlots) {
+            if (isListed(timeSlot, status, window.from(), window.to(), endTime)) {
+                storedDates.add(LocalDate.ofInstant(timeSlot.startTime(), userTimeZone));
+            }
+        }
+
+        var occurrences = occurrences(window.rules(), exceptionsByRule(window.rules(), window.from(), window.to()),
+                window.from(), window.to());
+        var dates = new ArrayList<LocalDate>();
+        LocalDate previousDate = null;
+        for (var occurrence : freeOccurrences(occurrences, timeSlots)) {
+            var date = LocalDate.ofInstant(occurrence.startTime(), userTimeZone);
+            if (!date.equals(previousDate) && !storedDates.contains(date)) {
+                dates.add(date);
+            }
+            previousDate = date;
+        }
+        return dates;
+    }
+
+    /**
+     * The rules of a user with occurrences on the local dates from {@code fromDate} to {@code toDate}, none if the
+     * status filter leaves occurrences out
+     *
+     * @param fromDate the first date, or {@code null} to start with the earliest rule
+     */
+    private Optional<RuleWindow> ruleWindow(UUID userId,
+                                            LocalDate fromDate,
+                                            LocalDate toDate,
+                                            TimeSlot.SlotStatus status,
+                                            ZoneId userTimeZone) {
+        if (status != null && status != TimeSlot.SlotStatus.AVAILABLE
+                || fromDate != null && fromDate.isAfter(toDate)) {
+            return Optional.empty();
+        }
+        // A day of slack on both sides, rules may be in another time zone than the user
+        var rules = availabilityRuleRepository.findActiveRules(userId,
+                fromDate != null ? fromDate.minusDays(1) : EARLIEST_RULE_DATE, toDate.plusDays(1));
+        if (rules.isEmpty()) {
+            return Optional.empty();
+        }
+        if (fromDate == null) {
+            // Two days cover any difference between the time zones of the rules and the user
+            fromDate = rules.stream()
+                    .map(AvailabilityRule::getStartDate)
+                    .min(Comparator.naturalOrder())
+                    .orElseThrow()
+                    .minusDays(2);
+        }
+        return Optional.of(new RuleWindow(rules, fromDate.atStartOfDay(userTimeZone).toInstant(),
+                toDate.plusDays(1).atStartOfDay(userTimeZone).toInstant()));
+    }
+
+    /**
+     * The last date on which occurrences are listed: the end date, or {@value #OCCURRENCE_HORIZON_DAYS} days after
+     * the later of today and the start date if the range is open
+     */
+    private static LocalDate lastListedDate(LocalDate startDate, LocalDate endDate, ZoneId userTimeZone) {
+        if (endDate != null) {
+            return endDate;
+        }
+        var today = LocalDate.now(userTimeZone);
+        return (startDate != null && startDate.isAfter(today) ? startDate : today).plusDays(OCCURRENCE_HORIZON_DAYS);
+    }
+
+    private Map<UUID, long[]> exceptionsByRule(List<AvailabilityRule> rules, Instant from, Instant to) {
+        var ruleIds = rules.stream().map(AvailabilityRule::getId).toList();
+        return availabilityRuleRepository.findExceptions(ruleIds, from, to).stream()
+                .collect(Collectors.groupingBy(RuleException::ruleId, Collectors.collectingAndThen(Collectors.toList(),
+                        exceptions -> exceptions.stream()
+                                .mapToLong(exception -> exception.occurrenceStart().getEpochSecond())
+                                .sorted()
+                                .toArray())));
+    }
+
+    /**
+     * @return the occurrences of the rules lying entirely within {@code from} to {@code to}, in start time order
+     */
+    private static List<TimeSlotView> occurrences(List<AvailabilityRule> rules,
+                                                  Map<UUID, long[]> exceptionsByRule,
+                                                  Instant from,
+                                                  Instant to) {
+        var occurrences = new ArrayList<TimeSlotView>();
+        for (var rule : rules) {
+            var ruleId = rule.getId();
+            RecurrenceExpander.of(rule).expand(from, to, exceptionsByRule.getOrDefault(ruleId, NO_EXCEPTIONS),
+                    (start, end) -> occurrences.add(new TimeSlotView(OccurrenceIds.of(ruleId, start),
+                            Instant.ofEpochSecond(start), Instant.ofEpochSecond(end), TimeSlot.SlotStatus.AVAILABLE)));
+        }
+        if (rules.size() > 1) {
+            occurrences.sort(Comparator.comparing(TimeSlotView::startTime));
+        }
+        return occurrences;
+    }
+
+    /**
+     * Drops the occurrences overlapping a stored slot or an earlier occurrence that was kept. Stored slots never
+     * overlap each other, so they are ordered by end time as well and each one is passed at most once.
+     *
+     * @param occurrences the occurrences in start time order
+     * @param timeSlots   the stored slots of all statuses in start time order
+     */
+    private static List<TimeSlotView> freeOccurrences(List<TimeSlotView> occurrences,
+                                                      List<? extends TimeRange> timeSlots) {
+        var free = new ArrayList<TimeSlotView>(occurrences.size());
+        int next = 0;
+        Instant occupiedUntil = Instant.MIN;
+        for (var occurrence : occurrences) {
+            while (next < timeSlots.size() && !timeSlots.get(next).endTime().isAfter(occurrence.startTime())) {
+                next++;
+            }
+            boolean overlapsStoredSlot = next < timeSlots.size()
+                    && timeSlots.get(next).startTime().isBefore(occurrence.endTime());
+            if (overlapsStoredSlot || occurrence.startTime().isBefore(occupiedUntil)) {
+                continue;
+            }
+            free.add(occurrence);
+            occupiedUntil = occurrence.endTime();
+        }
+        return free;
+    }
+
+    /**
+     * Whether a stored slot is listed for a request: it has the status, starts from {@code from} to {@code to} and,
+     * if there is an end filter, ends by {@code endTime}
+     */
+    private static boolean isListed(TimeSlotView timeSlot,
+                                    TimeSlot.SlotStatus status,
+                                    Instant from,
+                                    Instant to,
+                                    Instant endTime) {
+        return (status == null || timeSlot.status() == status)
+                && !timeSlot.startTime().isBefore(from) && timeSlot.startTime().isBefore(to)
+                && (endTime == null || !timeSlot.endTime().isAfter(endTime));
+    }
+
+    /**
+     * Flushes right away so an overlap rejected by the exclusion constraint surfaces here rather than at commit
+     */
+    private TimeSlot saveAndFlush(TimeSlot timeSlot) {
+        try {
+            var savedSlot = timeSlotRepository.saveAndFlush(timeSlot);
+            indexSlot(savedSlot);
+            return savedSlot;
+        } catch (DataIntegrityViolationException e) {
+            if (!isExclusionViolation(e)) {
+                throw e;
+            }
+            // The index let an overlapping slot through, it missed a write made elsewhere
+            timeSlotIntervalIndex.invalidate(timeSlot.getUser().getId());
+            throw new TimeSlotOverlapException(
+                    String.format("Time slot overlaps with existing slot for user %s from %s to %s",
+                            timeSlot.getUser().getEmail(), timeSlot.getStartTime(), timeSlot.getEndTime()));
+        }
+    }
+
+    private void indexSlot(TimeSlot timeSlot) {
+        timeSlotIntervalIndex.slotSaved(
+                timeSlot.getUser().getId(), timeSlot.getId(), timeSlot.getStartTime(), timeSlot.getEndTime());
+    }
+
+    static boolean isExclusionViolation(Throwable e) {
+        for (var cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION_STATE.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String statusName(TimeSlot.SlotStatus status) {
+        return status != null ? status.name() : null;
+    }
+
+    private static Instant endOf(LocalDate date, ZoneId userTimeZone) {
+        return date != null ? date.plusDays(1).atStartOfDay(userTimeZone).toInstant() : null;
+    }
+
+    private static LocalDate nextDay(LocalDate date) {
+        return date != null ? date.plusDays(1) : null;
+    }
+
+    /**
+     * Start of a local date as the UTC wall clock time the time slot columns are stored in
+     */
+    private static LocalDateTime utcStartOf(LocalDate date, ZoneId userTimeZone) {
+        return date != null ? LocalDateTime.ofInstant(date.atStartOfDay(userTimeZone).toInstant(), ZoneOffset.UTC) : null;
+    }
+
+    /**
+     * The active rules of a user and the window their occurrences are expanded over
+     */
+    private record RuleWindow(List<AvailabilityRule> rules, Instant from, Instant to) {}
 }
@@ -0,0 +1,173 @@
+package dev.eduardo.scheduler.service;
+
+import dev.eduardo.scheduler.api.dto.CalendarCursor;
+import dev.eduardo.scheduler.api.dto.DateSlots;
+import dev.eduardo.scheduler.api.dto.PageableUserTimeSlotsResponse;
+import dev.eduardo.scheduler.api.dto.TimeSlotSummary;
+import dev.eduardo.scheduler.api.dto.UserCalendar;
+import dev.eduardo.scheduler.api.dto.UserInfo;
+import dev.eduardo.scheduler.cache.CacheNames;
+import dev.eduardo.scheduler.cache.UserScopedKeyGenerator;
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.projection.TimeSlotView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds the calendar of a user for a date range, either materialized as a whole or one page at a time. Kept apart
+ * from {@link CalendarService} so the cached calls go through the Spring proxy.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserCalendarLoader {
+
+    private final UserService userService;
+    private final TimeSlotService timeSlotService;
+
+    @Transactional(readOnly = true)
+    @Cacheable(
+            value = CacheNames.USER_CALENDARS,
+            keyGenerator = UserScopedKeyGenerator.BEAN_NAME,
+            sync = true
+    )
+    public UserCalendar loadCalendar(UUID userId, LocalDate startDate, LocalDate endDate, TimeSlot.SlotStatus status) {
+        log.debug("Loading calendar for user: {} from {} to {} with status {}", userId, startDate, endDate, status);
+
+        var user = userService.findById(userId);
+        var userTimeZone = ZoneId.of(user.getTimezone());
+
+        var timeSlots = timeSlotService.fetchFilteredTimeSlots(userId, startDate, endDate, status, userTimeZone);
+
+        return new UserCalendar(UserInfo.fromEntity(user), groupByDate(timeSlots, userTimeZone));
+    }
+
+    /**
+     * Loads a single page of dates for ranges too large to materialize. The dates of the page and the total number
+     * of dates are computed in SQL and merged with the dates of rule occurrences, and only the slots on the page's
+     * dates are fetched.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(
+            value = CacheNames.USER_CALENDAR_PAGES,
+            keyGenerator = UserScopedKeyGenerator.BEAN_NAME,
+            sync = true
+    )
+    public PageableUserTimeSlotsResponse loadCalendarPage(UUID userId,
+                                                          LocalDate startDate,
+                                                          LocalDate endDate,
+                                                          TimeSlot.SlotStatus status,
+                                                          int page,
+                                                          int size) {
+        log.debug("Loading calendar page {} for user: {} from {} to {} with status {}",
+                page, userId, startDate, endDate, status);
+
+        var user = userService.findById(userId);
+        var userTimeZone = ZoneId.of(user.getTimezone());
+
+        long totalElements = timeSlotService.countSlotDates(userId, startDate, endDate, status, userTimeZone);
+        var dates = timeSlotService.fetchSlotDates(userId, startDate, endDate, status, userTimeZone, page, size);
+
+        List<DateSlots> days = dates.isEmpty() ? List.of() : groupByDate(
+                timeSlotService.fetchSlotsOnDates(userId, dates.getFirst(), dates.getLast(), startDate, endDate,
+                        status, userTimeZone),
+                userTimeZone);
+
+        int totalPages = (int) Math.ceil((double) totalElements / size);
+        boolean hasNext = page < totalPages - 1;
+        var pageInfo = new PageableUserTimeSlotsResponse.PageInfo(
+                page,
+                size,
+                totalPages,
+                totalElements,
+                hasNext,
+                page > 0
+        );
+
+        return new PageableUserTimeSlotsResponse(UserInfo.fromEntity(user), days, pageInfo,
+                CalendarCursor.next(days, hasNext));
+    }
+
+    /**
+     * Loads the {@code size} days following {@code cursor}. Dates are found by seeking the time slot index from the
+     * cursor position, so neither an offset nor a total count is computed.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(
+            value = CacheNames.USER_CALENDAR_PAGES,
+            keyGenerator = UserScopedKeyGenerator.BEAN_NAME,
+            sync = true
+    )
+    public PageableUserTimeSlotsResponse loadCalendarAfter(UUID userId,
+                                                           LocalDate startDate,
+                                                           LocalDate endDate,
+                                                           TimeSlot.SlotStatus status,
+                                                           CalendarCursor cursor,
+                                                           int size) {
+        log.debug("Loading calendar for user: {} after {} from {} to {} with status {}",
+                userId, cursor, startDate, endDate, status);
+
+        var user = userService.findById(userId);
+        var userTimeZone = ZoneId.of(user.getTimezone());
+
+        var dates = timeSlotService.fetchSlotDatesAfter(userId, startDate, endDate, status, userTimeZone, cursor,
+                size + 1);
+        boolean hasNext = dates.size() > size;
+        if (hasNext) {
+            dates = dates.subList(0, size);
+        }
+
+        List<DateSlots> days = dates.isEmpty() ? List.of() : groupByDate(
+                timeSlotService.fetchSlotsOnDates(userId, dates.getFirst(), dates.getLast(), startDate, endDate,
+                        status, userTimeZone),
+                userTimeZone);
+
+        return new PageableUserTimeSlotsResponse(UserInfo.fromEntity(user), days, null,
+                CalendarCursor.next(days, hasNext));
+    }
+
+    /**
+     * Groups the slots by the local date they start on. Dates and times are looked up in the {@link ZoneDayTable} of
+     * the user's time zone.
+     *
+     * @param timeSlots the slots in start time order
+     */
+    private static List<DateSlots> groupByDate(List<TimeSlotView> timeSlots, ZoneId userTimeZone) {
+        if (timeSlots.isEmpty()) {
+            return List.of();
+        }
+        var userDays = ZoneDayTable.of(userTimeZone,
+                utcDate(timeSlots.getFirst().startTime()).minusDays(1),
+                utcDate(timeSlots.getLast().startTime()).plusDays(1));
+
+        var days = new ArrayList<DateSlots>();
+        long currentDay = Long.MIN_VALUE;
+        List<TimeSlotSummary> slots = null;
+        for (var slot : timeSlots) {
+            long day = userDays.epochDay(slot.startTime());
+            if (day != currentDay) {
+                slots = new ArrayList<>();
+                days.add(new DateSlots(LocalDate.ofEpochDay(day), slots));
+                currentDay = day;
+            }
+            slots.add(new TimeSlotSummary(slot.id(), userDays.localTime(slot.startTime()),
+                    userDays.localTime(slot.endTime()), slot.status()));
+        }
+        return days;
+    }
+
+    private static LocalDate utcDate(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
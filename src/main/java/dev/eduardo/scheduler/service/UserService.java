@@ -8,8 +8,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -24,6 +30,22 @@ public class UserService {
         return userRepository.findByEmail(email.toLowerCase());
     }
 
+    /**
+     * Looks up all users of the given emails with a single query
+     *
+     * @return the users found, keyed by lower case email
+     */
+    @Transactional(readOnly = true)
+    public Map<String, User> findByEmails(Collection<String> emails) {
+        log.debug("Finding users by {} emails", emails.size());
+        if (emails.isEmpty()) {
+            return Map.of();
+        }
+        var lowerCaseEmails = emails.stream().map(String::toLowerCase).collect(Collectors.toSet());
+        return userRepository.findByEmailIn(lowerCaseEmails).stream()
+                .collect(Collectors.toMap(user -> user.getEmail().toLowerCase(), Function.identity()));
+    }
+
     @Transactional(readOnly = true)
     public User findById(UUID userId) {
         log.debug("Finding user by ID: {}", userId);
@@ -31,6 +53,24 @@ public class UserService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
     }
 
+    /**
+     * Looks up all users of the given IDs with a single query
+     *
+     * @throws UserNotFoundException if any of them does not exist
+     */
+    @Transactional(readOnly = true)
+    public List<User> findAllByIds(Collection<UUID> userIds) {
+        log.debug("Finding users by {} IDs", userIds.size());
+        var users = new ArrayList<User>();
+        userRepository.findAllById(userIds).forEach(users::add);
+        if (users.size() < userIds.size()) {
+            var foundIds = users.stream().map(User::getId).collect(Collectors.toSet());
+            var missingId = userIds.stream().filter(id -> !foundIds.contains(id)).findFirst().orElseThrow();
+            throw new UserNotFoundException("User not found with ID: " + missingId);
+        }
+        return users;
+    }
+
     @Transactional
     public User save(User user) {
         log.debug("Saving user: {}", user.getId());
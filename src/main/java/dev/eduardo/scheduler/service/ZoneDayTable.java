@@ -0,0 +1,148 @@
+package dev.eduardo.scheduler.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The epoch seconds at which the local days of a time zone start, over a window of dates. Finding the local date of
+ * an instant is a binary search over the day starts, and its local time is the distance from the start of its day,
+ * so neither needs a {@code ZonedDateTime} or a {@link ZoneRules} lookup.
+ * <p>
+ * Days with an offset transition, or whose midnight falls into a gap, are marked irregular; local times on those days
+ * and instants outside the window are resolved through the zone rules. Tables cover whole years, at most
+ * {@link #MAX_DAYS} days, and a few of them are cached per zone so windows far apart do not replace each other's
+ * table. A table close enough to a requested window is widened to cover it.
+ */
+public final class ZoneDayTable {
+
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Tables never span more days than this; instants past the end of a table go through the zone rules
+     */
+    private static final int MAX_DAYS = 4 * 366;
+    private static final int MAX_TABLES_PER_ZONE = 4;
+
+    // Most recently built first
+    private static final Map<ZoneId, List<ZoneDayTable>> TABLES = new ConcurrentHashMap<>();
+
+    private final ZoneId zone;
+    private final long firstDay;
+    private final long[] dayStarts;
+    private final boolean[] irregular;
+
+    private ZoneDayTable(ZoneId zone, long firstDay, long lastDay) {
+        int days = Math.toIntExact(lastDay - firstDay + 1);
+        var rules = zone.getRules();
+        this.zone = zone;
+        this.firstDay = firstDay;
+        this.dayStarts = new long[days + 1];
+        this.irregular = new boolean[days];
+
+        for (int i = 0; i <= days; i++) {
+            dayStarts[i] = LocalDate.ofEpochDay(firstDay + i).atStartOfDay(zone).toEpochSecond();
+        }
+        for (int i = 0; i < days; i++) {
+            var dayStart = Instant.ofEpochSecond(dayStarts[i]);
+            var next = rules.nextTransition(dayStart);
+            boolean startsAtMidnight =
+                    dayStarts[i] + rules.getOffset(dayStart).getTotalSeconds() == (firstDay + i) * SECONDS_PER_DAY;
+            irregular[i] = !startsAtMidnight || next != null && next.toEpochSecond() < dayStarts[i + 1];
+        }
+    }
+
+    /**
+     * @return a table of the zone covering {@code firstDate} to {@code lastDate}, or the first {@link #MAX_DAYS}
+     * days of a longer window
+     */
+    public static ZoneDayTable of(ZoneId zone, LocalDate firstDate, LocalDate lastDate) {
+        if (lastDate.isBefore(firstDate)) {
+            throw new IllegalArgumentException("Last date must not be before the first date");
+        }
+        long firstDay = firstDate.with(TemporalAdjusters.firstDayOfYear()).toEpochDay();
+        long lastDay = Math.min(lastDate.with(TemporalAdjusters.lastDayOfYear()).toEpochDay(),
+                firstDay + MAX_DAYS - 1);
+
+        var cached = TABLES.getOrDefault(zone, List.of());
+        ZoneDayTable widened = null;
+        for (var table : cached) {
+            if (table.covers(firstDay, lastDay)) {
+                return table;
+            }
+            if (widened == null
+                    && Math.max(lastDay, table.lastDay()) - Math.min(firstDay, table.firstDay) < MAX_DAYS) {
+                widened = table;
+            }
+        }
+        if (widened != null) {
+            firstDay = Math.min(firstDay, widened.firstDay);
+            lastDay = Math.max(lastDay, widened.lastDay());
+        }
+
+        var table = new ZoneDayTable(zone, firstDay, lastDay);
+        var replaced = widened;
+        TABLES.compute(zone, (key, current) -> {
+            var tables = new ArrayList<ZoneDayTable>(MAX_TABLES_PER_ZONE + 1);
+            tables.add(table);
+            if (current != null) {
+                current.stream().filter(existing -> existing != replaced).forEach(tables::add);
+            }
+            return List.copyOf(tables.subList(0, Math.min(tables.size(), MAX_TABLES_PER_ZONE)));
+        });
+        return table;
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    /**
+     * @return the local date of the instant, as an epoch day
+     */
+    public long epochDay(Instant instant) {
+        int day = dayIndex(instant.getEpochSecond());
+        return day >= 0 ? firstDay + day : LocalDate.ofInstant(instant, zone).toEpochDay();
+    }
+
+    public LocalDate localDate(Instant instant) {
+        return LocalDate.ofEpochDay(epochDay(instant));
+    }
+
+    public LocalTime localTime(Instant instant) {
+        long second = instant.getEpochSecond();
+        int day = dayIndex(second);
+        if (day < 0 || irregular[day]) {
+            return LocalTime.ofInstant(instant, zone);
+        }
+        return LocalTime.ofNanoOfDay((second - dayStarts[day]) * NANOS_PER_SECOND + instant.getNano());
+    }
+
+    private boolean covers(long firstDay, long lastDay) {
+        return firstDay >= this.firstDay && lastDay <= lastDay();
+    }
+
+    private long lastDay() {
+        return firstDay + irregular.length - 1;
+    }
+
+    /**
+     * @return the index of the day containing the epoch second, or -1 if it lies outside the table
+     */
+    private int dayIndex(long epochSecond) {
+        if (epochSecond < dayStarts[0] || epochSecond >= dayStarts[dayStarts.length - 1]) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(dayStarts, epochSecond);
+        return index >= 0 ? index : -index - 2;
+    }
+}
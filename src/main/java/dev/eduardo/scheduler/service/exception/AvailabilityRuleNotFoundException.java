@@ -0,0 +1,7 @@
+package dev.eduardo.scheduler.service.exception;
+
+public class AvailabilityRuleNotFoundException extends RuntimeException {
+    public AvailabilityRuleNotFoundException(String message) {
+        super(message);
+    }
+}
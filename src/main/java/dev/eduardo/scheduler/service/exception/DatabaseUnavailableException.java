@@ -0,0 +1,7 @@
+package dev.eduardo.scheduler.service.exception;
+
+public class DatabaseUnavailableException extends RuntimeException {
+    public DatabaseUnavailableException(String message) {
+        super(message);
+    }
+}
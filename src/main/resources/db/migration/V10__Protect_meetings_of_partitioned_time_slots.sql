@@ -0,0 +1,114 @@
+-- V8 dropped meetings_time_slot_id_fkey, since a foreign key to the partitioned time_slots must include start_time.
+-- Its ON DELETE CASCADE is restored with a trigger, and the slots of meetings are kept in time_slots when their
+-- partition is detached, so Meeting.timeSlot can still be loaded.
+
+-- Partition maintenance moves slots between partitions with DELETE and INSERT. It sets this flag for the
+-- transaction so the moved slots do not take their meetings with them.
+CREATE FUNCTION time_slots_are_moving() RETURNS BOOLEAN
+LANGUAGE sql STABLE AS $$
+    SELECT COALESCE(current_setting('scheduler.moving_time_slots', TRUE), '') = 'on'
+$$;
+
+-- An UPDATE moving a slot to another partition also deletes the old row, but the new row exists by the time this
+-- AFTER trigger runs
+CREATE FUNCTION delete_meetings_of_deleted_time_slot() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    IF NOT time_slots_are_moving() THEN
+        DELETE FROM meetings m
+        WHERE m.time_slot_id = OLD.id
+          AND NOT EXISTS (SELECT 1 FROM time_slots ts WHERE ts.id = OLD.id);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER delete_meetings_of_time_slot
+    AFTER DELETE ON time_slots
+    FOR EACH ROW EXECUTE FUNCTION delete_meetings_of_deleted_time_slot();
+
+-- Moves the slots of meetings out of a detached partition back into time_slots, where they land in the default
+-- partition
+CREATE FUNCTION restore_meeting_time_slots(archived_partition TEXT) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    restored INTEGER;
+BEGIN
+    PERFORM set_config('scheduler.moving_time_slots', 'on', TRUE);
+    EXECUTE format('WITH kept AS ('
+                   '    DELETE FROM time_slots_archive.%I ts'
+                   '    WHERE EXISTS (SELECT 1 FROM meetings m WHERE m.time_slot_id = ts.id)'
+                   '    RETURNING id, user_id, start_time, end_time, status, created_at, updated_at) '
+                   'INSERT INTO time_slots (id, user_id, start_time, end_time, status, created_at, updated_at) '
+                   'SELECT * FROM kept', archived_partition);
+    GET DIAGNOSTICS restored = ROW_COUNT;
+    PERFORM set_config('scheduler.moving_time_slots', 'off', TRUE);
+    RETURN restored;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION create_time_slot_partition(month_start DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    range_start DATE := date_trunc('month', month_start)::DATE;
+    range_end DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'time_slots_p' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- Attaching scans the default partition, keep slots of this month from landing there in the meantime
+    LOCK TABLE time_slots_default IN ACCESS EXCLUSIVE MODE;
+
+    EXECUTE format('CREATE TABLE %I (LIKE time_slots INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED)',
+                   partition_name);
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist (user_id WITH =, slot_range WITH &&)',
+                   partition_name, partition_name || '_no_overlap');
+    PERFORM set_config('scheduler.moving_time_slots', 'on', TRUE);
+    EXECUTE format('WITH moved AS ('
+                   '    DELETE FROM time_slots_default WHERE start_time >= $1 AND start_time < $2'
+                   '    RETURNING id, user_id, start_time, end_time, status, created_at, updated_at) '
+                   'INSERT INTO %I (id, user_id, start_time, end_time, status, created_at, updated_at) '
+                   'SELECT * FROM moved', partition_name)
+        USING range_start, range_end;
+    PERFORM set_config('scheduler.moving_time_slots', 'off', TRUE);
+    EXECUTE format('ALTER TABLE time_slots ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+    RETURN TRUE;
+END;
+$$;
+
+-- Detaches the monthly partitions ending on or before cutoff and moves them to the time_slots_archive schema. The
+-- slots of meetings stay in time_slots.
+CREATE OR REPLACE FUNCTION detach_time_slot_partitions(cutoff DATE) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT;
+    detached INTEGER := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT child.relname
+        FROM pg_inherits
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE pg_inherits.inhparent = 'time_slots'::regclass
+          AND child.relname ~ '^time_slots_p[0-9]{4}_[0-9]{2}$'
+          AND to_date(substring(child.relname FROM 13), 'YYYY_MM') + INTERVAL '1 month' <= cutoff
+        ORDER BY child.relname
+    LOOP
+        EXECUTE format('ALTER TABLE time_slots DETACH PARTITION %I', partition_name);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA time_slots_archive', partition_name);
+        PERFORM restore_meeting_time_slots(partition_name);
+        detached := detached + 1;
+    END LOOP;
+    RETURN detached;
+END;
+$$;
+
+-- Bring back the slots of meetings from partitions detached before this migration
+SELECT restore_meeting_time_slots(archived.relname)
+FROM pg_class archived
+JOIN pg_namespace ns ON ns.oid = archived.relnamespace
+WHERE ns.nspname = 'time_slots_archive'
+  AND archived.relkind = 'r'
+  AND archived.relname ~ '^time_slots_p[0-9]{4}_[0-9]{2}$';
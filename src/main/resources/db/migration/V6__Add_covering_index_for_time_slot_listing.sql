@@ -0,0 +1,6 @@
+-- Replace the plain (user_id, start_time, end_time) index, which duplicates idx_time_slots_no_overlap,
+-- with one that also carries the remaining listed columns so calendar reads can use index-only scans
+DROP INDEX IF EXISTS idx_time_slots_user_time;
+
+CREATE INDEX idx_time_slots_user_time_covering
+    ON time_slots(user_id, start_time, end_time) INCLUDE (status, id);
@@ -0,0 +1,14 @@
+-- btree_gist provides the GiST equality operator class for user_id
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Half-open range of each slot; start_time and end_time hold UTC wall clock times
+ALTER TABLE time_slots
+    ADD COLUMN slot_range TSTZRANGE
+        GENERATED ALWAYS AS (tstzrange(start_time AT TIME ZONE 'UTC', end_time AT TIME ZONE 'UTC', '[)')) STORED;
+
+-- Reject overlapping slots of the same user, including concurrent inserts
+ALTER TABLE time_slots
+    ADD CONSTRAINT time_slots_no_overlap EXCLUDE USING gist (user_id WITH =, slot_range WITH &&);
+
+-- Exact duplicates are overlaps too, so the unique index is no longer needed
+DROP INDEX IF EXISTS idx_time_slots_no_overlap;
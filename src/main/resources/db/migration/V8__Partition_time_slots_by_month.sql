@@ -0,0 +1,143 @@
+-- Partition time_slots by start_time month, so queries on the coming weeks only touch a few small partitions and
+-- old months are detached instead of bloating every index.
+
+-- A foreign key to a partitioned table has to reference a key including the partition column. meetings keeps its
+-- unique time_slot_id; bookings claim the slot in the same transaction that inserts the meeting.
+ALTER TABLE meetings DROP CONSTRAINT IF EXISTS meetings_time_slot_id_fkey;
+
+ALTER TABLE time_slots RENAME TO time_slots_unpartitioned;
+
+CREATE TABLE time_slots (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('AVAILABLE', 'BUSY', 'BOOKED')),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    slot_range TSTZRANGE
+        GENERATED ALWAYS AS (tstzrange(start_time AT TIME ZONE 'UTC', end_time AT TIME ZONE 'UTC', '[)')) STORED,
+
+    CONSTRAINT check_time_slot_duration CHECK (end_time > start_time)
+) PARTITION BY RANGE (start_time);
+
+-- Holds slots of months without a partition yet, until create_time_slot_partition moves them out
+CREATE TABLE time_slots_default PARTITION OF time_slots DEFAULT;
+ALTER TABLE time_slots_default
+    ADD CONSTRAINT time_slots_default_no_overlap EXCLUDE USING gist (user_id WITH =, slot_range WITH &&);
+
+-- Detached partitions are kept here until they are archived and dropped
+CREATE SCHEMA IF NOT EXISTS time_slots_archive;
+
+-- Creates the partition of the month of month_start, moving its slots out of the default partition.
+-- Exclusion constraints must include the partition column on a partitioned table, so every partition gets its own.
+CREATE FUNCTION create_time_slot_partition(month_start DATE) RETURNS BOOLEAN
+LANGUAGE plpgsql AS $$
+DECLARE
+    range_start DATE := date_trunc('month', month_start)::DATE;
+    range_end DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::DATE;
+    partition_name TEXT := 'time_slots_p' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- Attaching scans the default partition, keep slots of this month from landing there in the meantime
+    LOCK TABLE time_slots_default IN ACCESS EXCLUSIVE MODE;
+
+    EXECUTE format('CREATE TABLE %I (LIKE time_slots INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED)',
+                   partition_name);
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I EXCLUDE USING gist (user_id WITH =, slot_range WITH &&)',
+                   partition_name, partition_name || '_no_overlap');
+    EXECUTE format('WITH moved AS ('
+                   '    DELETE FROM time_slots_default WHERE start_time >= $1 AND start_time < $2'
+                   '    RETURNING id, user_id, start_time, end_time, status, created_at, updated_at) '
+                   'INSERT INTO %I (id, user_id, start_time, end_time, status, created_at, updated_at) '
+                   'SELECT * FROM moved', partition_name)
+        USING range_start, range_end;
+    EXECUTE format('ALTER TABLE time_slots ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+    RETURN TRUE;
+END;
+$$;
+
+-- Detaches the monthly partitions ending on or before cutoff and moves them to the time_slots_archive schema
+CREATE FUNCTION detach_time_slot_partitions(cutoff DATE) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT;
+    detached INTEGER := 0;
+BEGIN
+    FOR partition_name IN
+        SELECT child.relname
+        FROM pg_inherits
+        JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+        WHERE pg_inherits.inhparent = 'time_slots'::regclass
+          AND child.relname ~ '^time_slots_p[0-9]{4}_[0-9]{2}$'
+          AND to_date(substring(child.relname FROM 13), 'YYYY_MM') + INTERVAL '1 month' <= cutoff
+        ORDER BY child.relname
+    LOOP
+        EXECUTE format('ALTER TABLE time_slots DETACH PARTITION %I', partition_name);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA time_slots_archive', partition_name);
+        detached := detached + 1;
+    END LOOP;
+    RETURN detached;
+END;
+$$;
+
+-- One partition per month with existing slots, plus the current and the next three months
+SELECT create_time_slot_partition(month::DATE)
+FROM (SELECT DISTINCT date_trunc('month', start_time) AS month FROM time_slots_unpartitioned
+      UNION
+      SELECT generate_series(date_trunc('month', CURRENT_DATE),
+                             date_trunc('month', CURRENT_DATE) + INTERVAL '3 months',
+                             INTERVAL '1 month')) months
+ORDER BY month;
+
+INSERT INTO time_slots (id, user_id, start_time, end_time, status, created_at, updated_at)
+SELECT id, user_id, start_time, end_time, status, created_at, updated_at
+FROM time_slots_unpartitioned;
+
+DROP TABLE time_slots_unpartitioned;
+
+-- The primary key has to include the partition column; ids are still generated UUIDs
+ALTER TABLE time_slots ADD CONSTRAINT time_slots_pkey PRIMARY KEY (id, start_time);
+
+CREATE INDEX idx_time_slots_user_time_covering
+    ON time_slots(user_id, start_time, end_time) INCLUDE (status, id);
+CREATE INDEX idx_time_slots_status_time ON time_slots(status, start_time);
+CREATE INDEX idx_time_slots_user_status ON time_slots(user_id, status);
+
+CREATE TRIGGER update_time_slots_updated_at
+    BEFORE UPDATE ON time_slots
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- The per-partition exclusion constraints miss a slot running past the end of its month that overlaps a slot of the
+-- next partition. Writes of the same user are serialized with an advisory lock and checked against the other
+-- partitions, raising the same error as the exclusion constraints.
+CREATE FUNCTION check_time_slot_overlap_across_partitions() RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    month_start TIMESTAMP := date_trunc('month', NEW.start_time);
+    next_month_start TIMESTAMP := date_trunc('month', NEW.start_time) + INTERVAL '1 month';
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('time_slots'), hashtext(NEW.user_id::TEXT));
+
+    IF EXISTS (
+        SELECT 1 FROM time_slots ts
+        WHERE ts.user_id = NEW.user_id
+          AND ts.id <> NEW.id
+          AND (ts.start_time < month_start
+               OR (ts.start_time >= next_month_start AND ts.start_time < NEW.end_time))
+          AND ts.slot_range && tstzrange(NEW.start_time AT TIME ZONE 'UTC', NEW.end_time AT TIME ZONE 'UTC', '[)')
+    ) THEN
+        RAISE EXCEPTION 'conflicting key value violates exclusion constraint "time_slots_no_overlap"'
+            USING ERRCODE = 'exclusion_violation', CONSTRAINT = 'time_slots_no_overlap', TABLE = 'time_slots';
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER check_time_slot_overlap
+    BEFORE INSERT OR UPDATE OF user_id, start_time, end_time ON time_slots
+    FOR EACH ROW EXECUTE FUNCTION check_time_slot_overlap_across_partitions();
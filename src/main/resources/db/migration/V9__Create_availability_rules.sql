@@ -0,0 +1,34 @@
+-- Recurring availability, expanded into slots when a calendar is read instead of being stored as one row per
+-- occurrence. Only booked or edited occurrences are written to time_slots.
+CREATE TABLE availability_rules (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    -- Supported RRULE subset: FREQ=DAILY|WEEKLY, INTERVAL, BYDAY and a date UNTIL
+    rrule VARCHAR(255) NOT NULL,
+    start_date DATE NOT NULL,
+    -- Copied from the UNTIL of the rrule so rules ending before a window are skipped by the index
+    until_date DATE,
+    day_start TIME NOT NULL,
+    day_end TIME NOT NULL,
+    slot_minutes INTEGER NOT NULL CHECK (slot_minutes > 0),
+    timezone VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT check_availability_rule_day CHECK (day_end > day_start),
+    CONSTRAINT check_availability_rule_until CHECK (until_date IS NULL OR until_date >= start_date)
+);
+
+CREATE INDEX idx_availability_rules_user_dates ON availability_rules(user_id, start_date, until_date);
+
+-- Occurrences left out of the expansion, like an EXDATE: deleted ones and those materialized into a time slot
+CREATE TABLE availability_rule_exceptions (
+    rule_id UUID NOT NULL REFERENCES availability_rules(id) ON DELETE CASCADE,
+    occurrence_start TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (rule_id, occurrence_start)
+);
+
+CREATE TRIGGER update_availability_rules_updated_at
+    BEFORE UPDATE ON availability_rules
+    FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
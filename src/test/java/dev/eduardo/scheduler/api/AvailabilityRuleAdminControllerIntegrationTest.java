@@ -0,0 +1,238 @@
+package dev.eduardo.scheduler.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.eduardo.scheduler.TestcontainersConfiguration;
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.entities.User;
+import dev.eduardo.scheduler.domain.repository.TimeSlotRepository;
+import dev.eduardo.scheduler.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@Import( { TestcontainersConfiguration.class, ObjectMapper.class })
+class AvailabilityRuleAdminControllerIntegrationTest {
+
+    private static final String MEETING_REQUEST = """
+            {
+                "title": "Recurring Slot Meeting",
+                "participants": [
+                    {
+                        "name": "Jane Smith",
+                        "email": "jane@example.com"
+                    }
+                ]
+            }
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper.findAndRegisterModules();
+
+        testUser = userRepository.save(User.builder()
+                .name("Rule Test User")
+                .email("rule-test-" + UUID.randomUUID() + "@test.com")
+                .timezone("UTC")
+                .build());
+    }
+
+    @Test
+    void shouldListOccurrences_AndStoreOnlyTheBookedOne() throws Exception {
+        // Given - Mondays from 09:00 to 11:00 in hourly slots
+        var request = ruleRequest("freq=weekly;byday=MO", "2031-03-03", "09:00", "11:00", 60);
+
+        mockMvc.perform(post("/api/admin/availability-rules")
+                        .header("Authorization", "Bearer " + testUser.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.rrule").value("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO"))
+                .andExpect(jsonPath("$.timezone").value("UTC"));
+
+        var calendar = mockMvc.perform(get("/api/time-slots/user/" + testUser.getId()
+                        + "?startDate=2031-03-03&endDate=2031-03-09"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timeSlots.length()").value(1))
+                .andExpect(jsonPath("$.timeSlots[0].slots.length()").value(2))
+                .andExpect(jsonPath("$.timeSlots[0].slots[0].status").value("AVAILABLE"))
+                .andReturn();
+        var occurrenceId = objectMapper.readTree(calendar.getResponse().getContentAsString())
+                .at("/timeSlots/0/slots/0/id").asText();
+
+        // When
+        mockMvc.perform(post("/api/time-slots/" + occurrenceId + "/meetings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MEETING_REQUEST))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.startTime").value("2031-03-03T09:00:00Z"));
+
+        // Then - the booked slot is stored and replaces the occurrence, which cannot be booked twice
+        mockMvc.perform(get("/api/time-slots/user/" + testUser.getId() + "?startDate=2031-03-03&endDate=2031-03-09"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timeSlots[0].slots.length()").value(2))
+                .andExpect(jsonPath("$.timeSlots[0].slots[0].status").value("BOOKED"))
+                .andExpect(jsonPath("$.timeSlots[0].slots[1].status").value("AVAILABLE"));
+
+        mockMvc.perform(post("/api/time-slots/" + occurrenceId + "/meetings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(MEETING_REQUEST))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void shouldHideDeletedOccurrence() throws Exception {
+        // Given
+        var request = ruleRequest("FREQ=DAILY;UNTIL=20310402", "2031-04-01", "09:00", "10:00", 30);
+
+        mockMvc.perform(post("/api/admin/availability-rules")
+                        .header("Authorization", "Bearer " + testUser.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated());
+
+        var calendar = mockMvc.perform(get("/api/time-slots/user/" + testUser.getId()
+                        + "?startDate=2031-04-01&endDate=2031-04-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timeSlots.length()").value(2))
+                .andReturn();
+        var occurrenceId = objectMapper.readTree(calendar.getResponse().getContentAsString())
+                .at("/timeSlots/0/slots/0/id").asText();
+
+        // When
+        mockMvc.perform(delete("/api/admin/time-slots/" + occurrenceId)
+                        .header("Authorization", "Bearer " + testUser.getId()))
+                .andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(get("/api/time-slots/user/" + testUser.getId() + "?startDate=2031-04-01&endDate=2031-04-30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timeSlots[0].slots.length()").value(1))
+                .andExpect(jsonPath("$.timeSlots[0].slots[0].id").value(not(occurrenceId)));
+    }
+
+    @Test
+    void shouldListOccurrences_WhenDatesArePagedInSqlOrByCursor() throws Exception {
+        // Given - a range too long to materialize
+        var request = ruleRequest("FREQ=DAILY;UNTIL=20310505", "2031-05-01", "09:00", "10:00", 60);
+
+        mockMvc.perform(post("/api/admin/availability-rules")
+                        .header("Authorization", "Bearer " + testUser.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated());
+
+        // When & Then
+        var firstPage = mockMvc.perform(get("/api/time-slots/user/" + testUser.getId())
+                        .param("startDate", "2031-05-01")
+                        .param("endDate", "2031-12-31")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pageInfo.totalElements").value(5))
+                .andExpect(jsonPath("$.pageInfo.totalPages").value(3))
+                .andExpect(jsonPath("$.timeSlots.length()").value(2))
+                .andExpect(jsonPath("$.timeSlots[0].date").value("2031-05-01"))
+                .andExpect(jsonPath("$.timeSlots[0].slots.length()").value(1))
+                .andReturn();
+        var cursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/time-slots/user/" + testUser.getId())
+                        .param("startDate", "2031-05-01")
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timeSlots.length()").value(2))
+                .andExpect(jsonPath("$.timeSlots[0].date").value("2031-05-03"))
+                .andExpect(jsonPath("$.timeSlots[1].date").value("2031-05-04"));
+    }
+
+    @Test
+    void shouldCountOccurrences_WhenSearchingCommonAndGroupAvailability() throws Exception {
+        // Given
+        var otherUser = userRepository.save(User.builder()
+                .name("Other Rule Test User")
+                .email("rule-test-" + UUID.randomUUID() + "@test.com")
+                .timezone("UTC")
+                .build());
+        timeSlotRepository.save(TimeSlot.builder()
+                .user(otherUser)
+                .startTime(Instant.parse("2031-06-02T08:30:00Z"))
+                .endTime(Instant.parse("2031-06-02T09:30:00Z"))
+                .status(TimeSlot.SlotStatus.AVAILABLE)
+                .build());
+
+        mockMvc.perform(post("/api/admin/availability-rules")
+                        .header("Authorization", "Bearer " + testUser.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ruleRequest("FREQ=DAILY", "2031-06-01", "09:00", "10:00", 60)))
+                .andExpect(status().isCreated());
+
+        // When & Then
+        for (var endpoint : List.of("common-availability", "group-availability")) {
+            mockMvc.perform(get("/api/time-slots/" + endpoint)
+                            .param("userIds", testUser.getId().toString(), otherUser.getId().toString())
+                            .param("startDate", "2031-06-02")
+                            .param("endDate", "2031-06-02"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.windows.length()").value(1))
+                    .andExpect(jsonPath("$.windows[0].startTime").value("2031-06-02T09:00:00Z"))
+                    .andExpect(jsonPath("$.windows[0].endTime").value("2031-06-02T09:30:00Z"));
+        }
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenRuleIsNotSupported() throws Exception {
+        // Given
+        var request = ruleRequest("FREQ=MONTHLY;BYMONTHDAY=1", "2031-04-01", "09:00", "10:00", 30);
+
+        // When & Then
+        mockMvc.perform(post("/api/admin/availability-rules")
+                        .header("Authorization", "Bearer " + testUser.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String ruleRequest(String rrule, String startDate, String dayStart, String dayEnd, int slotMinutes) {
+        return """
+                {
+                    "rrule": "%s",
+                    "startDate": "%s",
+                    "dayStart": "%s",
+                    "dayEnd": "%s",
+                    "slotMinutes": %d
+                }
+                """.formatted(rrule, startDate, dayStart, dayEnd, slotMinutes);
+    }
+}
@@ -15,14 +15,23 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -42,6 +51,12 @@ class TimeSlotAdminControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private User testUser;
     private final Instant startTime = Instant.parse("2026-02-01T10:00:00Z");
     private final Instant endTime = Instant.parse("2026-02-01T11:00:00Z");
@@ -358,6 +373,114 @@ class TimeSlotAdminControllerIntegrationTest {
                 .andExpect(jsonPath("$.error").value("Bad Request"));
     }
 
+    @Test
+    void shouldImportCsvTimeSlots_AndRejectInvalidAndOverlappingRows() throws Exception {
+        // Given
+        var csv = """
+                start_time,end_time,status
+                2026-03-02T09:00:00Z,2026-03-02T10:00:00Z,AVAILABLE
+                2026-03-02T10:00:00Z,2026-03-02T11:00:00Z,busy
+                2026-03-02T10:30:00Z,2026-03-02T11:30:00Z,AVAILABLE
+                2026-03-02T13:00:00Z,2026-03-02T12:00:00Z,AVAILABLE
+                not-a-time,2026-03-02T15:00:00Z,
+                2026-03-02T16:00:00+01:00,2026-03-02T17:00:00+01:00,
+                2026-03-02T18:00:00,2026-03-02T19:00:00,
+                """;
+
+        // When & Then
+        mockMvc.perform(post("/api/admin/time-slots/import")
+                        .header("Authorization", "Bearer " + testUser.getId().toString())
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(7))
+                .andExpect(jsonPath("$.inserted").value(3))
+                .andExpect(jsonPath("$.rejected").value(4))
+                .andExpect(jsonPath("$.invalid").value(3))
+                .andExpect(jsonPath("$.overlapping").value(1));
+    }
+
+    @Test
+    void shouldImportNdjsonTimeSlots_AndSkipSlotsOverlappingExistingOnes() throws Exception {
+        // Given
+        var request = CreateTimeSlotRequest.builder()
+                .slots(List.of(
+                        CreateTimeSlotRequest.TimeSlotData.builder()
+                                .startTime(startTime)
+                                .endTime(endTime)
+                                .status(TimeSlot.SlotStatus.AVAILABLE)
+                                .build()
+                ))
+                .build();
+        mockMvc.perform(post("/api/admin/time-slots")
+                        .header("Authorization", "Bearer " + testUser.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        var ndjson = """
+                {"startTime":"2026-02-01T10:30:00Z","endTime":"2026-02-01T11:30:00Z"}
+                {"startTime":"2026-02-01T11:00:00Z","endTime":"2026-02-01T12:00:00Z","status":"BUSY"}
+
+                {not json}
+                """;
+
+        // When & Then
+        mockMvc.perform(post("/api/admin/time-slots/import")
+                        .header("Authorization", "Bearer " + testUser.getId().toString())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.invalid").value(1))
+                .andExpect(jsonPath("$.overlapping").value(1));
+    }
+
+    @Test
+    void shouldSkipRowsOverlappingASlotWrittenConcurrently_WhenImporting() throws Exception {
+        // Given - another transaction holds an uncommitted slot of the user
+        var csv = """
+                start_time,end_time,status
+                2026-04-06T09:00:00Z,2026-04-06T10:00:00Z,AVAILABLE
+                2026-04-06T11:00:00Z,2026-04-06T12:00:00Z,AVAILABLE
+                """;
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // When
+        var result = transactionTemplate.execute(transaction -> {
+            jdbcTemplate.update("INSERT INTO time_slots (user_id, start_time, end_time, status) "
+                            + "VALUES (?, ?, ?, 'AVAILABLE')", testUser.getId(),
+                    LocalDateTime.parse("2026-04-06T09:30:00"), LocalDateTime.parse("2026-04-06T10:30:00"));
+            var importResult = CompletableFuture.supplyAsync(() -> importCsv(csv));
+            awaitImportWaitingForLock();
+            return importResult;
+        }).get(30, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(200, result.getResponse().getStatus());
+        var response = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertEquals(1, response.get("inserted").asInt());
+        assertEquals(1, response.get("overlapping").asInt());
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenCsvHeaderDoesNotMatch() throws Exception {
+        // Given
+        var csv = """
+                begin,finish,state
+                2026-03-02T09:00:00Z,2026-03-02T10:00:00Z,AVAILABLE
+                """;
+
+        // When & Then
+        mockMvc.perform(post("/api/admin/time-slots/import")
+                        .header("Authorization", "Bearer " + testUser.getId().toString())
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Bad Request"));
+    }
+
     @Test
     void shouldReturnUnauthorized_WhenMissingAuthorizationHeader() throws Exception {
         // Given
@@ -378,4 +501,33 @@ class TimeSlotAdminControllerIntegrationTest {
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath("$.error").value("Authorization token is required"));
     }
+
+    private MvcResult importCsv(String csv) {
+        try {
+            return mockMvc.perform(post("/api/admin/time-slots/import")
+                            .header("Authorization", "Bearer " + testUser.getId().toString())
+                            .contentType("text/csv")
+                            .content(csv))
+                    .andReturn();
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private void awaitImportWaitingForLock() {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            var waiting = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_locks WHERE locktype = 'advisory' AND NOT granted", Long.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        fail("Import did not wait for the lock on the user's time slots");
+    }
 }
@@ -2,6 +2,7 @@ package dev.eduardo.scheduler.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.eduardo.scheduler.TestcontainersConfiguration;
+import dev.eduardo.scheduler.api.dto.CreateTimeSlotRequest;
 import dev.eduardo.scheduler.domain.entities.TimeSlot;
 import dev.eduardo.scheduler.domain.entities.User;
 import dev.eduardo.scheduler.domain.repository.TimeSlotRepository;
@@ -17,8 +18,14 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -177,6 +184,44 @@ class TimeSlotControllerIntegrationTest {
                 .andExpect(jsonPath("$.timeSlots[0].date").value("2026-02-01"));
     }
 
+    @Test
+    void shouldGetUserTimeSlotsWithCursor() throws Exception {
+        // Given - Two slots on the first date and one on each of the next two
+        timeSlotRepository.saveAll(List.of(
+                createSlot("2026-02-01T10:00:00Z", "2026-02-01T11:00:00Z"),
+                createSlot("2026-02-01T12:00:00Z", "2026-02-01T13:00:00Z"),
+                createSlot("2026-02-02T14:00:00Z", "2026-02-02T15:00:00Z"),
+                createSlot("2026-02-03T16:00:00Z", "2026-02-03T17:00:00Z")));
+
+        var firstPage = mockMvc.perform(get("/api/time-slots/user/" + testUser.getId() + "?size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timeSlots[0].slots.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn();
+        var cursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        // When & Then - The cursor continues after the first date
+        var secondPage = mockMvc.perform(get("/api/time-slots/user/" + testUser.getId() + "?size=1&cursor=" + cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timeSlots.length()").value(1))
+                .andExpect(jsonPath("$.timeSlots[0].date").value("2026-02-02"))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn();
+        cursor = objectMapper.readTree(secondPage.getResponse().getContentAsString()).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/time-slots/user/" + testUser.getId() + "?size=1&cursor=" + cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timeSlots[0].date").value("2026-02-03"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnBadRequest_WhenCursorIsInvalid() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/time-slots/user/" + testUser.getId() + "?cursor=not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturnNotFound_WhenUserDoesNotExist() throws Exception {
         // When & Then
@@ -453,4 +498,159 @@ class TimeSlotControllerIntegrationTest {
                         .content(requestBody))
                 .andExpect(status().isConflict());
     }
+
+    @Test
+    void shouldBookTimeSlotOnlyOnce_WhenBookedConcurrently() throws Exception {
+        // Given
+        var timeSlot = timeSlotRepository.save(createSlot("2026-02-01T10:00:00Z", "2026-02-01T11:00:00Z"));
+        var requestBody = """
+                {
+                    "title": "Contended meeting",
+                    "participants": [
+                        {
+                            "name": "John Doe",
+                            "email": "john@example.com"
+                        }
+                    ]
+                }
+                """;
+        int bookings = 8;
+        var start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(bookings);
+        try {
+            List<Future<Integer>> responses = new ArrayList<>();
+            for (int i = 0; i < bookings; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/time-slots/" + timeSlot.getId() + "/meetings")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(requestBody))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+
+            // When
+            start.countDown();
+            var statuses = new ArrayList<Integer>();
+            for (var response : responses) {
+                statuses.add(response.get());
+            }
+
+            // Then - one booking wins, the others get a clean conflict instead of an optimistic locking error
+            assertEquals(1, Collections.frequency(statuses, 201), "Statuses: " + statuses);
+            assertEquals(bookings - 1, Collections.frequency(statuses, 409), "Statuses: " + statuses);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(TimeSlot.SlotStatus.BOOKED,
+                timeSlotRepository.findById(timeSlot.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldFindCommonAvailabilityOfSeveralUsers() throws Exception {
+        // Given
+        var otherUser = userRepository.save(User.builder()
+                .name("Other User")
+                .email("other@example.com")
+                .timezone("UTC")
+                .build());
+        timeSlotRepository.saveAll(List.of(
+                createSlot("2026-02-02T08:00:00Z", "2026-02-02T09:00:00Z"),
+                createSlot("2026-02-02T09:00:00Z", "2026-02-02T10:00:00Z"),
+                createSlot("2026-02-02T13:00:00Z", "2026-02-02T14:00:00Z"),
+                TimeSlot.builder()
+                        .user(otherUser)
+                        .startTime(Instant.parse("2026-02-02T08:30:00Z"))
+                        .endTime(Instant.parse("2026-02-02T12:00:00Z"))
+                        .status(TimeSlot.SlotStatus.AVAILABLE)
+                        .build(),
+                TimeSlot.builder()
+                        .user(otherUser)
+                        .startTime(Instant.parse("2026-02-02T13:00:00Z"))
+                        .endTime(Instant.parse("2026-02-02T14:00:00Z"))
+                        .status(TimeSlot.SlotStatus.BUSY)
+                        .build()));
+
+        // When & Then - adjacent slots are joined, busy slots are not available
+        mockMvc.perform(get("/api/time-slots/common-availability")
+                        .param("userIds", testUser.getId().toString(), otherUser.getId().toString())
+                        .param("startDate", "2026-02-02")
+                        .param("endDate", "2026-02-02")
+                        .param("minDurationMinutes", "60")
+                        .param("timezone", "America/New_York"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timezone").value("America/New_York"))
+                .andExpect(jsonPath("$.windows.length()").value(1))
+                .andExpect(jsonPath("$.windows[0].startTime").value("2026-02-02T03:30:00-05:00"))
+                .andExpect(jsonPath("$.windows[0].endTime").value("2026-02-02T05:00:00-05:00"));
+    }
+
+    @Test
+    void shouldReturnNotFound_WhenCommonAvailabilityUserDoesNotExist() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/time-slots/common-availability")
+                        .param("userIds", testUser.getId().toString(), UUID.randomUUID().toString())
+                        .param("startDate", "2026-02-02")
+                        .param("endDate", "2026-02-02"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldFindGroupAvailability_AndReflectNewSlotsAfterEviction() throws Exception {
+        // Given
+        var otherUser = userRepository.save(User.builder()
+                .name("Other User")
+                .email("other@example.com")
+                .timezone("UTC")
+                .build());
+        timeSlotRepository.saveAll(List.of(
+                createSlot("2026-03-02T09:00:00Z", "2026-03-02T12:00:00Z"),
+                TimeSlot.builder()
+                        .user(otherUser)
+                        .startTime(Instant.parse("2026-03-02T10:00:00Z"))
+                        .endTime(Instant.parse("2026-03-02T11:00:00Z"))
+                        .status(TimeSlot.SlotStatus.AVAILABLE)
+                        .build()));
+
+        // When & Then
+        mockMvc.perform(get("/api/time-slots/group-availability")
+                        .param("userIds", testUser.getId().toString(), otherUser.getId().toString())
+                        .param("startDate", "2026-03-02")
+                        .param("endDate", "2026-03-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windows.length()").value(1))
+                .andExpect(jsonPath("$.windows[0].startTime").value("2026-03-02T10:00:00Z"))
+                .andExpect(jsonPath("$.windows[0].endTime").value("2026-03-02T11:00:00Z"));
+
+        // When - a slot created through the admin API evicts the user's cached bitmaps
+        mockMvc.perform(post("/api/admin/time-slots")
+                        .header("Authorization", "Bearer " + otherUser.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CreateTimeSlotRequest.builder()
+                                .slots(List.of(CreateTimeSlotRequest.TimeSlotData.builder()
+                                        .startTime(Instant.parse("2026-03-02T11:00:00Z"))
+                                        .endTime(Instant.parse("2026-03-02T11:30:00Z"))
+                                        .status(TimeSlot.SlotStatus.AVAILABLE)
+                                        .build()))
+                                .build())))
+                .andExpect(status().isCreated());
+
+        // Then
+        mockMvc.perform(get("/api/time-slots/group-availability")
+                        .param("userIds", testUser.getId().toString(), otherUser.getId().toString())
+                        .param("startDate", "2026-03-02")
+                        .param("endDate", "2026-03-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windows[0].endTime").value("2026-03-02T11:30:00Z"));
+    }
+
+    private TimeSlot createSlot(String start, String end) {
+        return TimeSlot.builder()
+                .user(testUser)
+                .startTime(Instant.parse(start))
+                .endTime(Instant.parse(end))
+                .status(TimeSlot.SlotStatus.AVAILABLE)
+                .build();
+    }
 }
@@ -0,0 +1,185 @@
+package dev.eduardo.scheduler.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheLoadCoordinatorTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplateMock;
+
+    @Mock
+    private ValueOperations<String, String> valueOperationsMock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldRunLoaderOnce_WhenConcurrentCallersMissSameKey() throws Exception {
+        // Given
+        var coordinator = coordinator(false);
+        var stored = new AtomicReference<Cache.ValueWrapper>();
+        var loaderCalls = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        int callers = 10;
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return coordinator.load("user:key", stored::get, () -> {
+                        loaderCalls.incrementAndGet();
+                        sleep(200);
+                        stored.set(new SimpleValueWrapper("value"));
+                        return "value";
+                    });
+                }));
+            }
+
+            // When
+            start.countDown();
+
+            // Then
+            for (var result : results) {
+                assertEquals("value", result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loaderCalls.get());
+        assertEquals(1.0, meterRegistry.get("cache.loads").counter().count());
+        verifyNoInteractions(redisTemplateMock);
+    }
+
+    @Test
+    void shouldPropagateLoaderFailure_ToCoalescedCallers() throws Exception {
+        // Given
+        var coordinator = coordinator(false);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> leader = executor.submit(() -> coordinator.load("user:key", () -> null, () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("database down");
+            }));
+            started.await();
+
+            // When
+            var follower = Executors.newSingleThreadExecutor();
+            try {
+                Future<String> coalesced = follower.submit(() ->
+                        coordinator.load("user:key", () -> null, () -> "unexpected"));
+                waitForCoalescedCaller();
+                release.countDown();
+
+                // Then
+                var leaderFailure = assertThrows(Exception.class, leader::get);
+                var followerFailure = assertThrows(Exception.class, coalesced::get);
+                assertInstanceOf(IllegalStateException.class, leaderFailure.getCause());
+                assertInstanceOf(IllegalStateException.class, followerFailure.getCause());
+            } finally {
+                follower.shutdownNow();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldWaitForRemoteLoad_WhenLockHeldByAnotherNode() {
+        // Given
+        var coordinator = coordinator(true);
+        when(redisTemplateMock.opsForValue()).thenReturn(valueOperationsMock);
+        when(valueOperationsMock.setIfAbsent(eq("calendar::~lock:user:key"), anyString(), any(Duration.class)))
+                .thenReturn(false);
+        var lookups = new AtomicInteger();
+
+        // When
+        var result = coordinator.load("user:key",
+                () -> lookups.incrementAndGet() < 3 ? null : new SimpleValueWrapper("remote"),
+                () -> "local");
+
+        // Then
+        assertEquals("remote", result);
+        assertEquals(0.0, meterRegistry.get("cache.loads").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.loads.coalesced").tag("scope", "remote").counter().count());
+    }
+
+    @Test
+    void shouldLoadAndReleaseLock_WhenLockAcquired() {
+        // Given
+        var coordinator = coordinator(true);
+        when(redisTemplateMock.opsForValue()).thenReturn(valueOperationsMock);
+        when(valueOperationsMock.setIfAbsent(eq("calendar::~lock:user:key"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+
+        // When
+        var result = coordinator.load("user:key", () -> null, () -> "local");
+
+        // Then
+        assertEquals("local", result);
+        verify(redisTemplateMock).execute(any(), eq(List.of("calendar::~lock:user:key")), anyString());
+    }
+
+    private CacheLoadCoordinator coordinator(boolean distributedLock) {
+        var properties = new SchedulerCacheProperties.SingleFlight(
+                distributedLock, Duration.ofSeconds(5), Duration.ofSeconds(1), Duration.ofMillis(10));
+        return new CacheLoadCoordinator("calendar", "calendar::~lock:", redisTemplateMock, properties, meterRegistry);
+    }
+
+    private void waitForCoalescedCaller() throws InterruptedException {
+        var counter = meterRegistry.get("cache.loads.coalesced").tag("scope", "local").counter();
+        for (int i = 0; i < 100 && counter.count() == 0; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
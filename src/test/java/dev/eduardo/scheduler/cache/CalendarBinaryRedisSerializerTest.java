@@ -0,0 +1,194 @@
+package dev.eduardo.scheduler.cache;
+
+import dev.eduardo.scheduler.api.dto.DateSlots;
+import dev.eduardo.scheduler.api.dto.PageableUserTimeSlotsResponse;
+import dev.eduardo.scheduler.api.dto.TimeSlotResponse;
+import dev.eduardo.scheduler.api.dto.TimeSlotSummary;
+import dev.eduardo.scheduler.api.dto.UserCalendar;
+import dev.eduardo.scheduler.api.dto.UserInfo;
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.projection.TimeSlotInterval;
+import dev.eduardo.scheduler.service.AvailabilityBitmap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarBinaryRedisSerializerTest {
+
+    @Mock
+    private RedisSerializer<Object> fallbackMock;
+
+    @Test
+    void shouldRoundTripPageableUserTimeSlotsResponse() {
+        // Given
+        var serializer = new CalendarBinaryRedisSerializer(fallbackMock);
+        var response = new PageableUserTimeSlotsResponse(
+                new UserInfo("Test User", "test@example.com"),
+                List.of(
+                        new DateSlots(LocalDate.of(2026, 2, 1), List.of(
+                                new TimeSlotSummary(UUID.randomUUID(), LocalTime.of(9, 0), LocalTime.of(10, 0),
+                                        TimeSlot.SlotStatus.AVAILABLE),
+                                new TimeSlotSummary(UUID.randomUUID(), LocalTime.of(23, 30), LocalTime.of(0, 30),
+                                        TimeSlot.SlotStatus.BOOKED))),
+                        new DateSlots(LocalDate.of(2026, 2, 3), List.of(
+                                new TimeSlotSummary(UUID.randomUUID(), LocalTime.of(8, 15, 30, 500),
+                                        LocalTime.of(8, 45), null)))
+                ),
+                new PageableUserTimeSlotsResponse.PageInfo(1, 2, 3, 5, true, true),
+                "MjAyNi0wMi0wM3wwODoxNTozMC4wMDAwMDA1"
+        );
+
+        // When
+        var bytes = serializer.serialize(response);
+        var result = serializer.deserialize(bytes);
+
+        // Then
+        assertEquals(response, result);
+        assertEquals(CalendarBinaryRedisSerializer.FORMAT_VERSION, bytes[0]);
+        verifyNoInteractions(fallbackMock);
+    }
+
+    @Test
+    void shouldRoundTripUserCalendar() {
+        // Given
+        var serializer = new CalendarBinaryRedisSerializer(fallbackMock);
+        var calendar = new UserCalendar(
+                new UserInfo("Test User", "test@example.com"),
+                List.of(
+                        new DateSlots(LocalDate.of(2026, 2, 1), List.of(
+                                new TimeSlotSummary(UUID.randomUUID(), LocalTime.of(9, 0), LocalTime.of(10, 0),
+                                        TimeSlot.SlotStatus.AVAILABLE))),
+                        new DateSlots(LocalDate.of(2026, 2, 2), List.of())
+                )
+        );
+
+        // When
+        var result = serializer.deserialize(serializer.serialize(calendar));
+
+        // Then
+        assertEquals(calendar, result);
+        verifyNoInteractions(fallbackMock);
+    }
+
+    @Test
+    void shouldRoundTripRefreshableValue_WithNestedFallbackPayload() {
+        // Given
+        var serializer = new CalendarBinaryRedisSerializer(fallbackMock);
+        var json = "{\"value\":1}".getBytes();
+        when(fallbackMock.serialize("other")).thenReturn(json);
+        when(fallbackMock.deserialize(json)).thenReturn("other");
+        var entry = new RefreshableValue("other", Instant.parse("2026-02-01T10:00:00.5Z"));
+
+        // When
+        var result = serializer.deserialize(serializer.serialize(entry));
+
+        // Then
+        assertEquals(entry, result);
+    }
+
+    @Test
+    void shouldRoundTripTimeSlotResponse_WithMissingFields() {
+        // Given
+        var serializer = new CalendarBinaryRedisSerializer(fallbackMock);
+        var response = new TimeSlotResponse(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                "test@example.com",
+                Instant.parse("2026-02-01T10:00:00Z"),
+                Instant.parse("2026-02-01T11:00:00Z"),
+                TimeSlot.SlotStatus.BUSY,
+                Instant.parse("2026-01-15T08:30:00.123456Z"),
+                null
+        );
+
+        // When
+        var result = serializer.deserialize(serializer.serialize(response));
+
+        // Then
+        assertEquals(response, result);
+    }
+
+    @Test
+    void shouldRoundTripAvailabilityBitmap_AsRawWords() {
+        // Given
+        var serializer = new CalendarBinaryRedisSerializer(fallbackMock);
+        var bitmap = AvailabilityBitmap.ofDay(LocalDate.of(2026, 2, 1), 15, List.of(new TimeSlotInterval(
+                UUID.randomUUID(), Instant.parse("2026-02-01T09:00:00Z"), Instant.parse("2026-02-01T17:00:00Z"))));
+
+        // When
+        var bytes = serializer.serialize(bitmap);
+        var result = serializer.deserialize(bytes);
+
+        // Then - two words of 96 quanta after a few bytes of header
+        assertEquals(bitmap, result);
+        assertTrue(bytes.length <= 32, "Bitmap payload should be compact but was " + bytes.length + " bytes");
+        verifyNoInteractions(fallbackMock);
+    }
+
+    @Test
+    void shouldDelegateToFallback_ForOtherTypes() {
+        // Given
+        var serializer = new CalendarBinaryRedisSerializer(fallbackMock);
+        var json = "{\"value\":1}".getBytes();
+        when(fallbackMock.serialize("other")).thenReturn(json);
+        when(fallbackMock.deserialize(json)).thenReturn("other");
+
+        // When
+        var bytes = serializer.serialize("other");
+        var result = serializer.deserialize(bytes);
+
+        // Then
+        assertArrayEquals(json, bytes);
+        assertEquals("other", result);
+    }
+
+    @Test
+    void shouldTreatUnknownFormatVersion_AsCacheMiss() {
+        // Given
+        var serializer = new CalendarBinaryRedisSerializer(fallbackMock);
+        var bytes = new byte[]{CalendarBinaryRedisSerializer.FORMAT_VERSION + 1, 1, 0};
+
+        // When
+        var result = serializer.deserialize(bytes);
+
+        // Then
+        assertNull(result);
+        verifyNoInteractions(fallbackMock);
+    }
+
+    @Test
+    void shouldKeepPayloadCompact_ForTypicalCalendarPage() {
+        // Given
+        var serializer = new CalendarBinaryRedisSerializer(fallbackMock);
+        var days = new ArrayList<DateSlots>();
+        for (int day = 0; day < 10; day++) {
+            var slots = new ArrayList<TimeSlotSummary>();
+            for (int hour = 9; hour < 17; hour++) {
+                slots.add(new TimeSlotSummary(UUID.randomUUID(), LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0),
+                        TimeSlot.SlotStatus.AVAILABLE));
+            }
+            days.add(new DateSlots(LocalDate.of(2026, 2, 1).plusDays(day), slots));
+        }
+        var response = new PageableUserTimeSlotsResponse(new UserInfo("Test User", "test@example.com"), days,
+                new PageableUserTimeSlotsResponse.PageInfo(0, 10, 1, 10, false, false));
+
+        // When
+        var bytes = serializer.serialize(response);
+
+        // Then - 80 slots at 16 bytes of UUID plus a few bytes of header and times each
+        assertTrue(bytes.length < 80 * 24, "Binary payload should stay compact but was " + bytes.length + " bytes");
+    }
+}
@@ -0,0 +1,54 @@
+package dev.eduardo.scheduler.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CompressingRedisSerializerTest {
+
+    @Mock
+    private RedisSerializer<Object> delegateMock;
+
+    @Test
+    void shouldCompressAndRestoreValues_AboveThreshold() {
+        // Given
+        var serializer = new CompressingRedisSerializer(delegateMock, DataSize.ofBytes(64));
+        var payload = "{\"slots\":\"".concat("AVAILABLE,".repeat(100)).concat("\"}").getBytes(StandardCharsets.UTF_8);
+        when(delegateMock.serialize("calendar")).thenReturn(payload);
+        when(delegateMock.deserialize(payload)).thenReturn("calendar");
+
+        // When
+        var bytes = serializer.serialize("calendar");
+        var result = serializer.deserialize(bytes);
+
+        // Then
+        assertTrue(bytes.length < payload.length, "Compressed payload should be smaller than " + payload.length);
+        assertEquals("calendar", result);
+    }
+
+    @Test
+    void shouldLeaveValuesUncompressed_AtOrBelowThreshold() {
+        // Given
+        var serializer = new CompressingRedisSerializer(delegateMock, DataSize.ofBytes(64));
+        var payload = "{\"value\":1}".getBytes(StandardCharsets.UTF_8);
+        when(delegateMock.serialize("small")).thenReturn(payload);
+        when(delegateMock.deserialize(payload)).thenReturn("small");
+
+        // When
+        var bytes = serializer.serialize("small");
+        var result = serializer.deserialize(bytes);
+
+        // Then
+        assertArrayEquals(payload, bytes);
+        assertEquals("small", result);
+    }
+}
@@ -0,0 +1,230 @@
+package dev.eduardo.scheduler.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshingCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-02-01T12:00:00Z");
+
+    @Mock
+    private Cache delegateMock;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SchedulerCacheProperties.CachePolicy policy;
+    private RefreshingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(delegateMock.getName()).thenReturn("calendar");
+        policy = new SchedulerCacheProperties.CachePolicy(
+                Duration.ofMinutes(30), Duration.ofMinutes(25), Duration.ofMinutes(10), Duration.ofHours(1),
+                null, null, null);
+        cache = refreshingCache(Runnable::run);
+    }
+
+    @Test
+    void shouldServeFreshValue_WithoutRefreshing() {
+        // Given
+        givenCachedValue("cached", Duration.ofMinutes(5));
+
+        // When
+        var result = cache.get("key", () -> fail("Loader should not be called"));
+
+        // Then
+        assertEquals("cached", result);
+        verify(delegateMock, never()).put(any(), any());
+    }
+
+    @Test
+    void shouldRefreshInBackground_WhenPastRefreshAfter() {
+        // Given
+        givenCachedValue("cached", Duration.ofMinutes(26));
+
+        // When
+        var result = cache.get("key", () -> "reloaded");
+
+        // Then
+        assertEquals("cached", result);
+        var captor = ArgumentCaptor.forClass(Object.class);
+        verify(delegateMock).put(eq("key"), captor.capture());
+        assertEquals(new RefreshableValue("reloaded", NOW), captor.getValue());
+        assertEquals(1.0, meterRegistry.get("cache.refreshes").tag("result", "success").counter().count());
+        assertEquals(0.0, meterRegistry.get("cache.stale.served").tag("reason", "revalidate").counter().count());
+    }
+
+    @Test
+    void shouldKeepRefreshedValue_WhenAnotherKeyIsEvicted() {
+        // Given
+        var pendingRefreshes = new ArrayList<Runnable>();
+        var deferringCache = refreshingCache(pendingRefreshes::add);
+        givenCachedValue("cached", Duration.ofMinutes(26));
+        deferringCache.get("key", () -> "reloaded");
+
+        // When
+        deferringCache.evict("other");
+        pendingRefreshes.forEach(Runnable::run);
+
+        // Then
+        verify(delegateMock).put("key", new RefreshableValue("reloaded", NOW));
+    }
+
+    @Test
+    void shouldDropRefreshedValue_WhenItsKeyIsEvicted() {
+        // Given
+        var pendingRefreshes = new ArrayList<Runnable>();
+        var deferringCache = refreshingCache(pendingRefreshes::add);
+        givenCachedValue("cached", Duration.ofMinutes(26));
+        deferringCache.get("key", () -> "reloaded");
+
+        // When
+        deferringCache.evict("key");
+        pendingRefreshes.forEach(Runnable::run);
+
+        // Then
+        verify(delegateMock, never()).put(any(), any());
+    }
+
+    @Test
+    void shouldServeStaleValue_WhenRefreshFailsWithinStaleWindow() {
+        // Given
+        givenCachedValue("cached", Duration.ofMinutes(35));
+
+        // When
+        var result = cache.get("key", () -> {
+            throw new IllegalStateException("database down");
+        });
+
+        // Then
+        assertEquals("cached", result);
+        verify(delegateMock, never()).put(any(), any());
+        assertEquals(1.0, meterRegistry.get("cache.stale.served").tag("reason", "revalidate").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.refreshes").tag("result", "failure").counter().count());
+    }
+
+    @Test
+    void shouldLoadSynchronously_WhenPastStaleWindow() {
+        // Given
+        givenCachedValue("cached", Duration.ofMinutes(41));
+
+        // When
+        var result = cache.get("key", () -> "reloaded");
+
+        // Then
+        assertEquals("reloaded", result);
+        verify(delegateMock).put("key", new RefreshableValue("reloaded", NOW));
+    }
+
+    @Test
+    void shouldLoadOnce_WhenConcurrentReadsArePastStaleWindow() throws Exception {
+        // Given
+        givenCachedValue("cached", Duration.ofMinutes(41));
+        var loads = new AtomicInteger();
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Callable<Object> loader = () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            release.await();
+            return "reloaded";
+        };
+        var results = new ConcurrentLinkedQueue<>();
+        var first = new Thread(() -> results.add(cache.get("key", loader)));
+        var second = new Thread(() -> results.add(cache.get("key", loader)));
+
+        // When
+        first.start();
+        loading.await();
+        second.start();
+        while (second.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        first.join();
+        second.join();
+
+        // Then
+        assertEquals(1, loads.get());
+        assertEquals(List.of("reloaded", "reloaded"), List.copyOf(results));
+        verify(delegateMock).put("key", new RefreshableValue("reloaded", NOW));
+    }
+
+    @Test
+    void shouldServeLastKnownValue_WhenReloadFailsWithinFallbackWindow() {
+        // Given
+        givenCachedValue("cached", Duration.ofMinutes(90));
+
+        // When
+        var result = cache.get("key", () -> {
+            throw new IllegalStateException("database down");
+        });
+
+        // Then
+        assertEquals("cached", result);
+        verify(delegateMock, never()).put(any(), any());
+        assertEquals(1.0, meterRegistry.get("cache.stale.served").tag("reason", "fallback").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldEvictAndLoad_WhenValueWasWrittenWithoutLoadTime() {
+        // Given
+        when(delegateMock.get("key")).thenReturn(new SimpleValueWrapper("legacy"));
+        when(delegateMock.get(eq("key"), any(Callable.class)))
+                .thenAnswer(invocation -> ((Callable<Object>) invocation.getArgument(1)).call());
+
+        // When
+        var result = cache.get("key", () -> "reloaded");
+
+        // Then
+        assertEquals("reloaded", result);
+        verify(delegateMock).evict("key");
+    }
+
+    @Test
+    void shouldTreatExpiredValueAsMissing_WhenReadWithoutLoader() {
+        // Given
+        givenCachedValue("cached", Duration.ofMinutes(35));
+
+        // When
+        var result = cache.get("key");
+
+        // Then
+        assertNull(result);
+    }
+
+    private RefreshingCache refreshingCache(Executor refreshExecutor) {
+        return new RefreshingCache(delegateMock, Duration.ofMinutes(30), policy, refreshExecutor,
+                Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
+    }
+
+    private void givenCachedValue(Object value, Duration age) {
+        when(delegateMock.get("key")).thenReturn(new SimpleValueWrapper(new RefreshableValue(value, NOW.minus(age))));
+    }
+}
@@ -0,0 +1,179 @@
+package dev.eduardo.scheduler.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    @Mock
+    private Cache redisCacheMock;
+
+    @Mock(extraInterfaces = MultiKeyCache.class)
+    private Cache multiKeyRedisCacheMock;
+
+    @Mock
+    private NearCacheInvalidator invalidatorMock;
+
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TwoTierCache("calendar", redisCacheMock,
+                Caffeine.newBuilder().maximumSize(100).build(), invalidatorMock);
+    }
+
+    @Test
+    void shouldServeFromLocalCache_AfterFirstRemoteHit() {
+        // Given
+        when(redisCacheMock.get("key")).thenReturn(new SimpleValueWrapper("value"));
+
+        // When
+        var first = cache.get("key");
+        var second = cache.get("key");
+
+        // Then
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals("value", first.get());
+        assertEquals("value", second.get());
+        verify(redisCacheMock, times(1)).get("key");
+    }
+
+    @Test
+    void shouldReturnNull_WhenMissingInBothTiers() {
+        // Given
+        when(redisCacheMock.get("key")).thenReturn(null);
+
+        // When
+        var result = cache.get("key");
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void shouldLoadThroughRemoteCache_WhenMissingLocally() {
+        // Given
+        when(redisCacheMock.get("key")).thenReturn(null);
+        when(redisCacheMock.get(eq("key"), any())).thenReturn("loaded");
+
+        // When
+        var first = cache.get("key", () -> "loaded");
+        var second = cache.get("key", () -> "other");
+
+        // Then
+        assertEquals("loaded", first);
+        assertEquals("loaded", second);
+        verify(redisCacheMock, times(1)).get(eq("key"), any());
+    }
+
+    @Test
+    void shouldWriteBothTiersAndPublish_WhenPut() {
+        // When
+        cache.put("key", "value");
+
+        // Then
+        var result = cache.get("key");
+        assertNotNull(result);
+        assertEquals("value", result.get());
+        verify(redisCacheMock).put("key", "value");
+        verify(redisCacheMock, never()).get("key");
+        verify(invalidatorMock).publishEvict("calendar", "key");
+    }
+
+    @Test
+    void shouldEvictBothTiersAndPublish_WhenEvict() {
+        // Given
+        cache.put("key", "value");
+
+        // When
+        cache.evict("key");
+
+        // Then
+        assertNull(cache.get("key"));
+        verify(redisCacheMock).evict("key");
+        verify(invalidatorMock, times(2)).publishEvict("calendar", "key");
+    }
+
+    @Test
+    void shouldDropLocalEntry_WhenInvalidatedByPeer() {
+        // Given
+        cache.put("key", "value");
+        when(redisCacheMock.get("key")).thenReturn(new SimpleValueWrapper("updated"));
+
+        // When
+        cache.invalidateLocal("key");
+
+        // Then
+        var result = cache.get("key");
+        assertNotNull(result);
+        assertEquals("updated", result.get());
+    }
+
+    @Test
+    void shouldClearBothTiersAndPublish_WhenClear() {
+        // Given
+        cache.put("key", "value");
+
+        // When
+        cache.clear();
+
+        // Then
+        assertNull(cache.get("key"));
+        verify(redisCacheMock).clear();
+        verify(invalidatorMock).publishClear("calendar");
+    }
+
+    @Test
+    void shouldLookUpOnlyLocalMissesInRedis_WithOneMultiKeyRead() {
+        // Given
+        var multiKeyCache = new TwoTierCache("calendar", multiKeyRedisCacheMock,
+                Caffeine.newBuilder().maximumSize(100).build(), invalidatorMock);
+        multiKeyCache.put("a", "1");
+        when(((MultiKeyCache) multiKeyRedisCacheMock).getAll(List.of("b", "c"))).thenReturn(Arrays.asList("2", null));
+
+        // When
+        var first = multiKeyCache.getAll(List.of("a", "b", "c"));
+        var second = multiKeyCache.getAll(List.of("a", "b"));
+
+        // Then
+        assertEquals(Arrays.asList("1", "2", null), first);
+        assertEquals(List.of("1", "2"), second);
+        verify((MultiKeyCache) multiKeyRedisCacheMock, times(1)).getAll(any());
+        verify(multiKeyRedisCacheMock, never()).get(any());
+    }
+
+    @Test
+    void shouldWriteAllEntriesToBothTiers_AndPublishTheirEvictionsTogether() {
+        // Given
+        var multiKeyCache = new TwoTierCache("calendar", multiKeyRedisCacheMock,
+                Caffeine.newBuilder().maximumSize(100).build(), invalidatorMock);
+        var entries = new LinkedHashMap<String, String>();
+        entries.put("a", "1");
+        entries.put("b", "2");
+
+        // When
+        multiKeyCache.putAll(entries);
+
+        // Then
+        assertEquals(List.of("1", "2"), multiKeyCache.getAll(List.of("a", "b")));
+        verify((MultiKeyCache) multiKeyRedisCacheMock).putAll(entries);
+        verify(multiKeyRedisCacheMock, never()).put(any(), any());
+        verify(invalidatorMock).publishEvictAll("calendar", List.of("a", "b"));
+    }
+}
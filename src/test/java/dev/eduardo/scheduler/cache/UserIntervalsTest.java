@@ -0,0 +1,96 @@
+package dev.eduardo.scheduler.cache;
+
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.projection.TimeSlotView;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserIntervalsTest {
+
+    private final UUID morningId = UUID.randomUUID();
+    private final UUID afternoonId = UUID.randomUUID();
+
+    private final UserIntervals intervals = UserIntervals.of(List.of(
+            slot(morningId, "2026-02-01T09:00:00Z", "2026-02-01T10:00:00Z"),
+            slot(afternoonId, "2026-02-01T14:00:00Z", "2026-02-01T15:00:00Z")), at("2026-02-01T00:00:00Z"));
+
+    @Test
+    void shouldFindOverlap_WhenIntervalIntersectsASlot() {
+        // When & Then
+        assertTrue(intervals.overlaps(at("2026-02-01T09:30:00Z"), at("2026-02-01T11:00:00Z"), null));
+        assertTrue(intervals.overlaps(at("2026-02-01T08:00:00Z"), at("2026-02-01T16:00:00Z"), null));
+        assertTrue(intervals.overlaps(at("2026-02-01T14:59:59.999999Z"), at("2026-02-01T16:00:00Z"), null));
+    }
+
+    @Test
+    void shouldNotFindOverlap_WhenIntervalOnlyTouchesSlots() {
+        // When & Then
+        assertFalse(intervals.overlaps(at("2026-02-01T10:00:00Z"), at("2026-02-01T14:00:00Z"), null));
+        assertFalse(intervals.overlaps(at("2026-02-01T07:00:00Z"), at("2026-02-01T09:00:00Z"), null));
+        assertFalse(intervals.overlaps(at("2026-02-01T15:00:00Z"), at("2026-02-01T16:00:00Z"), null));
+    }
+
+    @Test
+    void shouldIgnoreExcludedSlot() {
+        // When & Then
+        assertFalse(intervals.overlaps(at("2026-02-01T09:30:00Z"), at("2026-02-01T10:30:00Z"), morningId));
+        assertTrue(intervals.overlaps(at("2026-02-01T09:30:00Z"), at("2026-02-01T14:30:00Z"), morningId));
+    }
+
+    @Test
+    void shouldMoveSlot_WhenSavedAgainWithTheSameId() {
+        // When
+        var moved = intervals.with(morningId, at("2026-02-01T16:00:00Z"), at("2026-02-01T17:00:00Z"));
+
+        // Then
+        assertEquals(2, moved.size());
+        assertFalse(moved.overlaps(at("2026-02-01T09:00:00Z"), at("2026-02-01T10:00:00Z"), null));
+        assertTrue(moved.overlaps(at("2026-02-01T16:30:00Z"), at("2026-02-01T18:00:00Z"), null));
+        assertTrue(moved.overlaps(at("2026-02-01T14:30:00Z"), at("2026-02-01T15:30:00Z"), null));
+        assertTrue(intervals.overlaps(at("2026-02-01T09:00:00Z"), at("2026-02-01T10:00:00Z"), null));
+    }
+
+    @Test
+    void shouldInsertNewSlotInStartOrder() {
+        // When
+        var added = intervals.with(UUID.randomUUID(), at("2026-02-01T11:00:00Z"), at("2026-02-01T12:00:00Z"));
+
+        // Then
+        assertEquals(3, added.size());
+        assertTrue(added.overlaps(at("2026-02-01T11:30:00Z"), at("2026-02-01T11:45:00Z"), null));
+        assertFalse(added.overlaps(at("2026-02-01T12:00:00Z"), at("2026-02-01T14:00:00Z"), null));
+    }
+
+    @Test
+    void shouldRemoveSlot() {
+        // When
+        var removed = intervals.without(afternoonId);
+
+        // Then
+        assertEquals(1, removed.size());
+        assertFalse(removed.overlaps(at("2026-02-01T14:00:00Z"), at("2026-02-01T15:00:00Z"), null));
+        assertSame(removed, removed.without(afternoonId));
+    }
+
+    @Test
+    void shouldCoverOnlyIntervalsStartingFromTheLoadedInstant() {
+        // When & Then
+        assertTrue(intervals.covers(at("2026-02-01T00:00:00Z")));
+        assertTrue(intervals.covers(at("2026-03-01T00:00:00Z")));
+        assertFalse(intervals.covers(at("2026-01-31T23:59:59Z")));
+        assertFalse(intervals.without(morningId).covers(at("2026-01-31T23:59:59Z")));
+    }
+
+    private static TimeSlotView slot(UUID id, String start, String end) {
+        return new TimeSlotView(id, at(start), at(end), TimeSlot.SlotStatus.AVAILABLE);
+    }
+
+    private static Instant at(String instant) {
+        return Instant.parse(instant);
+    }
+}
@@ -0,0 +1,107 @@
+package dev.eduardo.scheduler.cache;
+
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserScopedKeyGeneratorTest {
+
+    private final UserScopedKeyGenerator keyGenerator = new UserScopedKeyGenerator();
+    private final UUID userId = UUID.fromString("0b5f1c3e-8d2a-4c6b-9f1e-2a3b4c5d6e7f");
+
+    @Test
+    void shouldPrefixKeyWithUserId_WhenUserIdIsNotFirstParameter() throws Exception {
+        // Given
+        var timeSlotId = UUID.fromString("11111111-2222-3333-4444-555555555555");
+
+        // When
+        var key = keyGenerator.generate(this, method("timeSlot", UUID.class, UUID.class), timeSlotId, userId);
+
+        // Then
+        assertEquals(userId + ":" + timeSlotId, key);
+    }
+
+    @Test
+    void shouldEncodeAllArguments_InDeclarationOrder() throws Exception {
+        // When
+        var key = keyGenerator.generate(this, calendarMethod(),
+                userId, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28), TimeSlot.SlotStatus.AVAILABLE, 0, 10);
+
+        // Then
+        assertEquals(userId + ":2026-02-01:2026-02-28:AVAILABLE:0:10", key);
+    }
+
+    @Test
+    void shouldEncodeNullArguments_AsDash() throws Exception {
+        // When
+        var key = keyGenerator.generate(this, calendarMethod(), userId, null, null, null, 1, 20);
+
+        // Then
+        assertEquals(userId + ":-:-:-:1:20", key);
+    }
+
+    @Test
+    void shouldProduceDistinctKeys_WhenStringArgumentsContainSeparator() throws Exception {
+        // Given
+        var method = method("labels", UUID.class, String.class, String.class);
+
+        // When
+        var first = keyGenerator.generate(this, method, userId, "a:b", "c");
+        var second = keyGenerator.generate(this, method, userId, "a", "b:c");
+        var literalDash = keyGenerator.generate(this, method, userId, "-", "c");
+        var nullValue = keyGenerator.generate(this, method, userId, null, "c");
+
+        // Then
+        assertNotEquals(first, second);
+        assertNotEquals(literalDash, nullValue);
+    }
+
+    @Test
+    void shouldBuildSameKeyAsGenerator_ForExplicitValues() throws Exception {
+        // When
+        var generated = keyGenerator.generate(this, calendarMethod(),
+                userId, LocalDate.of(2026, 2, 1), null, null, 0, 10);
+        var built = UserScopedKeyGenerator.key(userId, LocalDate.of(2026, 2, 1), null, null, 0, 10);
+
+        // Then
+        assertEquals(generated, built);
+    }
+
+    @Test
+    void shouldThrowIllegalStateException_WhenMethodHasNoUserId() {
+        // When & Then
+        assertThrows(IllegalStateException.class,
+                () -> keyGenerator.generate(this, method("noUser", UUID.class), UUID.randomUUID()));
+    }
+
+    private Method calendarMethod() throws NoSuchMethodException {
+        return method("calendar", UUID.class, LocalDate.class, LocalDate.class, TimeSlot.SlotStatus.class,
+                int.class, int.class);
+    }
+
+    private static Method method(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return UserScopedKeyGeneratorTest.class.getDeclaredMethod(name, parameterTypes);
+    }
+
+    @SuppressWarnings("unused")
+    private void timeSlot(UUID timeSlotId, UUID userId) {
+    }
+
+    @SuppressWarnings("unused")
+    private void calendar(UUID userId, LocalDate startDate, LocalDate endDate, TimeSlot.SlotStatus status,
+                          int page, int size) {
+    }
+
+    @SuppressWarnings("unused")
+    private void labels(UUID userId, String first, String second) {
+    }
+
+    @SuppressWarnings("unused")
+    private void noUser(UUID timeSlotId) {
+    }
+}
@@ -0,0 +1,180 @@
+package dev.eduardo.scheduler.partitioning;
+
+import dev.eduardo.scheduler.TestcontainersConfiguration;
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.entities.User;
+import dev.eduardo.scheduler.domain.repository.UserRepository;
+import dev.eduardo.scheduler.service.TimeSlotService;
+import dev.eduardo.scheduler.service.exception.TimeSlotOverlapException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every test works in its own years, far from the current date, so the partitions used by other tests are left alone
+ */
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class TimeSlotPartitionMaintenanceIntegrationTest {
+
+    @Autowired
+    private TimeSlotPartitionMaintenance partitionMaintenance;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Partition User")
+                .email("partitions-" + UUID.randomUUID() + "@example.com")
+                .timezone("UTC")
+                .build());
+    }
+
+    @Test
+    void shouldCreateFuturePartitions_AndMoveTheirSlotsOutOfTheDefaultPartition() {
+        // Given
+        var slot = createSlot("2031-03-10T09:00:00Z", "2031-03-10T10:00:00Z");
+        assertEquals("time_slots_default", partitionOf(slot));
+
+        // When
+        partitionMaintenance.maintainPartitions(LocalDate.of(2031, 1, 15));
+
+        // Then
+        assertEquals("time_slots_p2031_03", partitionOf(slot));
+        assertTrue(tableExists("time_slots_p2031_01"));
+        assertTrue(tableExists("time_slots_p2031_04"));
+        assertFalse(tableExists("time_slots_p2031_05"));
+    }
+
+    @Test
+    void shouldDetachPartitionsPastRetention_ToTheArchiveSchema() {
+        // Given
+        var slot = createSlot("2001-05-10T09:00:00Z", "2001-05-10T10:00:00Z");
+        partitionMaintenance.maintainPartitions(LocalDate.of(2001, 5, 1));
+
+        // When - twelve months of retention keep partitions from July 2001 on
+        partitionMaintenance.maintainPartitions(LocalDate.of(2002, 7, 1));
+
+        // Then
+        assertFalse(tableExists("time_slots_p2001_05"));
+        assertFalse(tableExists("time_slots_p2001_06"));
+        assertTrue(tableExists("time_slots_p2001_07"));
+        assertTrue(tableExists("time_slots_archive.time_slots_p2001_05"));
+        assertEquals(0, count("SELECT COUNT(*) FROM time_slots WHERE id = ?", slot.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM time_slots_archive.time_slots_p2001_05 WHERE id = ?",
+                slot.getId()));
+    }
+
+    @Test
+    void shouldKeepSlotsOfMeetings_WhenTheirPartitionIsDetached() {
+        // Given
+        var booked = createSlot("2004-05-10T09:00:00Z", "2004-05-10T10:00:00Z");
+        var free = createSlot("2004-05-11T09:00:00Z", "2004-05-11T10:00:00Z");
+        var meetingId = createMeeting(booked);
+        partitionMaintenance.maintainPartitions(LocalDate.of(2004, 5, 1));
+
+        // When
+        partitionMaintenance.maintainPartitions(LocalDate.of(2005, 7, 1));
+
+        // Then
+        assertEquals("time_slots_default", partitionOf(booked));
+        assertEquals(booked.getId(), timeSlotService.findById(booked.getId()).getId());
+        assertEquals(1, count("SELECT COUNT(*) FROM meetings WHERE id = ?", meetingId));
+        assertEquals(0, count("SELECT COUNT(*) FROM time_slots_archive.time_slots_p2004_05 WHERE id = ?",
+                booked.getId()));
+        assertEquals(1, count("SELECT COUNT(*) FROM time_slots_archive.time_slots_p2004_05 WHERE id = ?",
+                free.getId()));
+    }
+
+    @Test
+    void shouldKeepMeetings_WhenTheirSlotsMoveBetweenPartitions() {
+        // Given
+        var slot = createSlot("2034-03-10T09:00:00Z", "2034-03-10T10:00:00Z");
+        var meetingId = createMeeting(slot);
+
+        // When
+        partitionMaintenance.maintainPartitions(LocalDate.of(2034, 1, 15));
+        jdbcTemplate.update("UPDATE time_slots SET start_time = start_time + INTERVAL '31 days', "
+                + "end_time = end_time + INTERVAL '31 days' WHERE id = ?", slot.getId());
+
+        // Then
+        assertEquals("time_slots_p2034_04", partitionOf(slot));
+        assertEquals(1, count("SELECT COUNT(*) FROM meetings WHERE id = ?", meetingId));
+    }
+
+    @Test
+    void shouldDeleteMeeting_WhenItsSlotIsDeleted() {
+        // Given
+        partitionMaintenance.maintainPartitions(LocalDate.of(2035, 6, 1));
+        var slot = createSlot("2035-06-10T09:00:00Z", "2035-06-10T10:00:00Z");
+        var meetingId = createMeeting(slot);
+
+        // When
+        jdbcTemplate.update("DELETE FROM time_slots WHERE id = ?", slot.getId());
+
+        // Then
+        assertEquals(0, count("SELECT COUNT(*) FROM meetings WHERE id = ?", meetingId));
+    }
+
+    @Test
+    void shouldRejectOverlap_WhenSlotRunsIntoTheNextMonthsPartition() {
+        // Given
+        partitionMaintenance.maintainPartitions(LocalDate.of(2032, 1, 1));
+        createSlot("2032-01-31T23:00:00Z", "2032-02-01T01:00:00Z");
+
+        // When & Then
+        assertThrows(TimeSlotOverlapException.class,
+                () -> createSlot("2032-02-01T00:00:00Z", "2032-02-01T00:30:00Z"));
+        assertDoesNotThrow(() -> createSlot("2032-02-01T01:00:00Z", "2032-02-01T02:00:00Z"));
+    }
+
+    private TimeSlot createSlot(String start, String end) {
+        return timeSlotService.createSlot(TimeSlot.builder()
+                .user(user)
+                .startTime(Instant.parse(start))
+                .endTime(Instant.parse(end))
+                .status(TimeSlot.SlotStatus.AVAILABLE)
+                .build());
+    }
+
+    private UUID createMeeting(TimeSlot slot) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO meetings (time_slot_id, title, organizer_id) VALUES (?, 'Partitioned', ?) RETURNING id",
+                UUID.class, slot.getId(), user.getId());
+    }
+
+    private String partitionOf(TimeSlot slot) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM time_slots WHERE id = ?", String.class, slot.getId());
+    }
+
+    private boolean tableExists(String name) {
+        return Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, name));
+    }
+
+    private long count(String sql, UUID id) {
+        return jdbcTemplate.queryForObject(sql, Long.class, id);
+    }
+}
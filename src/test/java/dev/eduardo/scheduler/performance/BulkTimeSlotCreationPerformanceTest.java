@@ -0,0 +1,101 @@
+package dev.eduardo.scheduler.performance;
+
+import dev.eduardo.scheduler.TestcontainersConfiguration;
+import dev.eduardo.scheduler.api.dto.CreateTimeSlotRequest;
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.entities.User;
+import dev.eduardo.scheduler.domain.repository.TimeSlotRepository;
+import dev.eduardo.scheduler.domain.repository.UserRepository;
+import dev.eduardo.scheduler.service.TimeSlotAdminApiService;
+import dev.eduardo.scheduler.service.TimeSlotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class BulkTimeSlotCreationPerformanceTest {
+
+    private static final int BULK_SLOTS = 10_000;
+    private static final int SINGLE_SLOTS = 500;
+
+    @Autowired
+    private TimeSlotAdminApiService timeSlotAdminService;
+
+    @Autowired
+    private TimeSlotService timeSlotService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .name("Bulk Test User")
+                .email("bulk-" + UUID.randomUUID() + "@example.com")
+                .timezone("UTC")
+                .build());
+    }
+
+    @Test
+    void shouldMeasurePerSlotCost_ForBulkCreation() {
+        var base = Instant.parse("2030-01-01T00:00:00Z");
+
+        // Baseline - one insert and flush per slot
+        long singleStart = System.nanoTime();
+        for (int i = 0; i < SINGLE_SLOTS; i++) {
+            timeSlotService.createSlot(TimeSlot.builder()
+                    .user(user)
+                    .startTime(base.plus(i * 30L, ChronoUnit.MINUTES))
+                    .endTime(base.plus(i * 30L + 30, ChronoUnit.MINUTES))
+                    .status(TimeSlot.SlotStatus.AVAILABLE)
+                    .build());
+        }
+        double singleMs = (System.nanoTime() - singleStart) / 1_000_000.0;
+
+        // Bulk - sorted, checked in memory and with one query, inserted in JDBC batches
+        var bulkBase = base.plus(SINGLE_SLOTS * 30L, ChronoUnit.MINUTES);
+        List<CreateTimeSlotRequest.TimeSlotData> slots = new ArrayList<>(BULK_SLOTS);
+        for (int i = BULK_SLOTS - 1; i >= 0; i--) {
+            slots.add(CreateTimeSlotRequest.TimeSlotData.builder()
+                    .startTime(bulkBase.plus(i * 30L, ChronoUnit.MINUTES))
+                    .endTime(bulkBase.plus(i * 30L + 30, ChronoUnit.MINUTES))
+                    .build());
+        }
+        var request = CreateTimeSlotRequest.builder().slots(slots).build();
+
+        long bulkStart = System.nanoTime();
+        var response = timeSlotAdminService.createTimeSlots(request, user.getId());
+        double bulkMs = (System.nanoTime() - bulkStart) / 1_000_000.0;
+
+        double singlePerSlotMs = singleMs / SINGLE_SLOTS;
+        double bulkPerSlotMs = bulkMs / BULK_SLOTS;
+
+        System.out.println("=== Bulk Time Slot Creation Performance Test Results ===");
+        System.out.println("Single inserts: " + SINGLE_SLOTS + " slots in " + String.format("%.2f", singleMs) + " ms");
+        System.out.println("Per slot (single): " + String.format("%.4f", singlePerSlotMs) + " ms");
+        System.out.println("Bulk request: " + BULK_SLOTS + " slots in " + String.format("%.2f", bulkMs) + " ms");
+        System.out.println("Per slot (bulk): " + String.format("%.4f", bulkPerSlotMs) + " ms");
+
+        assertEquals(BULK_SLOTS, response.createdCount());
+        assertEquals(SINGLE_SLOTS + BULK_SLOTS, timeSlotRepository.findByUserIdOrderByStartTime(user.getId()).size());
+        assertTrue(bulkPerSlotMs < singlePerSlotMs, "Bulk creation should cost less per slot than single inserts");
+    }
+}
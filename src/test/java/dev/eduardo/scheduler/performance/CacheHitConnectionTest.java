@@ -0,0 +1,80 @@
+package dev.eduardo.scheduler.performance;
+
+import dev.eduardo.scheduler.TestcontainersConfiguration;
+import dev.eduardo.scheduler.config.ConnectionCountingDataSource;
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.entities.User;
+import dev.eduardo.scheduler.domain.repository.TimeSlotRepository;
+import dev.eduardo.scheduler.domain.repository.UserRepository;
+import dev.eduardo.scheduler.service.CalendarService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class CacheHitConnectionTest {
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+
+        user = userRepository.save(User.builder()
+                .name("Connection Test User")
+                .email("connection-" + UUID.randomUUID() + "@example.com")
+                .timezone("UTC")
+                .build());
+        timeSlotRepository.save(TimeSlot.builder()
+                .user(user)
+                .startTime(Instant.parse("2026-02-01T10:00:00Z"))
+                .endTime(Instant.parse("2026-02-01T11:00:00Z"))
+                .status(TimeSlot.SlotStatus.AVAILABLE)
+                .build());
+    }
+
+    @Test
+    void shouldNotAcquireConnection_OnCacheHit() {
+        var startDate = LocalDate.of(2026, 2, 1);
+        var endDate = LocalDate.of(2026, 2, 7);
+
+        // Given - the first call loads the calendar from the database
+        ConnectionCountingDataSource.startCounting();
+        var miss = calendarService.getUserTimeSlotsPageable(user.getId(), startDate, endDate, null, 0, 10);
+        var missConnections = ConnectionCountingDataSource.stopCounting();
+
+        // When - the same calendar is read again, with a different page size
+        ConnectionCountingDataSource.startCounting();
+        var hit = calendarService.getUserTimeSlotsPageable(user.getId(), startDate, endDate, null, 0, 5);
+        var hitConnections = ConnectionCountingDataSource.stopCounting();
+
+        // Then
+        assertTrue(missConnections > 0, "Cache miss should read from the database");
+        assertEquals(0, hitConnections, "Cache hit should not borrow a JDBC connection");
+        assertEquals(miss.timeSlots(), hit.timeSlots());
+    }
+}
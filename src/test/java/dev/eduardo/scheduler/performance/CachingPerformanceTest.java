@@ -99,7 +99,7 @@ class CachingPerformanceTest {
         System.out.println("Average time per operation: " + String.format("%.4f", cachedTimeMs / (100 * testUsers.size())) + " ms");
 
         // Verify cache hit rate
-        var calendarCache = cacheManager.getCache("userTimeSlotsPageable");
+        var calendarCache = cacheManager.getCache("userCalendars");
         
         assertNotNull(calendarCache);
         
@@ -172,7 +172,7 @@ class CachingPerformanceTest {
         }
 
         // Verify cache is populated
-        var calendarCache = cacheManager.getCache("userTimeSlotsPageable");
+        var calendarCache = cacheManager.getCache("userCalendars");
         assertNotNull(calendarCache);
 
         long startTime = System.nanoTime();
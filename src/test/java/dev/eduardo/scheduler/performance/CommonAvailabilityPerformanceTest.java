@@ -0,0 +1,97 @@
+package dev.eduardo.scheduler.performance;
+
+import dev.eduardo.scheduler.domain.projection.TimeSlotInterval;
+import dev.eduardo.scheduler.service.AvailabilitySweep;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Times the sweep on its own, the query loading the slots is the same single indexed query whatever the user count
+ */
+class CommonAvailabilityPerformanceTest {
+
+    private static final int[] USER_COUNTS = {2, 8, 50, 200};
+    private static final int DAYS = 31;
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 50;
+
+    private static final Instant FROM = Instant.parse("2030-01-01T00:00:00Z");
+    private static final Instant TO = FROM.plus(DAYS, ChronoUnit.DAYS);
+
+    @Test
+    void shouldFindCommonWeekdayMornings_ForGrowingNumbersOfUsers() {
+        for (int userCount : USER_COUNTS) {
+            // Given
+            var intervals = generateSlots(userCount);
+
+            // When
+            var windows = AvailabilitySweep.commonWindows(intervals, userCount, FROM, TO, Duration.ofMinutes(30));
+
+            // Then - every user is free on weekday mornings, so those are always found
+            assertTrue(windows.size() >= 20, "Weekday mornings should be common windows for " + userCount + " users");
+        }
+    }
+
+    @Test
+    @Tag("performance")
+    void shouldMeasureSweepCost_ForGrowingNumbersOfUsers() {
+        System.out.println("=== Common Availability Performance Test Results ===");
+
+        for (int userCount : USER_COUNTS) {
+            var intervals = generateSlots(userCount);
+
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                AvailabilitySweep.commonWindows(intervals, userCount, FROM, TO, Duration.ofMinutes(30));
+            }
+
+            List<AvailabilitySweep.Window> windows = List.of();
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                windows = AvailabilitySweep.commonWindows(intervals, userCount, FROM, TO, Duration.ofMinutes(30));
+            }
+            double perRunMs = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_RUNS;
+
+            System.out.println(userCount + " users, " + intervals.size() + " slots: "
+                    + String.format("%.3f", perRunMs) + " ms per run, " + windows.size() + " common windows");
+
+            assertTrue(perRunMs < 100, "Sweep over " + intervals.size() + " slots took " + perRunMs + " ms");
+        }
+    }
+
+    /**
+     * Half-hour slots from 08:00 to 18:00 on weekdays, each free with a probability that drops in the afternoon.
+     * The slots of 09:00 to 10:00 are always free.
+     */
+    private static List<TimeSlotInterval> generateSlots(int userCount) {
+        var random = new Random(userCount);
+        var intervals = new ArrayList<TimeSlotInterval>();
+        for (int u = 0; u < userCount; u++) {
+            var userId = UUID.randomUUID();
+            for (int day = 0; day < DAYS; day++) {
+                var dayStart = FROM.plus(day, ChronoUnit.DAYS);
+                if (dayStart.atZone(ZoneOffset.UTC).getDayOfWeek().getValue() > 5) {
+                    continue;
+                }
+                for (int halfHour = 16; halfHour < 36; halfHour++) {
+                    boolean alwaysFree = halfHour == 18 || halfHour == 19;
+                    if (alwaysFree || random.nextDouble() < (halfHour < 24 ? 0.9 : 0.6)) {
+                        var start = dayStart.plus(halfHour * 30L, ChronoUnit.MINUTES);
+                        intervals.add(new TimeSlotInterval(userId, start, start.plus(30, ChronoUnit.MINUTES)));
+                    }
+                }
+            }
+        }
+        return intervals;
+    }
+}
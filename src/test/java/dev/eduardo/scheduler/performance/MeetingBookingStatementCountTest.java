@@ -0,0 +1,111 @@
+package dev.eduardo.scheduler.performance;
+
+import dev.eduardo.scheduler.TestcontainersConfiguration;
+import dev.eduardo.scheduler.api.dto.CreateMeetingRequest;
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.entities.User;
+import dev.eduardo.scheduler.domain.repository.TimeSlotRepository;
+import dev.eduardo.scheduler.domain.repository.UserRepository;
+import dev.eduardo.scheduler.service.CalendarService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class MeetingBookingStatementCountTest {
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User organizer;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        organizer = saveUser("Organizer");
+    }
+
+    @Test
+    void shouldUseConstantNumberOfStatements_WhateverTheParticipantCount() {
+        // Given
+        var start = Instant.parse("2030-06-01T09:00:00Z");
+
+        // When
+        long smallMeetingStatements = statementsToBook(start, 2);
+        long largeMeetingStatements = statementsToBook(start.plus(1, ChronoUnit.HOURS), 50);
+
+        // Then - the meeting and its 50 participants are inserted, with the same statements as for 2 participants
+        assertEquals(51, statistics.getEntityInsertCount());
+        assertEquals(smallMeetingStatements, largeMeetingStatements,
+                "Booking should prepare the same number of statements whatever the participant count");
+    }
+
+    /**
+     * Books a new slot with {@code participants} distinct participants, half of them existing users, plus one
+     * duplicate
+     *
+     * @return the number of JDBC statements prepared by the booking
+     */
+    private long statementsToBook(Instant start, int participants) {
+        var timeSlot = timeSlotRepository.save(TimeSlot.builder()
+                .user(organizer)
+                .startTime(start)
+                .endTime(start.plus(1, ChronoUnit.HOURS))
+                .status(TimeSlot.SlotStatus.AVAILABLE)
+                .build());
+
+        var participantRequests = new ArrayList<CreateMeetingRequest.ParticipantRequest>();
+        for (int i = 0; i < participants; i++) {
+            var email = i % 2 == 0
+                    ? saveUser("Participant " + i).getEmail()
+                    : "external-" + UUID.randomUUID() + "@example.com";
+            participantRequests.add(new CreateMeetingRequest.ParticipantRequest("Participant " + i, email));
+        }
+        participantRequests.add(participantRequests.getFirst());
+
+        var request = CreateMeetingRequest.builder()
+                .title("Statement Count Meeting")
+                .participants(participantRequests)
+                .build();
+
+        statistics.clear();
+        var response = calendarService.createMeeting(timeSlot.getId(), request);
+        assertEquals(participants, response.participants().size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User saveUser(String name) {
+        return userRepository.save(User.builder()
+                .name(name)
+                .email("statements-" + UUID.randomUUID() + "@example.com")
+                .timezone("UTC")
+                .build());
+    }
+}
@@ -0,0 +1,91 @@
+package dev.eduardo.scheduler.performance;
+
+import dev.eduardo.scheduler.service.RecurrenceExpander;
+import dev.eduardo.scheduler.service.RecurrenceRule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Times the expansion of a year of working hours, which replaces reading about two thousand stored rows
+ */
+class RecurrenceExpansionPerformanceTest {
+
+    private static final int WARMUP_RUNS = 200;
+    private static final int MEASURED_RUNS = 1000;
+
+    private static final Instant FROM = Instant.parse("2027-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2028-01-01T00:00:00Z");
+
+    /**
+     * Weekdays of 2027 times eight hourly slots
+     */
+    private static final int EXPECTED_OCCURRENCES = 261 * 8;
+
+    @Test
+    void shouldExpandEveryWeekdaySlot_OfAYear() {
+        // Given
+        var expander = workingHours();
+
+        // When
+        int occurrences = expander.expand(FROM, TO, new long[0], (start, end) -> { });
+
+        // Then
+        assertEquals(EXPECTED_OCCURRENCES, occurrences);
+    }
+
+    @Test
+    @Tag("performance")
+    void shouldExpandYearLongWindow_WithoutAllocatingPerOccurrence() {
+        var expander = workingHours();
+        var checksum = new long[1];
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            expander.expand(FROM, TO, new long[0], (start, end) -> checksum[0] += start);
+        }
+
+        long allocatedBefore = allocatedBytes();
+        int occurrences = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            occurrences = expander.expand(FROM, TO, new long[0], (slotStart, slotEnd) -> checksum[0] += slotStart);
+        }
+        double perRunMs = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_RUNS;
+        long bytesPerRun = (allocatedBytes() - allocatedBefore) / MEASURED_RUNS;
+
+        System.out.println("=== Recurrence Expansion Performance Test Results ===");
+        System.out.println(occurrences + " occurrences in a year: " + String.format("%.3f", perRunMs)
+                + " ms per run, " + (bytesPerRun >= 0 ? bytesPerRun + " bytes allocated per run" : "allocation n/a")
+                + " (checksum " + checksum[0] + ")");
+
+        assertEquals(EXPECTED_OCCURRENCES, occurrences);
+        assertTrue(perRunMs < 20, "Expanding a year took " + perRunMs + " ms");
+        if (bytesPerRun >= 0) {
+            assertTrue(bytesPerRun < EXPECTED_OCCURRENCES * 8L,
+                    "Expanding a year allocated " + bytesPerRun + " bytes");
+        }
+    }
+
+    private static RecurrenceExpander workingHours() {
+        return new RecurrenceExpander(RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR"),
+                LocalDate.of(2026, 1, 5), LocalTime.of(9, 0), LocalTime.of(17, 0), 60, ZoneId.of("Europe/Berlin"));
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or -1 if the JVM does not tell
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+                && threadMXBean.isThreadAllocatedMemorySupported()) {
+            return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().threadId());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,98 @@
+package dev.eduardo.scheduler.performance;
+
+import dev.eduardo.scheduler.service.ZoneDayTable;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the local dates and times of a calendar's slots looked up in a {@link ZoneDayTable} with converting every
+ * instant through {@code atZone}, as calendar grouping did before
+ */
+class ZoneDayTablePerformanceTest {
+
+    private static final int WARMUP_RUNS = 50;
+    private static final int MEASURED_RUNS = 200;
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+
+    /**
+     * Quarter hour slots over three months, spanning the spring transition
+     */
+    private static final Instant[] STARTS = starts(Instant.parse("2026-02-01T00:00:00Z"), 90 * 96, 15 * 60);
+
+    @Test
+    void shouldConvertSlotTimesLikeZonedDateTime() {
+        // Given
+        var table = table();
+
+        // When & Then
+        assertEquals(viaAtZone(), viaTable(table));
+    }
+
+    @Test
+    @Tag("performance")
+    void shouldConvertSlotTimesFaster_ThanZonedDateTime() {
+        var table = table();
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            viaAtZone();
+            viaTable(table);
+        }
+
+        long start = System.nanoTime();
+        long atZoneChecksum = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            atZoneChecksum += viaAtZone();
+        }
+        double atZoneMs = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_RUNS;
+
+        start = System.nanoTime();
+        long tableChecksum = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            tableChecksum += viaTable(table);
+        }
+        double tableMs = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_RUNS;
+
+        System.out.println("=== Zone Day Table Performance Test Results ===");
+        System.out.println(STARTS.length + " slots: atZone " + String.format("%.3f", atZoneMs) + " ms, table "
+                + String.format("%.3f", tableMs) + " ms per run");
+
+        assertEquals(atZoneChecksum, tableChecksum);
+        assertTrue(tableMs < atZoneMs, "Table lookups took " + tableMs + " ms, atZone " + atZoneMs + " ms");
+    }
+
+    private static ZoneDayTable table() {
+        return ZoneDayTable.of(ZONE, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 5, 1));
+    }
+
+    private static long viaAtZone() {
+        long checksum = 0;
+        for (var start : STARTS) {
+            var local = start.atZone(ZONE);
+            checksum += local.toLocalDate().toEpochDay() * 31 + local.toLocalTime().toSecondOfDay();
+        }
+        return checksum;
+    }
+
+    private static long viaTable(ZoneDayTable table) {
+        long checksum = 0;
+        for (var start : STARTS) {
+            checksum += table.epochDay(start) * 31 + table.localTime(start).toSecondOfDay();
+        }
+        return checksum;
+    }
+
+    private static Instant[] starts(Instant from, int count, int stepSeconds) {
+        var starts = new Instant[count];
+        for (int i = 0; i < count; i++) {
+            starts[i] = from.plusSeconds((long) i * stepSeconds);
+        }
+        return starts;
+    }
+}
@@ -0,0 +1,121 @@
+package dev.eduardo.scheduler.resilience;
+
+import dev.eduardo.scheduler.service.exception.DatabaseUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CircuitBreakingDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connectionMock;
+
+    @Mock
+    private PreparedStatement statementMock;
+
+    private DatabaseCircuitBreaker circuitBreaker;
+    private CircuitBreakingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new DatabaseCircuitBreakerProperties(
+                true, 3, Duration.ofSeconds(2), Duration.ofSeconds(10), 2);
+        circuitBreaker = new DatabaseCircuitBreaker(properties, Clock.systemUTC(), new SimpleMeterRegistry());
+        dataSource = new CircuitBreakingDataSource(targetDataSource, circuitBreaker);
+    }
+
+    @Test
+    void shouldRejectConnections_WhenConnectionsCannotBeObtained() throws Exception {
+        // Given
+        var connectionFailure = new SQLTransientConnectionException("Connection is not available");
+        when(targetDataSource.getConnection()).thenThrow(connectionFailure);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        }
+
+        // When
+        var thrown = assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        // Then
+        assertTrue(circuitBreaker.isOpen());
+        assertInstanceOf(DatabaseUnavailableException.class, thrown.getCause());
+    }
+
+    @Test
+    void shouldCountLostConnectionOnce_WhenSeveralOfItsStatementsFail() throws Exception {
+        // Given
+        givenStatementFailing(new SQLException("An I/O error occurred while sending to the backend", "08006"));
+
+        // When
+        try (var connection = dataSource.getConnection()) {
+            for (int i = 0; i < 3; i++) {
+                var statement = connection.prepareStatement("select 1");
+                assertThrows(SQLException.class, statement::executeQuery);
+            }
+        }
+
+        // Then - one failure stays below the threshold of three
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.state());
+        verify(connectionMock).close();
+    }
+
+    @Test
+    void shouldOpen_WhenStatementsOfConsecutiveConnectionsTimeOut() throws Exception {
+        // Given
+        givenStatementFailing(new SQLException("canceling statement due to statement timeout", "57014"));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            try (var connection = dataSource.getConnection()) {
+                assertThrows(SQLException.class, connection.prepareStatement("select 1")::executeQuery);
+            }
+        }
+
+        // Then
+        assertTrue(circuitBreaker.isOpen());
+    }
+
+    @Test
+    void shouldCountConnectionAsSuccess_WhenDatabaseRejectsItsStatement() throws Exception {
+        // Given - two failures, one short of the threshold
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        givenStatementFailing(new SQLException("duplicate key value violates unique constraint", "23505"));
+
+        // When
+        try (var connection = dataSource.getConnection()) {
+            var statement = connection.prepareStatement("insert into users (name) values (?) returning id");
+            assertThrows(SQLException.class, statement::executeQuery);
+        }
+        circuitBreaker.recordFailure();
+
+        // Then
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.state());
+    }
+
+    private void givenStatementFailing(SQLException failure) throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connectionMock);
+        when(connectionMock.prepareStatement(anyString())).thenReturn(statementMock);
+        when(statementMock.executeQuery()).thenThrow(failure);
+    }
+}
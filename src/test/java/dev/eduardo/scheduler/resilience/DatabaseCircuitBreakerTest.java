@@ -0,0 +1,165 @@
+package dev.eduardo.scheduler.resilience;
+
+import dev.eduardo.scheduler.service.exception.DatabaseUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatabaseCircuitBreakerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-02-01T12:00:00Z"));
+    private SimpleMeterRegistry meterRegistry;
+    private DatabaseCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var properties = new DatabaseCircuitBreakerProperties(
+                true, 3, Duration.ofSeconds(2), Duration.ofSeconds(10), 2);
+        circuitBreaker = new DatabaseCircuitBreaker(properties, clock, meterRegistry);
+    }
+
+    @Test
+    void shouldOpenAndRejectCalls_AfterConsecutiveFailures() {
+        // Given
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+
+        // When & Then
+        assertEquals(DatabaseCircuitBreaker.State.OPEN, circuitBreaker.state());
+        assertThrows(DatabaseUnavailableException.class, circuitBreaker::acquirePermission);
+        assertEquals(1.0, meterRegistry.get("db.circuit.rejected").counter().count());
+    }
+
+    @Test
+    void shouldCountSlowCallsAsFailures() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordSuccess(Duration.ofSeconds(5));
+        }
+
+        // When & Then
+        assertTrue(circuitBreaker.isOpen());
+    }
+
+    @Test
+    void shouldResetFailureCount_OnSuccess() {
+        // Given
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordSuccess(Duration.ofMillis(10));
+        circuitBreaker.recordFailure();
+
+        // When & Then
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulTrialCalls_WhenOpenDurationElapsed() {
+        // Given
+        openBreaker();
+        clock.advance(Duration.ofSeconds(11));
+
+        // When
+        circuitBreaker.acquirePermission();
+        circuitBreaker.recordSuccess(Duration.ofMillis(10));
+        var stateAfterFirstTrial = circuitBreaker.state();
+        circuitBreaker.recordSuccess(Duration.ofMillis(10));
+
+        // Then
+        assertEquals(DatabaseCircuitBreaker.State.HALF_OPEN, stateAfterFirstTrial);
+        assertEquals(DatabaseCircuitBreaker.State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    void shouldReopen_WhenTrialCallFails() {
+        // Given
+        openBreaker();
+        clock.advance(Duration.ofSeconds(11));
+        circuitBreaker.acquirePermission();
+
+        // When
+        circuitBreaker.recordFailure();
+
+        // Then
+        assertTrue(circuitBreaker.isOpen());
+        assertThrows(DatabaseUnavailableException.class, circuitBreaker::acquirePermission);
+    }
+
+    @Test
+    void shouldAdmitOnlyHalfOpenCallsTrialCalls_WhenHalfOpen() {
+        // Given
+        openBreaker();
+        clock.advance(Duration.ofSeconds(11));
+
+        // When
+        circuitBreaker.acquirePermission();
+        circuitBreaker.acquirePermission();
+
+        // Then - calls on connections already obtained are not limited
+        assertThrows(DatabaseUnavailableException.class, circuitBreaker::acquirePermission);
+        assertDoesNotThrow(circuitBreaker::checkNotOpen);
+        assertEquals(DatabaseCircuitBreaker.State.HALF_OPEN, circuitBreaker.state());
+        assertEquals(1.0, meterRegistry.get("db.circuit.rejected").counter().count());
+    }
+
+    @Test
+    void shouldHandOutTrialPermitsAgain_WhenTrialCallsNeverReportBack() {
+        // Given
+        openBreaker();
+        clock.advance(Duration.ofSeconds(11));
+        circuitBreaker.acquirePermission();
+        circuitBreaker.acquirePermission();
+
+        // When
+        clock.advance(Duration.ofSeconds(11));
+
+        // Then
+        assertDoesNotThrow(circuitBreaker::acquirePermission);
+        assertDoesNotThrow(circuitBreaker::acquirePermission);
+        assertThrows(DatabaseUnavailableException.class, circuitBreaker::acquirePermission);
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
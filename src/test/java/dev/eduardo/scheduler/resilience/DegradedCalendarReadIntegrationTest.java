@@ -0,0 +1,113 @@
+package dev.eduardo.scheduler.resilience;
+
+import dev.eduardo.scheduler.TestcontainersConfiguration;
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.entities.User;
+import dev.eduardo.scheduler.domain.repository.TimeSlotRepository;
+import dev.eduardo.scheduler.domain.repository.UserRepository;
+import dev.eduardo.scheduler.service.CalendarService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads calendars while the circuit breaker is open. The cached entries expire right away, so they are only served
+ * through the fallback window; the rest of the cache policy comes from application.yaml.
+ */
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "scheduler.cache.caches.userCalendars.ttl=100ms",
+        "scheduler.cache.caches.userCalendars.stale-window=0s",
+        "scheduler.cache.caches.userCalendarPages.ttl=100ms",
+        "scheduler.cache.caches.userCalendarPages.stale-window=0s"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DegradedCalendarReadIntegrationTest {
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    private DatabaseCircuitBreaker circuitBreaker;
+
+    @Autowired
+    private DatabaseCircuitBreakerProperties circuitBreakerProperties;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+
+        user = userRepository.save(User.builder()
+                .name("Degraded Test User")
+                .email("degraded-" + UUID.randomUUID() + "@example.com")
+                .timezone("UTC")
+                .build());
+        timeSlotRepository.save(TimeSlot.builder()
+                .user(user)
+                .startTime(Instant.parse("2026-02-01T10:00:00Z"))
+                .endTime(Instant.parse("2026-02-01T11:00:00Z"))
+                .status(TimeSlot.SlotStatus.AVAILABLE)
+                .build());
+    }
+
+    @Test
+    void shouldServeLastKnownOpenRangeListing_WhenDatabaseIsDown() throws InterruptedException {
+        // Given - the default listing without dates is paged in SQL and cached in userCalendarPages
+        var loaded = calendarService.getUserTimeSlotsPageable(user.getId(), null, null, null, 0, 10);
+        Thread.sleep(200);
+        openCircuitBreaker();
+
+        // When
+        var served = calendarService.getUserTimeSlotsPageable(user.getId(), null, null, null, 0, 10);
+
+        // Then
+        assertEquals(loaded, served);
+        assertEquals(1, served.timeSlots().size());
+    }
+
+    @Test
+    void shouldServeLastKnownBoundedListing_WhenDatabaseIsDown() throws InterruptedException {
+        // Given
+        var startDate = LocalDate.of(2026, 2, 1);
+        var endDate = LocalDate.of(2026, 2, 7);
+        var loaded = calendarService.getUserTimeSlotsPageable(user.getId(), startDate, endDate, null, 0, 10);
+        Thread.sleep(200);
+        openCircuitBreaker();
+
+        // When
+        var served = calendarService.getUserTimeSlotsPageable(user.getId(), startDate, endDate, null, 0, 10);
+
+        // Then
+        assertEquals(loaded, served);
+    }
+
+    private void openCircuitBreaker() {
+        for (int i = 0; i < circuitBreakerProperties.failureThreshold(); i++) {
+            circuitBreaker.recordFailure();
+        }
+        assertTrue(circuitBreaker.isOpen());
+    }
+}
@@ -0,0 +1,155 @@
+package dev.eduardo.scheduler.routing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primaryMock;
+
+    @Mock
+    private DataSource replicaMock;
+
+    @Mock
+    private Connection primaryConnectionMock;
+
+    @Mock
+    private Connection replicaConnectionMock;
+
+    @Mock
+    private ReadYourWritesTracker readYourWritesTrackerMock;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaSet replicaSet;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        var replicas = new LinkedHashMap<String, DataSource>();
+        replicas.put("replica-0", replicaMock);
+        replicaSet = new ReplicaSet(replicas, Duration.ofSeconds(10), meterRegistry);
+        dataSource = new ReplicaRoutingDataSource(primaryMock, replicaSet, readYourWritesTrackerMock, meterRegistry);
+    }
+
+    @Test
+    void shouldReadFromReplica_WhenReplicaIsHealthy() throws Exception {
+        // Given
+        runHealthCheck(0.5);
+        when(replicaMock.getConnection()).thenReturn(replicaConnectionMock);
+
+        // When
+        var connection = dataSource.getConnection();
+
+        // Then
+        assertSame(replicaConnectionMock, connection);
+        verifyNoInteractions(primaryMock, readYourWritesTrackerMock);
+    }
+
+    @Test
+    void shouldReadFromPrimary_WhenUserWroteRecently() throws Exception {
+        // Given
+        var userId = UUID.randomUUID();
+        runHealthCheck(0);
+        when(readYourWritesTrackerMock.wroteRecently(List.of(userId))).thenReturn(true);
+        when(primaryMock.getConnection()).thenReturn(primaryConnectionMock);
+
+        // When
+        var connection = ReplicaRoutingContext.readingUser(userId, this::getConnection);
+
+        // Then
+        assertSame(primaryConnectionMock, connection);
+        assertEquals(1.0, meterRegistry.get("db.read.routing").tag("reason", "read_your_writes").counter().count());
+    }
+
+    @Test
+    void shouldReadFromPrimary_WhenAnyOfTheUsersWroteRecently() throws Exception {
+        // Given
+        var userIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        runHealthCheck(0);
+        when(readYourWritesTrackerMock.wroteRecently(userIds)).thenReturn(true);
+        when(primaryMock.getConnection()).thenReturn(primaryConnectionMock);
+
+        // When
+        var connection = ReplicaRoutingContext.readingUsers(userIds, this::getConnection);
+
+        // Then
+        assertSame(primaryConnectionMock, connection);
+    }
+
+    @Test
+    void shouldReadFromPrimary_WhenReplicaLagsTooFarBehind() throws Exception {
+        // Given
+        runHealthCheck(30);
+        when(primaryMock.getConnection()).thenReturn(primaryConnectionMock);
+
+        // When
+        var connection = dataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnectionMock, connection);
+        assertEquals(0, replicaSet.healthyCount());
+    }
+
+    @Test
+    void shouldTakeReplicaOutOfRotation_WhenItsConnectionFails() throws Exception {
+        // Given
+        runHealthCheck(0);
+        when(replicaMock.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primaryMock.getConnection()).thenReturn(primaryConnectionMock);
+
+        // When
+        var first = dataSource.getConnection();
+        var second = dataSource.getConnection();
+
+        // Then
+        assertSame(primaryConnectionMock, first);
+        assertSame(primaryConnectionMock, second);
+        verify(replicaMock, times(2)).getConnection();
+        assertEquals(2.0, meterRegistry.get("db.read.routing").tag("reason", "no_healthy_replica").counter().count());
+    }
+
+    /**
+     * Runs a health check in which the replica reports {@code lagSeconds} of replay lag
+     */
+    private void runHealthCheck(double lagSeconds) throws SQLException {
+        var probeConnection = mock(Connection.class);
+        var statement = mock(Statement.class);
+        var resultSet = mock(ResultSet.class);
+        when(replicaMock.getConnection()).thenReturn(probeConnection);
+        when(probeConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+
+        replicaSet.checkHealth();
+    }
+
+    private Connection getConnection() {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
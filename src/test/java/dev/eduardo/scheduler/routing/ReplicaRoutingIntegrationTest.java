@@ -0,0 +1,99 @@
+package dev.eduardo.scheduler.routing;
+
+import dev.eduardo.scheduler.TestcontainersConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Uses a second, independent Postgres container as the "replica". Its database has another name, so every test can
+ * tell which node served a transaction.
+ */
+@ActiveProfiles("test")
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class ReplicaRoutingIntegrationTest {
+
+    private static final String REPLICA_DATABASE = "replica";
+
+    private static final PostgreSQLContainer replica =
+            new PostgreSQLContainer(DockerImageName.parse("postgres:17")).withDatabaseName(REPLICA_DATABASE);
+
+    static {
+        replica.start();
+    }
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("scheduler.database.replicas.enabled", () -> true);
+        registry.add("scheduler.database.replicas.nodes[0].url", replica::getJdbcUrl);
+        registry.add("scheduler.database.replicas.nodes[0].username", replica::getUsername);
+        registry.add("scheduler.database.replicas.nodes[0].password", replica::getPassword);
+    }
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReplicaSet replicaSet;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @BeforeEach
+    void setUp() {
+        replicaSet.checkHealth();
+    }
+
+    @Test
+    void shouldRunReadOnlyTransactionsOnReplica_AndOthersOnPrimary() {
+        // When
+        var readOnlyDatabase = currentDatabase(true);
+        var readWriteDatabase = currentDatabase(false);
+
+        // Then
+        assertEquals(1, replicaSet.healthyCount());
+        assertEquals(REPLICA_DATABASE, readOnlyDatabase);
+        assertNotEquals(REPLICA_DATABASE, readWriteDatabase);
+    }
+
+    @Test
+    void shouldReadFromPrimary_WithinReadYourWritesWindowOfUser() {
+        // Given
+        var writer = UUID.randomUUID();
+        var otherUser = UUID.randomUUID();
+        readYourWritesTracker.recordWrite(writer);
+
+        // When
+        var writerDatabase = ReplicaRoutingContext.readingUser(writer, () -> currentDatabase(true));
+        var otherUserDatabase = ReplicaRoutingContext.readingUser(otherUser, () -> currentDatabase(true));
+
+        // Then
+        assertNotEquals(REPLICA_DATABASE, writerDatabase);
+        assertEquals(REPLICA_DATABASE, otherUserDatabase);
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+    }
+}
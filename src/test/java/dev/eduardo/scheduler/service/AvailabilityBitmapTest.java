@@ -0,0 +1,128 @@
+package dev.eduardo.scheduler.service;
+
+import dev.eduardo.scheduler.domain.projection.TimeSlotInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityBitmapTest {
+
+    private final UUID userId = new UUID(0, 1);
+    private final LocalDate day = LocalDate.of(2026, 2, 1);
+
+    @Test
+    void shouldSetOnlyQuantaEntirelyCoveredByAvailableSlots() {
+        // Given - 15 minute quanta, so 09:00 is quantum 36
+        var intervals = List.of(
+                slot("2026-02-01T09:05:00Z", "2026-02-01T10:00:00Z"),
+                slot("2026-02-01T10:00:00Z", "2026-02-01T10:20:00Z"));
+
+        // When
+        var bitmap = AvailabilityBitmap.ofDay(day, 15, intervals);
+
+        // Then - adjacent slots are merged, partly covered quanta stay clear
+        assertEquals(96, bitmap.length());
+        assertFalse(bitmap.get(36));
+        assertTrue(bitmap.get(37));
+        assertTrue(bitmap.get(40));
+        assertFalse(bitmap.get(41));
+        assertEquals(37, bitmap.firstRun(1, 0));
+    }
+
+    @Test
+    void shouldClipSlotsRunningPastTheDay() {
+        // Given
+        var intervals = List.of(
+                slot("2026-01-31T22:00:00Z", "2026-02-01T00:30:00Z"),
+                slot("2026-02-01T23:30:00Z", "2026-02-02T02:00:00Z"));
+
+        // When
+        var bitmap = AvailabilityBitmap.ofDay(day, 15, intervals);
+
+        // Then
+        assertEquals(0, bitmap.firstRun(2, 0));
+        assertEquals(94, bitmap.firstRun(2, 2));
+        assertEquals(-1, bitmap.firstRun(3, 2));
+    }
+
+    @Test
+    void shouldIntersectAndUniteWordByWord() {
+        // Given
+        var morning = AvailabilityBitmap.ofDay(day, 5, List.of(slot("2026-02-01T08:00:00Z", "2026-02-01T12:00:00Z")));
+        var midday = AvailabilityBitmap.ofDay(day, 5, List.of(slot("2026-02-01T11:00:00Z", "2026-02-01T14:00:00Z")));
+
+        // When
+        var both = morning.and(midday);
+        var either = morning.or(midday);
+
+        // Then - 11:00 is quantum 132 of 288
+        assertEquals(132, both.firstRun(1, 0));
+        assertEquals(144, both.firstRun(1, 0) + runLength(both, 132));
+        assertEquals(96, either.firstRun(72, 0));
+        assertEquals(-1, either.firstRun(73, 0));
+    }
+
+    @Test
+    void shouldFindRunSpanningDays_WhenDaysAreConcatenated() {
+        // Given - 96 quanta per day, so the second day does not start on a word boundary
+        var first = AvailabilityBitmap.ofDay(day, 15, List.of(slot("2026-02-01T23:00:00Z", "2026-02-02T00:00:00Z")));
+        var second = AvailabilityBitmap.ofDay(day.plusDays(1), 15,
+                List.of(slot("2026-02-02T00:00:00Z", "2026-02-02T01:00:00Z")));
+
+        // When
+        var range = AvailabilityBitmap.concat(List.of(first, second));
+
+        // Then
+        assertEquals(192, range.length());
+        assertEquals(92, range.firstRun(8, 0));
+        assertEquals(second, range.slice(96, 96));
+        assertEquals(first, range.slice(0, 96));
+    }
+
+    @Test
+    void shouldReturnWindowsWithinRange_AndLongEnough() {
+        // Given
+        var bitmap = AvailabilityBitmap.ofDay(day, 15, List.of(
+                slot("2026-02-01T09:00:00Z", "2026-02-01T09:30:00Z"),
+                slot("2026-02-01T11:00:00Z", "2026-02-01T13:00:00Z")));
+
+        // When
+        var windows = bitmap.windows(at("2026-02-01T11:10:00Z"), at("2026-02-02T00:00:00Z"), 3);
+
+        // Then - the search starts on the next quantum boundary, the short morning run is left out
+        assertEquals(List.of(new AvailabilitySweep.Window(at("2026-02-01T11:15:00Z"), at("2026-02-01T13:00:00Z"))),
+                windows);
+    }
+
+    @Test
+    void shouldRejectWords_WithBitsPastTheLength() {
+        // Given
+        var words = new long[]{0, 1L << 32};
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> AvailabilityBitmap.of(at("2026-02-01T00:00:00Z"), 15, 96, words));
+        assertThrows(IllegalArgumentException.class, () -> AvailabilityBitmap.quantaPerDay(7));
+    }
+
+    private static int runLength(AvailabilityBitmap bitmap, int start) {
+        int end = start;
+        while (bitmap.get(end)) {
+            end++;
+        }
+        return end - start;
+    }
+
+    private TimeSlotInterval slot(String start, String end) {
+        return new TimeSlotInterval(userId, at(start), at(end));
+    }
+
+    private static Instant at(String instant) {
+        return Instant.parse(instant);
+    }
+}
@@ -0,0 +1,138 @@
+package dev.eduardo.scheduler.service;
+
+import dev.eduardo.scheduler.domain.entities.AvailabilityRule;
+import dev.eduardo.scheduler.domain.entities.TimeSlot;
+import dev.eduardo.scheduler.domain.entities.User;
+import dev.eduardo.scheduler.domain.projection.RuleException;
+import dev.eduardo.scheduler.domain.repository.AvailabilityRuleRepository;
+import dev.eduardo.scheduler.service.exception.TimeSlotNotAvailableException;
+import dev.eduardo.scheduler.service.exception.TimeSlotNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityRuleServiceTest {
+
+    @Mock
+    private AvailabilityRuleRepository availabilityRuleRepositoryMock;
+
+    @Mock
+    private TimeSlotService timeSlotServiceMock;
+
+    @InjectMocks
+    private AvailabilityRuleService availabilityRuleService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final Instant occurrenceStart = Instant.parse("2026-03-09T09:00:00Z");
+
+    @Test
+    void shouldStoreOccurrence_AndExcludeItFromTheRule() {
+        // Given
+        var rule = createTestRule();
+        var occurrenceId = OccurrenceIds.of(rule.getId(), occurrenceStart.getEpochSecond());
+
+        when(availabilityRuleRepositoryMock.findByIdBetween(
+                OccurrenceIds.lowestRuleId(occurrenceId), OccurrenceIds.highestRuleId(occurrenceId)))
+                .thenReturn(Optional.of(rule));
+        when(availabilityRuleRepositoryMock.insertException(rule.getId(), LocalDateTime.of(2026, 3, 9, 9, 0)))
+                .thenReturn(1);
+        when(timeSlotServiceMock.createSlot(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var timeSlot = availabilityRuleService.materializeOccurrence(occurrenceId, TimeSlot.SlotStatus.BOOKED);
+
+        // Then
+        assertEquals(rule.getUser(), timeSlot.getUser());
+        assertEquals(occurrenceStart, timeSlot.getStartTime());
+        assertEquals(occurrenceStart.plusSeconds(3600), timeSlot.getEndTime());
+        assertEquals(TimeSlot.SlotStatus.BOOKED, timeSlot.getStatus());
+    }
+
+    @Test
+    void shouldThrowTimeSlotNotAvailableException_WhenOccurrenceWasAlreadyStored() {
+        // Given
+        var rule = createTestRule();
+        var occurrenceId = OccurrenceIds.of(rule.getId(), occurrenceStart.getEpochSecond());
+
+        when(availabilityRuleRepositoryMock.findByIdBetween(any(), any())).thenReturn(Optional.of(rule));
+        when(availabilityRuleRepositoryMock.insertException(any(), any())).thenReturn(0);
+
+        // When & Then
+        assertThrows(TimeSlotNotAvailableException.class,
+                () -> availabilityRuleService.materializeOccurrence(occurrenceId, TimeSlot.SlotStatus.BOOKED));
+        verifyNoInteractions(timeSlotServiceMock);
+    }
+
+    @Test
+    void shouldThrowTimeSlotNotFoundException_WhenRuleHasNoSuchOccurrence() {
+        // Given - the rule has slots on the hour only
+        var rule = createTestRule();
+        var occurrenceId = OccurrenceIds.of(rule.getId(), occurrenceStart.plusSeconds(1800).getEpochSecond());
+
+        when(availabilityRuleRepositoryMock.findByIdBetween(any(), any())).thenReturn(Optional.of(rule));
+
+        // When & Then
+        assertThrows(TimeSlotNotFoundException.class,
+                () -> availabilityRuleService.materializeOccurrence(occurrenceId, TimeSlot.SlotStatus.BOOKED));
+        verify(availabilityRuleRepositoryMock, never()).insertException(any(), any());
+    }
+
+    @Test
+    void shouldNotFindOccurrence_WhenItIsExcludedFromTheRule() {
+        // Given
+        var rule = createTestRule();
+        var occurrenceId = OccurrenceIds.of(rule.getId(), occurrenceStart.getEpochSecond());
+
+        when(availabilityRuleRepositoryMock.findByIdBetween(any(), any())).thenReturn(Optional.of(rule));
+        when(availabilityRuleRepositoryMock.findExceptions(
+                List.of(rule.getId()), occurrenceStart, occurrenceStart.plusSeconds(1)))
+                .thenReturn(List.of(new RuleException(rule.getId(), occurrenceStart)));
+
+        // When & Then
+        assertTrue(availabilityRuleService.findOccurrence(occurrenceId).isEmpty());
+    }
+
+    @Test
+    void shouldNotLookUpRules_ForIdsOfStoredSlots() {
+        // When
+        var occurrence = availabilityRuleService.findOccurrence(UUID.randomUUID());
+
+        // Then
+        assertTrue(occurrence.isEmpty());
+        verifyNoInteractions(availabilityRuleRepositoryMock);
+    }
+
+    private AvailabilityRule createTestRule() {
+        var user = User.builder()
+                .id(userId)
+                .name("Test User")
+                .email("test@example.com")
+                .timezone("UTC")
+                .build();
+        return AvailabilityRule.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .rrule("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO")
+                .startDate(LocalDate.of(2026, 3, 2))
+                .dayStart(LocalTime.of(9, 0))
+                .dayEnd(LocalTime.of(11, 0))
+                .slotMinutes(60)
+                .timezone("UTC")
+                .build();
+    }
+}
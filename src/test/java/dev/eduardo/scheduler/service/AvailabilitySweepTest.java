@@ -0,0 +1,108 @@
+package dev.eduardo.scheduler.service;
+
+import dev.eduardo.scheduler.domain.projection.TimeSlotInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilitySweepTest {
+
+    private final UUID alice = new UUID(0, 1);
+    private final UUID bob = new UUID(0, 2);
+    private final UUID carol = new UUID(0, 3);
+    private final Instant from = at("2026-02-01T00:00:00Z");
+    private final Instant to = at("2026-02-02T00:00:00Z");
+
+    @Test
+    void shouldIntersectAvailabilityOfAllUsers() {
+        // Given
+        var intervals = List.of(
+                slot(alice, "2026-02-01T09:00:00Z", "2026-02-01T12:00:00Z"),
+                slot(alice, "2026-02-01T14:00:00Z", "2026-02-01T17:00:00Z"),
+                slot(bob, "2026-02-01T10:00:00Z", "2026-02-01T15:00:00Z"),
+                slot(carol, "2026-02-01T08:00:00Z", "2026-02-01T11:00:00Z"),
+                slot(carol, "2026-02-01T14:30:00Z", "2026-02-01T18:00:00Z"));
+
+        // When
+        var windows = AvailabilitySweep.commonWindows(intervals, 3, from, to, Duration.ofMinutes(30));
+
+        // Then
+        assertEquals(List.of(
+                window("2026-02-01T10:00:00Z", "2026-02-01T11:00:00Z"),
+                window("2026-02-01T14:30:00Z", "2026-02-01T15:00:00Z")), windows);
+    }
+
+    @Test
+    void shouldMergeAdjacentSlotsOfTheSameUser() {
+        // Given
+        var intervals = List.of(
+                slot(alice, "2026-02-01T09:00:00Z", "2026-02-01T10:00:00Z"),
+                slot(alice, "2026-02-01T10:00:00Z", "2026-02-01T11:00:00Z"),
+                slot(bob, "2026-02-01T09:30:00Z", "2026-02-01T10:30:00Z"));
+
+        // When
+        var windows = AvailabilitySweep.commonWindows(intervals, 2, from, to, Duration.ofMinutes(30));
+
+        // Then
+        assertEquals(List.of(window("2026-02-01T09:30:00Z", "2026-02-01T10:30:00Z")), windows);
+    }
+
+    @Test
+    void shouldLeaveOutWindowsShorterThanMinimumDuration() {
+        // Given
+        var intervals = List.of(
+                slot(alice, "2026-02-01T09:00:00Z", "2026-02-01T10:00:00Z"),
+                slot(bob, "2026-02-01T09:45:00Z", "2026-02-01T11:00:00Z"));
+
+        // When
+        var windows = AvailabilitySweep.commonWindows(intervals, 2, from, to, Duration.ofMinutes(30));
+
+        // Then
+        assertTrue(windows.isEmpty());
+    }
+
+    @Test
+    void shouldClipWindowsToSearchedRange() {
+        // Given
+        var intervals = List.of(
+                slot(alice, "2026-01-31T22:00:00Z", "2026-02-01T02:00:00Z"),
+                slot(bob, "2026-01-31T23:00:00Z", "2026-02-01T01:00:00Z"));
+
+        // When
+        var windows = AvailabilitySweep.commonWindows(intervals, 2, from, to, Duration.ofMinutes(30));
+
+        // Then
+        assertEquals(List.of(window("2026-02-01T00:00:00Z", "2026-02-01T01:00:00Z")), windows);
+    }
+
+    @Test
+    void shouldReturnNoWindows_WhenAUserHasNoAvailableSlots() {
+        // Given
+        var intervals = List.of(
+                slot(alice, "2026-02-01T09:00:00Z", "2026-02-01T10:00:00Z"),
+                slot(bob, "2026-02-01T09:00:00Z", "2026-02-01T10:00:00Z"));
+
+        // When
+        var windows = AvailabilitySweep.commonWindows(intervals, 3, from, to, Duration.ofMinutes(30));
+
+        // Then
+        assertTrue(windows.isEmpty());
+    }
+
+    private static TimeSlotInterval slot(UUID userId, String start, String end) {
+        return new TimeSlotInterval(userId, at(start), at(end));
+    }
+
+    private static AvailabilitySweep.Window window(String start, String end) {
+        return new AvailabilitySweep.Window(at(start), at(end));
+    }
+
+    private static Instant at(String instant) {
+        return Instant.parse(instant);
+    }
+}
@@ -1,30 +1,43 @@
 package dev.eduardo.scheduler.service;
 
+import dev.eduardo.scheduler.api.dto.CalendarCursor;
 import dev.eduardo.scheduler.api.dto.CreateMeetingRequest;
 import dev.eduardo.scheduler.api.dto.CreateMeetingResponse;
 import dev.eduardo.scheduler.api.dto.PageableUserTimeSlotsResponse;
+import dev.eduardo.scheduler.cache.CacheNames;
+import dev.eduardo.scheduler.cache.SchedulerCacheProperties;
+import dev.eduardo.scheduler.cache.UserCacheEvictor;
 import dev.eduardo.scheduler.domain.entities.Meeting;
 import dev.eduardo.scheduler.domain.entities.MeetingParticipant;
 import dev.eduardo.scheduler.domain.entities.TimeSlot;
 import dev.eduardo.scheduler.domain.entities.User;
+import dev.eduardo.scheduler.domain.projection.TimeSlotInterval;
+import dev.eduardo.scheduler.domain.projection.TimeSlotView;
+import dev.eduardo.scheduler.routing.ReadYourWritesTracker;
 import dev.eduardo.scheduler.service.exception.TimeSlotNotAvailableException;
 import dev.eduardo.scheduler.service.exception.UserNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,20 +52,42 @@ class CalendarServiceTest {
     @Mock
     private MeetingService meetingServiceMock;
 
-    @InjectMocks
+    @Mock
+    private AvailabilityRuleService availabilityRuleServiceMock;
+
+    @Mock
+    private UserCacheEvictor userCacheEvictorMock;
+
+    @Mock
+    private ReadYourWritesTracker readYourWritesTrackerMock;
+
     private CalendarService calendarService;
 
     private final UUID userId = UUID.randomUUID();
     private final UUID timeSlotId = UUID.randomUUID();
+    private final LocalDate rangeStart = LocalDate.of(2026, 2, 1);
+    private final LocalDate rangeEnd = LocalDate.of(2026, 2, 28);
+
+    @BeforeEach
+    void setUp() {
+        var userCalendarLoader = new UserCalendarLoader(userServiceMock, timeSlotServiceMock);
+        var cacheProperties = new SchedulerCacheProperties(null, null, null, null, null,
+                new SchedulerCacheProperties.AvailabilityBitmaps(Duration.ofMinutes(15)), 4, null);
+        var availabilityBitmapLoader = new AvailabilityBitmapLoader(
+                new ConcurrentMapCacheManager(), timeSlotServiceMock, cacheProperties);
+        calendarService = new CalendarService(timeSlotServiceMock, userServiceMock, meetingServiceMock,
+                availabilityRuleServiceMock, userCalendarLoader, availabilityBitmapLoader, userCacheEvictorMock,
+                readYourWritesTrackerMock);
+    }
 
     @Test
     void shouldGetUserTimeSlotsPageable_WhenUserExists() {
         // Given
         var user = createTestUser();
         var timeSlots = List.of(
-                createTestTimeSlotWithDate(user, Instant.parse("2026-02-01T10:00:00Z")),
-                createTestTimeSlotWithDate(user, Instant.parse("2026-02-02T10:00:00Z")),
-                createTestTimeSlotWithDate(user, Instant.parse("2026-02-03T10:00:00Z"))
+                createTestTimeSlotWithDate(Instant.parse("2026-02-01T10:00:00Z")),
+                createTestTimeSlotWithDate(Instant.parse("2026-02-02T10:00:00Z")),
+                createTestTimeSlotWithDate(Instant.parse("2026-02-03T10:00:00Z"))
         );
 
         when(userServiceMock.findById(userId)).thenReturn(user);
@@ -60,7 +95,7 @@ class CalendarServiceTest {
                 .thenReturn(timeSlots);
 
         // When
-        PageableUserTimeSlotsResponse result = calendarService.getUserTimeSlotsPageable(userId, null, null, null, 0, 10);
+        PageableUserTimeSlotsResponse result = calendarService.getUserTimeSlotsPageable(userId, rangeStart, rangeEnd, null, 0, 10);
 
         // Then
         assertNotNull(result);
@@ -88,9 +123,9 @@ class CalendarServiceTest {
         // Given
         var user = createTestUser();
         var timeSlots = List.of(
-                createTestTimeSlotWithDate(user, Instant.parse("2026-02-01T10:00:00Z")),
-                createTestTimeSlotWithDate(user, Instant.parse("2026-02-02T10:00:00Z")),
-                createTestTimeSlotWithDate(user, Instant.parse("2026-02-03T10:00:00Z"))
+                createTestTimeSlotWithDate(Instant.parse("2026-02-01T10:00:00Z")),
+                createTestTimeSlotWithDate(Instant.parse("2026-02-02T10:00:00Z")),
+                createTestTimeSlotWithDate(Instant.parse("2026-02-03T10:00:00Z"))
         );
 
         when(userServiceMock.findById(userId)).thenReturn(user);
@@ -98,7 +133,7 @@ class CalendarServiceTest {
                 .thenReturn(timeSlots);
 
         // When
-        PageableUserTimeSlotsResponse result = calendarService.getUserTimeSlotsPageable(userId, null, null, null, 0, 2);
+        PageableUserTimeSlotsResponse result = calendarService.getUserTimeSlotsPageable(userId, rangeStart, rangeEnd, null, 0, 2);
 
         // Then
         assertNotNull(result);
@@ -118,9 +153,9 @@ class CalendarServiceTest {
         // Given
         var user = createTestUser();
         var timeSlots = List.of(
-                createTestTimeSlotWithDate(user, Instant.parse("2026-02-01T10:00:00Z")),
-                createTestTimeSlotWithDate(user, Instant.parse("2026-02-02T10:00:00Z")),
-                createTestTimeSlotWithDate(user, Instant.parse("2026-02-03T10:00:00Z"))
+                createTestTimeSlotWithDate(Instant.parse("2026-02-01T10:00:00Z")),
+                createTestTimeSlotWithDate(Instant.parse("2026-02-02T10:00:00Z")),
+                createTestTimeSlotWithDate(Instant.parse("2026-02-03T10:00:00Z"))
         );
 
         when(userServiceMock.findById(userId)).thenReturn(user);
@@ -128,7 +163,7 @@ class CalendarServiceTest {
                 .thenReturn(timeSlots);
 
         // When - Request second page
-        PageableUserTimeSlotsResponse result = calendarService.getUserTimeSlotsPageable(userId, null, null, null, 1, 2);
+        PageableUserTimeSlotsResponse result = calendarService.getUserTimeSlotsPageable(userId, rangeStart, rangeEnd, null, 1, 2);
 
         // Then
         assertNotNull(result);
@@ -147,14 +182,14 @@ class CalendarServiceTest {
     void shouldGetUserTimeSlotsPageable_WithStatusFilter() {
         // Given
         var user = createTestUser();
-        var timeSlots = List.of(createTestTimeSlotWithDate(user, Instant.parse("2026-02-01T10:00:00Z")));
+        var timeSlots = List.of(createTestTimeSlotWithDate(Instant.parse("2026-02-01T10:00:00Z")));
 
         when(userServiceMock.findById(userId)).thenReturn(user);
         when(timeSlotServiceMock.fetchFilteredTimeSlots(eq(userId), any(), any(), eq(TimeSlot.SlotStatus.AVAILABLE), any()))
                 .thenReturn(timeSlots);
 
         // When
-        PageableUserTimeSlotsResponse result = calendarService.getUserTimeSlotsPageable(userId, null, null, TimeSlot.SlotStatus.AVAILABLE, 0, 10);
+        PageableUserTimeSlotsResponse result = calendarService.getUserTimeSlotsPageable(userId, rangeStart, rangeEnd, TimeSlot.SlotStatus.AVAILABLE, 0, 10);
 
         // Then
         assertNotNull(result);
@@ -169,7 +204,7 @@ class CalendarServiceTest {
     void shouldGetUserTimeSlotsPageable_WithDateRangeFilter() {
         // Given
         var user = createTestUser();
-        var timeSlots = List.of(createTestTimeSlotWithDate(user, Instant.parse("2026-02-01T10:00:00Z")));
+        var timeSlots = List.of(createTestTimeSlotWithDate(Instant.parse("2026-02-01T10:00:00Z")));
         var startDate = LocalDate.of(2026, 2, 1);
         var endDate = LocalDate.of(2026, 2, 28);
 
@@ -188,6 +223,124 @@ class CalendarServiceTest {
         verify(timeSlotServiceMock).fetchFilteredTimeSlots(eq(userId), eq(startDate), eq(endDate), any(), any());
     }
 
+    @Test
+    void shouldPageDatesInSql_WhenRangeIsOpen() {
+        // Given
+        var user = createTestUser();
+        var secondDay = LocalDate.of(2026, 2, 2);
+        var thirdDay = LocalDate.of(2026, 2, 3);
+        var timeSlots = List.of(
+                createTestTimeSlotWithDate(Instant.parse("2026-02-02T10:00:00Z")),
+                createTestTimeSlotWithDate(Instant.parse("2026-02-03T10:00:00Z"))
+        );
+
+        when(userServiceMock.findById(userId)).thenReturn(user);
+        when(timeSlotServiceMock.countSlotDates(eq(userId), isNull(), isNull(), isNull(), any())).thenReturn(5L);
+        when(timeSlotServiceMock.fetchSlotDates(eq(userId), isNull(), isNull(), isNull(), any(), eq(1), eq(2)))
+                .thenReturn(List.of(secondDay, thirdDay));
+        when(timeSlotServiceMock.fetchSlotsOnDates(
+                eq(userId), eq(secondDay), eq(thirdDay), isNull(), isNull(), isNull(), any()))
+                .thenReturn(timeSlots);
+
+        // When
+        PageableUserTimeSlotsResponse result = calendarService.getUserTimeSlotsPageable(userId, null, null, null, 1, 2);
+
+        // Then
+        assertEquals(2, result.timeSlots().size());
+        assertEquals(secondDay, result.timeSlots().get(0).date());
+        assertEquals(thirdDay, result.timeSlots().get(1).date());
+        assertEquals(3, result.pageInfo().totalPages());
+        assertEquals(5, result.pageInfo().totalElements());
+        assertTrue(result.pageInfo().hasNext());
+        assertTrue(result.pageInfo().hasPrevious());
+
+        verify(timeSlotServiceMock, never()).fetchFilteredTimeSlots(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldPageDatesInSql_WhenRangeIsTooLongToMaterialize() {
+        // Given
+        var user = createTestUser();
+        var startDate = LocalDate.of(2025, 1, 1);
+        var endDate = startDate.plusDays(CalendarService.MAX_MATERIALIZED_DAYS);
+
+        when(userServiceMock.findById(userId)).thenReturn(user);
+        when(timeSlotServiceMock.countSlotDates(eq(userId), eq(startDate), eq(endDate), any(), any())).thenReturn(0L);
+        when(timeSlotServiceMock.fetchSlotDates(eq(userId), eq(startDate), eq(endDate), any(), any(), eq(0), eq(10)))
+                .thenReturn(List.of());
+
+        // When
+        PageableUserTimeSlotsResponse result = calendarService.getUserTimeSlotsPageable(userId, startDate, endDate, null, 0, 10);
+
+        // Then
+        assertTrue(result.timeSlots().isEmpty());
+        assertEquals(0, result.pageInfo().totalElements());
+        verify(timeSlotServiceMock, never()).fetchSlotsOnDates(any(), any(), any(), any(), any(), any(), any());
+        verify(timeSlotServiceMock, never()).fetchFilteredTimeSlots(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldReturnNextCursor_WhenMorePagesFollow() {
+        // Given
+        var user = createTestUser();
+        var timeSlots = List.of(
+                createTestTimeSlotWithDate(Instant.parse("2026-02-01T10:00:00Z")),
+                createTestTimeSlotWithDate(Instant.parse("2026-02-02T10:00:00Z")),
+                createTestTimeSlotWithDate(Instant.parse("2026-02-03T10:00:00Z"))
+        );
+
+        when(userServiceMock.findById(userId)).thenReturn(user);
+        when(timeSlotServiceMock.fetchFilteredTimeSlots(eq(userId), any(), any(), any(), any()))
+                .thenReturn(timeSlots);
+
+        // When
+        var firstPage = calendarService.getUserTimeSlotsPageable(userId, rangeStart, rangeEnd, null, 0, 2);
+        var lastPage = calendarService.getUserTimeSlotsPageable(userId, rangeStart, rangeEnd, null, 1, 2);
+
+        // Then
+        var cursor = CalendarCursor.decode(firstPage.nextCursor());
+        assertEquals(LocalDate.of(2026, 2, 2), cursor.date());
+        assertNull(lastPage.nextCursor());
+    }
+
+    @Test
+    void shouldSeekDatesAfterCursor_WhenCursorIsGiven() {
+        // Given
+        var user = createTestUser();
+        var cursor = new CalendarCursor(LocalDate.of(2026, 2, 1));
+        var secondDay = LocalDate.of(2026, 2, 2);
+        var thirdDay = LocalDate.of(2026, 2, 3);
+        var timeSlots = List.of(
+                createTestTimeSlotWithDate(Instant.parse("2026-02-02T10:00:00Z")),
+                createTestTimeSlotWithDate(Instant.parse("2026-02-03T10:00:00Z"))
+        );
+
+        when(userServiceMock.findById(userId)).thenReturn(user);
+        when(timeSlotServiceMock.fetchSlotDatesAfter(eq(userId), isNull(), isNull(), isNull(), any(), eq(cursor), eq(2)))
+                .thenReturn(List.of(secondDay, thirdDay));
+        when(timeSlotServiceMock.fetchSlotsOnDates(
+                eq(userId), eq(secondDay), eq(secondDay), isNull(), isNull(), isNull(), any()))
+                .thenReturn(timeSlots.subList(0, 1));
+
+        // When
+        var result = calendarService.getUserTimeSlotsAfter(userId, null, null, null, cursor.encode(), 1);
+
+        // Then
+        assertEquals(1, result.timeSlots().size());
+        assertEquals(secondDay, result.timeSlots().getFirst().date());
+        assertNull(result.pageInfo());
+        assertEquals(secondDay, CalendarCursor.decode(result.nextCursor()).date());
+        verify(timeSlotServiceMock, never()).countSlotDates(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> calendarService.getUserTimeSlotsAfter(userId, null, null, null, "not-a-cursor", 10));
+        verifyNoInteractions(timeSlotServiceMock);
+    }
+
     @Test
     void shouldThrowUserNotFoundException_WhenUserDoesNotExist() {
         // Given
@@ -213,8 +366,8 @@ class CalendarServiceTest {
 
         when(timeSlotServiceMock.findById(timeSlotId)).thenReturn(timeSlot);
         when(meetingServiceMock.saveMeeting(expectedMeeting)).thenReturn(savedMeeting);
-        when(userServiceMock.findByEmail("john@example.com")).thenReturn(Optional.of(timeSlot.getUser()));
-        when(userServiceMock.findByEmail("jane@example.com")).thenReturn(Optional.empty());
+        when(userServiceMock.findByEmails(Set.of("john@example.com", "jane@example.com")))
+                .thenReturn(Map.of("john@example.com", timeSlot.getUser()));
         when(meetingServiceMock.createInternalParticipant(savedMeeting, timeSlot.getUser())).thenReturn(internalParticipant);
         when(meetingServiceMock.createExternalParticipant(savedMeeting, "Jane Smith", "jane@example.com")).thenReturn(externalParticipant);
 
@@ -231,15 +384,53 @@ class CalendarServiceTest {
         assertEquals(timeSlot.getUser().getEmail(), result.organizerEmail());
         assertEquals(2, result.participants().size());
 
-        // Verify time slot status was updated
-        assertEquals(TimeSlot.SlotStatus.BOOKED, timeSlot.getStatus());
-        verify(timeSlotServiceMock).updateSlot(timeSlot);
+        // Verify the time slot was claimed before it was loaded
+        var inOrder = inOrder(timeSlotServiceMock);
+        inOrder.verify(timeSlotServiceMock).claimSlot(timeSlotId);
+        inOrder.verify(timeSlotServiceMock).findById(timeSlotId);
+        verify(timeSlotServiceMock, never()).updateSlot(any());
 
         // Verify participant creation
-        verify(userServiceMock).findByEmail("john@example.com");
-        verify(userServiceMock).findByEmail("jane@example.com");
+        verify(userServiceMock).findByEmails(Set.of("john@example.com", "jane@example.com"));
         verify(meetingServiceMock).createInternalParticipant(savedMeeting, timeSlot.getUser());
         verify(meetingServiceMock).createExternalParticipant(savedMeeting, "Jane Smith", "jane@example.com");
+
+        // Verify only the organizer's cached calendar is evicted, after the write is recorded
+        var writeOrder = inOrder(readYourWritesTrackerMock, userCacheEvictorMock);
+        writeOrder.verify(readYourWritesTrackerMock).recordWrite(userId);
+        writeOrder.verify(userCacheEvictorMock).evictUser(userId,
+                CacheNames.USER_CALENDARS, CacheNames.USER_CALENDAR_PAGES, CacheNames.ADMIN_TIME_SLOTS,
+                CacheNames.AVAILABILITY_BITMAPS);
+    }
+
+    @Test
+    void shouldStoreTheOccurrenceAsBooked_WhenTimeSlotIsARuleOccurrence() {
+        // Given
+        var occurrenceId = OccurrenceIds.of(UUID.randomUUID(), Instant.parse("2026-02-02T09:00:00Z").getEpochSecond());
+        var timeSlot = createTestTimeSlot();
+        timeSlot.setStatus(TimeSlot.SlotStatus.BOOKED);
+        var request = createTestMeetingRequest();
+        var expectedMeeting = createTestMeeting(timeSlot, request);
+        var savedMeeting = createSavedMeeting(expectedMeeting);
+
+        when(availabilityRuleServiceMock.materializeOccurrence(occurrenceId, TimeSlot.SlotStatus.BOOKED))
+                .thenReturn(timeSlot);
+        when(meetingServiceMock.saveMeeting(expectedMeeting)).thenReturn(savedMeeting);
+        when(userServiceMock.findByEmails(Set.of("john@example.com", "jane@example.com"))).thenReturn(Map.of());
+        when(meetingServiceMock.createExternalParticipant(savedMeeting, "John Doe", "john@example.com"))
+                .thenReturn(createExternalParticipant(savedMeeting, "John Doe", "john@example.com"));
+        when(meetingServiceMock.createExternalParticipant(savedMeeting, "Jane Smith", "jane@example.com"))
+                .thenReturn(createExternalParticipant(savedMeeting, "Jane Smith", "jane@example.com"));
+
+        // When
+        var result = calendarService.createMeeting(occurrenceId, request);
+
+        // Then - the meeting refers to the stored slot, no slot is claimed
+        assertEquals(timeSlotId, result.timeSlotId());
+        verify(timeSlotServiceMock, never()).claimSlot(any());
+        verify(userCacheEvictorMock).evictUser(userId,
+                CacheNames.USER_CALENDARS, CacheNames.USER_CALENDAR_PAGES, CacheNames.ADMIN_TIME_SLOTS,
+                CacheNames.AVAILABILITY_BITMAPS);
     }
 
     @Test
@@ -261,8 +452,8 @@ class CalendarServiceTest {
 
         when(timeSlotServiceMock.findById(timeSlotId)).thenReturn(timeSlot);
         when(meetingServiceMock.saveMeeting(expectedMeeting)).thenReturn(savedMeeting);
-        when(userServiceMock.findByEmail("john@example.com")).thenReturn(Optional.of(timeSlot.getUser()));
-        when(userServiceMock.findByEmail("jane@example.com")).thenReturn(Optional.of(timeSlot.getUser()));
+        when(userServiceMock.findByEmails(Set.of("john@example.com", "jane@example.com")))
+                .thenReturn(Map.of("john@example.com", timeSlot.getUser(), "jane@example.com", timeSlot.getUser()));
         when(meetingServiceMock.createInternalParticipant(savedMeeting, timeSlot.getUser())).thenReturn(participant1);
         when(meetingServiceMock.createInternalParticipant(savedMeeting, timeSlot.getUser())).thenReturn(participant2);
 
@@ -295,7 +486,7 @@ class CalendarServiceTest {
 
         when(timeSlotServiceMock.findById(timeSlotId)).thenReturn(timeSlot);
         when(meetingServiceMock.saveMeeting(expectedMeeting)).thenReturn(savedMeeting);
-        when(userServiceMock.findByEmail("alice@external.com")).thenReturn(Optional.empty());
+        when(userServiceMock.findByEmails(Set.of("alice@external.com"))).thenReturn(Map.of());
         when(meetingServiceMock.createExternalParticipant(savedMeeting, "Alice Brown", "alice@external.com")).thenReturn(externalParticipant);
 
         // When
@@ -310,22 +501,56 @@ class CalendarServiceTest {
         verify(meetingServiceMock, never()).createInternalParticipant(any(), any());
     }
 
+    @Test
+    void shouldCollapseDuplicateParticipants_AndResolveThemWithOneLookup() {
+        // Given
+        var timeSlot = createTestTimeSlot();
+        var request = CreateMeetingRequest.builder()
+                .title("Team Meeting")
+                .description("Duplicates")
+                .participants(List.of(
+                        new CreateMeetingRequest.ParticipantRequest("John Doe", "john@example.com"),
+                        new CreateMeetingRequest.ParticipantRequest("Jane Smith", "jane@example.com"),
+                        new CreateMeetingRequest.ParticipantRequest("Johnny", "JOHN@example.com")
+                ))
+                .build();
+        var expectedMeeting = createTestMeeting(timeSlot, request);
+        var savedMeeting = createSavedMeeting(expectedMeeting);
+        var internalParticipant = createInternalParticipant(savedMeeting);
+        var externalParticipant = createExternalParticipant(savedMeeting, "Jane Smith", "jane@example.com");
+
+        when(timeSlotServiceMock.findById(timeSlotId)).thenReturn(timeSlot);
+        when(meetingServiceMock.saveMeeting(expectedMeeting)).thenReturn(savedMeeting);
+        when(userServiceMock.findByEmails(Set.of("john@example.com", "jane@example.com")))
+                .thenReturn(Map.of("john@example.com", timeSlot.getUser()));
+        when(meetingServiceMock.createInternalParticipant(savedMeeting, timeSlot.getUser())).thenReturn(internalParticipant);
+        when(meetingServiceMock.createExternalParticipant(savedMeeting, "Jane Smith", "jane@example.com")).thenReturn(externalParticipant);
+
+        // When
+        CreateMeetingResponse result = calendarService.createMeeting(timeSlotId, request);
+
+        // Then
+        assertEquals(2, result.participants().size());
+        verify(userServiceMock).findByEmails(Set.of("john@example.com", "jane@example.com"));
+        verify(meetingServiceMock, times(1)).createInternalParticipant(savedMeeting, timeSlot.getUser());
+        verifyNoMoreInteractions(userServiceMock);
+    }
+
     @Test
     void shouldThrowException_WhenTimeSlotIsNotAvailable() {
         // Given
-        var busyTimeSlot = createTestTimeSlot();
-        busyTimeSlot.setStatus(TimeSlot.SlotStatus.BOOKED);
         var request = createTestMeetingRequest();
 
-        when(timeSlotServiceMock.findById(timeSlotId)).thenReturn(busyTimeSlot);
+        doThrow(new TimeSlotNotAvailableException("Time slot is not available for booking"))
+                .when(timeSlotServiceMock).claimSlot(timeSlotId);
 
         // When & Then
         assertThrows(TimeSlotNotAvailableException.class, 
                 () -> calendarService.createMeeting(timeSlotId, request));
 
-        verify(timeSlotServiceMock).findById(timeSlotId);
+        verify(timeSlotServiceMock, never()).findById(any());
         verify(meetingServiceMock, never()).saveMeeting(any());
-        verify(timeSlotServiceMock, never()).updateSlot(any());
+        verifyNoInteractions(userCacheEvictorMock);
     }
 
     @Test
@@ -345,7 +570,8 @@ class CalendarServiceTest {
 
         when(timeSlotServiceMock.findById(timeSlotId)).thenReturn(timeSlot);
         when(meetingServiceMock.saveMeeting(expectedMeeting)).thenReturn(savedMeeting);
-        when(userServiceMock.findByEmail("john@example.com")).thenReturn(Optional.of(timeSlot.getUser()));
+        when(userServiceMock.findByEmails(Set.of("john@example.com")))
+                .thenReturn(Map.of("john@example.com", timeSlot.getUser()));
         when(meetingServiceMock.createInternalParticipant(savedMeeting, timeSlot.getUser())).thenReturn(participant);
 
         // When
@@ -359,6 +585,69 @@ class CalendarServiceTest {
         verify(meetingServiceMock).saveMeeting(any(Meeting.class));
     }
 
+    @Test
+    void shouldFindCommonAvailability_InRequestedTimeZone() {
+        // Given
+        var otherUserId = UUID.randomUUID();
+        var zone = ZoneId.of("Europe/Berlin");
+        var from = LocalDate.of(2026, 2, 2).atStartOfDay(zone).toInstant();
+        var to = LocalDate.of(2026, 2, 3).atStartOfDay(zone).toInstant();
+        var userIds = Set.of(userId, otherUserId);
+
+        when(timeSlotServiceMock.findAvailableIntervals(userIds, from, to)).thenReturn(List.of(
+                new TimeSlotInterval(userId, Instant.parse("2026-02-02T08:00:00Z"),
+                        Instant.parse("2026-02-02T10:00:00Z")),
+                new TimeSlotInterval(otherUserId, Instant.parse("2026-02-02T09:00:00Z"),
+                        Instant.parse("2026-02-02T11:00:00Z"))));
+
+        // When
+        var result = calendarService.findCommonAvailability(List.of(userId, otherUserId, userId),
+                LocalDate.of(2026, 2, 2), LocalDate.of(2026, 2, 2), Duration.ofMinutes(30), "Europe/Berlin");
+
+        // Then
+        assertEquals("Europe/Berlin", result.timezone());
+        assertEquals(1, result.windows().size());
+        assertEquals(OffsetDateTime.parse("2026-02-02T10:00:00+01:00"), result.windows().getFirst().startTime());
+        assertEquals(OffsetDateTime.parse("2026-02-02T11:00:00+01:00"), result.windows().getFirst().endTime());
+        verify(userServiceMock).findAllByIds(userIds);
+    }
+
+    @Test
+    void shouldRejectCommonAvailability_WhenTimeZoneIsInvalid() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> calendarService.findCommonAvailability(
+                List.of(userId), rangeStart, rangeEnd, Duration.ofMinutes(30), "Mars/Olympus"));
+
+        verifyNoInteractions(timeSlotServiceMock);
+    }
+
+    @Test
+    void shouldFindGroupAvailability_FromCachedBitmapsOnRepeatedSearch() {
+        // Given - the Berlin day spans two UTC days
+        var otherUserId = UUID.randomUUID();
+        var userIds = Set.of(userId, otherUserId);
+
+        when(timeSlotServiceMock.findAvailableIntervals(userIds,
+                Instant.parse("2026-02-01T00:00:00Z"), Instant.parse("2026-02-03T00:00:00Z"))).thenReturn(List.of(
+                new TimeSlotInterval(userId, Instant.parse("2026-02-02T08:00:00Z"),
+                        Instant.parse("2026-02-02T10:00:00Z")),
+                new TimeSlotInterval(otherUserId, Instant.parse("2026-02-02T09:05:00Z"),
+                        Instant.parse("2026-02-02T11:00:00Z"))));
+
+        // When
+        var first = calendarService.findGroupAvailability(List.of(userId, otherUserId),
+                LocalDate.of(2026, 2, 2), LocalDate.of(2026, 2, 2), Duration.ofMinutes(30), "Europe/Berlin");
+        var second = calendarService.findGroupAvailability(List.of(otherUserId, userId),
+                LocalDate.of(2026, 2, 2), LocalDate.of(2026, 2, 2), Duration.ofMinutes(30), "Europe/Berlin");
+
+        // Then - the partly available 09:00 quantum of the other user is left out
+        assertEquals(1, first.windows().size());
+        assertEquals(OffsetDateTime.parse("2026-02-02T10:15:00+01:00"), first.windows().getFirst().startTime());
+        assertEquals(OffsetDateTime.parse("2026-02-02T11:00:00+01:00"), first.windows().getFirst().endTime());
+        assertEquals(first, second);
+        verify(timeSlotServiceMock, times(1)).findAvailableIntervals(any(), any(), any());
+    }
+
     private User createTestUser() {
         return User.builder()
                 .id(userId)
@@ -370,16 +659,9 @@ class CalendarServiceTest {
                 .build();
     }
 
-    private TimeSlot createTestTimeSlotWithDate(User user, Instant startTime) {
-        return TimeSlot.builder()
-                .id(UUID.randomUUID())
-                .user(user)
-                .startTime(startTime)
-                .endTime(startTime.plusSeconds(3600)) // 1 hour duration
-                .status(TimeSlot.SlotStatus.AVAILABLE)
-                .createdAt(Instant.now())
-                .updatedAt(Instant.now())
-                .build();
+    private TimeSlotView createTestTimeSlotWithDate(Instant startTime) {
+        return new TimeSlotView(UUID.randomUUID(), startTime, startTime.plusSeconds(3600), // 1 hour duration
+                TimeSlot.SlotStatus.AVAILABLE);
     }
 
     private TimeSlot createTestTimeSlot() {
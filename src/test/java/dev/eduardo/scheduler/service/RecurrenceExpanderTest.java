@@ -0,0 +1,115 @@
+package dev.eduardo.scheduler.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceExpanderTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    @Test
+    void shouldExpandWorkingHours_OnMatchingDaysOnly() {
+        // Given
+        var expander = expander("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR", LocalTime.of(9, 0), LocalTime.of(17, 0), 60,
+                ZoneOffset.UTC);
+
+        // When
+        var starts = expand(expander, "2026-03-02T00:00:00Z", "2026-03-09T00:00:00Z");
+
+        // Then
+        assertEquals(40, starts.size());
+        assertEquals(at("2026-03-02T09:00:00Z"), starts.getFirst());
+        assertEquals(at("2026-03-06T16:00:00Z"), starts.getLast());
+    }
+
+    @Test
+    void shouldSkipWeeksOutsideTheInterval_AndStopAtUntil() {
+        // Given
+        var expander = expander("FREQ=WEEKLY;INTERVAL=2;UNTIL=20260323", LocalTime.of(9, 0), LocalTime.of(10, 0), 30,
+                ZoneOffset.UTC);
+
+        // When - weekly rules without BYDAY repeat on the weekday of the start date
+        var starts = expand(expander, "2026-03-01T00:00:00Z", "2026-04-30T00:00:00Z");
+
+        // Then
+        assertEquals(List.of(
+                at("2026-03-02T09:00:00Z"), at("2026-03-02T09:30:00Z"),
+                at("2026-03-16T09:00:00Z"), at("2026-03-16T09:30:00Z")), starts);
+    }
+
+    @Test
+    void shouldLeaveOutExceptions_AndSlotsNotEntirelyInTheWindow() {
+        // Given
+        var expander = expander("FREQ=DAILY", LocalTime.of(9, 0), LocalTime.of(12, 0), 60, ZoneOffset.UTC);
+        long[] exceptions = {at("2026-03-02T10:00:00Z").getEpochSecond()};
+
+        // When
+        var starts = new ArrayList<Instant>();
+        int count = expander.expand(at("2026-03-02T09:30:00Z"), at("2026-03-03T10:30:00Z"), exceptions,
+                (start, end) -> starts.add(Instant.ofEpochSecond(start)));
+
+        // Then
+        assertEquals(List.of(at("2026-03-02T11:00:00Z"), at("2026-03-03T09:00:00Z")), starts);
+        assertEquals(2, count);
+    }
+
+    @Test
+    void shouldFollowTheWallClock_AcrossDaylightSavingTransitions() {
+        // Given - Berlin moves from 02:00 to 03:00 on 2026-03-29
+        var expander = expander("FREQ=DAILY", LocalTime.of(0, 0), LocalTime.of(4, 0), 60, ZoneId.of("Europe/Berlin"));
+
+        // When
+        var starts = expand(expander, "2026-03-28T23:00:00Z", "2026-03-30T00:00:00Z");
+
+        // Then - the 02:00 slot is shifted into the 03:00 one, which is then dropped
+        assertEquals(List.of(
+                at("2026-03-28T23:00:00Z"), at("2026-03-29T00:00:00Z"), at("2026-03-29T01:00:00Z"),
+                at("2026-03-29T22:00:00Z"), at("2026-03-29T23:00:00Z")), starts);
+    }
+
+    @Test
+    void shouldRecognizeOccurrenceStarts() {
+        // Given
+        var expander = expander("FREQ=WEEKLY;BYDAY=MO", LocalTime.of(9, 0), LocalTime.of(11, 0), 60,
+                ZoneId.of("America/New_York"));
+
+        // When & Then - New York is on daylight saving time from 2026-03-08
+        assertTrue(expander.isOccurrence(at("2026-03-09T13:00:00Z")));
+        assertFalse(expander.isOccurrence(at("2026-03-09T13:30:00Z")));
+        assertFalse(expander.isOccurrence(at("2026-03-10T14:00:00Z")));
+        assertFalse(expander.isOccurrence(at("2026-02-23T14:00:00Z")));
+    }
+
+    @Test
+    void shouldRejectDays_ThatDoNotFitASlot() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> expander("FREQ=DAILY", LocalTime.of(9, 0), LocalTime.of(9, 30), 60, ZoneOffset.UTC));
+        assertThrows(IllegalArgumentException.class,
+                () -> expander("FREQ=DAILY", LocalTime.of(9, 0), LocalTime.of(8, 0), 60, ZoneOffset.UTC));
+    }
+
+    private static RecurrenceExpander expander(String rrule, LocalTime dayStart, LocalTime dayEnd, int slotMinutes,
+                                               ZoneId zone) {
+        return new RecurrenceExpander(RecurrenceRule.parse(rrule), MONDAY, dayStart, dayEnd, slotMinutes, zone);
+    }
+
+    private static List<Instant> expand(RecurrenceExpander expander, String from, String to) {
+        var starts = new ArrayList<Instant>();
+        expander.expand(at(from), at(to), new long[0], (start, end) -> starts.add(Instant.ofEpochSecond(start)));
+        return starts;
+    }
+
+    private static Instant at(String instant) {
+        return Instant.parse(instant);
+    }
+}
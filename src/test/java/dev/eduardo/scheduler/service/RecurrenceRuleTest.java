@@ -0,0 +1,49 @@
+package dev.eduardo.scheduler.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceRuleTest {
+
+    @Test
+    void shouldParseSupportedParts_AndFormatThemCanonically() {
+        // When
+        var rule = RecurrenceRule.parse("RRULE:freq=weekly;BYDAY=FR,MO;UNTIL=20261231T235959Z;INTERVAL=2");
+
+        // Then
+        assertEquals(RecurrenceRule.Frequency.WEEKLY, rule.frequency());
+        assertEquals(2, rule.interval());
+        assertTrue(rule.hasDay(DayOfWeek.MONDAY));
+        assertTrue(rule.hasDay(DayOfWeek.FRIDAY));
+        assertFalse(rule.hasDay(DayOfWeek.TUESDAY));
+        assertEquals(LocalDate.of(2026, 12, 31), rule.until());
+        assertEquals("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,FR;UNTIL=20261231", rule.format());
+        assertEquals(rule, RecurrenceRule.parse(rule.format()));
+    }
+
+    @Test
+    void shouldDefaultToEveryPeriodWithoutEnd() {
+        // When
+        var rule = RecurrenceRule.parse("FREQ=DAILY");
+
+        // Then
+        assertEquals(1, rule.interval());
+        assertEquals(0, rule.byDays());
+        assertNull(rule.until());
+    }
+
+    @Test
+    void shouldRejectUnsupportedOrMalformedRules() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=MONTHLY"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;COUNT=10"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=1MO"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=0"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("BYDAY=MO"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse("FREQ=DAILY;UNTIL=2026-12-31"));
+    }
+}
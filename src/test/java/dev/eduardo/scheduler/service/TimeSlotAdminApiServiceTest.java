@@ -3,9 +3,14 @@ package dev.eduardo.scheduler.service;
 import dev.eduardo.scheduler.api.dto.CreateTimeSlotRequest;
 import dev.eduardo.scheduler.api.dto.TimeSlotResponse;
 import dev.eduardo.scheduler.api.dto.UpdateTimeSlotRequest;
+import dev.eduardo.scheduler.cache.CacheNames;
+import dev.eduardo.scheduler.cache.UserCacheEvictor;
+import dev.eduardo.scheduler.domain.entities.AvailabilityRule;
 import dev.eduardo.scheduler.domain.entities.TimeSlot;
 import dev.eduardo.scheduler.domain.entities.User;
+import dev.eduardo.scheduler.domain.projection.TimeSlotView;
 import dev.eduardo.scheduler.domain.repository.UserRepository;
+import dev.eduardo.scheduler.routing.ReadYourWritesTracker;
 import dev.eduardo.scheduler.service.exception.TimeSlotNotFoundException;
 import dev.eduardo.scheduler.service.exception.TimeSlotOverlapException;
 import dev.eduardo.scheduler.service.exception.UserNotFoundException;
@@ -22,6 +27,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,10 +35,19 @@ class TimeSlotAdminApiServiceTest {
 
     @Mock
     private TimeSlotService timeSlotServiceMock;
+
+    @Mock
+    private AvailabilityRuleService availabilityRuleServiceMock;
     
     @Mock
     private UserRepository userRepositoryMock;
 
+    @Mock
+    private UserCacheEvictor userCacheEvictorMock;
+
+    @Mock
+    private ReadYourWritesTracker readYourWritesTrackerMock;
+
     @InjectMocks
     private TimeSlotAdminApiService adminService;
 
@@ -59,9 +74,8 @@ class TimeSlotAdminApiServiceTest {
         var timeSlot = createTestTimeSlot(user);
 
         when(userRepositoryMock.findById(userId)).thenReturn(Optional.of(user));
-        when(timeSlotServiceMock.hasOverlappingSlots(userId, startTime, endTime)).thenReturn(false);
-        when(timeSlotServiceMock.createSlot(any(TimeSlot.class)))
-                .thenReturn(timeSlot);
+        when(timeSlotServiceMock.findOverlappingSlots(userId, startTime, endTime)).thenReturn(List.of());
+        when(timeSlotServiceMock.createSlots(anyList())).thenReturn(List.of(timeSlot));
 
         // When
         var result = adminService.createTimeSlots(request, userId);
@@ -79,8 +93,12 @@ class TimeSlotAdminApiServiceTest {
         assertEquals(TimeSlot.SlotStatus.AVAILABLE, createdSlot.status());
 
         verify(userRepositoryMock).findById(userId);
-        verify(timeSlotServiceMock).hasOverlappingSlots(userId, startTime, endTime);
-        verify(timeSlotServiceMock).createSlot(any(TimeSlot.class));
+        verify(timeSlotServiceMock).findOverlappingSlots(userId, startTime, endTime);
+        verify(timeSlotServiceMock).createSlots(anyList());
+        verify(readYourWritesTrackerMock).recordWrite(userId);
+        verify(userCacheEvictorMock).evictUser(userId,
+                CacheNames.ADMIN_TIME_SLOTS, CacheNames.USER_CALENDARS, CacheNames.USER_CALENDAR_PAGES,
+                CacheNames.AVAILABILITY_BITMAPS);
     }
 
     @Test
@@ -103,8 +121,7 @@ class TimeSlotAdminApiServiceTest {
                 () -> adminService.createTimeSlots(request, userId));
 
         verify(userRepositoryMock).findById(userId);
-        verify(timeSlotServiceMock, never()).hasOverlappingSlots(any(), any(), any());
-        verify(timeSlotServiceMock, never()).createSlot(any(TimeSlot.class));
+        verify(timeSlotServiceMock, never()).createSlots(anyList());
     }
 
     @Test
@@ -122,15 +139,73 @@ class TimeSlotAdminApiServiceTest {
                 .build();
 
         when(userRepositoryMock.findById(userId)).thenReturn(Optional.of(user));
-        when(timeSlotServiceMock.hasOverlappingSlots(userId, startTime, endTime)).thenReturn(true);
+        when(timeSlotServiceMock.findOverlappingSlots(userId, startTime, endTime)).thenReturn(List.of(
+                new TimeSlotView(UUID.randomUUID(), startTime.minusSeconds(1800), startTime.plusSeconds(1800),
+                        TimeSlot.SlotStatus.AVAILABLE)));
 
         // When & Then
         assertThrows(TimeSlotOverlapException.class, 
                 () -> adminService.createTimeSlots(request, userId));
 
         verify(userRepositoryMock).findById(userId);
-        verify(timeSlotServiceMock).hasOverlappingSlots(userId, startTime, endTime);
-        verify(timeSlotServiceMock, never()).createSlot(any(TimeSlot.class));
+        verify(timeSlotServiceMock, never()).createSlots(anyList());
+        verifyNoInteractions(userCacheEvictorMock);
+    }
+
+    @Test
+    void shouldCreateAdjacentTimeSlots_WhenExistingSlotsOnlyTouchThem() {
+        // Given
+        var user = createTestUser();
+        var secondEnd = endTime.plusSeconds(3600);
+        var request = CreateTimeSlotRequest.builder()
+                .slots(List.of(
+                        CreateTimeSlotRequest.TimeSlotData.builder().startTime(endTime).endTime(secondEnd).build(),
+                        CreateTimeSlotRequest.TimeSlotData.builder().startTime(startTime).endTime(endTime).build()
+                ))
+                .build();
+
+        when(userRepositoryMock.findById(userId)).thenReturn(Optional.of(user));
+        when(timeSlotServiceMock.findOverlappingSlots(userId, startTime, secondEnd)).thenReturn(List.of(
+                new TimeSlotView(UUID.randomUUID(), startTime.minusSeconds(3600), startTime,
+                        TimeSlot.SlotStatus.BUSY),
+                new TimeSlotView(UUID.randomUUID(), secondEnd, secondEnd.plusSeconds(3600),
+                        TimeSlot.SlotStatus.BUSY)));
+        when(timeSlotServiceMock.createSlots(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var result = adminService.createTimeSlots(request, userId);
+
+        // Then
+        assertEquals(2, result.createdCount());
+        assertEquals(endTime, result.createdSlots().get(0).startTime());
+        assertEquals(startTime, result.createdSlots().get(1).startTime());
+    }
+
+    @Test
+    void shouldThrowTimeSlotOverlapException_WhenSlotsOfRequestOverlap() {
+        // Given
+        var user = createTestUser();
+        var request = CreateTimeSlotRequest.builder()
+                .slots(List.of(
+                        CreateTimeSlotRequest.TimeSlotData.builder()
+                                .startTime(startTime)
+                                .endTime(endTime)
+                                .build(),
+                        CreateTimeSlotRequest.TimeSlotData.builder()
+                                .startTime(startTime.plusSeconds(1800))
+                                .endTime(endTime.plusSeconds(1800))
+                                .build()
+                ))
+                .build();
+
+        when(userRepositoryMock.findById(userId)).thenReturn(Optional.of(user));
+
+        // When & Then
+        assertThrows(TimeSlotOverlapException.class,
+                () -> adminService.createTimeSlots(request, userId));
+
+        verify(timeSlotServiceMock, never()).findOverlappingSlots(any(), any(), any());
+        verify(timeSlotServiceMock, never()).createSlots(anyList());
     }
 
     @Test
@@ -179,8 +254,6 @@ class TimeSlotAdminApiServiceTest {
                 .build();
 
         when(timeSlotServiceMock.findById(timeSlotId)).thenReturn(timeSlot);
-        when(timeSlotServiceMock.hasOverlappingSlots(userId, startTime, newEndTime, timeSlot))
-                .thenReturn(false);
         when(timeSlotServiceMock.updateSlot(timeSlot)).thenReturn(timeSlot);
 
         // When
@@ -191,10 +264,55 @@ class TimeSlotAdminApiServiceTest {
         assertEquals(timeSlotId, result.id());
 
         verify(timeSlotServiceMock).findById(timeSlotId);
-        verify(timeSlotServiceMock).hasOverlappingSlots(userId, startTime, newEndTime, timeSlot);
         verify(timeSlotServiceMock).updateSlot(timeSlot);
     }
 
+    @Test
+    void shouldStoreTheOccurrenceBeforeUpdating_WhenTimeSlotIsARuleOccurrence() {
+        // Given
+        var user = createTestUser();
+        var timeSlot = createTestTimeSlot(user);
+        var occurrenceId = OccurrenceIds.of(UUID.randomUUID(), startTime.getEpochSecond());
+        var request = UpdateTimeSlotRequest.builder()
+                .startTime(startTime)
+                .endTime(endTime)
+                .status(TimeSlot.SlotStatus.BUSY)
+                .build();
+
+        when(availabilityRuleServiceMock.materializeOccurrence(occurrenceId, TimeSlot.SlotStatus.AVAILABLE))
+                .thenReturn(timeSlot);
+        when(timeSlotServiceMock.updateSlot(timeSlot)).thenReturn(timeSlot);
+
+        // When
+        var result = adminService.updateTimeSlot(occurrenceId, request, userId);
+
+        // Then - the response carries the id of the stored slot
+        assertEquals(timeSlotId, result.id());
+        assertEquals(TimeSlot.SlotStatus.BUSY, result.status());
+        verify(timeSlotServiceMock, never()).findById(any());
+    }
+
+    @Test
+    void shouldGetOccurrence_WithoutStoringIt() {
+        // Given
+        var user = createTestUser();
+        var rule = AvailabilityRule.builder().id(UUID.randomUUID()).user(user).build();
+        var occurrenceId = OccurrenceIds.of(rule.getId(), startTime.getEpochSecond());
+
+        when(availabilityRuleServiceMock.findOccurrence(occurrenceId))
+                .thenReturn(Optional.of(new AvailabilityRuleService.Occurrence(rule, startTime, endTime)));
+
+        // When
+        var result = adminService.getTimeSlot(occurrenceId, userId);
+
+        // Then
+        assertEquals(occurrenceId, result.id());
+        assertEquals(TimeSlot.SlotStatus.AVAILABLE, result.status());
+        assertEquals(startTime, result.startTime());
+        verify(availabilityRuleServiceMock, never()).materializeOccurrence(any(), any());
+        verifyNoInteractions(timeSlotServiceMock);
+    }
+
     @Test
     void shouldThrowTimeSlotOverlapException_WhenUpdateCausesOverlap() {
         // Given
@@ -209,16 +327,37 @@ class TimeSlotAdminApiServiceTest {
                 .build();
 
         when(timeSlotServiceMock.findById(timeSlotId)).thenReturn(timeSlot);
-        when(timeSlotServiceMock.hasOverlappingSlots(userId, startTime, newEndTime, timeSlot))
-                .thenReturn(true);
+        when(timeSlotServiceMock.updateSlot(timeSlot)).thenThrow(new TimeSlotOverlapException("overlap"));
 
         // When & Then
         assertThrows(TimeSlotOverlapException.class, 
                 () -> adminService.updateTimeSlot(timeSlotId, request, userId));
 
         verify(timeSlotServiceMock).findById(timeSlotId);
-        verify(timeSlotServiceMock).hasOverlappingSlots(userId, startTime, newEndTime, timeSlot);
+        verifyNoInteractions(userCacheEvictorMock);
+    }
+
+    @Test
+    void shouldThrowTimeSlotOverlapException_WithoutSaving_WhenUpdateOverlapsKnownSlot() {
+        // Given
+        var user = createTestUser();
+        var timeSlot = createTestTimeSlot(user);
+        var newEndTime = Instant.parse("2024-01-01T12:00:00Z");
+
+        var request = UpdateTimeSlotRequest.builder()
+                .startTime(startTime)
+                .endTime(newEndTime)
+                .build();
+
+        when(timeSlotServiceMock.findById(timeSlotId)).thenReturn(timeSlot);
+        when(timeSlotServiceMock.hasOverlappingSlots(userId, startTime, newEndTime, timeSlot)).thenReturn(true);
+
+        // When & Then
+        assertThrows(TimeSlotOverlapException.class,
+                () -> adminService.updateTimeSlot(timeSlotId, request, userId));
+
         verify(timeSlotServiceMock, never()).updateSlot(any());
+        assertEquals(endTime, timeSlot.getEndTime());
     }
 
     @Test
@@ -235,6 +374,9 @@ class TimeSlotAdminApiServiceTest {
         // Then
         verify(timeSlotServiceMock).findById(timeSlotId);
         verify(timeSlotServiceMock).removeSlot(timeSlot);
+        verify(userCacheEvictorMock).evictUser(userId,
+                CacheNames.ADMIN_TIME_SLOTS, CacheNames.USER_CALENDARS, CacheNames.USER_CALENDAR_PAGES,
+                CacheNames.AVAILABILITY_BITMAPS);
     }
 
     @Test
@@ -275,6 +417,35 @@ class TimeSlotAdminApiServiceTest {
         verify(timeSlotServiceMock, never()).removeSlot(any());
     }
 
+    @Test
+    void shouldThrowIllegalArgumentException_WhenUpdatingStatusOfBookedTimeSlot() {
+        // Given
+        var user = createTestUser();
+        var timeSlot = TimeSlot.builder()
+                .id(timeSlotId)
+                .user(user)
+                .startTime(startTime)
+                .endTime(endTime)
+                .status(TimeSlot.SlotStatus.BOOKED)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+        var request = UpdateTimeSlotRequest.builder()
+                .startTime(startTime)
+                .endTime(endTime)
+                .status(TimeSlot.SlotStatus.AVAILABLE)
+                .build();
+
+        when(timeSlotServiceMock.findById(timeSlotId)).thenReturn(timeSlot);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> adminService.updateTimeSlot(timeSlotId, request, userId));
+
+        assertEquals(TimeSlot.SlotStatus.BOOKED, timeSlot.getStatus());
+        verify(timeSlotServiceMock, never()).updateSlot(any());
+    }
+
     @Test
     void shouldThrowIllegalArgumentException_WhenGettingTimeSlotOfDifferentUser() {
         // Given
@@ -325,7 +496,6 @@ class TimeSlotAdminApiServiceTest {
                 () -> adminService.updateTimeSlot(timeSlotId, request, userId));
 
         verify(timeSlotServiceMock).findById(timeSlotId);
-        verify(timeSlotServiceMock, never()).hasOverlappingSlots(any(), any(), any(), any());
         verify(timeSlotServiceMock, never()).updateSlot(any());
     }
 
@@ -1,24 +1,40 @@
 package dev.eduardo.scheduler.service;
 
+import dev.eduardo.scheduler.cache.TimeSlotIntervalIndex;
+import dev.eduardo.scheduler.domain.entities.AvailabilityRule;
 import dev.eduardo.scheduler.domain.entities.TimeSlot;
 import dev.eduardo.scheduler.domain.entities.User;
+import dev.eduardo.scheduler.domain.projection.RuleException;
+import dev.eduardo.scheduler.domain.projection.TimeSlotInterval;
+import dev.eduardo.scheduler.domain.projection.TimeSlotView;
+import dev.eduardo.scheduler.domain.repository.AvailabilityRuleRepository;
 import dev.eduardo.scheduler.domain.repository.TimeSlotRepository;
+import dev.eduardo.scheduler.service.exception.TimeSlotNotAvailableException;
 import dev.eduardo.scheduler.service.exception.TimeSlotNotFoundException;
+import dev.eduardo.scheduler.service.exception.TimeSlotOverlapException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +43,12 @@ class TimeSlotServiceTest {
     @Mock
     private TimeSlotRepository timeSlotRepositoryMock;
 
+    @Mock
+    private TimeSlotIntervalIndex timeSlotIntervalIndexMock;
+
+    @Mock
+    private AvailabilityRuleRepository availabilityRuleRepositoryMock;
+
     @InjectMocks
     private TimeSlotService timeSlotService;
 
@@ -42,7 +64,7 @@ class TimeSlotServiceTest {
         var timeSlotToCreate = createTestTimeSlot(user);
         var expectedTimeSlot = createTestTimeSlot(user);
 
-        when(timeSlotRepositoryMock.save(timeSlotToCreate)).thenReturn(expectedTimeSlot);
+        when(timeSlotRepositoryMock.saveAndFlush(timeSlotToCreate)).thenReturn(expectedTimeSlot);
 
         // When
         TimeSlot result = timeSlotService.createSlot(timeSlotToCreate);
@@ -55,7 +77,8 @@ class TimeSlotServiceTest {
         assertEquals(endTime, result.getEndTime());
         assertEquals(TimeSlot.SlotStatus.AVAILABLE, result.getStatus());
 
-        verify(timeSlotRepositoryMock).save(timeSlotToCreate);
+        verify(timeSlotRepositoryMock).saveAndFlush(timeSlotToCreate);
+        verify(timeSlotIntervalIndexMock).slotSaved(userId, timeSlotId, startTime, endTime);
     }
 
     @Test
@@ -64,7 +87,7 @@ class TimeSlotServiceTest {
         var user = createTestUser();
         var timeSlot = createTestTimeSlot(user);
 
-        when(timeSlotRepositoryMock.save(timeSlot)).thenReturn(timeSlot);
+        when(timeSlotRepositoryMock.saveAndFlush(timeSlot)).thenReturn(timeSlot);
 
         // When
         TimeSlot result = timeSlotService.updateSlot(timeSlot);
@@ -73,7 +96,35 @@ class TimeSlotServiceTest {
         assertNotNull(result);
         assertEquals(timeSlot, result);
 
-        verify(timeSlotRepositoryMock).save(timeSlot);
+        verify(timeSlotRepositoryMock).saveAndFlush(timeSlot);
+    }
+
+    @Test
+    void shouldThrowTimeSlotOverlapException_WhenExclusionConstraintIsViolated() {
+        // Given
+        var timeSlot = createTestTimeSlot(createTestUser());
+        var violation = new DataIntegrityViolationException("could not execute statement",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01"));
+
+        when(timeSlotRepositoryMock.saveAndFlush(timeSlot)).thenThrow(violation);
+
+        // When & Then
+        assertThrows(TimeSlotOverlapException.class, () -> timeSlotService.createSlot(timeSlot));
+        verify(timeSlotIntervalIndexMock).invalidate(userId);
+    }
+
+    @Test
+    void shouldRethrowDataIntegrityViolation_WhenNotAnOverlap() {
+        // Given
+        var timeSlot = createTestTimeSlot(createTestUser());
+        var violation = new DataIntegrityViolationException("could not execute statement",
+                new SQLException("violates check constraint", "23514"));
+
+        when(timeSlotRepositoryMock.saveAndFlush(timeSlot)).thenThrow(violation);
+
+        // When & Then
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> timeSlotService.updateSlot(timeSlot)));
     }
 
     @Test
@@ -87,6 +138,7 @@ class TimeSlotServiceTest {
 
         // Then
         verify(timeSlotRepositoryMock).delete(timeSlot);
+        verify(timeSlotIntervalIndexMock).slotRemoved(userId, timeSlotId);
     }
 
     @Test
@@ -122,13 +174,12 @@ class TimeSlotServiceTest {
     @Test
     void shouldFetchFilteredTimeSlots_WithoutFilters() {
         // Given
-        var user = createTestUser();
-        var expectedTimeSlots = List.of(createTestTimeSlot(user));
+        var expectedTimeSlots = List.of(createTestTimeSlotView());
 
         when(timeSlotRepositoryMock.findByUserIdOrderByStartTime(userId)).thenReturn(expectedTimeSlots);
 
         // When
-        List<TimeSlot> result = timeSlotService.fetchFilteredTimeSlots(userId, null, null, null, ZoneId.of("UTC"));
+        List<TimeSlotView> result = timeSlotService.fetchFilteredTimeSlots(userId, null, null, null, ZoneId.of("UTC"));
 
         // Then
         assertNotNull(result);
@@ -140,14 +191,13 @@ class TimeSlotServiceTest {
     @Test
     void shouldFetchFilteredTimeSlots_WithStatusFilter() {
         // Given
-        var user = createTestUser();
-        var expectedTimeSlots = List.of(createTestTimeSlot(user));
+        var expectedTimeSlots = List.of(createTestTimeSlotView());
 
         when(timeSlotRepositoryMock.findByUserIdAndStatusOrderByStartTime(userId, TimeSlot.SlotStatus.AVAILABLE))
                 .thenReturn(expectedTimeSlots);
 
         // When
-        List<TimeSlot> result = timeSlotService.fetchFilteredTimeSlots(userId, null, null, TimeSlot.SlotStatus.AVAILABLE, ZoneId.of("UTC"));
+        List<TimeSlotView> result = timeSlotService.fetchFilteredTimeSlots(userId, null, null, TimeSlot.SlotStatus.AVAILABLE, ZoneId.of("UTC"));
 
         // Then
         assertNotNull(result);
@@ -159,8 +209,7 @@ class TimeSlotServiceTest {
     @Test
     void shouldFetchFilteredTimeSlots_WithDateRangeFilter() {
         // Given
-        var user = createTestUser();
-        var expectedTimeSlots = List.of(createTestTimeSlot(user));
+        var expectedTimeSlots = List.of(createTestTimeSlotView());
         var startDate = LocalDate.of(2024, 1, 1);
         var endDate = LocalDate.of(2024, 1, 31);
         var zoneId = ZoneId.of("UTC");
@@ -171,7 +220,7 @@ class TimeSlotServiceTest {
                 .thenReturn(expectedTimeSlots);
 
         // When
-        List<TimeSlot> result = timeSlotService.fetchFilteredTimeSlots(userId, startDate, endDate, null, zoneId);
+        List<TimeSlotView> result = timeSlotService.fetchFilteredTimeSlots(userId, startDate, endDate, null, zoneId);
 
         // Then
         assertNotNull(result);
@@ -183,8 +232,7 @@ class TimeSlotServiceTest {
     @Test
     void shouldFetchFilteredTimeSlots_WithAllFilters() {
         // Given
-        var user = createTestUser();
-        var expectedTimeSlots = List.of(createTestTimeSlot(user));
+        var expectedTimeSlots = List.of(createTestTimeSlotView());
         var startDate = LocalDate.of(2024, 1, 1);
         var endDate = LocalDate.of(2024, 1, 31);
         var zoneId = ZoneId.of("UTC");
@@ -195,7 +243,7 @@ class TimeSlotServiceTest {
                 .thenReturn(expectedTimeSlots);
 
         // When
-        List<TimeSlot> result = timeSlotService.fetchFilteredTimeSlots(userId, startDate, endDate, TimeSlot.SlotStatus.AVAILABLE, zoneId);
+        List<TimeSlotView> result = timeSlotService.fetchFilteredTimeSlots(userId, startDate, endDate, TimeSlot.SlotStatus.AVAILABLE, zoneId);
 
         // Then
         assertNotNull(result);
@@ -204,11 +252,139 @@ class TimeSlotServiceTest {
         verify(timeSlotRepositoryMock).findByUserIdAndStatusAndTimeRange(userId, TimeSlot.SlotStatus.AVAILABLE, startInstant, endInstant);
     }
 
+    @Test
+    void shouldMergeRuleOccurrences_IntoStoredSlots() {
+        // Given - a rule with slots from 09:00 to 12:00, the 10:00 one covered by a busy slot, the 11:00 one excluded
+        var rule = AvailabilityRule.builder()
+                .id(UUID.randomUUID())
+                .rrule("FREQ=DAILY;INTERVAL=1")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .dayStart(LocalTime.of(9, 0))
+                .dayEnd(LocalTime.of(12, 0))
+                .slotMinutes(60)
+                .timezone("UTC")
+                .build();
+        var day = LocalDate.of(2024, 1, 1);
+        var zoneId = ZoneId.of("UTC");
+        var startInstant = day.atStartOfDay(zoneId).toInstant();
+        var endInstant = day.plusDays(1).atStartOfDay(zoneId).toInstant();
+        var busySlot = new TimeSlotView(timeSlotId, Instant.parse("2024-01-01T10:00:00Z"),
+                Instant.parse("2024-01-01T11:00:00Z"), TimeSlot.SlotStatus.BUSY);
+
+        when(availabilityRuleRepositoryMock.findActiveRules(userId, day.minusDays(1), day.plusDays(1)))
+                .thenReturn(List.of(rule));
+        when(timeSlotRepositoryMock.findOverlapping(userId, startInstant, endInstant)).thenReturn(List.of(busySlot));
+        when(availabilityRuleRepositoryMock.findExceptions(List.of(rule.getId()), startInstant, endInstant))
+                .thenReturn(List.of(new RuleException(rule.getId(), Instant.parse("2024-01-01T11:00:00Z"))));
+
+        // When
+        var all = timeSlotService.fetchFilteredTimeSlots(userId, day, day, null, zoneId);
+        var available = timeSlotService.fetchFilteredTimeSlots(userId, day, day, TimeSlot.SlotStatus.AVAILABLE, zoneId);
+
+        // Then
+        var occurrence = new TimeSlotView(
+                OccurrenceIds.of(rule.getId(), Instant.parse("2024-01-01T09:00:00Z").getEpochSecond()),
+                Instant.parse("2024-01-01T09:00:00Z"), Instant.parse("2024-01-01T10:00:00Z"),
+                TimeSlot.SlotStatus.AVAILABLE);
+        assertEquals(List.of(occurrence, busySlot), all);
+        assertEquals(List.of(occurrence), available);
+        verify(timeSlotRepositoryMock, never()).findByUserIdAndTimeRange(any(), any(), any());
+    }
+
+    @Test
+    void shouldCountAndPageRuleOccurrenceDates_WhenDatesArePagedInSql() {
+        // Given
+        var rule = createDailyRule(createTestUser(), LocalTime.of(10, 0));
+        var startDate = LocalDate.of(2024, 1, 1);
+        var endDate = LocalDate.of(2024, 1, 3);
+        var zoneId = ZoneId.of("UTC");
+        var from = Instant.parse("2024-01-01T00:00:00Z");
+        var to = Instant.parse("2024-01-04T00:00:00Z");
+        var busySlot = new TimeSlotView(timeSlotId, Instant.parse("2024-01-02T09:00:00Z"),
+                Instant.parse("2024-01-02T10:00:00Z"), TimeSlot.SlotStatus.BUSY);
+
+        when(availabilityRuleRepositoryMock.findActiveRules(userId, startDate.minusDays(1), endDate.plusDays(1)))
+                .thenReturn(List.of(rule));
+        when(timeSlotRepositoryMock.findOverlapping(userId, from, to)).thenReturn(List.of(busySlot));
+        when(timeSlotRepositoryMock.countSlotDates(userId, "UTC", null,
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 4, 0, 0))).thenReturn(1L);
+        when(timeSlotRepositoryMock.findSlotDates(userId, "UTC", null,
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 4, 0, 0), 4, 0))
+                .thenReturn(List.of(LocalDate.of(2024, 1, 2)));
+
+        // When
+        long count = timeSlotService.countSlotDates(userId, startDate, endDate, null, zoneId);
+        var secondPage = timeSlotService.fetchSlotDates(userId, startDate, endDate, null, zoneId, 1, 2);
+
+        // Then
+        assertEquals(3, count);
+        assertEquals(List.of(LocalDate.of(2024, 1, 3)), secondPage);
+    }
+
+    @Test
+    void shouldListRuleOccurrences_WhenFetchingSlotsOnDates() {
+        // Given
+        var rule = createDailyRule(createTestUser(), LocalTime.of(10, 0));
+        var startDate = LocalDate.of(2024, 1, 1);
+        var day = LocalDate.of(2024, 1, 3);
+        var zoneId = ZoneId.of("UTC");
+        var busySlot = new TimeSlotView(timeSlotId, Instant.parse("2024-01-02T09:00:00Z"),
+                Instant.parse("2024-01-02T10:00:00Z"), TimeSlot.SlotStatus.BUSY);
+
+        when(availabilityRuleRepositoryMock.findActiveRules(userId, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 4)))
+                .thenReturn(List.of(rule));
+        when(timeSlotRepositoryMock.findOverlapping(userId,
+                Instant.parse("2024-01-02T00:00:00Z"), Instant.parse("2024-01-04T00:00:00Z")))
+                .thenReturn(List.of(busySlot));
+
+        // When
+        var result = timeSlotService.fetchSlotsOnDates(userId, day, day, startDate, day, null, zoneId);
+
+        // Then
+        var occurrenceStart = Instant.parse("2024-01-03T09:00:00Z");
+        assertEquals(List.of(new TimeSlotView(OccurrenceIds.of(rule.getId(), occurrenceStart.getEpochSecond()),
+                occurrenceStart, Instant.parse("2024-01-03T10:00:00Z"), TimeSlot.SlotStatus.AVAILABLE)), result);
+        verify(timeSlotRepositoryMock, never()).findByUserIdStartingBetween(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldAddRuleOccurrences_WhenFindingAvailableIntervals() {
+        // Given
+        var otherUserId = UUID.randomUUID();
+        var otherUser = User.builder().id(otherUserId).email("other@example.com").timezone("UTC").build();
+        var rule = createDailyRule(otherUser, LocalTime.of(12, 0));
+        var userIds = List.of(userId, otherUserId);
+        var from = Instant.parse("2024-01-01T00:00:00Z");
+        var to = Instant.parse("2024-01-02T00:00:00Z");
+        var storedInterval = new TimeSlotInterval(userId, startTime, endTime);
+
+        when(timeSlotRepositoryMock.findIntervalsOverlapping(userIds, TimeSlot.SlotStatus.AVAILABLE, from, to))
+                .thenReturn(List.of(storedInterval));
+        when(availabilityRuleRepositoryMock.findActiveRulesOfUsers(userIds,
+                LocalDate.of(2023, 12, 31), LocalDate.of(2024, 1, 3))).thenReturn(List.of(rule));
+        when(timeSlotRepositoryMock.findIntervalsOverlapping(Set.of(otherUserId),
+                Instant.parse("2023-12-31T00:00:00Z"), Instant.parse("2024-01-03T00:00:00Z")))
+                .thenReturn(List.of(new TimeSlotInterval(otherUserId, Instant.parse("2024-01-01T09:00:00Z"),
+                        Instant.parse("2024-01-01T10:00:00Z"))));
+
+        // When
+        var result = timeSlotService.findAvailableIntervals(userIds, from, to);
+
+        // Then
+        assertEquals(List.of(
+                storedInterval,
+                new TimeSlotInterval(otherUserId, Instant.parse("2024-01-01T10:00:00Z"),
+                        Instant.parse("2024-01-01T11:00:00Z")),
+                new TimeSlotInterval(otherUserId, Instant.parse("2024-01-01T11:00:00Z"),
+                        Instant.parse("2024-01-01T12:00:00Z"))), result);
+    }
+
     @Test
     void shouldHasOverlappingSlots_WithoutExclusion() {
         // Given
         createTestUser();
 
+        when(timeSlotIntervalIndexMock.mayOverlap(userId, startTime, endTime, null)).thenReturn(true);
         when(timeSlotRepositoryMock.existsOverlappingSlot(userId, startTime, endTime)).thenReturn(true);
 
         // When
@@ -226,6 +402,7 @@ class TimeSlotServiceTest {
         var user = createTestUser();
         var timeSlot = createTestTimeSlot(user);
 
+        when(timeSlotIntervalIndexMock.mayOverlap(userId, startTime, endTime, timeSlotId)).thenReturn(true);
         when(timeSlotRepositoryMock.existsOverlappingSlot(userId, startTime, endTime, timeSlotId)).thenReturn(false);
 
         // When
@@ -237,6 +414,56 @@ class TimeSlotServiceTest {
         verify(timeSlotRepositoryMock).existsOverlappingSlot(userId, startTime, endTime, timeSlotId);
     }
 
+    @Test
+    void shouldNotQueryDatabase_WhenIntervalIndexFindsNoOverlap() {
+        // Given
+        when(timeSlotIntervalIndexMock.mayOverlap(userId, startTime, endTime, null)).thenReturn(false);
+
+        // When
+        boolean hasOverlap = timeSlotService.hasOverlappingSlots(userId, startTime, endTime);
+        var overlapping = timeSlotService.findOverlappingSlots(userId, startTime, endTime);
+
+        // Then
+        assertFalse(hasOverlap);
+        assertTrue(overlapping.isEmpty());
+        verifyNoInteractions(timeSlotRepositoryMock);
+    }
+
+    @Test
+    void shouldClaimSlot_WhenSlotIsAvailable() {
+        // Given
+        when(timeSlotRepositoryMock.updateStatusIfCurrent(
+                timeSlotId, TimeSlot.SlotStatus.AVAILABLE, TimeSlot.SlotStatus.BOOKED)).thenReturn(1);
+
+        // When
+        timeSlotService.claimSlot(timeSlotId);
+
+        // Then
+        verify(timeSlotRepositoryMock, never()).existsById(timeSlotId);
+    }
+
+    @Test
+    void shouldThrowTimeSlotNotAvailableException_WhenSlotWasAlreadyClaimed() {
+        // Given
+        when(timeSlotRepositoryMock.updateStatusIfCurrent(
+                timeSlotId, TimeSlot.SlotStatus.AVAILABLE, TimeSlot.SlotStatus.BOOKED)).thenReturn(0);
+        when(timeSlotRepositoryMock.existsById(timeSlotId)).thenReturn(true);
+
+        // When & Then
+        assertThrows(TimeSlotNotAvailableException.class, () -> timeSlotService.claimSlot(timeSlotId));
+    }
+
+    @Test
+    void shouldThrowTimeSlotNotFoundException_WhenClaimedSlotDoesNotExist() {
+        // Given
+        when(timeSlotRepositoryMock.updateStatusIfCurrent(
+                timeSlotId, TimeSlot.SlotStatus.AVAILABLE, TimeSlot.SlotStatus.BOOKED)).thenReturn(0);
+        when(timeSlotRepositoryMock.existsById(timeSlotId)).thenReturn(false);
+
+        // When & Then
+        assertThrows(TimeSlotNotFoundException.class, () -> timeSlotService.claimSlot(timeSlotId));
+    }
+
     private User createTestUser() {
         return User.builder()
                 .id(userId)
@@ -259,4 +486,21 @@ class TimeSlotServiceTest {
                 .updatedAt(Instant.now())
                 .build();
     }
+
+    private AvailabilityRule createDailyRule(User user, LocalTime dayEnd) {
+        return AvailabilityRule.builder()
+                .id(UUID.randomUUID())
+                .user(user)
+                .rrule("FREQ=DAILY")
+                .startDate(LocalDate.of(2024, 1, 1))
+                .dayStart(LocalTime.of(9, 0))
+                .dayEnd(dayEnd)
+                .slotMinutes(60)
+                .timezone("UTC")
+                .build();
+    }
+
+    private TimeSlotView createTestTimeSlotView() {
+        return new TimeSlotView(timeSlotId, startTime, endTime, TimeSlot.SlotStatus.AVAILABLE);
+    }
 }
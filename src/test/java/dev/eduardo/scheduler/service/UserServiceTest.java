@@ -10,7 +10,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -107,6 +109,22 @@ class UserServiceTest {
         verify(userRepositoryMock).findByEmail("test@example.com");
     }
 
+    @Test
+    void shouldFindUsersByEmails_WithSingleLowercaseQuery() {
+        // Given
+        var user = createTestUser();
+        when(userRepositoryMock.findByEmailIn(Set.of("test@example.com", "unknown@example.com")))
+                .thenReturn(List.of(user));
+
+        // When
+        var result = userService.findByEmails(List.of("TEST@example.com", "unknown@example.com", "test@example.com"));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(user, result.get("test@example.com"));
+        verify(userRepositoryMock).findByEmailIn(Set.of("test@example.com", "unknown@example.com"));
+    }
+
     private User createTestUser() {
         return User.builder()
                 .id(userId)
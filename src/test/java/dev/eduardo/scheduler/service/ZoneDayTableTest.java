@@ -0,0 +1,90 @@
+package dev.eduardo.scheduler.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZoneDayTableTest {
+
+    @Test
+    void shouldMatchZoneRules_AcrossOffsetTransitions() {
+        // Given - zones with summer time, a half hour shift and a gap at midnight
+        for (var zoneId : new String[]{"Europe/Berlin", "America/New_York", "Australia/Lord_Howe",
+                "America/Santiago", "Asia/Kolkata", "UTC"}) {
+            var zone = ZoneId.of(zoneId);
+            var table = ZoneDayTable.of(zone, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31));
+
+            // When & Then - every quarter hour of the year, plus a few seconds to catch rounding
+            for (var instant = Instant.parse("2026-01-01T00:00:07Z");
+                 instant.isBefore(Instant.parse("2027-01-01T00:00:00Z"));
+                 instant = instant.plusSeconds(15 * 60)) {
+                var expected = instant.atZone(zone);
+                assertEquals(expected.toLocalDate(), table.localDate(instant), zoneId + " " + instant);
+                assertEquals(expected.toLocalTime(), table.localTime(instant), zoneId + " " + instant);
+            }
+        }
+    }
+
+    @Test
+    void shouldResolveInstantsOutsideTheTable_ThroughZoneRules() {
+        // Given
+        var zone = ZoneId.of("Pacific/Auckland");
+        var table = ZoneDayTable.of(zone, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+        var instant = Instant.parse("1990-06-15T23:30:00.5Z");
+
+        // When & Then
+        assertEquals(LocalDate.of(1990, 6, 16), table.localDate(instant));
+        assertEquals(LocalTime.of(11, 30, 0, 500_000_000), table.localTime(instant));
+    }
+
+    @Test
+    void shouldReuseCachedTable_WhenWindowIsCovered() {
+        // Given
+        var zone = ZoneId.of("America/Sao_Paulo");
+        var year = ZoneDayTable.of(zone, LocalDate.of(2031, 2, 1), LocalDate.of(2031, 2, 28));
+
+        // When
+        var month = ZoneDayTable.of(zone, LocalDate.of(2031, 7, 1), LocalDate.of(2031, 7, 31));
+        var widened = ZoneDayTable.of(zone, LocalDate.of(2031, 12, 20), LocalDate.of(2032, 1, 10));
+
+        // Then
+        assertSame(year, month);
+        assertNotSame(year, widened);
+        assertSame(widened, ZoneDayTable.of(zone, LocalDate.of(2031, 1, 1), LocalDate.of(2032, 12, 31)));
+        assertThrows(IllegalArgumentException.class,
+                () -> ZoneDayTable.of(zone, LocalDate.of(2031, 2, 1), LocalDate.of(2031, 1, 1)));
+    }
+
+    @Test
+    void shouldKeepTablesOfDistantWindows_ApartFromEachOther() {
+        // Given
+        var zone = ZoneId.of("Europe/Lisbon");
+        var near = ZoneDayTable.of(zone, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+
+        // When
+        var far = ZoneDayTable.of(zone, LocalDate.of(2045, 3, 1), LocalDate.of(2045, 3, 31));
+
+        // Then
+        assertNotSame(near, far);
+        assertSame(near, ZoneDayTable.of(zone, LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 30)));
+        assertSame(far, ZoneDayTable.of(zone, LocalDate.of(2045, 6, 1), LocalDate.of(2045, 6, 30)));
+    }
+
+    @Test
+    void shouldCapLongWindows_AndResolveLaterInstantsThroughZoneRules() {
+        // Given
+        var zone = ZoneId.of("Europe/Madrid");
+        var table = ZoneDayTable.of(zone, LocalDate.of(2026, 1, 1), LocalDate.of(2075, 12, 31));
+        var instant = Instant.parse("2070-07-01T10:15:00Z");
+
+        // When & Then
+        assertSame(table, ZoneDayTable.of(zone, LocalDate.of(2026, 1, 1), LocalDate.of(2075, 12, 31)));
+        assertEquals(LocalDate.of(2070, 7, 1), table.localDate(instant));
+        assertEquals(LocalTime.of(12, 15), table.localTime(instant));
+    }
+}